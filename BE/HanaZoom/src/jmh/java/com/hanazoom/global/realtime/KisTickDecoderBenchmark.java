@@ -0,0 +1,128 @@
+package com.hanazoom.global.realtime;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H0STCNT0 프레임 디코딩 비교 벤치마크
+ * - legacySplit: 기존 StockWebSocketHandler.handleKisRealtimeData 의 파싱 코드를 그대로 옮긴 것
+ *   (split("\\|") / split("\\^") / 필드별 trim, 첫 레코드만 처리하던 동작도 그대로 유지)
+ * - decoder: KisTickDecoder 단일 스캔 방식
+ * gc 프로파일러의 gc.alloc.rate.norm 으로 프레임당 할당량을 비교한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KisTickDecoderBenchmark {
+
+    private static final String RECORD_005930 = "005930^093354^71900^5^-100^-0.14^72023.83^72100^72400^71600^71900^71800^1^3052507^219853354100"
+            + "^5105^6937^1832^84.90^1366851^1518108^5^0.39^20.28^090020^5^-200^090820^5^-500^092619^2^100^20230612^20^N^65945^216924"
+            + "^1118750^2053842^0.05^2739357^111.43^0^^72100";
+    private static final String RECORD_000660 = "000660^093354^112800^2^1300^1.17^112467.50^111500^113000^111200^112900^112800^5^1201234^135100000000"
+            + "^4012^5521^1509^95.10^987654^1123456^1^0.42^18.77^090010^2^1300^090511^5^-200^091233^2^1800^20230612^20^N^12000^15000"
+            + "^654321^765432^0.08^1500000^98.76^0^^111500";
+
+    @Param({"1", "4"})
+    public int records;
+
+    private String frame;
+    private final KisTickDecoder decoder = new KisTickDecoder();
+    private final KisTick tick = new KisTick();
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder(KisTickDecoder.FRAME_PREFIX)
+                .append(String.format("%03d", records)).append('|');
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                sb.append('^');
+            }
+            sb.append(i % 2 == 0 ? RECORD_005930 : RECORD_000660);
+        }
+        frame = sb.toString();
+    }
+
+    @Benchmark
+    public void decoder(Blackhole bh) {
+        decoder.decode(frame, tick, t -> {
+            bh.consume(t.price);
+            bh.consume(t.cumulativeVolume);
+            bh.consume(t.symbol);
+        });
+    }
+
+    @Benchmark
+    public void legacySplit(Blackhole bh) {
+        String message = frame;
+        // KIS 실시간 데이터 형식: 0|H0STCNT0|001|종목코드^시간^현재가^등락구분^전일대비^등락률^...
+        if (message.startsWith("0|H0STCNT0|")) {
+            String[] mainParts = message.split("\\|");
+            if (mainParts.length >= 4) {
+                // 실제 데이터는 4번째 부분에 ^ 구분자로 되어있음
+                String dataString = mainParts[3];
+                String[] dataParts = dataString.split("\\^");
+
+                if (dataParts.length >= 15) {
+                    String stockCode = dataParts[0].trim(); // 종목코드
+                    String currentPrice = dataParts[2].trim(); // 현재가
+                    String changeSign = dataParts[3].trim(); // 등락구분 (5=하락, 2=상승, 3=보합)
+                    String changePrice = dataParts[4].trim(); // 전일대비
+                    String changeRate = dataParts[5].trim(); // 등락률
+                    String openPrice = dataParts[7].trim(); // 시가
+                    String highPrice = dataParts[8].trim(); // 고가
+                    String lowPrice = dataParts[9].trim(); // 저가
+                    String previousClose = dataParts[10].trim(); // 전일종가
+                    String bidPrice = dataParts[11].trim(); // 매수호가
+                    String askPrice = dataParts[12].trim(); // 매도호가
+                    String volume = dataParts[13].trim(); // 누적거래량
+
+                    // 등락구분 변환 (KIS: 5=하락, 2=상승, 3=보합 → 우리 시스템: 4=하락, 2=상승, 3=보합)
+                    String normalizedChangeSign = normalizeChangeSign(changeSign);
+
+                    // 호가창 동기화 검증에서 현재가를 숫자로 변환
+                    long currentPriceLong = Long.parseLong(currentPrice);
+
+                    bh.consume(stockCode);
+                    bh.consume(currentPriceLong);
+                    bh.consume(changePrice);
+                    bh.consume(changeRate);
+                    bh.consume(normalizedChangeSign);
+                    bh.consume(openPrice);
+                    bh.consume(highPrice);
+                    bh.consume(lowPrice);
+                    bh.consume(previousClose);
+                    bh.consume(bidPrice);
+                    bh.consume(askPrice);
+                    bh.consume(volume);
+                }
+            }
+        }
+    }
+
+    private static String normalizeChangeSign(String kisChangeSign) {
+        // KIS 등락구분을 우리 시스템 형식으로 변환
+        switch (kisChangeSign) {
+            case "2":
+                return "2"; // 상승
+            case "5":
+                return "4"; // 하락 (KIS 5 → 우리 4)
+            case "3":
+                return "3"; // 보합
+            case "1":
+                return "1"; // 상한가
+            case "4":
+                return "5"; // 하한가 (KIS 4 → 우리 5)
+            default:
+                return "3"; // 기본값: 보합
+        }
+    }
+}
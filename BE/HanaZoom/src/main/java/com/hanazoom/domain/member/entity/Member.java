@@ -14,7 +14,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -73,6 +72,10 @@ public class Member implements UserDetails {
     @Column(name = "marketing_agreed", nullable = false)
     private boolean marketingAgreed;
 
+    // 운영 API(이력 적재, 캔들 재계산 등) 권한 - DB 에서 직접 부여
+    @Column(name = "is_admin", nullable = false)
+    private boolean isAdmin = false;
+
     // PB 관련 필드들
     @Column(name = "is_pb", nullable = false)
     private boolean isPb = false;
@@ -293,12 +296,15 @@ public class Member implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
         if (isActivePb()) {
-            return List.of(
-                    new SimpleGrantedAuthority("ROLE_USER"),
-                    new SimpleGrantedAuthority("ROLE_PB"));
+            authorities.add(new SimpleGrantedAuthority("ROLE_PB"));
+        }
+        if (isAdmin) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
         }
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+        return authorities;
     }
 
     @Override
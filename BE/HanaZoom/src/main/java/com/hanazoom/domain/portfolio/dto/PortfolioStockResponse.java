@@ -12,7 +12,7 @@ public class PortfolioStockResponse {
 
     private Long id;
     private String stockSymbol;
-    private String stockName; // 종목명 (추후 Stock 엔티티 연동)
+    private String stockName; // 종목명
 
     // 보유 수량
     private Integer quantity; // 총 보유 수량
@@ -10,6 +10,7 @@ import com.hanazoom.domain.portfolio.repository.AccountRepository;
 import com.hanazoom.domain.portfolio.repository.AccountBalanceRepository;
 import com.hanazoom.domain.portfolio.repository.PortfolioStockRepository;
 import com.hanazoom.domain.portfolio.repository.TradeHistoryRepository;
+import com.hanazoom.domain.stock.service.StockReferenceDataService;
 import com.hanazoom.domain.stock.service.StockService;
 import com.hanazoom.domain.stock.dto.StockPriceResponse;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +34,7 @@ public class PortfolioService {
     private final PortfolioStockRepository portfolioStockRepository;
     private final TradeHistoryRepository tradeHistoryRepository;
     private final StockService stockService;
+    private final StockReferenceDataService stockReferenceDataService;
 
     // 회원 ID로 계좌 조회
     @Transactional(readOnly = true)
@@ -170,7 +172,7 @@ public class PortfolioService {
         return PortfolioStockResponse.builder()
                 .id(stock.getId())
                 .stockSymbol(stock.getStockSymbol())
-                .stockName(getStockName(stock.getStockSymbol())) // 추후 Stock 엔티티 연동
+                .stockName(stockReferenceDataService.getName(stock.getStockSymbol()))
                 .quantity(stock.getQuantity())
                 .availableQuantity(stock.getAvailableQuantity())
                 .frozenQuantity(stock.getFrozenQuantity())
@@ -207,27 +209,6 @@ public class PortfolioService {
         return BigDecimal.ZERO;
     }
 
-    // 종목명 조회 (간단한 예시)
-    private String getStockName(String stockSymbol) {
-        // 실제로는 Stock 엔티티에서 조회해야 함
-        switch (stockSymbol) {
-            case "005930":
-                return "삼성전자";
-            case "035420":
-                return "NAVER";
-            case "051910":
-                return "LG화학";
-            case "006400":
-                return "삼성SDI";
-            case "000660":
-                return "SK하이닉스";
-            case "207940":
-                return "삼성바이오로직스";
-            default:
-                return "알 수 없음";
-        }
-    }
-
     // 계좌 조회
     private Account getAccount(Long accountId) {
         return accountRepository.findById(accountId)
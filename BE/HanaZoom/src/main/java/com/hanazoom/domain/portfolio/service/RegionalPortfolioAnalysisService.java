@@ -11,7 +11,8 @@ import com.hanazoom.domain.region.repository.RegionRepository;
 import com.hanazoom.domain.region_stock.entity.RegionStock;
 import com.hanazoom.domain.region_stock.repository.RegionStockRepository;
 import com.hanazoom.global.service.KakaoApiService;
-import com.hanazoom.domain.stock.repository.StockRepository;
+import com.hanazoom.domain.stock.dto.StockReference;
+import com.hanazoom.domain.stock.service.StockReferenceDataService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -39,7 +40,7 @@ public class RegionalPortfolioAnalysisService {
     private final RegionStockRepository regionStockRepository;
     private final PortfolioStockRepository portfolioStockRepository;
     private final KakaoApiService kakaoApiService;
-    private final StockRepository stockRepository;
+    private final StockReferenceDataService stockReferenceDataService;
 
     /**
      * 사용자의 지역별 포트폴리오 분석 결과를 조회합니다.
@@ -199,10 +200,10 @@ public class RegionalPortfolioAnalysisService {
             java.util.List<RegionalPortfolioAnalysisDto.StockInfo> topStocks = topHoldings.stream()
                     .limit(5)
                     .map(ps -> {
-                        var stockOpt = stockRepository.findBySymbol(ps.getStockSymbol());
-                        String name = stockOpt.map(s -> s.getName()).orElse(ps.getStockSymbol());
-                        String sector = stockOpt.map(s -> s.getSector()).orElse(null);
-                        String logoUrl = stockOpt.map(s -> s.getLogoUrl()).orElse(null);
+                        StockReference reference = stockReferenceDataService.find(ps.getStockSymbol());
+                        String name = reference != null && reference.getName() != null ? reference.getName() : ps.getStockSymbol();
+                        String sector = reference != null ? reference.getSector() : null;
+                        String logoUrl = reference != null ? reference.getLogoUrl() : null;
                         return RegionalPortfolioAnalysisDto.StockInfo.builder()
                                 .symbol(ps.getStockSymbol())
                                 .name(name)
@@ -441,8 +442,7 @@ public class RegionalPortfolioAnalysisService {
         if (userPortfolio.getTopStocks() == null) return sectorToWeight;
         for (RegionalPortfolioAnalysisDto.StockInfo s : userPortfolio.getTopStocks()) {
             if (s.getSymbol() == null) continue;
-            var stockOpt = stockRepository.findBySymbol(s.getSymbol());
-            String sector = stockOpt.map(st -> st.getSector()).orElse("기타");
+            String sector = stockReferenceDataService.getSector(s.getSymbol(), "기타");
             java.math.BigDecimal pct = s.getPercentage() == null ? java.math.BigDecimal.ZERO : s.getPercentage();
             sectorToWeight.merge(sector, pct, java.math.BigDecimal::add);
         }
@@ -491,8 +491,7 @@ public class RegionalPortfolioAnalysisService {
                 .map(s -> s.getPercentage() == null ? java.math.BigDecimal.ZERO : s.getPercentage())
                 .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add);
         for (RegionalPortfolioAnalysisDto.StockInfo s : user.getTopStocks()) {
-            var st = stockRepository.findBySymbol(s.getSymbol());
-            String sector = st.map(x -> x.getSector()).orElse("기타");
+            String sector = stockReferenceDataService.getSector(s.getSymbol(), "기타");
             double wi = totalPct.compareTo(java.math.BigDecimal.ZERO) == 0 ? 0.0
                     : (s.getPercentage() == null ? 0.0 : s.getPercentage().divide(totalPct, 6, java.math.RoundingMode.HALF_UP).doubleValue());
             double ri = regionSector.getOrDefault(sector, java.math.BigDecimal.ZERO).doubleValue();
@@ -1,12 +1,18 @@
 package com.hanazoom.domain.stock.controller;
 
+import com.hanazoom.domain.stock.dto.ChartChunkInfo;
 import com.hanazoom.domain.stock.dto.ChartDataDto;
+import com.hanazoom.domain.stock.service.ChartChunkService;
 import com.hanazoom.domain.stock.service.ChartService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,6 +23,7 @@ import java.util.List;
 public class ChartController {
 
     private final ChartService chartService;
+    private final ChartChunkService chartChunkService;
 
     @GetMapping("/daily/{stockSymbol}")
     public ResponseEntity<List<ChartDataDto>> getDailyChartData(
@@ -74,4 +81,94 @@ public class ChartController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    /**
+     * 일/주/월봉 최근 청크 목록 (일/주봉은 1년, 월봉은 10년 단위, 최신순)
+     */
+    @GetMapping("/{period}/{stockSymbol}/chunks")
+    public ResponseEntity<List<ChartChunkInfo>> getChunkIndex(
+            @PathVariable String period,
+            @PathVariable String stockSymbol,
+            @RequestParam(defaultValue = "3") int count,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String timeframe = toTimeframe(period);
+        if (timeframe == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            ResponseEntity<List<ChartChunkInfo>> response = chartChunkService.chunkIndexResponse(
+                    stockSymbol, timeframe, count, ifNoneMatch, index -> index);
+            return response != null ? response : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            log.error("차트 청크 목록 조회 실패: stockSymbol={}, period={}, error={}", stockSymbol, period, e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * 일/주/월봉 청크 조회 (완료된 청크를 목록의 version 으로 요청하면 immutable 장기 캐시, If-None-Match 일치 시 304)
+     */
+    @GetMapping("/{period}/{stockSymbol}/chunks/{chunkStart}")
+    public ResponseEntity<List<ChartDataDto>> getChunk(
+            @PathVariable String period,
+            @PathVariable String stockSymbol,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate chunkStart,
+            @RequestParam(name = "v", required = false) String version,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String timeframe = toTimeframe(period);
+        if (timeframe == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            ResponseEntity<List<ChartDataDto>> response = chartChunkService.chunkResponse(stockSymbol, timeframe,
+                    chunkStart, version, ifNoneMatch, candles -> ChartDataDto.from(stockSymbol, candles));
+            return response != null ? response : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ 잘못된 차트 청크 요청: stockSymbol={}, period={}, chunkStart={} - {}",
+                    stockSymbol, period, chunkStart, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("차트 청크 조회 실패: stockSymbol={}, period={}, error={}", stockSymbol, period, e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * 일/주/월봉 최근 캔들 (진행 중인 당일/주/월 캔들 포함, 짧게 캐시)
+     */
+    @GetMapping("/{period}/{stockSymbol}/tail")
+    public ResponseEntity<List<ChartDataDto>> getTail(
+            @PathVariable String period,
+            @PathVariable String stockSymbol,
+            @RequestParam(defaultValue = "2") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String timeframe = toTimeframe(period);
+        if (timeframe == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            ResponseEntity<List<ChartDataDto>> response = chartChunkService.tailResponse(stockSymbol, timeframe,
+                    limit, ifNoneMatch, tail -> ChartDataDto.from(stockSymbol, tail));
+            return response != null ? response : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            log.error("최근 캔들 조회 실패: stockSymbol={}, period={}, error={}", stockSymbol, period, e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    private static String toTimeframe(String period) {
+        switch (period) {
+            case "daily":
+                return "1D";
+            case "weekly":
+                return "1W";
+            case "monthly":
+                return "1MO";
+            default:
+                return null;
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package com.hanazoom.domain.stock.controller;
+
+import com.hanazoom.domain.stock.service.HistoryBulkLoader;
+import com.hanazoom.global.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일/주/월봉 이력 적재 (관리자 전용 - SecurityConfig 에서 ROLE_ADMIN 요구)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/stock-history/load")
+@RequiredArgsConstructor
+public class HistoryLoadController {
+
+    private final HistoryBulkLoader historyBulkLoader;
+
+    @Value("${history.loader.from-date:2010-01-01}")
+    private String defaultFromDate;
+
+    /**
+     * 일/주/월봉 이력 적재 시작
+     *
+     * @param source KIS(기간별 시세 API) 또는 CSV(수집 스크립트 결과 파일)
+     * @param symbols 대상 종목 (생략 시 전체 종목, 종목 마스터에 없는 코드가 있으면 400)
+     * @param restart true 면 체크포인트를 무시하고 처음부터 다시 적재
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<Map<String, Object>>> start(
+            @RequestParam(defaultValue = "KIS") HistoryBulkLoader.Source source,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<String> symbols,
+            @RequestParam(defaultValue = "false") boolean restart) {
+        try {
+            Map<String, Object> status = historyBulkLoader.start(source, symbols,
+                    from != null ? from : LocalDate.parse(defaultFromDate),
+                    to != null ? to : HistoryBulkLoader.defaultEndDate(),
+                    restart);
+            if (status == null) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResponse.error("이미 이력 적재가 진행 중입니다"));
+            }
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success(status, "이력 적재를 시작했습니다"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("이력 적재 시작 실패", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("이력 적재 시작에 실패했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 최근 이력 적재 진행 상황
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<Map<String, Object>>> status() {
+        Map<String, Object> status = historyBulkLoader.getStatus();
+        if (status == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("이력 적재 기록이 없습니다"));
+        }
+        return ResponseEntity.ok(ApiResponse.success(status, "이력 적재 상태 조회 성공"));
+    }
+
+    /**
+     * 진행 중인 이력 적재 취소 (다음 실행 시 체크포인트부터 이어서 적재)
+     */
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<Void>> cancel() {
+        if (!historyBulkLoader.cancel()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("진행 중인 이력 적재가 없습니다"));
+        }
+        return ResponseEntity.ok(ApiResponse.success("이력 적재 취소를 요청했습니다"));
+    }
+}
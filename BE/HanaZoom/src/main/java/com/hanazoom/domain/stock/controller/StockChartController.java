@@ -1,13 +1,20 @@
 package com.hanazoom.domain.stock.controller;
 
 import com.hanazoom.domain.stock.dto.CandleData;
+import com.hanazoom.domain.stock.dto.ChartChunkInfo;
+import com.hanazoom.domain.stock.service.ChartChunkService;
 import com.hanazoom.domain.stock.service.StockChartService;
 import com.hanazoom.global.dto.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -17,6 +24,7 @@ import java.util.List;
 public class StockChartController {
 
     private final StockChartService stockChartService;
+    private final ChartChunkService chartChunkService;
 
     /**
      * 과거 캔들 데이터 조회
@@ -24,13 +32,15 @@ public class StockChartController {
      * @param stockCode 종목코드
      * @param timeframe 시간봉 (1M, 5M, 15M, 1H, 1D, 1W, 1MO)
      * @param limit 조회할 캔들 수 (기본 100개, 최대 5000개)
+     * @param before 분봉 무한 스크롤 커서 - 이전 응답의 첫 캔들 시각 (지정 시 그 이전 캔들만, DB 저장분에서 조회)
      * @return 캔들 데이터 리스트
      */
     @GetMapping("/{stockCode}")
     public ResponseEntity<ApiResponse<List<CandleData>>> getChartData(
             @PathVariable String stockCode,
             @RequestParam(defaultValue = "1D") String timeframe,
-            @RequestParam(defaultValue = "100") int limit) {
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
         
         try {
             // 최대 5000개로 제한 (10년치 데이터 지원)
@@ -38,9 +48,11 @@ public class StockChartController {
                 limit = 5000;
             }
             
-            log.info("차트 데이터 요청: 종목={}, 시간봉={}, 개수={}", stockCode, timeframe, limit);
+            log.info("차트 데이터 요청: 종목={}, 시간봉={}, 개수={}, 기준시각={}", stockCode, timeframe, limit, before);
             
-            List<CandleData> chartData = stockChartService.getChartData(stockCode, timeframe, limit);
+            List<CandleData> chartData = before == null
+                    ? stockChartService.getChartData(stockCode, timeframe, limit)
+                    : stockChartService.getChartDataBefore(stockCode, timeframe, limit, before);
             
             return ResponseEntity.ok(ApiResponse.success(chartData, "차트 데이터 조회 성공"));
             
@@ -75,12 +87,98 @@ public class StockChartController {
         }
     }
 
+    /**
+     * 최근 청크 목록 조회 (최신순) - version 이 바뀐 청크만 다시 받으면 됨
+     *
+     * @param stockCode 종목코드
+     * @param timeframe 시간봉
+     * @param count 청크 수 (분봉은 하루, 일/주봉은 1년, 월봉은 10년 단위)
+     */
+    @GetMapping("/{stockCode}/chunks")
+    public ResponseEntity<ApiResponse<List<ChartChunkInfo>>> getChunkIndex(
+            @PathVariable String stockCode,
+            @RequestParam(defaultValue = "1D") String timeframe,
+            @RequestParam(defaultValue = "5") int count,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        try {
+            ResponseEntity<ApiResponse<List<ChartChunkInfo>>> response = chartChunkService.chunkIndexResponse(
+                    stockCode, timeframe, count, ifNoneMatch,
+                    index -> ApiResponse.success(index, "차트 청크 목록 조회 성공"));
+            return response != null ? response : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error("차트 청크를 조회할 수 없습니다"));
+
+        } catch (Exception e) {
+            log.error("차트 청크 목록 조회 실패: 종목={}", stockCode, e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("차트 청크 목록 조회에 실패했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 청크 캔들 조회 (완료된 청크를 목록의 version 으로 요청하면 immutable 장기 캐시, If-None-Match 일치 시 304)
+     *
+     * @param stockCode 종목코드
+     * @param chunkStart 청크 시작일 (청크 목록의 chunkStart)
+     * @param timeframe 시간봉
+     * @param version 청크 버전 (청크 목록의 version)
+     */
+    @GetMapping("/{stockCode}/chunks/{chunkStart}")
+    public ResponseEntity<ApiResponse<List<CandleData>>> getChunk(
+            @PathVariable String stockCode,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate chunkStart,
+            @RequestParam(defaultValue = "1D") String timeframe,
+            @RequestParam(name = "v", required = false) String version,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        try {
+            ResponseEntity<ApiResponse<List<CandleData>>> response = chartChunkService.chunkResponse(stockCode,
+                    timeframe, chunkStart, version, ifNoneMatch,
+                    candles -> ApiResponse.success(CandleData.from(stockCode, timeframe, candles), "차트 청크 조회 성공"));
+            return response != null ? response : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error("차트 청크를 조회할 수 없습니다"));
+
+        } catch (Exception e) {
+            log.error("차트 청크 조회 실패: 종목={}, 청크={}", stockCode, chunkStart, e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("차트 청크 조회에 실패했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 최근 캔들 조회 (미확정/진행 중 캔들 포함, 짧게 캐시)
+     *
+     * @param stockCode 종목코드
+     * @param timeframe 시간봉
+     * @param limit 캔들 수 (기본 2개, 최대 100개)
+     */
+    @GetMapping("/{stockCode}/tail")
+    public ResponseEntity<ApiResponse<List<CandleData>>> getTail(
+            @PathVariable String stockCode,
+            @RequestParam(defaultValue = "1D") String timeframe,
+            @RequestParam(defaultValue = "2") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        try {
+            ResponseEntity<ApiResponse<List<CandleData>>> response = chartChunkService.tailResponse(stockCode,
+                    timeframe, limit, ifNoneMatch,
+                    tail -> ApiResponse.success(CandleData.from(stockCode, timeframe, tail), "최근 캔들 조회 성공"));
+            return response != null ? response : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error("최근 캔들을 조회할 수 없습니다"));
+
+        } catch (Exception e) {
+            log.error("최근 캔들 조회 실패: 종목={}", stockCode, e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("최근 캔들 조회에 실패했습니다: " + e.getMessage()));
+        }
+    }
+
     /**
      * 지원하는 시간봉 목록 조회
      */
     @GetMapping("/timeframes")
     public ResponseEntity<ApiResponse<List<String>>> getSupportedTimeframes() {
-        List<String> timeframes = List.of("1M", "5M", "15M", "1H", "1D", "1W", "1MO");
+        List<String> timeframes = stockChartService.getSupportedTimeframes();
         return ResponseEntity.ok(ApiResponse.success(timeframes, "지원 시간봉 목록"));
     }
 }
@@ -1,15 +1,19 @@
 package com.hanazoom.domain.stock.controller;
 
 import com.hanazoom.domain.stock.entity.StockMinutePrice;
+import com.hanazoom.domain.stock.service.CandleRollupService;
 import com.hanazoom.domain.stock.service.StockMinutePriceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestController
@@ -18,21 +22,25 @@ import java.util.List;
 public class StockMinutePriceController {
 
     private final StockMinutePriceService stockMinutePriceService;
+    private final CandleRollupService candleRollupService;
 
     /**
-     * 특정 종목의 특정 분봉 간격 데이터 조회 (최근 N개)
+     * 특정 종목의 특정 분봉 간격 데이터 조회 (최근 N개, before 지정 시 그 이전 N개)
+     * 무한 스크롤은 응답 첫 캔들의 timestamp 를 다음 요청의 before 로 전달 (빈 목록이면 더 없음)
      */
     @GetMapping("/{stockSymbol}/{minuteInterval}")
     public ResponseEntity<List<StockMinutePrice>> getRecentMinutePrices(
             @PathVariable String stockSymbol,
             @PathVariable StockMinutePrice.MinuteInterval minuteInterval,
-            @RequestParam(defaultValue = "100") int limit) {
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
         
         try {
-            log.info("분봉 데이터 조회 요청: 종목={}, 간격={}, 제한={}", stockSymbol, minuteInterval, limit);
+            log.info("분봉 데이터 조회 요청: 종목={}, 간격={}, 제한={}, 기준시각={}", stockSymbol, minuteInterval, limit, before);
             
-            List<StockMinutePrice> prices = stockMinutePriceService
-                    .getRecentMinutePrices(stockSymbol, minuteInterval, limit);
+            List<StockMinutePrice> prices = before == null
+                    ? stockMinutePriceService.getRecentMinutePrices(stockSymbol, minuteInterval, limit)
+                    : stockMinutePriceService.getMinutePricesBefore(stockSymbol, minuteInterval, before, limit);
             
             log.info("분봉 데이터 조회 완료: 종목={}, 간격={}, 개수={}", stockSymbol, minuteInterval, prices.size());
             
@@ -63,6 +71,9 @@ public class StockMinutePriceController {
             log.info("분봉 데이터 범위 조회 완료: 종목={}, 간격={}, 개수={}", stockSymbol, minuteInterval, prices.size());
             
             return ResponseEntity.ok(prices);
+        } catch (IllegalArgumentException e) {
+            log.warn("분봉 데이터 범위 조회 거부: 종목={}, 간격={}, 시간범위={}~{} - {}", stockSymbol, minuteInterval, startTime, endTime, e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("분봉 데이터 범위 조회 실패: 종목={}, 간격={}", stockSymbol, minuteInterval, e);
             return ResponseEntity.internalServerError().build();
@@ -86,6 +97,31 @@ public class StockMinutePriceController {
         }
     }
 
+    /**
+     * 저장된 1분봉으로 상위 간격/일봉 롤업 (과거 이력 보정, 관리자 전용)
+     * 짧은 기간은 바로 실행해 캔들 수를 반환(200), 긴 기간은 백그라운드로 넘기고 202
+     */
+    @PostMapping("/{stockSymbol}/rollup")
+    public ResponseEntity<Integer> rollup(
+            @PathVariable String stockSymbol,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        try {
+            log.info("캔들 롤업 요청: 종목={}, 기간={}~{}", stockSymbol, from, to);
+            Integer candles = candleRollupService.requestRollup(stockSymbol, from, to);
+            return candles != null ? ResponseEntity.ok(candles) : ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        } catch (IllegalArgumentException e) {
+            log.warn("캔들 롤업 요청 거부: 종목={}, 기간={}~{} - {}", stockSymbol, from, to, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            log.error("캔들 롤업 실패: 종목={}, 기간={}~{}", stockSymbol, from, to, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * 오래된 분봉 데이터 정리
      */
@@ -5,7 +5,15 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.hanazoom.domain.stock.entity.StockDailyPrice;
+import com.hanazoom.domain.stock.entity.StockMinutePrice;
+import com.hanazoom.domain.stock.store.CandleColumns;
+
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 캔들스틱 차트 데이터 DTO
@@ -35,6 +43,72 @@ public class CandleData {
     private boolean isComplete;         // 캔들 완성 여부 (현재봉은 false)
     private long timestamp;             // 타임스탬프
     
+    /**
+     * 캔들 스토어 조회 결과를 CandleData 목록으로 변환
+     */
+    public static List<CandleData> from(String stockCode, String timeframe, CandleColumns columns) {
+        List<CandleData> candles = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            LocalDateTime dateTime = columns.dateTime(i);
+            long change = columns.change(i);
+            candles.add(CandleData.builder()
+                    .stockCode(stockCode)
+                    .dateTime(dateTime)
+                    .timeframe(timeframe)
+                    .openPrice(String.valueOf(columns.open(i)))
+                    .highPrice(String.valueOf(columns.high(i)))
+                    .lowPrice(String.valueOf(columns.low(i)))
+                    .closePrice(String.valueOf(columns.close(i)))
+                    .volume(String.valueOf(columns.volume(i)))
+                    .changePrice(String.valueOf(change))
+                    .changeRate(BigDecimal.valueOf(columns.changeRateBp(i), 2).toPlainString())
+                    .changeSign(change > 0 ? "2" : change < 0 ? "4" : "3")
+                    .isComplete(true)
+                    .timestamp(dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                    .build());
+        }
+        return candles;
+    }
+
+    /**
+     * 집계기의 진행 중 분봉을 CandleData 로 변환
+     */
+    public static CandleData live(StockMinutePrice candle, String timeframe) {
+        return live(candle.getStockSymbol(), timeframe, candle.getTimestamp(), candle.getOpenPrice(),
+                candle.getHighPrice(), candle.getLowPrice(), candle.getClosePrice(), candle.getVolume(),
+                candle.getPriceChange(), candle.getPriceChangePercent());
+    }
+
+    /**
+     * 집계기의 진행 중 일봉을 CandleData 로 변환
+     */
+    public static CandleData live(StockDailyPrice candle) {
+        return live(candle.getStockSymbol(), "1D", candle.getTradeDate().atStartOfDay(), candle.getOpenPrice(),
+                candle.getHighPrice(), candle.getLowPrice(), candle.getClosePrice(), candle.getVolume(),
+                candle.getPriceChange(), candle.getPriceChangePercent());
+    }
+
+    private static CandleData live(String stockCode, String timeframe, LocalDateTime dateTime, BigDecimal open,
+                                   BigDecimal high, BigDecimal low, BigDecimal close, Long volume,
+                                   BigDecimal change, BigDecimal changeRate) {
+        int sign = change != null ? change.signum() : 0;
+        return CandleData.builder()
+                .stockCode(stockCode)
+                .dateTime(dateTime)
+                .timeframe(timeframe)
+                .openPrice(open.toPlainString())
+                .highPrice(high.toPlainString())
+                .lowPrice(low.toPlainString())
+                .closePrice(close.toPlainString())
+                .volume(String.valueOf(volume != null ? volume : 0L))
+                .changePrice(change != null ? change.toPlainString() : "0")
+                .changeRate(changeRate != null ? changeRate.toPlainString() : "0")
+                .changeSign(sign > 0 ? "2" : sign < 0 ? "4" : "3")
+                .isComplete(false)
+                .timestamp(dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .build();
+    }
+
     /**
      * 실시간 데이터로 현재 캔들 업데이트
      */
@@ -0,0 +1,40 @@
+package com.hanazoom.domain.stock.dto;
+
+import com.hanazoom.domain.stock.service.ChartChunkService;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 차트 청크 목록 항목 DTO
+ *
+ * 클라이언트는 청크를 .../chunks/{chunkStart}?v={version} 으로 받는다.
+ * 과거 캔들이 보정되면 version 이 바뀌어 새 URL 이 되므로, 바뀐 청크만 다시 받게 된다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChartChunkInfo {
+
+    private LocalDate chunkStart; // 청크 시작일 (청크 조회 경로 값)
+    private LocalDate chunkEnd; // 청크 종료일 (미포함)
+    private String version; // 청크 내용 버전 (청크 조회 v 파라미터 값)
+    private String etag; // 청크 내용 ETag
+    private boolean immutable; // 완료된 청크 여부 (진행 중 청크는 false)
+    private int size; // 캔들 수
+
+    public static ChartChunkInfo from(ChartChunkService.Chunk chunk) {
+        return ChartChunkInfo.builder()
+                .chunkStart(chunk.getStart())
+                .chunkEnd(chunk.getEnd())
+                .version(chunk.getVersion())
+                .etag(chunk.getEtag())
+                .immutable(chunk.isImmutable())
+                .size(chunk.getCandles().size())
+                .build();
+    }
+}
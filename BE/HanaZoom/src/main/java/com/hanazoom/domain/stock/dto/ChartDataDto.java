@@ -1,9 +1,12 @@
 package com.hanazoom.domain.stock.dto;
 
+import com.hanazoom.domain.stock.store.CandleColumns;
 import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @Getter
 @Setter
@@ -20,4 +23,25 @@ public class ChartDataDto {
     private Long volume;
     private BigDecimal priceChange;
     private BigDecimal priceChangePercent;
+
+    /**
+     * 캔들 스토어 조회 결과를 DTO 목록으로 변환
+     */
+    public static List<ChartDataDto> from(String stockSymbol, CandleColumns columns) {
+        List<ChartDataDto> result = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            result.add(ChartDataDto.builder()
+                    .stockSymbol(stockSymbol)
+                    .date(columns.date(i))
+                    .openPrice(BigDecimal.valueOf(columns.open(i)))
+                    .highPrice(BigDecimal.valueOf(columns.high(i)))
+                    .lowPrice(BigDecimal.valueOf(columns.low(i)))
+                    .closePrice(BigDecimal.valueOf(columns.close(i)))
+                    .volume(columns.volume(i))
+                    .priceChange(BigDecimal.valueOf(columns.change(i)))
+                    .priceChangePercent(BigDecimal.valueOf(columns.changeRateBp(i), 2))
+                    .build());
+        }
+        return result;
+    }
 }
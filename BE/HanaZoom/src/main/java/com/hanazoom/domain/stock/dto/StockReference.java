@@ -0,0 +1,23 @@
+package com.hanazoom.domain.stock.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 종목 기준정보 (종목명, 업종, 시장, 상장주식수, 로고) - 불변 값 객체
+ */
+@Getter
+@Builder(toBuilder = true)
+public class StockReference {
+
+    private final String symbol; // 종목코드
+    private final String name; // 종목명
+    private final String sector; // 업종
+    private final String market; // 시장 (KOSPI/KOSDAQ)
+    private final long listedShares; // 상장주식수 (미조회 시 0)
+    private final String logoUrl; // 로고 URL
+
+    public boolean hasListedShares() {
+        return listedShares > 0;
+    }
+}
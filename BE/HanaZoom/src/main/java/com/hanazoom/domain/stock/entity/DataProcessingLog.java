@@ -5,10 +5,11 @@ import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "data_processing_logs")
+@Table(name = "data_processing_logs", indexes = @Index(name = "idx_processing_logs_created_at", columnList = "created_at"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -56,6 +57,14 @@ public class DataProcessingLog {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
+    // 이력 적재 완료 구간 시작일 (loadedFrom ~ checkpointDate 가 빠짐없이 적재됨)
+    @Column(name = "loaded_from")
+    private LocalDate loadedFrom;
+
+    // 이 날짜까지 적재 완료 (재시작 시 다음 날부터 이어서 적재)
+    @Column(name = "checkpoint_date")
+    private LocalDate checkpointDate;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -23,7 +23,7 @@ public class DataRetentionPolicy {
     private Long id;
 
     @Enumerated(EnumType.STRING)
-    @Column(name = "data_type", nullable = false, unique = true)
+    @Column(name = "data_type", nullable = false, unique = true, length = 30, columnDefinition = "varchar(30)")
     private DataType dataType;
 
     @Column(name = "retention_days", nullable = false)
@@ -56,7 +56,9 @@ public class DataRetentionPolicy {
         FIFTEEN_MINUTES("15분봉", 365), // 1년 보관
         DAILY("일봉", 2555), // 7년 보관
         WEEKLY("주봉", 3650), // 10년 보관
-        MONTHLY("월봉", 10950); // 30년 보관
+        MONTHLY("월봉", 10950), // 30년 보관
+        PROCESSING_LOG("데이터 처리 로그", 90), // 90일 보관 (종목·유형별 최신 로그는 유지)
+        NOTIFICATION("알림", 180); // 180일 보관
 
         private final String description;
         private final int defaultRetentionDays;
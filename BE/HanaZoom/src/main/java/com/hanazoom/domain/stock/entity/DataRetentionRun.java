@@ -0,0 +1,74 @@
+package com.hanazoom.domain.stock.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관 정책 적용 결과 (정책·실행마다 한 행)
+ */
+@Entity
+@Table(name = "data_retention_runs", indexes = @Index(name = "idx_retention_runs_type_start",
+        columnList = "data_type, start_time"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+public class DataRetentionRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "data_type", nullable = false, length = 30, columnDefinition = "varchar(30)")
+    private DataRetentionPolicy.DataType dataType;
+
+    @Column(name = "table_name", nullable = false, length = 64)
+    private String tableName;
+
+    // 이 시각 이전 데이터가 삭제 대상
+    @Column(name = "cutoff_time", nullable = false)
+    private LocalDateTime cutoffTime;
+
+    @Column(name = "partitions_dropped")
+    private Integer partitionsDropped = 0;
+
+    @Column(name = "rows_deleted")
+    private Long rowsDeleted = 0L;
+
+    @Column(name = "chunks")
+    private Integer chunks = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20, columnDefinition = "varchar(20)")
+    private RunStatus status;
+
+    @Column(name = "message", length = 500)
+    private String message;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time")
+    private LocalDateTime endTime;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum RunStatus {
+        COMPLETED, // 기준 시각 이전 데이터 모두 정리
+        STOPPED, // 장 운영 시간 진입 또는 실행 시간 한도로 중단 (다음 실행에서 이어서 정리)
+        SKIPPED, // 장 운영 시간이라 시작하지 않음
+        FAILED
+    }
+}
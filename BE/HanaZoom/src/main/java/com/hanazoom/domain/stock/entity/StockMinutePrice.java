@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "stock_minute_prices", uniqueConstraints = @UniqueConstraint(columnNames = { "stock_symbol",
-        "minute_interval", "timestamp" }))
+        "minute_interval", "timestamp" }), indexes = @Index(name = "idx_minute_prices_interval_timestamp",
+        columnList = "minute_interval, timestamp"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,7 +29,7 @@ public class StockMinutePrice {
     private String stockSymbol;
 
     @Enumerated(EnumType.STRING)
-    @Column(name = "minute_interval", nullable = false)
+    @Column(name = "minute_interval", nullable = false, length = 20, columnDefinition = "varchar(20)")
     private MinuteInterval minuteInterval;
 
     @Column(name = "timestamp", nullable = false)
@@ -59,7 +60,13 @@ public class StockMinutePrice {
     private BigDecimal vwap;
 
     @Column(name = "tick_count")
-    private Integer tickCount;
+    private Integer tickCount; // 체결 건수
+
+    @Column(name = "buy_volume")
+    private Long buyVolume; // 매수 체결 거래량
+
+    @Column(name = "sell_volume")
+    private Long sellVolume; // 매도 체결 거래량
 
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -69,10 +76,19 @@ public class StockMinutePrice {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * 저장 가능한 분봉 간격 (실제로 집계/저장하는 간격은 candle.rollup.minute-intervals 설정으로 선택)
+     * 상수 이름이 minute_interval 컬럼 값, API 경로 값, 캔들 스토어 파일 이름으로 쓰이므로
+     * 여기 없는 길이를 설정하려면 상수를 먼저 추가해야 한다 (설정에서 고를 수 있는 후보 목록).
+     */
     public enum MinuteInterval {
         ONE_MINUTE(1, "1분"),
+        THREE_MINUTES(3, "3분"),
         FIVE_MINUTES(5, "5분"),
-        FIFTEEN_MINUTES(15, "15분");
+        TEN_MINUTES(10, "10분"),
+        FIFTEEN_MINUTES(15, "15분"),
+        THIRTY_MINUTES(30, "30분"),
+        SIXTY_MINUTES(60, "60분");
 
         private final int minutes;
         private final String description;
@@ -89,5 +105,34 @@ public class StockMinutePrice {
         public String getDescription() {
             return description;
         }
+
+        /**
+         * 분 단위 길이로 간격 조회
+         */
+        public static MinuteInterval ofMinutes(int minutes) {
+            for (MinuteInterval interval : values()) {
+                if (interval.minutes == minutes) {
+                    return interval;
+                }
+            }
+            throw new IllegalArgumentException("지원하지 않는 분봉 간격: " + minutes + "분");
+        }
+
+        /**
+         * 분봉 시간봉 문자열(1M, 3M, 5M, 10M, 15M, 30M, 1H 등)을 간격으로 변환 (분봉이 아니면 null)
+         */
+        public static MinuteInterval fromTimeframe(String timeframe) {
+            try {
+                if (timeframe.endsWith("H")) {
+                    return ofMinutes(Integer.parseInt(timeframe.substring(0, timeframe.length() - 1)) * 60);
+                }
+                if (timeframe.endsWith("M")) {
+                    return ofMinutes(Integer.parseInt(timeframe.substring(0, timeframe.length() - 1)));
+                }
+            } catch (IllegalArgumentException e) {
+                // 숫자가 아니거나 지원하지 않는 간격
+            }
+            return null;
+        }
     }
 }
@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "stock_monthly_prices", uniqueConstraints = @UniqueConstraint(columnNames = { "stock_symbol",
-        "year_month" }))
+        "year_month_period" }))
 @Getter
 @Setter
 @NoArgsConstructor
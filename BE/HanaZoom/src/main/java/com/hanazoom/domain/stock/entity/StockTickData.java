@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "stock_tick_data", uniqueConstraints = @UniqueConstraint(columnNames = { "stock_symbol", "timestamp",
-        "sequence" }))
+        "sequence" }), indexes = @Index(name = "idx_tick_data_timestamp", columnList = "timestamp"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,17 @@
+package com.hanazoom.domain.stock.repository;
+
+import com.hanazoom.domain.stock.entity.DataProcessingLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface DataProcessingLogRepository extends JpaRepository<DataProcessingLog, Long> {
+
+    /**
+     * 종목·유형의 가장 최근 처리 기록 (이력 적재 재시작 지점)
+     */
+    Optional<DataProcessingLog> findFirstByProcessTypeAndStockSymbolOrderByIdDesc(
+            DataProcessingLog.ProcessType processType, String stockSymbol);
+}
@@ -0,0 +1,130 @@
+package com.hanazoom.domain.stock.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 보관 기간이 지난 데이터 삭제 (JDBC)
+ *
+ * - RANGE 파티션 테이블: 상한(LESS THAN)이 기준 시각 이하인 파티션을 통째로 DROP (행 잠금 없음)
+ *   지원하는 분할 방식은 RANGE COLUMNS(시각 컬럼) 과 RANGE(TO_DAYS(시각 컬럼))
+ * - 그 외: 시각 컬럼 인덱스 순서로 LIMIT 건씩 DELETE (문장마다 자동 커밋되어 잠금이 짧게 끝남)
+ * 테이블/컬럼/조건은 호출 측 상수만 받는다.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class DataRetentionJdbcRepository {
+
+    // TO_DAYS('1970-01-01')
+    private static final long TO_DAYS_EPOCH = 719528L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * data_type 컬럼이 MySQL ENUM 으로 만들어진 예전 스키마면 기동 중단
+     * (ddl-auto=update 는 기존 컬럼 타입을 바꾸지 않아 새 정책 유형 저장이 실패함, 스키마 변경은 스크립트로만 적용)
+     */
+    @PostConstruct
+    public void verifyDataTypeColumn() {
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT DATA_TYPE FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() "
+                        + "AND TABLE_NAME = 'data_retention_policies' AND COLUMN_NAME = 'data_type'",
+                String.class);
+        if (!types.isEmpty() && "enum".equalsIgnoreCase(types.get(0))) {
+            throw new IllegalStateException("data_retention_policies.data_type 컬럼이 ENUM 입니다. "
+                    + "scripts/schema_migration/widen_retention_data_type.sql 을 적용한 뒤 다시 시작하세요.");
+        }
+    }
+
+    /**
+     * 통째로 지워도 되는 파티션 (모든 행이 cutoff 이전, 마지막 파티션은 남김)
+     *
+     * @return 파티션 이름 (오래된 순), 시각 컬럼 기준 RANGE 파티션 테이블이 아니면 빈 목록
+     */
+    public List<String> findExpiredPartitions(String table, String timeColumn, LocalDateTime cutoff) {
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME, PARTITION_METHOD, PARTITION_EXPRESSION, PARTITION_DESCRIPTION "
+                        + "FROM information_schema.PARTITIONS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? "
+                        + "AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION",
+                table);
+        List<String> expired = new ArrayList<>();
+        for (Map<String, Object> partition : partitions) {
+            String method = String.valueOf(partition.get("PARTITION_METHOD"));
+            String expression = String.valueOf(partition.get("PARTITION_EXPRESSION"))
+                    .replace("`", "").replace(" ", "").toLowerCase();
+            if (!method.startsWith("RANGE") || !expression.contains(timeColumn.toLowerCase())) {
+                return List.of();
+            }
+            LocalDateTime upperBound = upperBound(method, expression,
+                    String.valueOf(partition.get("PARTITION_DESCRIPTION")));
+            if (upperBound == null) {
+                if (!"MAXVALUE".equalsIgnoreCase(String.valueOf(partition.get("PARTITION_DESCRIPTION")))) {
+                    log.warn("⚠️ 파티션 상한을 해석할 수 없음: {}.{} ({})", table,
+                            partition.get("PARTITION_NAME"), expression);
+                }
+                break;
+            }
+            if (upperBound.isAfter(cutoff)) {
+                break;
+            }
+            expired.add(String.valueOf(partition.get("PARTITION_NAME")));
+        }
+        if (!expired.isEmpty() && expired.size() == partitions.size()) {
+            expired.remove(expired.size() - 1); // 파티션을 모두 지울 수는 없음
+        }
+        return expired;
+    }
+
+    /**
+     * RANGE COLUMNS 는 날짜/시각 리터럴, RANGE(TO_DAYS(...)) 는 일수 (해석할 수 없으면 null)
+     */
+    private static LocalDateTime upperBound(String method, String expression, String description) {
+        try {
+            if ("RANGE COLUMNS".equals(method)) {
+                String literal = description.replace("'", "").trim();
+                return literal.length() <= 10
+                        ? LocalDate.parse(literal).atStartOfDay()
+                        : LocalDateTime.parse(literal.replace(' ', 'T'));
+            }
+            if (expression.startsWith("to_days(")) {
+                return LocalDate.ofEpochDay(Long.parseLong(description.trim()) - TO_DAYS_EPOCH).atStartOfDay();
+            }
+        } catch (RuntimeException e) {
+            return null;
+        }
+        return null;
+    }
+
+    public void dropPartition(String table, String partition) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION `" + partition.replace("`", "") + "`");
+    }
+
+    /**
+     * cutoff 이전 행을 시각 컬럼 순으로 최대 limit 건 삭제
+     *
+     * @param condition 추가 조건 (없으면 null), args 는 그 조건의 파라미터
+     * @return 삭제한 행 수 (limit 보다 작으면 남은 대상 없음)
+     */
+    public int deleteChunk(String table, String timeColumn, String condition, Object[] args,
+                           LocalDateTime cutoff, int limit) {
+        String sql = "DELETE FROM " + table + " WHERE " + timeColumn + " < ?"
+                + (condition != null ? " AND " + condition : "")
+                + " ORDER BY " + timeColumn + " LIMIT ?";
+        Object[] params = new Object[args.length + 2];
+        params[0] = Timestamp.valueOf(cutoff);
+        System.arraycopy(args, 0, params, 1, args.length);
+        params[params.length - 1] = limit;
+        return jdbcTemplate.update(sql, params);
+    }
+}
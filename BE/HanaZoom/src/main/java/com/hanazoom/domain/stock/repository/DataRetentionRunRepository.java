@@ -0,0 +1,9 @@
+package com.hanazoom.domain.stock.repository;
+
+import com.hanazoom.domain.stock.entity.DataRetentionRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DataRetentionRunRepository extends JpaRepository<DataRetentionRun, Long> {
+}
@@ -0,0 +1,205 @@
+package com.hanazoom.domain.stock.repository;
+
+import com.hanazoom.domain.stock.entity.StockDailyPrice;
+import com.hanazoom.domain.stock.entity.StockMinutePrice;
+import com.hanazoom.domain.stock.entity.StockMonthlyPrice;
+import com.hanazoom.domain.stock.entity.StockWeeklyPrice;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 캔들 배치 upsert (JDBC)
+ *
+ * IDENTITY 키 엔티티는 JPA 배치 INSERT 가 되지 않으므로 집계/롤업 결과는 JdbcTemplate 배치로 기록한다.
+ * 같은 캔들을 여러 번 기록해도 시가는 처음 값을 유지하고 고가/저가는 넓은 쪽을 남긴다.
+ * 분봉의 거래량/체결 건수/매수·매도 거래량은 큰 쪽을 남기고, VWAP 는 들어온 체결 건수가 기존 이상일 때만 바꾼다
+ * (재시작 직후 일부 틱만 본 캔들이 기존 행을 작게 덮어쓰지 않도록).
+ * 과거 이력 적재(upsert*History)는 원천 데이터가 기준이므로 기존 캔들을 그대로 덮어쓴다.
+ * 배치는 datasource 의 rewriteBatchedStatements 로 다중 행 INSERT 한 문장씩 전송된다.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class StockCandleJdbcRepository {
+
+    private static final String UPSERT_MINUTE_SQL = "INSERT INTO stock_minute_prices "
+            + "(stock_symbol, minute_interval, timestamp, open_price, high_price, low_price, close_price, volume, "
+            + "price_change, price_change_percent, vwap, tick_count, buy_volume, sell_volume, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE high_price = GREATEST(high_price, VALUES(high_price)), "
+            + "low_price = LEAST(low_price, VALUES(low_price)), close_price = VALUES(close_price), "
+            + "volume = GREATEST(volume, VALUES(volume)), "
+            // 등락은 유지하는 시가 기준으로 둘 다 다시 계산 (CandleRollup.percent 와 같은 소수 둘째 자리 반올림)
+            + "price_change = VALUES(close_price) - open_price, "
+            + "price_change_percent = IF(open_price > 0, ROUND((VALUES(close_price) - open_price) * 100 / open_price, 2), 0), "
+            // MySQL 은 SET 을 왼쪽부터 적용하므로 vwap 은 tick_count 갱신 전 값과 비교
+            + "vwap = IF(VALUES(tick_count) >= tick_count, VALUES(vwap), vwap), "
+            + "tick_count = GREATEST(tick_count, VALUES(tick_count)), "
+            + "buy_volume = GREATEST(buy_volume, VALUES(buy_volume)), "
+            + "sell_volume = GREATEST(sell_volume, VALUES(sell_volume)), "
+            + "updated_at = VALUES(updated_at)";
+
+    private static final String UPSERT_DAILY_SQL = "INSERT INTO stock_daily_prices "
+            + "(stock_symbol, trade_date, open_price, high_price, low_price, close_price, volume, "
+            + "price_change, price_change_percent, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE high_price = GREATEST(high_price, VALUES(high_price)), "
+            + "low_price = LEAST(low_price, VALUES(low_price)), close_price = VALUES(close_price), "
+            + "volume = GREATEST(volume, VALUES(volume)), price_change = VALUES(price_change), "
+            + "price_change_percent = VALUES(price_change_percent), updated_at = VALUES(updated_at)";
+
+    // 이력 적재: 전일대비가 없는 행(CSV 첫 행 등)은 기존 값을 유지
+    private static final String HISTORY_UPDATE = "open_price = VALUES(open_price), high_price = VALUES(high_price), "
+            + "low_price = VALUES(low_price), close_price = VALUES(close_price), volume = VALUES(volume), "
+            + "price_change = COALESCE(VALUES(price_change), price_change), "
+            + "price_change_percent = COALESCE(VALUES(price_change_percent), price_change_percent), "
+            + "updated_at = VALUES(updated_at)";
+
+    private static final String UPSERT_DAILY_HISTORY_SQL = "INSERT INTO stock_daily_prices "
+            + "(stock_symbol, trade_date, open_price, high_price, low_price, close_price, volume, "
+            + "price_change, price_change_percent, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " + HISTORY_UPDATE;
+
+    private static final String UPSERT_WEEKLY_HISTORY_SQL = "INSERT INTO stock_weekly_prices "
+            + "(stock_symbol, week_start_date, week_end_date, open_price, high_price, low_price, close_price, volume, "
+            + "price_change, price_change_percent, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+            + "week_end_date = VALUES(week_end_date), " + HISTORY_UPDATE;
+
+    private static final String UPSERT_MONTHLY_HISTORY_SQL = "INSERT INTO stock_monthly_prices "
+            + "(stock_symbol, year_month_period, open_price, high_price, low_price, close_price, volume, "
+            + "price_change, price_change_percent, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " + HISTORY_UPDATE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * minute_interval 컬럼이 MySQL ENUM 으로 만들어진 예전 스키마면 기동 중단
+     * (ddl-auto=update 는 기존 컬럼 타입을 바꾸지 않아 새 간격 값 저장이 실패함, 가장 큰 테이블이라 기동 중에 ALTER 하지 않음)
+     */
+    @PostConstruct
+    public void verifyMinuteIntervalColumn() {
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT DATA_TYPE FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() "
+                        + "AND TABLE_NAME = 'stock_minute_prices' AND COLUMN_NAME = 'minute_interval'",
+                String.class);
+        if (!types.isEmpty() && "enum".equalsIgnoreCase(types.get(0))) {
+            throw new IllegalStateException("stock_minute_prices.minute_interval 컬럼이 ENUM 입니다. "
+                    + "scripts/schema_migration/widen_minute_interval.sql 을 적용한 뒤 다시 시작하세요.");
+        }
+    }
+
+    public void upsertMinutePrices(List<StockMinutePrice> candles) {
+        if (candles.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_MINUTE_SQL, candles, candles.size(), (ps, candle) -> {
+            ps.setString(1, candle.getStockSymbol());
+            ps.setString(2, candle.getMinuteInterval().name());
+            ps.setTimestamp(3, Timestamp.valueOf(candle.getTimestamp()));
+            ps.setBigDecimal(4, candle.getOpenPrice());
+            ps.setBigDecimal(5, candle.getHighPrice());
+            ps.setBigDecimal(6, candle.getLowPrice());
+            ps.setBigDecimal(7, candle.getClosePrice());
+            ps.setLong(8, candle.getVolume());
+            ps.setBigDecimal(9, candle.getPriceChange());
+            ps.setBigDecimal(10, candle.getPriceChangePercent());
+            ps.setBigDecimal(11, candle.getVwap());
+            ps.setInt(12, candle.getTickCount() != null ? candle.getTickCount() : 0);
+            ps.setLong(13, candle.getBuyVolume() != null ? candle.getBuyVolume() : 0L);
+            ps.setLong(14, candle.getSellVolume() != null ? candle.getSellVolume() : 0L);
+            ps.setTimestamp(15, now);
+            ps.setTimestamp(16, now);
+        });
+    }
+
+    public void upsertDailyPrices(List<StockDailyPrice> candles) {
+        if (candles.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_DAILY_SQL, candles, candles.size(), (ps, candle) -> {
+            ps.setString(1, candle.getStockSymbol());
+            ps.setDate(2, Date.valueOf(candle.getTradeDate()));
+            ps.setBigDecimal(3, candle.getOpenPrice());
+            ps.setBigDecimal(4, candle.getHighPrice());
+            ps.setBigDecimal(5, candle.getLowPrice());
+            ps.setBigDecimal(6, candle.getClosePrice());
+            ps.setLong(7, candle.getVolume());
+            ps.setBigDecimal(8, candle.getPriceChange());
+            ps.setBigDecimal(9, candle.getPriceChangePercent());
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+    }
+
+    public void upsertDailyHistory(List<StockDailyPrice> candles) {
+        if (candles.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_DAILY_HISTORY_SQL, candles, candles.size(), (ps, candle) -> {
+            ps.setString(1, candle.getStockSymbol());
+            ps.setDate(2, Date.valueOf(candle.getTradeDate()));
+            ps.setBigDecimal(3, candle.getOpenPrice());
+            ps.setBigDecimal(4, candle.getHighPrice());
+            ps.setBigDecimal(5, candle.getLowPrice());
+            ps.setBigDecimal(6, candle.getClosePrice());
+            ps.setLong(7, candle.getVolume());
+            ps.setBigDecimal(8, candle.getPriceChange());
+            ps.setBigDecimal(9, candle.getPriceChangePercent());
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+    }
+
+    public void upsertWeeklyHistory(List<StockWeeklyPrice> candles) {
+        if (candles.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_WEEKLY_HISTORY_SQL, candles, candles.size(), (ps, candle) -> {
+            ps.setString(1, candle.getStockSymbol());
+            ps.setDate(2, Date.valueOf(candle.getWeekStartDate()));
+            ps.setDate(3, Date.valueOf(candle.getWeekEndDate()));
+            ps.setBigDecimal(4, candle.getOpenPrice());
+            ps.setBigDecimal(5, candle.getHighPrice());
+            ps.setBigDecimal(6, candle.getLowPrice());
+            ps.setBigDecimal(7, candle.getClosePrice());
+            ps.setLong(8, candle.getVolume());
+            ps.setBigDecimal(9, candle.getPriceChange());
+            ps.setBigDecimal(10, candle.getPriceChangePercent());
+            ps.setTimestamp(11, now);
+            ps.setTimestamp(12, now);
+        });
+    }
+
+    public void upsertMonthlyHistory(List<StockMonthlyPrice> candles) {
+        if (candles.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_MONTHLY_HISTORY_SQL, candles, candles.size(), (ps, candle) -> {
+            ps.setString(1, candle.getStockSymbol());
+            ps.setString(2, candle.getYearMonth());
+            ps.setBigDecimal(3, candle.getOpenPrice());
+            ps.setBigDecimal(4, candle.getHighPrice());
+            ps.setBigDecimal(5, candle.getLowPrice());
+            ps.setBigDecimal(6, candle.getClosePrice());
+            ps.setLong(7, candle.getVolume());
+            ps.setBigDecimal(8, candle.getPriceChange());
+            ps.setBigDecimal(9, candle.getPriceChangePercent());
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+    }
+}
@@ -22,6 +22,10 @@ public interface StockDailyPriceRepository extends JpaRepository<StockDailyPrice
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    @Query("SELECT s FROM StockDailyPrice s WHERE s.stockSymbol = :stockSymbol AND s.tradeDate < :tradeDate ORDER BY s.tradeDate DESC")
+    List<StockDailyPrice> findLatestBefore(@Param("stockSymbol") String stockSymbol,
+            @Param("tradeDate") LocalDate tradeDate, Pageable pageable);
+
     @Query("SELECT s FROM StockDailyPrice s WHERE s.stockSymbol = :stockSymbol ORDER BY s.tradeDate DESC")
     List<StockDailyPrice> findTopByStockSymbolOrderByTradeDateDesc(@Param("stockSymbol") String stockSymbol,
             Pageable pageable);
@@ -1,52 +1,77 @@
 package com.hanazoom.domain.stock.repository;
 
 import com.hanazoom.domain.stock.entity.StockMinutePrice;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface StockMinutePriceRepository extends JpaRepository<StockMinutePrice, Long> {
 
     /**
-     * 특정 종목의 특정 분봉 간격 데이터 조회 (최신순)
+     * 특정 종목의 특정 분봉 간격 최근 데이터 조회 (최신순, pageable 크기만큼만 조회)
      */
     @Query("SELECT s FROM StockMinutePrice s " +
            "WHERE s.stockSymbol = :stockSymbol " +
            "AND s.minuteInterval = :minuteInterval " +
            "ORDER BY s.timestamp DESC")
-    List<StockMinutePrice> findByStockSymbolAndMinuteIntervalOrderByTimestampDesc(
+    List<StockMinutePrice> findRecent(
             @Param("stockSymbol") String stockSymbol,
-            @Param("minuteInterval") StockMinutePrice.MinuteInterval minuteInterval);
+            @Param("minuteInterval") StockMinutePrice.MinuteInterval minuteInterval,
+            Pageable pageable);
 
     /**
-     * 특정 종목의 특정 분봉 간격 데이터 조회 (시간 범위 지정)
+     * 특정 시각 이전 데이터 조회 (최신순, 키셋 페이지네이션 - 이전 페이지의 가장 오래된 시각을 커서로 사용)
      */
     @Query("SELECT s FROM StockMinutePrice s " +
            "WHERE s.stockSymbol = :stockSymbol " +
            "AND s.minuteInterval = :minuteInterval " +
-           "AND s.timestamp BETWEEN :startTime AND :endTime " +
-           "ORDER BY s.timestamp ASC")
-    List<StockMinutePrice> findByStockSymbolAndMinuteIntervalAndTimestampBetween(
+           "AND s.timestamp < :before " +
+           "ORDER BY s.timestamp DESC")
+    List<StockMinutePrice> findBefore(
             @Param("stockSymbol") String stockSymbol,
             @Param("minuteInterval") StockMinutePrice.MinuteInterval minuteInterval,
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime);
+            @Param("before") LocalDateTime before,
+            Pageable pageable);
+
+    /**
+     * 특정 시각의 분봉 조회 (유니크 키 단건 조회)
+     */
+    Optional<StockMinutePrice> findByStockSymbolAndMinuteIntervalAndTimestamp(
+            String stockSymbol, StockMinutePrice.MinuteInterval minuteInterval, LocalDateTime timestamp);
 
     /**
-     * 특정 종목의 특정 분봉 간격 데이터 조회 (최근 N개)
+     * 특정 종목의 특정 분봉 간격 데이터 조회 (시간 범위 지정, pageable 크기로 상한)
      */
     @Query("SELECT s FROM StockMinutePrice s " +
            "WHERE s.stockSymbol = :stockSymbol " +
            "AND s.minuteInterval = :minuteInterval " +
-           "ORDER BY s.timestamp DESC")
-    List<StockMinutePrice> findTopNByStockSymbolAndMinuteIntervalOrderByTimestampDesc(
+           "AND s.timestamp BETWEEN :startTime AND :endTime " +
+           "ORDER BY s.timestamp ASC")
+    List<StockMinutePrice> findByStockSymbolAndMinuteIntervalAndTimestampBetween(
             @Param("stockSymbol") String stockSymbol,
-            @Param("minuteInterval") StockMinutePrice.MinuteInterval minuteInterval);
+            @Param("minuteInterval") StockMinutePrice.MinuteInterval minuteInterval,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            Pageable pageable);
+
+    /**
+     * 기간 내 해당 간격 데이터가 있는 종목 목록 (롤업 대상 선정용)
+     */
+    @Query("SELECT DISTINCT s.stockSymbol FROM StockMinutePrice s " +
+           "WHERE s.minuteInterval = :minuteInterval " +
+           "AND s.timestamp BETWEEN :startTime AND :endTime")
+    List<String> findSymbolsWithData(
+            @Param("minuteInterval") StockMinutePrice.MinuteInterval minuteInterval,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
 
     /**
      * 특정 종목의 특정 분봉 간격 데이터 개수 조회
@@ -61,6 +86,7 @@ public interface StockMinutePriceRepository extends JpaRepository<StockMinutePri
     /**
      * 특정 종목의 특정 분봉 간격 데이터 삭제 (오래된 데이터)
      */
+    @Modifying
     @Query("DELETE FROM StockMinutePrice s " +
            "WHERE s.stockSymbol = :stockSymbol " +
            "AND s.minuteInterval = :minuteInterval " +
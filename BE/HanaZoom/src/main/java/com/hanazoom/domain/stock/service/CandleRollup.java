@@ -0,0 +1,150 @@
+package com.hanazoom.domain.stock.service;
+
+import com.hanazoom.domain.stock.entity.StockDailyPrice;
+import com.hanazoom.domain.stock.entity.StockMinutePrice;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 1분봉 → 상위 간격/일봉 롤업 (저장된 이력 배치 롤업, 조회 시 즉석 롤업에서 공통 사용)
+ *
+ * - 상위 캔들 구간은 장중 분(자정 기준)을 간격으로 나눠 정렬 (1440 의 약수 간격만 허용)
+ * - 시가/종가는 구간 첫/마지막 1분봉, 고가/저가는 최대/최소, 거래량·체결 건수·매수/매도 거래량은 합계
+ * - VWAP 는 1분봉 VWAP 의 거래량 가중 평균 (거래량이 없으면 (시가 + 종가) / 2)
+ */
+public final class CandleRollup {
+
+    private CandleRollup() {
+    }
+
+    /**
+     * 시간순 1분봉 목록을 target 간격 캔들로 롤업 (시간순)
+     */
+    public static List<StockMinutePrice> rollup(List<StockMinutePrice> oneMinuteBars,
+                                                StockMinutePrice.MinuteInterval target) {
+        List<StockMinutePrice> result = new ArrayList<>();
+        int minutes = target.getMinutes();
+        Accumulator current = null;
+        for (StockMinutePrice bar : oneMinuteBars) {
+            LocalDateTime bucket = bucketStart(bar.getTimestamp(), minutes);
+            if (current == null || !current.start.equals(bucket)) {
+                if (current != null) {
+                    result.add(current.toMinutePrice(target));
+                }
+                current = new Accumulator(bar.getStockSymbol(), bucket);
+            }
+            current.add(bar);
+        }
+        if (current != null) {
+            result.add(current.toMinutePrice(target));
+        }
+        return result;
+    }
+
+    /**
+     * 하루치 1분봉을 일봉으로 롤업 (previousClose 가 null 이면 전일대비는 시가 기준)
+     */
+    public static StockDailyPrice rollupDaily(LocalDate tradeDate, List<StockMinutePrice> oneMinuteBars,
+                                              BigDecimal previousClose) {
+        if (oneMinuteBars.isEmpty()) {
+            return null;
+        }
+        Accumulator day = new Accumulator(oneMinuteBars.get(0).getStockSymbol(), tradeDate.atStartOfDay());
+        oneMinuteBars.forEach(day::add);
+        BigDecimal base = previousClose != null && previousClose.signum() > 0 ? previousClose : day.open;
+        BigDecimal change = day.close.subtract(base);
+        return StockDailyPrice.builder()
+                .stockSymbol(day.symbol)
+                .tradeDate(tradeDate)
+                .openPrice(day.open)
+                .highPrice(day.high)
+                .lowPrice(day.low)
+                .closePrice(day.close)
+                .volume(day.volume)
+                .priceChange(change)
+                .priceChangePercent(percent(change, base))
+                .build();
+    }
+
+    /**
+     * 간격 구간 시작 시각 (자정 기준 분을 간격 단위로 내림)
+     */
+    public static LocalDateTime bucketStart(LocalDateTime time, int minutes) {
+        int minuteOfDay = time.getHour() * 60 + time.getMinute();
+        int start = minuteOfDay - minuteOfDay % minutes;
+        return time.toLocalDate().atTime(start / 60, start % 60);
+    }
+
+    static BigDecimal percent(BigDecimal change, BigDecimal base) {
+        if (base == null || base.signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return change.multiply(BigDecimal.valueOf(100)).divide(base, 2, RoundingMode.HALF_UP);
+    }
+
+    private static final class Accumulator {
+        private final String symbol;
+        private final LocalDateTime start;
+        private BigDecimal open;
+        private BigDecimal high;
+        private BigDecimal low;
+        private BigDecimal close;
+        private long volume;
+        private int tickCount;
+        private long buyVolume;
+        private long sellVolume;
+        private BigDecimal turnover = BigDecimal.ZERO; // Σ(VWAP × 거래량)
+
+        private Accumulator(String symbol, LocalDateTime start) {
+            this.symbol = symbol;
+            this.start = start;
+        }
+
+        private void add(StockMinutePrice bar) {
+            if (open == null) {
+                open = bar.getOpenPrice();
+                high = bar.getHighPrice();
+                low = bar.getLowPrice();
+            } else {
+                high = high.max(bar.getHighPrice());
+                low = low.min(bar.getLowPrice());
+            }
+            close = bar.getClosePrice();
+            long barVolume = bar.getVolume() != null ? bar.getVolume() : 0L;
+            volume += barVolume;
+            tickCount += bar.getTickCount() != null ? bar.getTickCount() : 0;
+            buyVolume += bar.getBuyVolume() != null ? bar.getBuyVolume() : 0L;
+            sellVolume += bar.getSellVolume() != null ? bar.getSellVolume() : 0L;
+            BigDecimal barVwap = bar.getVwap() != null ? bar.getVwap() : bar.getClosePrice();
+            turnover = turnover.add(barVwap.multiply(BigDecimal.valueOf(barVolume)));
+        }
+
+        private StockMinutePrice toMinutePrice(StockMinutePrice.MinuteInterval interval) {
+            BigDecimal change = close.subtract(open);
+            BigDecimal vwap = volume > 0
+                    ? turnover.divide(BigDecimal.valueOf(volume), 2, RoundingMode.HALF_UP)
+                    : open.add(close).divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP);
+            return StockMinutePrice.builder()
+                    .stockSymbol(symbol)
+                    .minuteInterval(interval)
+                    .timestamp(start)
+                    .openPrice(open)
+                    .highPrice(high)
+                    .lowPrice(low)
+                    .closePrice(close)
+                    .volume(volume)
+                    .priceChange(change)
+                    .priceChangePercent(percent(change, open))
+                    .vwap(vwap)
+                    .tickCount(tickCount)
+                    .buyVolume(buyVolume)
+                    .sellVolume(sellVolume)
+                    .build();
+        }
+    }
+}
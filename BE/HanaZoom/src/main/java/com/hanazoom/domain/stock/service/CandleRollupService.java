@@ -0,0 +1,196 @@
+package com.hanazoom.domain.stock.service;
+
+import com.hanazoom.domain.stock.entity.StockDailyPrice;
+import com.hanazoom.domain.stock.entity.StockMinutePrice;
+import com.hanazoom.domain.stock.repository.StockCandleJdbcRepository;
+import com.hanazoom.domain.stock.repository.StockDailyPriceRepository;
+import com.hanazoom.domain.stock.repository.StockMinutePriceRepository;
+import com.hanazoom.domain.stock.store.CandleStore;
+import com.hanazoom.global.realtime.MarketFeedCluster;
+import com.hanazoom.global.util.MarketSessionClock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장된 1분봉 이력 → 상위 간격/일봉 배치 롤업
+ *
+ * - 장 마감 후(candle.rollup.daily-cron) 당일 1분봉이 있는 종목 전체를 다시 롤업해 실시간 집계 누락분을 보정
+ * - 과거 1분봉만 적재된 구간은 rollupRange 로 상위 간격을 채움 (같은 캔들은 upsert 로 덮어씀)
+ * - 대상 간격은 실시간 집계와 같은 candle.rollup.minute-intervals 설정을 따름
+ * - 요청 기간은 candle.rollup.max-range-days 이내, sync-max-days 를 넘으면 전용 스레드에서 비동기로 실행
+ * - 장 마감 롤업은 같은 행을 여러 노드가 다시 쓰지 않도록 시세 피드 리더에서만 실행하고,
+ *   롤업한 노드가 바뀐 종목을 알리면 다른 노드는 자기 캔들 스토어만 비움 (단일 노드 모드에서는 항상 리더)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandleRollupService {
+
+    // 하루 1분봉은 최대 1440개라 한 번에 조회
+    private static final int MINUTES_PER_DAY = 1440;
+
+    private final StockMinutePriceRepository minutePriceRepository;
+    private final StockDailyPriceRepository dailyPriceRepository;
+    private final StockCandleJdbcRepository candleJdbcRepository;
+    private final MinuteCandleAggregator candleAggregator;
+    private final CandleStore candleStore;
+    private final MarketFeedCluster marketFeedCluster;
+
+    @Value("${candle.rollup.max-range-days:31}")
+    private int maxRangeDays;
+
+    @Value("${candle.rollup.sync-max-days:3}")
+    private int syncMaxDays;
+
+    @Value("${candle.rollup.queue-capacity:8}")
+    private int queueCapacity;
+
+    // 긴 기간 롤업은 요청 스레드를 잡지 않도록 한 번에 하나씩 실행
+    private ThreadPoolExecutor rangeExecutor;
+
+    @PostConstruct
+    public void start() {
+        rangeExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "candle-rollup");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        marketFeedCluster.setCandleInvalidationHandler(candleStore::invalidate);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rangeExecutor != null) {
+            rangeExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 장 마감 후 당일 롤업 (평일, 리더 노드)
+     */
+    @Scheduled(cron = "${candle.rollup.daily-cron:0 0 16 * * MON-FRI}", zone = "Asia/Seoul")
+    public void rollupToday() {
+        if (!marketFeedCluster.isLeader()) {
+            return;
+        }
+        LocalDate today = LocalDate.now(MarketSessionClock.KOREA_ZONE);
+        List<String> symbols = minutePriceRepository.findSymbolsWithData(StockMinutePrice.MinuteInterval.ONE_MINUTE,
+                today.atStartOfDay(), endOfDay(today));
+        int candles = 0;
+        List<String> rolled = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            try {
+                candles += rollupDay(symbol, today);
+                candleStore.invalidate(symbol);
+                rolled.add(symbol);
+            } catch (Exception e) {
+                log.warn("⚠️ 캔들 롤업 실패: 종목={}, 일자={} - {}", symbol, today, e.getMessage());
+            }
+        }
+        marketFeedCluster.publishCandleInvalidation(rolled);
+        log.info("📊 장 마감 캔들 롤업 완료: 일자={}, 종목 {}개, 캔들 {}개", today, symbols.size(), candles);
+    }
+
+    /**
+     * 기간 검증 후 롤업 요청 처리
+     *
+     * @return 동기로 실행했으면 기록한 캔들 수, 비동기로 넘겼으면 null
+     * @throws IllegalArgumentException 알 수 없는 종목이거나 기간이 잘못됐거나 한도를 넘음
+     * @throws java.util.concurrent.RejectedExecutionException 대기 중인 비동기 롤업이 가득 참
+     */
+    public Integer requestRollup(String symbol, LocalDate from, LocalDate to) {
+        if (!candleStore.isKnownSymbol(symbol)) {
+            throw new IllegalArgumentException("알 수 없는 종목입니다: " + symbol);
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("종료일이 시작일보다 앞섭니다");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxRangeDays) {
+            throw new IllegalArgumentException("롤업 기간은 최대 " + maxRangeDays + "일입니다");
+        }
+        if (days <= syncMaxDays) {
+            return rollupRange(symbol, from, to);
+        }
+        rangeExecutor.execute(() -> {
+            try {
+                rollupRange(symbol, from, to);
+            } catch (Exception e) {
+                log.warn("⚠️ 캔들 롤업 실패: 종목={}, 기간={}~{} - {}", symbol, from, to, e.getMessage());
+            }
+        });
+        return null;
+    }
+
+    /**
+     * 기간 내 하루씩 롤업 (과거 이력 보정용)
+     *
+     * @return 기록한 캔들 수
+     */
+    public int rollupRange(String symbol, LocalDate from, LocalDate to) {
+        int candles = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            candles += rollupDay(symbol, date);
+        }
+        // 과거 캔들이 바뀌었으므로 차트 캔들 스토어는 다음 조회 때 다시 채움 (다른 노드에도 알림)
+        candleStore.invalidate(symbol);
+        marketFeedCluster.publishCandleInvalidation(List.of(symbol));
+        log.info("✅ 캔들 롤업 완료: 종목={}, 기간={}~{}, 캔들 {}개", symbol, from, to, candles);
+        return candles;
+    }
+
+    /**
+     * 하루치 1분봉을 설정된 상위 간격과 일봉으로 롤업해 저장
+     *
+     * @return 기록한 캔들 수
+     */
+    public int rollupDay(String symbol, LocalDate date) {
+        List<StockMinutePrice> minutes = minutePriceRepository.findByStockSymbolAndMinuteIntervalAndTimestampBetween(
+                symbol, StockMinutePrice.MinuteInterval.ONE_MINUTE, date.atStartOfDay(), endOfDay(date),
+                PageRequest.of(0, MINUTES_PER_DAY));
+        if (minutes.isEmpty()) {
+            return 0;
+        }
+
+        List<StockMinutePrice> rolled = new ArrayList<>();
+        for (StockMinutePrice.MinuteInterval interval : candleAggregator.getMinuteIntervals()) {
+            if (interval != StockMinutePrice.MinuteInterval.ONE_MINUTE) {
+                rolled.addAll(CandleRollup.rollup(minutes, interval));
+            }
+        }
+        candleJdbcRepository.upsertMinutePrices(rolled);
+
+        if (!candleAggregator.isDailyRollupEnabled()) {
+            return rolled.size();
+        }
+        BigDecimal previousClose = dailyPriceRepository.findLatestBefore(symbol, date, PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .map(StockDailyPrice::getClosePrice)
+                .orElse(null);
+        StockDailyPrice daily = CandleRollup.rollupDaily(date, minutes, previousClose);
+        candleJdbcRepository.upsertDailyPrices(List.of(daily));
+        return rolled.size() + 1;
+    }
+
+    private static LocalDateTime endOfDay(LocalDate date) {
+        return date.atTime(23, 59, 59);
+    }
+}
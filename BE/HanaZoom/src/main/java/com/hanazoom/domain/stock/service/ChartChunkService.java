@@ -0,0 +1,355 @@
+package com.hanazoom.domain.stock.service;
+
+import com.hanazoom.domain.stock.dto.ChartChunkInfo;
+import com.hanazoom.domain.stock.entity.StockMinutePrice;
+import com.hanazoom.domain.stock.store.CandleColumns;
+import com.hanazoom.domain.stock.store.CandleStore;
+import com.hanazoom.domain.stock.store.CandleStoreInvalidatedEvent;
+import com.hanazoom.global.util.MarketSessionClock;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * HTTP 캐시용 차트 청크 조회
+ *
+ * 과거 캔들은 시간봉별 고정 구간(청크)으로 나눠 내려준다.
+ * - 분봉: 하루 (KST), 일봉/주봉: 연도, 월봉: 10년
+ * - 청크 버전(version)은 청크 내용 해시라 과거 캔들이 보정되면(롤업, 이력 재적재) 값이 바뀐다.
+ *   청크 목록이 버전을 알려주고, 클라이언트는 청크를 ?v={version} 으로 요청한다.
+ * - 구간이 끝난 청크를 현재 버전으로 요청하면 immutable 장기 캐시 (보정되면 버전이 바뀌어 URL 자체가 달라짐),
+ *   버전 없이 또는 지난 버전으로 요청하면 현재 내용을 no-cache + ETag 재검증으로 내려준다
+ * - 진행 중 캔들은 tail 로 따로 짧게 캐시
+ * - 완료된 청크의 버전/ETag 는 처음 계산할 때 기억해 두고 청크 목록과 304 응답에 재사용한다
+ *   (목록을 재검증할 때마다 과거 청크를 다시 읽어 해시하지 않도록, 진행 중 청크만 매번 계산).
+ *   과거 캔들이 보정되면 CandleStore 무효화 이벤트로 해당 종목 항목을 지운다.
+ *
+ * 두 차트 컨트롤러의 청크 엔드포인트는 *Response 메서드로 응답을 만든다.
+ * 캔들은 CandleStore 에서 읽으며, 스토어를 쓸 수 없으면 null 을 반환한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChartChunkService {
+
+    private static final int MAX_INDEX_CHUNKS = 60;
+    private static final int MAX_TAIL = 100;
+
+    private final CandleStore candleStore;
+
+    @Value("${chart.cache.chunk-max-age-seconds:31536000}")
+    private long chunkMaxAgeSeconds;
+
+    @Value("${chart.cache.tail-max-age-seconds:1}")
+    private long tailMaxAgeSeconds;
+
+    @Value("${chart.cache.completed-chunk-entries:200000}")
+    private int completedChunkEntries;
+
+    // 완료된 청크 목록 항목 (종목|시간봉|청크 시작일)
+    private final Map<String, ChartChunkInfo> completedChunks = new ConcurrentHashMap<>();
+    // 무효화 횟수 (무효화 전에 읽기 시작한 청크를 무효화 후에 기억하지 않도록)
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Getter
+    public static final class Chunk {
+        private final LocalDate start;
+        private final LocalDate end; // 미포함
+        private final boolean immutable;
+        private final String version; // 내용 해시 (청크 조회 ?v= 값)
+        private final String etag;
+        private final CandleColumns candles;
+
+        private Chunk(String timeframe, LocalDate start, LocalDate end, boolean immutable, CandleColumns candles) {
+            this.start = start;
+            this.end = end;
+            this.immutable = immutable;
+            this.candles = candles;
+            this.version = Long.toHexString(candles.contentHash());
+            this.etag = "\"" + timeframe + "-" + start + "-" + version + "\"";
+        }
+    }
+
+    /**
+     * 청크 조회
+     *
+     * @param chunkStart 청크 시작일 (chunkStartOf 로 정규화된 값이어야 함)
+     * @return 청크, 스토어를 쓸 수 없으면 null
+     */
+    public Chunk getChunk(String symbol, String timeframe, LocalDate chunkStart) {
+        if (!chunkStartOf(timeframe, chunkStart).equals(chunkStart)) {
+            throw new IllegalArgumentException("청크 시작일이 아닙니다: " + timeframe + " " + chunkStart
+                    + " (예: " + chunkStartOf(timeframe, chunkStart) + ")");
+        }
+        LocalDate end = chunkEndOf(timeframe, chunkStart);
+        long generation = invalidations.get();
+        CandleColumns candles = readRange(symbol, timeframe, chunkStart, end);
+        if (candles == null) {
+            return null;
+        }
+        LocalDate today = LocalDate.now(MarketSessionClock.KOREA_ZONE);
+        Chunk chunk = new Chunk(timeframe, chunkStart, end, isComplete(timeframe, end, today), candles);
+        if (chunk.isImmutable()) {
+            remember(symbol, timeframe, chunk, generation);
+        }
+        return chunk;
+    }
+
+    /**
+     * 현재 청크부터 과거로 count 개 청크 목록 (최신순)
+     * 완료된 청크는 기억해 둔 항목을 쓰고, 처음 보는 청크와 진행 중 청크만 읽어 계산한다.
+     *
+     * @return 청크 목록, 스토어를 쓸 수 없으면 null
+     */
+    public List<ChartChunkInfo> getChunkIndex(String symbol, String timeframe, int count) {
+        int limit = Math.max(1, Math.min(count, MAX_INDEX_CHUNKS));
+        LocalDate start = chunkStartOf(timeframe, LocalDate.now(MarketSessionClock.KOREA_ZONE));
+        List<ChartChunkInfo> chunks = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            ChartChunkInfo info = completedChunks.get(chunkKey(symbol, timeframe, start));
+            if (info == null) {
+                Chunk chunk = getChunk(symbol, timeframe, start);
+                if (chunk == null) {
+                    return null;
+                }
+                info = ChartChunkInfo.from(chunk);
+            }
+            chunks.add(info);
+            start = previousChunkStart(timeframe, start);
+        }
+        return chunks;
+    }
+
+    /**
+     * 과거 캔들이 다시 계산된 종목의 완료 청크 항목 삭제
+     */
+    @EventListener
+    public void onCandleStoreInvalidated(CandleStoreInvalidatedEvent event) {
+        invalidations.incrementAndGet();
+        String prefix = event.getSymbol() + "|";
+        completedChunks.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private void remember(String symbol, String timeframe, Chunk chunk, long generation) {
+        if (completedChunks.size() >= completedChunkEntries) {
+            // 상한을 넘으면 비우고 다음 조회부터 다시 채움
+            completedChunks.clear();
+        }
+        completedChunks.put(chunkKey(symbol, timeframe, chunk.getStart()), ChartChunkInfo.from(chunk));
+        if (invalidations.get() != generation) {
+            // 읽는 도중 무효화됨 - 보정 전 내용일 수 있으므로 기억하지 않음
+            completedChunks.remove(chunkKey(symbol, timeframe, chunk.getStart()));
+        }
+    }
+
+    private static String chunkKey(String symbol, String timeframe, LocalDate chunkStart) {
+        return symbol + "|" + timeframe + "|" + chunkStart;
+    }
+
+    /**
+     * 청크 목록 ETag (각 청크 ETag 를 합친 해시)
+     */
+    private static String indexEtag(String timeframe, List<ChartChunkInfo> chunks) {
+        long hash = 0xcbf29ce484222325L;
+        for (ChartChunkInfo chunk : chunks) {
+            hash = (hash ^ chunk.getEtag().hashCode()) * 0x100000001b3L;
+        }
+        return "\"" + timeframe + "-index-" + chunks.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * 최근 limit 개 캔들 (미확정/진행 중 캔들 포함)
+     *
+     * @return 시간순 캔들, 스토어를 쓸 수 없으면 null
+     */
+    public CandleColumns getTail(String symbol, String timeframe, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_TAIL));
+        StockMinutePrice.MinuteInterval interval = StockMinutePrice.MinuteInterval.fromTimeframe(timeframe);
+        if (interval != null) {
+            return candleStore.readMinutes(symbol, interval, null, size);
+        }
+        return candleStore.readPeriod(symbol, period(timeframe), LocalDate.EPOCH, size);
+    }
+
+    /**
+     * 청크 목록 응답 (목록은 매번 재검증, If-None-Match 일치 시 304)
+     *
+     * @return 응답 (모르는 종목이면 404), 스토어를 쓸 수 없으면 null
+     */
+    public <T> ResponseEntity<T> chunkIndexResponse(String symbol, String timeframe, int count, String ifNoneMatch,
+                                                    Function<List<ChartChunkInfo>, T> body) {
+        if (!candleStore.isKnownSymbol(symbol)) {
+            return ResponseEntity.notFound().build();
+        }
+        List<ChartChunkInfo> chunks = getChunkIndex(symbol, timeframe, count);
+        if (chunks == null) {
+            return null;
+        }
+        return conditional(indexEtag(timeframe, chunks), CacheControl.noCache(), ifNoneMatch,
+                () -> body.apply(chunks));
+    }
+
+    /**
+     * 청크 응답 (If-None-Match 일치 시 304 - 완료된 청크는 캔들을 읽지 않고 기억해 둔 ETag 로 판단)
+     *
+     * @param version 청크 목록이 알려준 버전 (없으면 null)
+     * @return 응답 (모르는 종목이면 404), 스토어를 쓸 수 없으면 null
+     */
+    public <T> ResponseEntity<T> chunkResponse(String symbol, String timeframe, LocalDate chunkStart, String version,
+                                               String ifNoneMatch, Function<CandleColumns, T> body) {
+        if (!candleStore.isKnownSymbol(symbol)) {
+            return ResponseEntity.notFound().build();
+        }
+        ChartChunkInfo completed = completedChunks.get(chunkKey(symbol, timeframe, chunkStart));
+        if (completed != null && matches(ifNoneMatch, completed.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(completed.getEtag())
+                    .cacheControl(cacheControl(true, completed.getVersion(), version)).build();
+        }
+        Chunk chunk = getChunk(symbol, timeframe, chunkStart);
+        if (chunk == null) {
+            return null;
+        }
+        return conditional(chunk.getEtag(), cacheControl(chunk.isImmutable(), chunk.getVersion(), version),
+                ifNoneMatch, () -> body.apply(chunk.getCandles()));
+    }
+
+    /**
+     * 최근 캔들 응답 (짧게 캐시, If-None-Match 일치 시 304)
+     *
+     * @return 응답 (모르는 종목이면 404), 스토어를 쓸 수 없으면 null
+     */
+    public <T> ResponseEntity<T> tailResponse(String symbol, String timeframe, int limit, String ifNoneMatch,
+                                              Function<CandleColumns, T> body) {
+        if (!candleStore.isKnownSymbol(symbol)) {
+            return ResponseEntity.notFound().build();
+        }
+        CandleColumns tail = getTail(symbol, timeframe, limit);
+        if (tail == null) {
+            return null;
+        }
+        return conditional(tailEtag(timeframe, tail),
+                CacheControl.maxAge(Duration.ofSeconds(tailMaxAgeSeconds)).cachePublic(), ifNoneMatch,
+                () -> body.apply(tail));
+    }
+
+    private static <T> ResponseEntity<T> conditional(String etag, CacheControl cacheControl, String ifNoneMatch,
+                                                     Supplier<T> body) {
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+    }
+
+    /**
+     * 완료된 청크를 현재 버전 URL 로 요청한 경우만 public + immutable 장기 캐시, 그 외에는 매번 재검증
+     * (버전 없는 URL 에 immutable 을 주면 보정된 청크가 이미 캐시한 브라우저/CDN 에 전달되지 않음)
+     */
+    private CacheControl cacheControl(boolean immutable, String currentVersion, String version) {
+        return immutable && currentVersion.equals(version)
+                ? CacheControl.maxAge(Duration.ofSeconds(chunkMaxAgeSeconds)).cachePublic().immutable()
+                : CacheControl.noCache();
+    }
+
+    /**
+     * 최근 캔들 ETag
+     */
+    private static String tailEtag(String timeframe, CandleColumns candles) {
+        return "\"" + timeframe + "-tail-" + Long.toHexString(candles.contentHash()) + "\"";
+    }
+
+    /**
+     * date 가 속한 청크의 시작일
+     */
+    public LocalDate chunkStartOf(String timeframe, LocalDate date) {
+        if (StockMinutePrice.MinuteInterval.fromTimeframe(timeframe) != null) {
+            return date;
+        }
+        switch (period(timeframe)) {
+            case MONTHLY:
+                return LocalDate.of(date.getYear() - Math.floorMod(date.getYear(), 10), 1, 1);
+            default:
+                return LocalDate.of(date.getYear(), 1, 1);
+        }
+    }
+
+    /**
+     * If-None-Match 헤더가 etag 와 일치하는지 (*, 쉼표 목록, 약한 비교 W/ 허용)
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CandleColumns readRange(String symbol, String timeframe, LocalDate start, LocalDate end) {
+        StockMinutePrice.MinuteInterval interval = StockMinutePrice.MinuteInterval.fromTimeframe(timeframe);
+        if (interval != null) {
+            return candleStore.readMinuteRange(symbol, interval, start.atStartOfDay(), end.atStartOfDay());
+        }
+        return candleStore.readPeriodRange(symbol, period(timeframe), start, end);
+    }
+
+    private LocalDate chunkEndOf(String timeframe, LocalDate start) {
+        if (StockMinutePrice.MinuteInterval.fromTimeframe(timeframe) != null) {
+            return start.plusDays(1);
+        }
+        return period(timeframe) == CandleStore.Period.MONTHLY ? start.plusYears(10) : start.plusYears(1);
+    }
+
+    private LocalDate previousChunkStart(String timeframe, LocalDate start) {
+        if (StockMinutePrice.MinuteInterval.fromTimeframe(timeframe) != null) {
+            return start.minusDays(1);
+        }
+        return period(timeframe) == CandleStore.Period.MONTHLY ? start.minusYears(10) : start.minusYears(1);
+    }
+
+    /**
+     * 청크에 더 이상 캔들이 붙거나 바뀌지 않는지 (주봉은 청크 마지막 주가 끝나야 완료)
+     */
+    private boolean isComplete(String timeframe, LocalDate end, LocalDate today) {
+        if (StockMinutePrice.MinuteInterval.fromTimeframe(timeframe) == null
+                && period(timeframe) == CandleStore.Period.WEEKLY) {
+            return !end.plusDays(7).isAfter(today);
+        }
+        return !end.isAfter(today);
+    }
+
+    private static CandleStore.Period period(String timeframe) {
+        switch (timeframe) {
+            case "1D":
+                return CandleStore.Period.DAILY;
+            case "1W":
+                return CandleStore.Period.WEEKLY;
+            case "1MO":
+                return CandleStore.Period.MONTHLY;
+            default:
+                throw new IllegalArgumentException("지원하지 않는 시간봉: " + timeframe);
+        }
+    }
+}
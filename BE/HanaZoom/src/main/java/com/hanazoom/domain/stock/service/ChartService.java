@@ -7,6 +7,8 @@ import com.hanazoom.domain.stock.entity.StockMonthlyPrice;
 import com.hanazoom.domain.stock.repository.StockDailyPriceRepository;
 import com.hanazoom.domain.stock.repository.StockWeeklyPriceRepository;
 import com.hanazoom.domain.stock.repository.StockMonthlyPriceRepository;
+import com.hanazoom.domain.stock.store.CandleColumns;
+import com.hanazoom.domain.stock.store.CandleStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,7 @@ public class ChartService {
     private final StockDailyPriceRepository dailyPriceRepository;
     private final StockWeeklyPriceRepository weeklyPriceRepository;
     private final StockMonthlyPriceRepository monthlyPriceRepository;
+    private final CandleStore candleStore;
 
     /**
      * 일봉 차트 데이터 조회
@@ -37,6 +40,12 @@ public class ChartService {
 
             log.info("일봉 차트 데이터 조회 범위: startDate={}, endDate={}", startDate, endDate);
 
+            CandleColumns stored = candleStore.readPeriod(stockSymbol, CandleStore.Period.DAILY, startDate,
+                    Integer.MAX_VALUE);
+            if (stored != null) {
+                return ChartDataDto.from(stockSymbol, stored);
+            }
+
             List<StockDailyPrice> dailyPrices = dailyPriceRepository
                     .findByStockSymbolAndTradeDateBetweenOrderByTradeDateAsc(stockSymbol, startDate, endDate);
 
@@ -67,6 +76,12 @@ public class ChartService {
 
             log.info("주봉 차트 데이터 조회 범위: startDate={}, endDate={}", startDate, endDate);
 
+            CandleColumns stored = candleStore.readPeriod(stockSymbol, CandleStore.Period.WEEKLY, startDate,
+                    Integer.MAX_VALUE);
+            if (stored != null) {
+                return ChartDataDto.from(stockSymbol, stored);
+            }
+
             List<StockWeeklyPrice> weeklyPrices = weeklyPriceRepository
                     .findByStockSymbolAndWeekStartDateBetweenOrderByWeekStartDateAsc(stockSymbol, startDate, endDate);
 
@@ -101,6 +116,12 @@ public class ChartService {
 
             log.info("월봉 차트 데이터 조회 범위: startMonth={}, endMonth={}", startMonth, endMonth);
 
+            CandleColumns stored = candleStore.readPeriod(stockSymbol, CandleStore.Period.MONTHLY,
+                    startDate.withDayOfMonth(1), Integer.MAX_VALUE);
+            if (stored != null) {
+                return ChartDataDto.from(stockSymbol, stored);
+            }
+
             List<StockMonthlyPrice> monthlyPrices = monthlyPriceRepository
                     .findByStockSymbolAndYearMonthBetweenOrderByYearMonthAsc(stockSymbol, startMonth, endMonth);
 
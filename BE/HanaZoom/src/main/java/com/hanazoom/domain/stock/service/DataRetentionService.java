@@ -0,0 +1,318 @@
+package com.hanazoom.domain.stock.service;
+
+import com.hanazoom.domain.stock.entity.DataRetentionPolicy;
+import com.hanazoom.domain.stock.entity.DataRetentionRun;
+import com.hanazoom.domain.stock.entity.StockMinutePrice;
+import com.hanazoom.domain.stock.repository.DataRetentionJdbcRepository;
+import com.hanazoom.domain.stock.repository.DataRetentionPolicyRepository;
+import com.hanazoom.domain.stock.repository.DataRetentionRunRepository;
+import com.hanazoom.global.realtime.MarketFeedCluster;
+import com.hanazoom.global.util.MarketSessionClock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 데이터 보관 정책 적용 (data_retention_policies)
+ *
+ * - 정책 유형마다 대상 테이블/조건이 정해져 있음: 틱, 분봉(간격별), 데이터 처리 로그, 알림
+ *   일/주/월봉은 과거 이력 원본이므로 정책이 있어도 삭제하지 않는다
+ * - 시각 컬럼 기준 RANGE 파티션 테이블은 기간이 지난 파티션을 DROP, 나머지 행은 cleanupBatchSize 건씩 삭제하고
+ *   청크 사이에 chunk-pause-ms 만큼 쉰다
+ * - 틱/분봉 테이블은 장 종료 상태(장후 시간 이후, 주말, 공휴일)에서만 손대고, 장전 시간이 되면 진행 중이던 정리를 멈춘다
+ *   (남은 행은 다음 실행에서 이어서 정리)
+ * - 정책별 결과는 data_retention_runs 에 남기고, 끝까지 정리한 정책은 lastCleanupDate 를 갱신
+ * - 여러 노드가 같은 행을 지우거나 기본 정책을 중복 생성하지 않도록 시세 피드 리더 노드에서만 실행하고,
+ *   실행 중 리더를 잃으면 멈춘다 (단일 노드 모드에서는 항상 리더)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DataRetentionService {
+
+    private static final String MINUTE_TABLE = "stock_minute_prices";
+    private static final int DEFAULT_BATCH_SIZE = 10000;
+
+    private final DataRetentionPolicyRepository policyRepository;
+    private final DataRetentionRunRepository runRepository;
+    private final DataRetentionJdbcRepository retentionJdbcRepository;
+    private final MarketSessionClock marketSessionClock;
+    private final MarketFeedCluster marketFeedCluster;
+
+    @Value("${retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${retention.chunk-pause-ms:200}")
+    private long chunkPauseMs;
+
+    @Value("${retention.max-run-minutes:120}")
+    private long maxRunMinutes;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(cron = "${retention.cron:0 0 18 * * *}", zone = "Asia/Seoul")
+    public void scheduledCleanup() {
+        if (enabled && marketFeedCluster.isLeader()) {
+            runCleanup();
+        }
+    }
+
+    /**
+     * 활성 정책 전체 적용 (이미 실행 중이거나 리더 노드가 아니면 빈 목록)
+     */
+    public List<DataRetentionRun> runCleanup() {
+        if (!marketFeedCluster.isLeader()) {
+            log.info("⚠️ 시세 피드 리더 노드가 아니라 보관 정책 적용을 건너뜁니다");
+            return List.of();
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.info("⚠️ 보관 정책 적용이 이미 진행 중입니다");
+            return List.of();
+        }
+        try {
+            return applyPolicies();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private List<DataRetentionRun> applyPolicies() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime deadline = startedAt.plusMinutes(maxRunMinutes);
+        Map<DataRetentionPolicy.DataType, DataRetentionPolicy> policies = loadPolicies();
+        List<Target> targets = targets();
+
+        Map<DataRetentionPolicy.DataType, DataRetentionRun> runs = new EnumMap<>(DataRetentionPolicy.DataType.class);
+        for (Target target : targets) {
+            DataRetentionPolicy policy = policies.get(target.dataType);
+            if (policy != null && Boolean.TRUE.equals(policy.getIsActive())) {
+                runs.computeIfAbsent(target.dataType, type -> newRun(policy, target.table, startedAt));
+            }
+        }
+
+        dropExpiredPartitions(targets, runs);
+        for (Target target : targets) {
+            DataRetentionRun run = runs.get(target.dataType);
+            if (run != null && run.getStatus() != DataRetentionRun.RunStatus.FAILED) {
+                deleteExpiredRows(target, run, policies.get(target.dataType), deadline);
+            }
+        }
+
+        List<DataRetentionRun> results = new ArrayList<>();
+        for (DataRetentionRun run : runs.values()) {
+            LocalDateTime end = LocalDateTime.now();
+            run.setEndTime(end);
+            run.setDurationMs(Duration.between(run.getStartTime(), end).toMillis());
+            results.add(runRepository.save(run));
+            if (run.getStatus() == DataRetentionRun.RunStatus.COMPLETED) {
+                DataRetentionPolicy policy = policies.get(run.getDataType());
+                policy.setLastCleanupDate(end);
+                policyRepository.save(policy);
+            }
+            log.info("📊 보관 정책 적용: 유형={}, 기준={}, 파티션 {}개, 삭제 {}행 ({}청크), 결과={}",
+                    run.getDataType(), run.getCutoffTime(), run.getPartitionsDropped(), run.getRowsDeleted(),
+                    run.getChunks(), run.getStatus());
+        }
+        return results;
+    }
+
+    /**
+     * 테이블 단위 파티션 DROP
+     * 여러 정책이 한 테이블을 나눠 쓰면(분봉 간격별) 모든 정책이 활성일 때만, 가장 긴 보관 기간 기준으로 지운다
+     */
+    private void dropExpiredPartitions(List<Target> targets, Map<DataRetentionPolicy.DataType, DataRetentionRun> runs) {
+        Map<String, List<Target>> byTable = new LinkedHashMap<>();
+        for (Target target : targets) {
+            byTable.computeIfAbsent(target.table, table -> new ArrayList<>()).add(target);
+        }
+        for (Map.Entry<String, List<Target>> entry : byTable.entrySet()) {
+            DataRetentionRun owner = null;
+            for (Target target : entry.getValue()) {
+                DataRetentionRun run = runs.get(target.dataType);
+                if (run == null) {
+                    owner = null;
+                    break;
+                }
+                if (owner == null || run.getCutoffTime().isBefore(owner.getCutoffTime())) {
+                    owner = run;
+                }
+            }
+            if (owner == null) {
+                continue;
+            }
+            Target first = entry.getValue().get(0);
+            try {
+                for (String partition : retentionJdbcRepository.findExpiredPartitions(
+                        first.table, first.timeColumn, owner.getCutoffTime())) {
+                    if (first.tradingTable && !isMaintenanceWindow()) {
+                        owner.setStatus(DataRetentionRun.RunStatus.STOPPED);
+                        owner.setMessage("장 운영 시간이라 파티션 정리 중단");
+                        break;
+                    }
+                    retentionJdbcRepository.dropPartition(first.table, partition);
+                    owner.setPartitionsDropped(owner.getPartitionsDropped() + 1);
+                    log.info("✅ 파티션 삭제: {}.{}", first.table, partition);
+                }
+            } catch (Exception e) {
+                log.error("❌ 파티션 정리 실패: {}", first.table, e);
+                owner.setStatus(DataRetentionRun.RunStatus.FAILED);
+                owner.setMessage(truncate("파티션 정리 실패: " + e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * 남은 기간 만료 행을 청크 단위로 삭제
+     */
+    private void deleteExpiredRows(Target target, DataRetentionRun run, DataRetentionPolicy policy,
+                                   LocalDateTime deadline) {
+        int batchSize = policy.getCleanupBatchSize() != null && policy.getCleanupBatchSize() > 0
+                ? policy.getCleanupBatchSize()
+                : DEFAULT_BATCH_SIZE;
+        try {
+            while (true) {
+                if (target.tradingTable && !isMaintenanceWindow()) {
+                    stop(run, run.getChunks() == 0 && run.getPartitionsDropped() == 0
+                            ? DataRetentionRun.RunStatus.SKIPPED
+                            : DataRetentionRun.RunStatus.STOPPED, "장 운영 시간");
+                    return;
+                }
+                if (LocalDateTime.now().isAfter(deadline)) {
+                    stop(run, DataRetentionRun.RunStatus.STOPPED, "실행 시간 한도 초과");
+                    return;
+                }
+                if (!marketFeedCluster.isLeader()) {
+                    stop(run, DataRetentionRun.RunStatus.STOPPED, "리더 노드 상실");
+                    return;
+                }
+                int deleted = retentionJdbcRepository.deleteChunk(target.table, target.timeColumn,
+                        target.condition, target.args, run.getCutoffTime(), batchSize);
+                run.setRowsDeleted(run.getRowsDeleted() + deleted);
+                run.setChunks(run.getChunks() + 1);
+                if (deleted < batchSize) {
+                    return;
+                }
+                Thread.sleep(chunkPauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop(run, DataRetentionRun.RunStatus.STOPPED, "중단됨");
+        } catch (Exception e) {
+            log.error("❌ 보관 기간 만료 데이터 삭제 실패: {} ({})", target.table, target.dataType, e);
+            run.setStatus(DataRetentionRun.RunStatus.FAILED);
+            run.setMessage(truncate(target.table + " 삭제 실패: " + e.getMessage()));
+        }
+    }
+
+    private static void stop(DataRetentionRun run, DataRetentionRun.RunStatus status, String reason) {
+        if (run.getStatus() == DataRetentionRun.RunStatus.COMPLETED) {
+            run.setStatus(status);
+            run.setMessage(reason);
+        }
+    }
+
+    /**
+     * 틱/분봉 테이블을 정리해도 되는 시간 (장 종료 상태)
+     */
+    private boolean isMaintenanceWindow() {
+        return marketSessionClock.current().isMarketClosed();
+    }
+
+    /**
+     * 정책 조회 (대상이 있는 유형의 정책이 없으면 기본 보관 기간으로 생성)
+     */
+    private Map<DataRetentionPolicy.DataType, DataRetentionPolicy> loadPolicies() {
+        Map<DataRetentionPolicy.DataType, DataRetentionPolicy> policies =
+                new EnumMap<>(DataRetentionPolicy.DataType.class);
+        for (DataRetentionPolicy policy : policyRepository.findAll()) {
+            policies.put(policy.getDataType(), policy);
+        }
+        for (Target target : targets()) {
+            policies.computeIfAbsent(target.dataType, type -> {
+                DataRetentionPolicy policy = new DataRetentionPolicy();
+                policy.setDataType(type);
+                policy.setRetentionDays(type.getDefaultRetentionDays());
+                policy.setIsActive(true);
+                policy.setCleanupBatchSize(DEFAULT_BATCH_SIZE);
+                policy.setDescription(type.getDescription() + " 기본 보관 정책");
+                log.info("✅ 기본 보관 정책 생성: {} {}일", type, type.getDefaultRetentionDays());
+                return policyRepository.save(policy);
+            });
+        }
+        return policies;
+    }
+
+    private static DataRetentionRun newRun(DataRetentionPolicy policy, String table, LocalDateTime startedAt) {
+        DataRetentionRun run = new DataRetentionRun();
+        run.setDataType(policy.getDataType());
+        run.setTableName(table);
+        run.setCutoffTime(startedAt.toLocalDate().minusDays(policy.getRetentionDays()).atStartOfDay());
+        run.setPartitionsDropped(0);
+        run.setRowsDeleted(0L);
+        run.setChunks(0);
+        run.setStatus(DataRetentionRun.RunStatus.COMPLETED);
+        run.setStartTime(startedAt);
+        return run;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    /**
+     * 정책 유형별 삭제 대상
+     * 정책이 없는 분봉 간격은 그 이상인 가장 가까운 간격의 정책을 따름 (15분 초과는 15분봉 정책)
+     */
+    private static List<Target> targets() {
+        List<Target> targets = new ArrayList<>();
+        targets.add(new Target(DataRetentionPolicy.DataType.TICK_DATA, "stock_tick_data", "timestamp",
+                null, new Object[0], true));
+        for (StockMinutePrice.MinuteInterval interval : StockMinutePrice.MinuteInterval.values()) {
+            DataRetentionPolicy.DataType type = interval.getMinutes() <= 1
+                    ? DataRetentionPolicy.DataType.ONE_MINUTE
+                    : interval.getMinutes() <= 5
+                    ? DataRetentionPolicy.DataType.FIVE_MINUTES
+                    : DataRetentionPolicy.DataType.FIFTEEN_MINUTES;
+            targets.add(new Target(type, MINUTE_TABLE, "timestamp", "minute_interval = ?",
+                    new Object[] { interval.name() }, true));
+        }
+        // 이력 적재 체크포인트로 쓰이는 종목·유형별 최신 로그는 남김
+        targets.add(new Target(DataRetentionPolicy.DataType.PROCESSING_LOG, "data_processing_logs", "created_at",
+                "id NOT IN (SELECT id FROM (SELECT MAX(id) AS id FROM data_processing_logs "
+                        + "GROUP BY process_type, stock_symbol) latest)",
+                new Object[0], false));
+        targets.add(new Target(DataRetentionPolicy.DataType.NOTIFICATION, "notifications", "created_at",
+                null, new Object[0], false));
+        return targets;
+    }
+
+    private static final class Target {
+        private final DataRetentionPolicy.DataType dataType;
+        private final String table;
+        private final String timeColumn;
+        private final String condition;
+        private final Object[] args;
+        private final boolean tradingTable; // 장중 쓰기가 있는 테이블 (장 종료 상태에서만 정리)
+
+        private Target(DataRetentionPolicy.DataType dataType, String table, String timeColumn, String condition,
+                       Object[] args, boolean tradingTable) {
+            this.dataType = dataType;
+            this.table = table;
+            this.timeColumn = timeColumn;
+            this.condition = condition;
+            this.args = args;
+            this.tradingTable = tradingTable;
+        }
+    }
+}
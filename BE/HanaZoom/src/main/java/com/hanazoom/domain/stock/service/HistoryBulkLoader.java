@@ -0,0 +1,719 @@
+package com.hanazoom.domain.stock.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hanazoom.domain.stock.entity.DataProcessingLog;
+import com.hanazoom.domain.stock.entity.Stock;
+import com.hanazoom.domain.stock.entity.StockDailyPrice;
+import com.hanazoom.domain.stock.entity.StockMonthlyPrice;
+import com.hanazoom.domain.stock.entity.StockWeeklyPrice;
+import com.hanazoom.domain.stock.repository.DataProcessingLogRepository;
+import com.hanazoom.domain.stock.repository.StockCandleJdbcRepository;
+import com.hanazoom.domain.stock.repository.StockRepository;
+import com.hanazoom.domain.stock.store.CandleStore;
+import com.hanazoom.global.service.KisApiService;
+import com.hanazoom.global.util.MarketSessionClock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 일/주/월봉 과거 이력 벌크 적재
+ *
+ * - 원천: KIS 기간별 시세(FHKST03010100) 페이지 또는 수집 스크립트가 만든 CSV ({종목}_{D|W|M}.csv)
+ * - 종목 단위 병렬 워커(workers)가 일→주→월 순으로 적재하고, KIS 호출은 전체 워커가 초당 kis-requests-per-second 를 나눠 씀
+ * - 캔들은 batch-size 단위 JDBC 배치 upsert (기존 캔들은 원천 값으로 덮어씀)
+ * - 종목·유형마다 DataProcessingLog 한 행에 적재 완료 구간(loadedFrom ~ checkpointDate)을 남기고 페이지/배치마다 갱신
+ *   → 다시 실행하면 요청 시작일이 완료 구간 안(또는 바로 다음 날)일 때만 checkpointDate 다음 날부터 이어서 적재하고,
+ *     요청 시작일이 완료 구간보다 앞서면 빠진 앞부분을 먼저 채운 뒤 이어서 적재, 이미 덮인 구간은 건너뜀
+ * - 종목 적재가 끝나면 차트 캔들 스토어의 해당 종목 시계열을 지워 다음 조회 때 다시 채움
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HistoryBulkLoader {
+
+    public enum Source {
+        KIS, CSV
+    }
+
+    private static final DateTimeFormatter KIS_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter YEAR_MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final Pattern SYMBOL_PATTERN = Pattern.compile("^[0-9A-Z]{6}$");
+    private static final String KIS_RATE_LIMIT_CODE = "EGW00201";
+    private static final int KIS_MAX_RETRIES = 5;
+
+    private final KisApiService kisApiService;
+    private final StockRepository stockRepository;
+    private final StockCandleJdbcRepository candleJdbcRepository;
+    private final DataProcessingLogRepository processingLogRepository;
+    private final CandleStore candleStore;
+    private final ObjectMapper objectMapper;
+
+    @Value("${history.loader.workers:8}")
+    private int workers;
+
+    @Value("${history.loader.kis-requests-per-second:20}")
+    private double kisRequestsPerSecond;
+
+    @Value("${history.loader.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${history.loader.csv-dir:out_krx_parallel}")
+    private String csvDir;
+
+    private volatile Job current;
+
+    @PreDestroy
+    public void stop() {
+        Job job = current;
+        if (job != null) {
+            job.cancelled = true;
+            job.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 적재 시작 (비동기)
+     *
+     * @param symbols 대상 종목 (비어 있으면 종목 마스터 전체, 6자리 코드 형식이면서 종목 마스터에 있어야 함)
+     * @param restart true 면 이전 체크포인트를 무시하고 from 부터 다시 적재
+     * @return 작업 상태, 이미 실행 중이면 null
+     */
+    public synchronized Map<String, Object> start(Source source, List<String> symbols, LocalDate from, LocalDate to,
+                                                  boolean restart) {
+        if (current != null && current.isRunning()) {
+            return null;
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("시작일이 종료일보다 늦습니다: " + from + " ~ " + to);
+        }
+        // 종목 마스터는 한 번만 읽어 대상 목록과 종목코드 검증에 함께 씀
+        List<String> listed = stockRepository.findAll().stream().map(Stock::getSymbol).toList();
+        List<String> targets = symbols == null || symbols.isEmpty() ? listed : List.copyOf(symbols);
+        Set<String> known = new HashSet<>(listed);
+        List<String> unknown = targets.stream()
+                .filter(symbol -> symbol == null || !SYMBOL_PATTERN.matcher(symbol).matches()
+                        || !known.contains(symbol))
+                .toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("알 수 없는 종목코드: " + unknown);
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "history-loader-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Job job = new Job(source, from, to, restart, targets.size(), executor,
+                new RateBudget(kisRequestsPerSecond));
+        current = job;
+        log.info("🔄 이력 적재 시작: 원천={}, 기간={}~{}, 종목 {}개, 워커 {}개, 재시작={}",
+                source, from, to, targets.size(), workers, restart);
+        for (String symbol : targets) {
+            executor.execute(() -> loadSymbol(job, symbol));
+        }
+        executor.shutdown();
+        Thread watcher = new Thread(() -> finish(job), "history-loader-watch");
+        watcher.setDaemon(true);
+        watcher.start();
+        return job.toStatus();
+    }
+
+    /**
+     * 실행 중인 적재 취소 (진행 중인 페이지/배치까지만 기록, 다음 실행 때 체크포인트부터 이어서 적재)
+     */
+    public boolean cancel() {
+        Job job = current;
+        if (job == null || !job.isRunning()) {
+            return false;
+        }
+        job.cancelled = true;
+        log.info("⚠️ 이력 적재 취소 요청");
+        return true;
+    }
+
+    /**
+     * 최근 작업 상태 (없으면 null)
+     */
+    public Map<String, Object> getStatus() {
+        Job job = current;
+        return job != null ? job.toStatus() : null;
+    }
+
+    private void finish(Job job) {
+        try {
+            job.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        job.finishedAt = LocalDateTime.now();
+        int seconds = (int) Duration.between(job.startedAt, job.finishedAt).getSeconds();
+        DataProcessingLog summary = new DataProcessingLog();
+        summary.setProcessType(DataProcessingLog.ProcessType.ALL);
+        summary.setRecordsProcessed((int) job.rows.sum());
+        summary.setRecordsInserted((int) job.rows.sum());
+        summary.setRecordsUpdated(0);
+        summary.setRecordsFailed(job.failedSymbols.get());
+        summary.setStartTime(job.startedAt);
+        summary.setEndTime(job.finishedAt);
+        summary.setProcessingDurationSeconds(seconds);
+        summary.setLoadedFrom(job.from);
+        summary.setCheckpointDate(job.to);
+        summary.setStatus(job.cancelled || job.failedSymbols.get() > 0
+                ? DataProcessingLog.ProcessStatus.PARTIAL_SUCCESS
+                : DataProcessingLog.ProcessStatus.SUCCESS);
+        if (job.cancelled) {
+            summary.setErrorMessage("취소됨");
+        }
+        try {
+            processingLogRepository.save(summary);
+        } catch (Exception e) {
+            log.warn("⚠️ 이력 적재 요약 기록 실패: {}", e.getMessage());
+        }
+        log.info("✅ 이력 적재 종료: 원천={}, 종목 {}/{}개 완료(실패 {}개), 캔들 {}개, KIS 호출 {}회, {}초{}",
+                job.source, job.doneSymbols.get(), job.totalSymbols, job.failedSymbols.get(), job.rows.sum(),
+                job.kisRequests.sum(), seconds, job.cancelled ? " (취소됨)" : "");
+    }
+
+    private void loadSymbol(Job job, String symbol) {
+        boolean failed = false;
+        boolean loaded = false;
+        for (DataProcessingLog.ProcessType type : List.of(DataProcessingLog.ProcessType.DAILY,
+                DataProcessingLog.ProcessType.WEEKLY, DataProcessingLog.ProcessType.MONTHLY)) {
+            if (job.cancelled) {
+                return;
+            }
+            try {
+                loaded |= loadSeries(job, symbol, type);
+            } catch (Exception e) {
+                failed = true;
+                log.warn("⚠️ 이력 적재 실패: 종목={}, 유형={} - {}", symbol, type, e.getMessage());
+            }
+        }
+        if (loaded) {
+            // 과거 캔들이 바뀌었으므로 차트 캔들 스토어는 다음 조회 때 다시 채움
+            candleStore.invalidate(symbol);
+        }
+        if (failed) {
+            job.failedSymbols.incrementAndGet();
+        }
+        job.doneSymbols.incrementAndGet();
+    }
+
+    /**
+     * 종목·유형 하나 적재 (이전 적재 완료 구간과 이어지면 그 구간은 건너뜀)
+     *
+     * @return 캔들을 기록했는지
+     */
+    private boolean loadSeries(Job job, String symbol, DataProcessingLog.ProcessType type) throws Exception {
+        LocalDate loadedFrom = job.from;
+        LocalDate resumeFrom = job.from;
+        LocalDate prefixTo = null; // 이전 완료 구간 앞의 빈 구간 끝 (채운 뒤 이전 체크포인트로 건너뜀)
+        LocalDate previousCheckpoint = null;
+        if (!job.restart) {
+            DataProcessingLog last = processingLogRepository
+                    .findFirstByProcessTypeAndStockSymbolOrderByIdDesc(type, symbol).orElse(null);
+            LocalDate lastFrom = last != null ? last.getLoadedFrom() : null;
+            LocalDate checkpoint = last != null ? last.getCheckpointDate() : null;
+            if (lastFrom != null && checkpoint != null && !checkpoint.isBefore(lastFrom)) {
+                if (!job.from.isBefore(lastFrom) && !job.from.isAfter(checkpoint.plusDays(1))) {
+                    if (!checkpoint.isBefore(job.to)) {
+                        return false; // 요청 구간이 이미 적재됨
+                    }
+                    loadedFrom = lastFrom;
+                    resumeFrom = checkpoint.plusDays(1);
+                } else if (job.from.isBefore(lastFrom) && !job.to.isBefore(lastFrom.minusDays(1))) {
+                    prefixTo = lastFrom.minusDays(1);
+                    previousCheckpoint = checkpoint;
+                }
+                // 그 외(이전 구간과 떨어진 요청)는 요청 구간 전체를 새로 적재
+            }
+        }
+
+        Progress progress = new Progress(type, symbol, loadedFrom, resumeFrom.minusDays(1));
+        try {
+            load(job, progress, resumeFrom, prefixTo != null ? prefixTo : job.to);
+            if (prefixTo != null && !job.cancelled) {
+                // 앞부분을 채워 이전 완료 구간과 이어졌으므로 이전 체크포인트 다음 날부터 계속
+                progress.checkpoint(previousCheckpoint);
+                if (previousCheckpoint.isBefore(job.to)) {
+                    load(job, progress, previousCheckpoint.plusDays(1), job.to);
+                }
+            }
+            if (!job.cancelled) {
+                if (progress.entry.getCheckpointDate().isBefore(job.to)) {
+                    progress.entry.setCheckpointDate(job.to);
+                }
+                progress.entry.setStatus(DataProcessingLog.ProcessStatus.SUCCESS);
+            }
+            return progress.rows > 0;
+        } catch (Exception e) {
+            progress.entry.setStatus(progress.rows > 0
+                    ? DataProcessingLog.ProcessStatus.PARTIAL_SUCCESS
+                    : DataProcessingLog.ProcessStatus.FAILED);
+            progress.entry.setErrorMessage(e.getMessage());
+            throw e;
+        } finally {
+            LocalDateTime end = LocalDateTime.now();
+            progress.entry.setEndTime(end);
+            progress.entry.setProcessingDurationSeconds(
+                    (int) Duration.between(progress.entry.getStartTime(), end).getSeconds());
+            progress.save();
+        }
+    }
+
+    /**
+     * [from, to] 구간 적재
+     */
+    private void load(Job job, Progress progress, LocalDate from, LocalDate to) throws Exception {
+        if (job.source == Source.KIS) {
+            loadFromKis(job, progress, from, to);
+        } else {
+            loadFromCsv(job, progress, from, to);
+        }
+    }
+
+    /**
+     * KIS 기간별 시세를 응답 한 페이지(최대 100행) 크기의 기간 창으로 나눠 앞에서부터 적재
+     */
+    private void loadFromKis(Job job, Progress progress, LocalDate from, LocalDate to) throws Exception {
+        String period = kisPeriod(progress.type);
+        for (LocalDate windowStart = from; !windowStart.isAfter(to) && !job.cancelled; ) {
+            LocalDate windowEnd = windowStart.plusDays(kisWindowDays(progress.type) - 1);
+            if (windowEnd.isAfter(to)) {
+                windowEnd = to;
+            }
+            JsonNode rows = fetchKisPage(job, progress.symbol, period, windowStart, windowEnd);
+            List<HistoryRow> page = new ArrayList<>();
+            for (JsonNode item : rows) {
+                HistoryRow row = HistoryRow.fromKis(item);
+                if (row != null && !row.date.isBefore(windowStart) && !row.date.isAfter(windowEnd)) {
+                    page.add(row);
+                }
+            }
+            page.sort(Comparator.comparing(row -> row.date));
+            write(job, progress, page);
+            progress.checkpoint(windowEnd);
+            windowStart = windowEnd.plusDays(1);
+        }
+    }
+
+    /**
+     * KIS 기간별 시세 한 페이지 조회
+     * 호출 한도 초과(EGW00201)는 정상 응답(rt_cd≠0)이나 HTTP 500 본문으로 오므로 두 경우 모두 잠시 쉬고 재시도
+     */
+    private JsonNode fetchKisPage(Job job, String symbol, String period, LocalDate from, LocalDate to)
+            throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            job.rateBudget.acquire();
+            job.kisRequests.increment();
+            JsonNode root;
+            try {
+                root = objectMapper.readTree(kisApiService.getDailyChartDataWithDateRange(symbol, period, "1",
+                        from.format(KIS_DATE), to.format(KIS_DATE)));
+                if ("0".equals(root.path("rt_cd").asText("0"))) {
+                    return root.path("output2");
+                }
+            } catch (RuntimeException e) {
+                // KisApiService 는 2xx 가 아닌 응답을 RuntimeException 으로 감싸서 던짐
+                WebClientResponseException error = responseError(e);
+                if (error == null || !isRateLimited(error.getResponseBodyAsString()) || attempt >= KIS_MAX_RETRIES) {
+                    throw e;
+                }
+                Thread.sleep(1000L * attempt);
+                continue;
+            }
+            String code = root.path("msg_cd").asText();
+            if (!KIS_RATE_LIMIT_CODE.equals(code) || attempt >= KIS_MAX_RETRIES) {
+                throw new IllegalStateException("KIS 기간별 시세 오류 " + code + ": " + root.path("msg1").asText());
+            }
+            // 초당 호출 한도 초과 - 다른 경로의 KIS 호출과 겹친 경우이므로 잠시 쉬고 재시도
+            Thread.sleep(1000L * attempt);
+        }
+    }
+
+    private static WebClientResponseException responseError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebClientResponseException) {
+                return (WebClientResponseException) cause;
+            }
+        }
+        return null;
+    }
+
+    private boolean isRateLimited(String body) {
+        try {
+            return KIS_RATE_LIMIT_CODE.equals(objectMapper.readTree(body).path("msg_cd").asText());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 수집 스크립트 CSV (date,open,high,low,close,volume - 시간순) 를 스트리밍으로 읽어 적재
+     */
+    private void loadFromCsv(Job job, Progress progress, LocalDate from, LocalDate to) throws IOException {
+        Path dir = Paths.get(csvDir).toAbsolutePath().normalize();
+        Path file = dir.resolve(progress.symbol + "_" + csvSuffix(progress.type) + ".csv").normalize();
+        if (!dir.equals(file.getParent())) {
+            throw new IOException("CSV 디렉터리 밖의 경로: " + file);
+        }
+        if (!Files.exists(file)) {
+            throw new IOException("CSV 파일 없음: " + file);
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return;
+            }
+            Map<String, Integer> columns = new LinkedHashMap<>();
+            String[] names = header.split(",");
+            for (int i = 0; i < names.length; i++) {
+                columns.put(names[i].trim().toLowerCase(), i);
+            }
+            List<HistoryRow> batch = new ArrayList<>(batchSize);
+            BigDecimal previousClose = null;
+            String line;
+            while ((line = reader.readLine()) != null && !job.cancelled) {
+                HistoryRow row = HistoryRow.fromCsv(line.split(","), columns, previousClose);
+                if (row == null) {
+                    continue;
+                }
+                previousClose = row.close;
+                if (row.date.isBefore(from) || row.date.isAfter(to)) {
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    write(job, progress, batch);
+                    progress.checkpoint(row.date);
+                    batch.clear();
+                }
+            }
+            write(job, progress, batch);
+        }
+    }
+
+    private void write(Job job, Progress progress, List<HistoryRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < rows.size(); i += batchSize) {
+            List<HistoryRow> chunk = rows.subList(i, Math.min(rows.size(), i + batchSize));
+            switch (progress.type) {
+                case DAILY:
+                    candleJdbcRepository.upsertDailyHistory(
+                            chunk.stream().map(row -> row.toDaily(progress.symbol)).toList());
+                    break;
+                case WEEKLY:
+                    candleJdbcRepository.upsertWeeklyHistory(
+                            chunk.stream().map(row -> row.toWeekly(progress.symbol)).toList());
+                    break;
+                case MONTHLY:
+                    candleJdbcRepository.upsertMonthlyHistory(
+                            chunk.stream().map(row -> row.toMonthly(progress.symbol)).toList());
+                    break;
+                default:
+                    break;
+            }
+        }
+        progress.rows += rows.size();
+        job.rows.add(rows.size());
+    }
+
+    private static String kisPeriod(DataProcessingLog.ProcessType type) {
+        switch (type) {
+            case WEEKLY:
+                return "W";
+            case MONTHLY:
+                return "M";
+            default:
+                return "D";
+        }
+    }
+
+    private static String csvSuffix(DataProcessingLog.ProcessType type) {
+        return kisPeriod(type);
+    }
+
+    /**
+     * KIS 응답 한 페이지(100행)에 들어가는 기간 (영업일/주/월 기준으로 여유를 둠)
+     */
+    private static int kisWindowDays(DataProcessingLog.ProcessType type) {
+        switch (type) {
+            case WEEKLY:
+                return 7 * 95;
+            case MONTHLY:
+                return 365 * 8;
+            default:
+                return 135;
+        }
+    }
+
+    /**
+     * 종목·유형별 처리 기록 (페이지/배치마다 체크포인트 갱신)
+     */
+    private final class Progress {
+        private final DataProcessingLog.ProcessType type;
+        private final String symbol;
+        private final DataProcessingLog entry;
+        private long rows;
+
+        private Progress(DataProcessingLog.ProcessType type, String symbol, LocalDate loadedFrom,
+                         LocalDate checkpoint) {
+            this.type = type;
+            this.symbol = symbol;
+            entry = new DataProcessingLog();
+            entry.setProcessType(type);
+            entry.setStockSymbol(symbol);
+            entry.setRecordsProcessed(0);
+            entry.setRecordsInserted(0);
+            entry.setRecordsUpdated(0);
+            entry.setRecordsFailed(0);
+            entry.setStartTime(LocalDateTime.now());
+            entry.setStatus(DataProcessingLog.ProcessStatus.PARTIAL_SUCCESS);
+            entry.setLoadedFrom(loadedFrom);
+            entry.setCheckpointDate(checkpoint);
+        }
+
+        private void checkpoint(LocalDate date) {
+            entry.setCheckpointDate(date);
+            save();
+        }
+
+        private void save() {
+            entry.setRecordsProcessed((int) rows);
+            entry.setRecordsInserted((int) rows);
+            DataProcessingLog saved = processingLogRepository.save(entry);
+            entry.setId(saved.getId());
+        }
+    }
+
+    /**
+     * 원천 한 행 (원 단위 가격)
+     */
+    private static final class HistoryRow {
+        private final LocalDate date;
+        private final BigDecimal open;
+        private final BigDecimal high;
+        private final BigDecimal low;
+        private final BigDecimal close;
+        private final long volume;
+        private final BigDecimal change; // 모르면 null
+        private final BigDecimal changeRate;
+
+        private HistoryRow(LocalDate date, BigDecimal open, BigDecimal high, BigDecimal low, BigDecimal close,
+                           long volume, BigDecimal change) {
+            this.date = date;
+            this.open = open;
+            this.high = high;
+            this.low = low;
+            this.close = close;
+            this.volume = volume;
+            this.change = change;
+            this.changeRate = change != null ? CandleRollup.percent(change, close.subtract(change)) : null;
+        }
+
+        /**
+         * KIS output2 항목 (빈 항목이면 null)
+         */
+        private static HistoryRow fromKis(JsonNode item) {
+            String date = item.path("stck_bsop_date").asText();
+            String close = item.path("stck_clpr").asText();
+            if (date.isEmpty() || close.isEmpty()) {
+                return null;
+            }
+            String change = item.path("prdy_vrss").asText();
+            return new HistoryRow(LocalDate.parse(date, KIS_DATE),
+                    new BigDecimal(item.path("stck_oprc").asText(close)),
+                    new BigDecimal(item.path("stck_hgpr").asText(close)),
+                    new BigDecimal(item.path("stck_lwpr").asText(close)),
+                    new BigDecimal(close),
+                    item.path("acml_vol").asLong(0L),
+                    change.isEmpty() ? null : new BigDecimal(change));
+        }
+
+        /**
+         * CSV 한 줄 (헤더/결측 행이면 null, 전일대비는 직전 행 종가 기준)
+         */
+        private static HistoryRow fromCsv(String[] values, Map<String, Integer> columns, BigDecimal previousClose) {
+            try {
+                String date = value(values, columns, "date");
+                BigDecimal close = new BigDecimal(value(values, columns, "close"));
+                return new HistoryRow(LocalDate.parse(date.substring(0, 10)),
+                        new BigDecimal(value(values, columns, "open")),
+                        new BigDecimal(value(values, columns, "high")),
+                        new BigDecimal(value(values, columns, "low")),
+                        close,
+                        new BigDecimal(value(values, columns, "volume")).longValue(),
+                        previousClose != null ? close.subtract(previousClose) : null);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+
+        private static String value(String[] values, Map<String, Integer> columns, String name) {
+            return values[columns.get(name)].trim();
+        }
+
+        private StockDailyPrice toDaily(String symbol) {
+            return StockDailyPrice.builder()
+                    .stockSymbol(symbol)
+                    .tradeDate(date)
+                    .openPrice(open)
+                    .highPrice(high)
+                    .lowPrice(low)
+                    .closePrice(close)
+                    .volume(volume)
+                    .priceChange(change)
+                    .priceChangePercent(changeRate)
+                    .build();
+        }
+
+        /**
+         * 주봉은 원천의 기준일(KIS 영업일, CSV 금요일)과 관계없이 월요일 시작 주로 맞춤
+         */
+        private StockWeeklyPrice toWeekly(String symbol) {
+            LocalDate weekStart = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            return StockWeeklyPrice.builder()
+                    .stockSymbol(symbol)
+                    .weekStartDate(weekStart)
+                    .weekEndDate(weekStart.plusDays(4))
+                    .openPrice(open)
+                    .highPrice(high)
+                    .lowPrice(low)
+                    .closePrice(close)
+                    .volume(volume)
+                    .priceChange(change)
+                    .priceChangePercent(changeRate)
+                    .build();
+        }
+
+        private StockMonthlyPrice toMonthly(String symbol) {
+            return StockMonthlyPrice.builder()
+                    .stockSymbol(symbol)
+                    .yearMonth(date.format(YEAR_MONTH))
+                    .openPrice(open)
+                    .highPrice(high)
+                    .lowPrice(low)
+                    .closePrice(close)
+                    .volume(volume)
+                    .priceChange(change)
+                    .priceChangePercent(changeRate)
+                    .build();
+        }
+    }
+
+    /**
+     * 워커 전체가 나눠 쓰는 KIS 호출 간격 (초당 permitsPerSecond 회)
+     */
+    private static final class RateBudget {
+        private final long intervalNanos;
+        private long nextNanos = System.nanoTime();
+
+        private RateBudget(double permitsPerSecond) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(0.1, permitsPerSecond));
+        }
+
+        private void acquire() throws InterruptedException {
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long at = Math.max(now, nextNanos);
+                nextNanos = at + intervalNanos;
+                wait = at - now;
+            }
+            if (wait > 0L) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+    }
+
+    private static final class Job {
+        private final Source source;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final boolean restart;
+        private final int totalSymbols;
+        private final ExecutorService executor;
+        private final RateBudget rateBudget;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicInteger doneSymbols = new AtomicInteger();
+        private final AtomicInteger failedSymbols = new AtomicInteger();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder kisRequests = new LongAdder();
+        private volatile boolean cancelled;
+        private volatile LocalDateTime finishedAt;
+
+        private Job(Source source, LocalDate from, LocalDate to, boolean restart, int totalSymbols,
+                    ExecutorService executor, RateBudget rateBudget) {
+            this.source = source;
+            this.from = from;
+            this.to = to;
+            this.restart = restart;
+            this.totalSymbols = totalSymbols;
+            this.executor = executor;
+            this.rateBudget = rateBudget;
+        }
+
+        private boolean isRunning() {
+            return finishedAt == null;
+        }
+
+        private Map<String, Object> toStatus() {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("source", source.name());
+            status.put("from", from.toString());
+            status.put("to", to.toString());
+            status.put("running", isRunning());
+            status.put("cancelled", cancelled);
+            status.put("totalSymbols", totalSymbols);
+            status.put("doneSymbols", doneSymbols.get());
+            status.put("failedSymbols", failedSymbols.get());
+            status.put("candles", rows.sum());
+            status.put("kisRequests", kisRequests.sum());
+            status.put("startedAt", startedAt.toString());
+            status.put("finishedAt", finishedAt != null ? finishedAt.toString() : null);
+            return status;
+        }
+    }
+
+    /**
+     * 기본 종료일 (당일 캔들은 장중에 바뀌므로 전일까지)
+     */
+    public static LocalDate defaultEndDate() {
+        return LocalDate.now(MarketSessionClock.KOREA_ZONE).minusDays(1);
+    }
+}
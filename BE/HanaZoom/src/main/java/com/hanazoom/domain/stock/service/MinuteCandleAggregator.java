@@ -0,0 +1,626 @@
+package com.hanazoom.domain.stock.service;
+
+import com.hanazoom.domain.stock.entity.StockDailyPrice;
+import com.hanazoom.domain.stock.entity.StockMinutePrice;
+import com.hanazoom.domain.stock.repository.StockCandleJdbcRepository;
+import com.hanazoom.global.realtime.KisTick;
+import com.hanazoom.global.util.MarketSessionClock;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 실시간 분봉 집계 (메모리)
+ *
+ * - 틱마다 종목의 진행 중 1분봉 원시 필드(OHLC, 누적거래량 기준값, 체결 건수, 체결대금, 매수/매도 거래량)만 갱신
+ *   (DB/Redis 접근 없음)
+ * - 상위 간격(candle.rollup.minute-intervals)과 일봉은 1분봉이 마감될 때 1분봉을 접어 넣어 유지하고,
+ *   조회 시에는 접힌 부분 + 진행 중 1분봉을 합쳐 보여준다 (틱당 작업은 간격 수와 무관)
+ * - 캔들 구간은 거래소 체결시각(영업일자 + HHmmss) 기준, 구간 거래량은 캔들 시작 직전 누적거래량과의 차이
+ * - VWAP 는 Σ(체결가 × 체결량) / Σ체결량, 매수/매도 거래량은 체결구분(1 매수, 5 매도)별 체결량 합계
+ * - 마감된 캔들은 큐에 넣고 별도 스레드가 flush-interval-ms 마다 배치 upsert,
+ *   진행 중 캔들은 in-progress-flush-ms 마다 변경분만 함께 기록
+ * - 차트 조회 시 getLiveCandle / getLiveDailyCandle 로 아직 저장되지 않은 진행 중 캔들을 병합
+ * - 클러스터의 다른 노드는 리더가 중계한 틱을 onRelayedTick 으로 읽기 전용 반영 (조회용 캔들만 갱신, 저장은 리더 몫)
+ *
+ * 재시작 직후의 진행 중 캔들은 재시작 이후 틱만 반영하므로, upsert 시 시가는 기존 행 값을 유지하고
+ * 고가/저가는 기존 값과 비교해 넓은 쪽을, 거래량·체결 건수·매수/매도 거래량은 큰 쪽을 남기며, VWAP 는 체결 건수가
+ * 기존 행 이상일 때만 바꾼다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MinuteCandleAggregator {
+
+    private static final int MINUTES_PER_DAY = 1440;
+
+    private final StockCandleJdbcRepository candleJdbcRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${candle.aggregator.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${candle.aggregator.in-progress-flush-ms:10000}")
+    private long inProgressFlushMs;
+
+    @Value("${candle.aggregator.max-pending:100000}")
+    private int maxPending;
+
+    @Value("${candle.rollup.minute-intervals:1,3,5,10,15,30,60}")
+    private String minuteIntervalsConfig;
+
+    @Value("${candle.rollup.daily:true}")
+    private boolean dailyRollup;
+
+    private List<StockMinutePrice.MinuteInterval> minuteIntervals; // 1분 포함, 오름차순
+    private StockMinutePrice.MinuteInterval[] rollupIntervals; // 1분 제외
+    private final Map<String, SymbolCandles> candles = new ConcurrentHashMap<>();
+    private BlockingQueue<CandleRow> completed;
+    private final LongAdder flushedCandles = new LongAdder();
+    private final LongAdder droppedCandles = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+
+    // 영업일자 → epoch day 캐시 (날짜가 바뀔 때만 다시 계산)
+    private volatile int cachedBusinessDate;
+    private volatile long cachedEpochDay;
+
+    private ScheduledExecutorService flusher;
+    private long nextInProgressFlushAt; // flusher 스레드에서만 접근
+
+    @PostConstruct
+    public void start() {
+        minuteIntervals = parseMinuteIntervals(minuteIntervalsConfig);
+        rollupIntervals = minuteIntervals.stream()
+                .filter(interval -> interval != StockMinutePrice.MinuteInterval.ONE_MINUTE)
+                .toArray(StockMinutePrice.MinuteInterval[]::new);
+
+        completed = new ArrayBlockingQueue<>(Math.max(1, maxPending));
+        FunctionCounter.builder("candle.aggregator.flushed", flushedCandles, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("candle.aggregator.dropped", droppedCandles, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("candle.aggregator.pending", completed, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("candle.aggregator.symbols", candles, Map::size).register(meterRegistry);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "minute-candle-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> flush(false), flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("✅ 분봉 집계 시작: 간격 {}, 일봉 롤업 {}", minuteIntervals, dailyRollup);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // 종료 시에는 진행 중 캔들까지 모두 기록
+        flush(true);
+    }
+
+    /**
+     * 설정 문자열(분 단위 콤마 구분)을 간격 목록으로 변환 - 1분은 항상 포함, 하루(1440분)를 나누어떨어지게 하는 간격만 허용
+     */
+    static List<StockMinutePrice.MinuteInterval> parseMinuteIntervals(String config) {
+        TreeSet<Integer> minutes = new TreeSet<>();
+        minutes.add(1);
+        for (String token : config.split(",")) {
+            if (!token.isBlank()) {
+                minutes.add(Integer.parseInt(token.trim()));
+            }
+        }
+        List<StockMinutePrice.MinuteInterval> intervals = new ArrayList<>();
+        for (int minute : minutes) {
+            if (MINUTES_PER_DAY % minute != 0) {
+                throw new IllegalArgumentException("분봉 간격은 1440 의 약수여야 합니다: " + minute);
+            }
+            try {
+                intervals.add(StockMinutePrice.MinuteInterval.ofMinutes(minute));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("candle.rollup.minute-intervals 에 정의되지 않은 간격: " + minute
+                        + "분 (사용 가능: " + Arrays.stream(StockMinutePrice.MinuteInterval.values())
+                        .map(interval -> String.valueOf(interval.getMinutes()))
+                        .collect(Collectors.joining(",")) + ", 새 간격은 MinuteInterval 상수 추가 필요)", e);
+            }
+        }
+        return Collections.unmodifiableList(intervals);
+    }
+
+    /**
+     * 집계/저장 중인 분봉 간격 (1분 포함, 오름차순)
+     */
+    public List<StockMinutePrice.MinuteInterval> getMinuteIntervals() {
+        return minuteIntervals;
+    }
+
+    public boolean isDailyRollupEnabled() {
+        return dailyRollup;
+    }
+
+    /**
+     * 체결 틱 반영 (틱 핸들러 스레드에서 호출, O(1))
+     */
+    public void onTick(KisTick tick) {
+        apply(tick, false);
+    }
+
+    /**
+     * 피드 리더가 중계한 체결 틱 반영 - 진행 중 캔들 조회용으로만 집계하고 DB 에는 기록하지 않음
+     * (이 노드가 리더가 되어 onTick 을 받기 시작하면 그 종목은 다시 기록 대상)
+     */
+    public void onRelayedTick(KisTick tick) {
+        apply(tick, true);
+    }
+
+    private void apply(KisTick tick, boolean relayed) {
+        if (tick.getPrice() <= 0L) {
+            return;
+        }
+        long minute = exchangeMinute(tick.getBusinessDate(), tick.getTradeTime());
+        if (minute < 0L) {
+            return;
+        }
+        SymbolCandles symbolCandles = candles.computeIfAbsent(tick.getSymbol(),
+                symbol -> new SymbolCandles(symbol, rollupIntervals.length));
+        synchronized (symbolCandles) {
+            symbolCandles.readOnly = relayed;
+            Bar bar = symbolCandles.minute;
+            if (minute != bar.start) {
+                if (minute < bar.start) {
+                    return; // 이미 마감된 분의 지연 틱
+                }
+                if (bar.start >= 0L) {
+                    closeMinute(symbolCandles, minute);
+                }
+                bar.open(minute, tick.getPrice(), tick.getCumulativeVolume() - tick.getTradeVolume());
+            }
+            bar.update(tick.getPrice(), tick.getTradeVolume(), tick.getTradeSide(), tick.getCumulativeVolume());
+            symbolCandles.dayChange = tick.getChange();
+            symbolCandles.dayChangeRateBp = tick.getChangeRateBp();
+        }
+    }
+
+    /**
+     * 마감된 1분봉을 큐에 넣고 상위 간격/일봉에 접어 넣음 (다음 분이 다른 구간이면 상위 캔들도 마감)
+     * 읽기 전용 종목은 접어 넣기만 하고 큐에는 넣지 않음
+     */
+    private void closeMinute(SymbolCandles symbolCandles, long nextMinute) {
+        Bar bar = symbolCandles.minute;
+        String symbol = symbolCandles.symbol;
+        boolean persist = !symbolCandles.readOnly;
+        if (persist) {
+            enqueue(bar.snapshot(symbol, StockMinutePrice.MinuteInterval.ONE_MINUTE, bar.start));
+        }
+        for (int i = 0; i < rollupIntervals.length; i++) {
+            int minutes = rollupIntervals[i].getMinutes();
+            Bar rollup = symbolCandles.rollups[i];
+            rollup.absorb(bar, bar.start - bar.start % minutes);
+            if (nextMinute - nextMinute % minutes != rollup.start) {
+                if (persist) {
+                    enqueue(rollup.snapshot(symbol, rollupIntervals[i], rollup.start));
+                }
+                rollup.start = -1L;
+            }
+        }
+        if (dailyRollup) {
+            Bar day = symbolCandles.day;
+            day.absorb(bar, bar.start - bar.start % MINUTES_PER_DAY);
+            if (nextMinute - nextMinute % MINUTES_PER_DAY != day.start) {
+                if (persist) {
+                    enqueue(symbolCandles.daySnapshot(day));
+                }
+                day.start = -1L;
+            }
+        }
+    }
+
+    /**
+     * 진행 중 캔들 조회 (집계하지 않는 간격이거나 데이터가 없으면 null)
+     */
+    public StockMinutePrice getLiveCandle(String symbol, StockMinutePrice.MinuteInterval interval) {
+        SymbolCandles symbolCandles = candles.get(symbol);
+        if (symbolCandles == null) {
+            return null;
+        }
+        CandleRow row;
+        synchronized (symbolCandles) {
+            row = symbolCandles.liveSnapshot(interval, rollupIndex(interval));
+        }
+        return row != null ? row.toMinutePrice() : null;
+    }
+
+    /**
+     * 진행 중 일봉 조회 (일봉 롤업을 끄거나 데이터가 없으면 null)
+     */
+    public StockDailyPrice getLiveDailyCandle(String symbol) {
+        SymbolCandles symbolCandles = candles.get(symbol);
+        if (symbolCandles == null || !dailyRollup) {
+            return null;
+        }
+        CandleRow row;
+        synchronized (symbolCandles) {
+            row = symbolCandles.liveDaySnapshot();
+        }
+        return row != null ? row.toDailyPrice() : null;
+    }
+
+    /**
+     * 1분은 -2, 상위 간격은 rollups 배열 위치, 집계하지 않는 간격은 -1
+     */
+    private int rollupIndex(StockMinutePrice.MinuteInterval interval) {
+        if (interval == StockMinutePrice.MinuteInterval.ONE_MINUTE) {
+            return -2;
+        }
+        for (int i = 0; i < rollupIntervals.length; i++) {
+            if (rollupIntervals[i] == interval) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void enqueue(CandleRow row) {
+        if (!completed.offer(row)) {
+            droppedCandles.increment();
+        }
+    }
+
+    void flush(boolean includeInProgress) {
+        List<CandleRow> batch = new ArrayList<>();
+        completed.drainTo(batch);
+        long now = System.currentTimeMillis();
+        if (includeInProgress || now >= nextInProgressFlushAt) {
+            nextInProgressFlushAt = now + inProgressFlushMs;
+            collectInProgress(batch);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<StockMinutePrice> minutePrices = new ArrayList<>(batch.size());
+        List<StockDailyPrice> dailyPrices = new ArrayList<>();
+        for (CandleRow row : batch) {
+            if (row.interval != null) {
+                minutePrices.add(row.toMinutePrice());
+            } else {
+                dailyPrices.add(row.toDailyPrice());
+            }
+        }
+        try {
+            candleJdbcRepository.upsertMinutePrices(minutePrices);
+            candleJdbcRepository.upsertDailyPrices(dailyPrices);
+            flushedCandles.add(batch.size());
+        } catch (Exception e) {
+            failedFlushes.increment();
+            log.warn("⚠️ 분봉 배치 저장 실패 - {}건 다음 주기에 재시도: {}", batch.size(), e.getMessage());
+            // upsert 라 같은 캔들이 여러 번 들어가도 마지막 값으로 수렴
+            batch.forEach(this::enqueue);
+        }
+    }
+
+    /**
+     * 마지막 기록 이후 변경된 종목의 진행 중 캔들(1분, 상위 간격, 일봉) 스냅샷 수집
+     */
+    private void collectInProgress(List<CandleRow> batch) {
+        for (SymbolCandles symbolCandles : candles.values()) {
+            synchronized (symbolCandles) {
+                Bar bar = symbolCandles.minute;
+                if (!bar.dirty || symbolCandles.readOnly) {
+                    continue;
+                }
+                bar.dirty = false;
+                batch.add(bar.snapshot(symbolCandles.symbol, StockMinutePrice.MinuteInterval.ONE_MINUTE, bar.start));
+                for (int i = 0; i < rollupIntervals.length; i++) {
+                    batch.add(symbolCandles.liveSnapshot(rollupIntervals[i], i));
+                }
+                if (dailyRollup) {
+                    batch.add(symbolCandles.liveDaySnapshot());
+                }
+            }
+        }
+    }
+
+    /**
+     * 거래소 체결시각을 분 단위 일련번호로 변환 (KST 벽시계 기준 epoch 분, 영업일자가 없으면 오늘)
+     * 하루가 1440분이라 일련번호를 간격으로 나눈 나머지로 자르면 장중 분 단위 정렬과 같다.
+     */
+    private long exchangeMinute(int businessDate, int tradeTime) {
+        long epochDay;
+        if (businessDate <= 0) {
+            epochDay = LocalDate.now(MarketSessionClock.KOREA_ZONE).toEpochDay();
+        } else if (businessDate == cachedBusinessDate) {
+            epochDay = cachedEpochDay;
+        } else {
+            try {
+                epochDay = LocalDate.of(businessDate / 10000, businessDate / 100 % 100, businessDate % 100).toEpochDay();
+            } catch (DateTimeException e) {
+                return -1L;
+            }
+            cachedEpochDay = epochDay;
+            cachedBusinessDate = businessDate;
+        }
+        return epochDay * MINUTES_PER_DAY + (tradeTime / 10000) * 60L + tradeTime / 100 % 100;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void logStats() {
+        if (failedFlushes.sum() > 0 || droppedCandles.sum() > 0) {
+            log.warn("⚠️ 분봉 집계: 종목 {}개, 저장 {}건, 대기 {}건, 유실 {}건, 저장 실패 {}회",
+                    candles.size(), flushedCandles.sum(), completed.size(), droppedCandles.sum(), failedFlushes.sum());
+        } else {
+            log.info("📊 분봉 집계: 종목 {}개, 저장 {}건, 대기 {}건", candles.size(), flushedCandles.sum(), completed.size());
+        }
+    }
+
+    public long getFlushedCandleCount() {
+        return flushedCandles.sum();
+    }
+
+    public long getDroppedCandleCount() {
+        return droppedCandles.sum();
+    }
+
+    /**
+     * 종목별 진행 중 1분봉 + 상위 간격/일봉의 마감된 1분봉 누적분 (이 객체로 동기화)
+     */
+    private static final class SymbolCandles {
+        private final String symbol;
+        private final Bar minute = new Bar();
+        private final Bar[] rollups;
+        private final Bar day = new Bar();
+        private long dayChange; // 전일대비 (최신 틱)
+        private int dayChangeRateBp; // 전일대비율 x100 (최신 틱)
+        private boolean readOnly; // 최신 틱이 중계 틱이면 true (저장하지 않음)
+
+        private SymbolCandles(String symbol, int rollupCount) {
+            this.symbol = symbol;
+            this.rollups = new Bar[rollupCount];
+            for (int i = 0; i < rollupCount; i++) {
+                rollups[i] = new Bar();
+            }
+        }
+
+        /**
+         * 진행 중 캔들 = 구간 내 마감된 1분봉 누적분 + 진행 중 1분봉
+         */
+        private CandleRow liveSnapshot(StockMinutePrice.MinuteInterval interval, int index) {
+            if (minute.start < 0L || index == -1) {
+                return null;
+            }
+            if (index == -2) {
+                return minute.snapshot(symbol, interval, minute.start);
+            }
+            long bucket = minute.start - minute.start % interval.getMinutes();
+            return Bar.merge(rollups[index], minute, bucket).snapshot(symbol, interval, bucket);
+        }
+
+        private CandleRow liveDaySnapshot() {
+            if (minute.start < 0L) {
+                return null;
+            }
+            long bucket = minute.start - minute.start % MINUTES_PER_DAY;
+            return daySnapshot(Bar.merge(day, minute, bucket));
+        }
+
+        private CandleRow daySnapshot(Bar bar) {
+            // 일봉 거래량은 당일 누적거래량 그대로
+            return new CandleRow(symbol, null, bar, bar.lastCumulativeVolume, dayChange, dayChangeRateBp);
+        }
+    }
+
+    /**
+     * 캔들 누적 필드 (가격은 원 단위 long)
+     */
+    private static final class Bar {
+        private long start = -1L; // 캔들 시작 분 일련번호 (-1 이면 비어 있음)
+        private long open;
+        private long high;
+        private long low;
+        private long close;
+        private long baseCumulativeVolume; // 캔들 시작 직전 누적거래량
+        private long lastCumulativeVolume;
+        private int tickCount;
+        private long tradedVolume; // Σ체결량 (VWAP 분모)
+        private long turnover; // Σ(체결가 × 체결량)
+        private long buyVolume;
+        private long sellVolume;
+        private boolean dirty;
+
+        private void open(long bucket, long price, long baseCumulativeVolume) {
+            this.start = bucket;
+            this.open = price;
+            this.high = price;
+            this.low = price;
+            this.baseCumulativeVolume = Math.max(0L, baseCumulativeVolume);
+            this.lastCumulativeVolume = this.baseCumulativeVolume;
+            resetTrades();
+        }
+
+        private void resetTrades() {
+            tickCount = 0;
+            tradedVolume = 0L;
+            turnover = 0L;
+            buyVolume = 0L;
+            sellVolume = 0L;
+        }
+
+        private void update(long price, long tradeVolume, int tradeSide, long cumulativeVolume) {
+            if (price > high) {
+                high = price;
+            }
+            if (price < low) {
+                low = price;
+            }
+            close = price;
+            if (cumulativeVolume > lastCumulativeVolume) {
+                lastCumulativeVolume = cumulativeVolume;
+            }
+            tickCount++;
+            if (tradeVolume > 0L) {
+                tradedVolume += tradeVolume;
+                turnover += price * tradeVolume;
+                if (tradeSide == KisTick.SIDE_BUY) {
+                    buyVolume += tradeVolume;
+                } else if (tradeSide == KisTick.SIDE_SELL) {
+                    sellVolume += tradeVolume;
+                }
+            }
+            dirty = true;
+        }
+
+        /**
+         * 마감된 하위 캔들을 bucket 구간에 접어 넣음 (비어 있거나 다른 구간이면 새로 시작)
+         */
+        private void absorb(Bar child, long bucket) {
+            if (start != bucket) {
+                start = bucket;
+                open = child.open;
+                high = child.high;
+                low = child.low;
+                baseCumulativeVolume = child.baseCumulativeVolume;
+                lastCumulativeVolume = child.baseCumulativeVolume;
+                resetTrades();
+            }
+            high = Math.max(high, child.high);
+            low = Math.min(low, child.low);
+            close = child.close;
+            lastCumulativeVolume = Math.max(lastCumulativeVolume, child.lastCumulativeVolume);
+            tickCount += child.tickCount;
+            tradedVolume += child.tradedVolume;
+            turnover += child.turnover;
+            buyVolume += child.buyVolume;
+            sellVolume += child.sellVolume;
+        }
+
+        /**
+         * 누적분(같은 구간일 때만)과 진행 중 캔들을 합친 임시 캔들
+         */
+        private static Bar merge(Bar folded, Bar live, long bucket) {
+            Bar merged = new Bar();
+            if (folded.start == bucket) {
+                merged.absorb(folded, bucket);
+            }
+            merged.absorb(live, bucket);
+            return merged;
+        }
+
+        private CandleRow snapshot(String symbol, StockMinutePrice.MinuteInterval interval, long bucket) {
+            return new CandleRow(symbol, interval, this, lastCumulativeVolume - baseCumulativeVolume, close - open, 0);
+        }
+    }
+
+    /**
+     * 저장/조회용 캔들 스냅샷 (interval 이 null 이면 일봉)
+     */
+    private static final class CandleRow {
+        private final String symbol;
+        private final StockMinutePrice.MinuteInterval interval;
+        private final long start;
+        private final long open;
+        private final long high;
+        private final long low;
+        private final long close;
+        private final long volume;
+        private final int tickCount;
+        private final long tradedVolume;
+        private final long turnover;
+        private final long buyVolume;
+        private final long sellVolume;
+        private final long change;
+        private final int changeRateBp;
+
+        private CandleRow(String symbol, StockMinutePrice.MinuteInterval interval, Bar bar, long volume, long change,
+                          int changeRateBp) {
+            this.symbol = symbol;
+            this.interval = interval;
+            this.start = bar.start;
+            this.open = bar.open;
+            this.high = bar.high;
+            this.low = bar.low;
+            this.close = bar.close;
+            this.volume = volume;
+            this.tickCount = bar.tickCount;
+            this.tradedVolume = bar.tradedVolume;
+            this.turnover = bar.turnover;
+            this.buyVolume = bar.buyVolume;
+            this.sellVolume = bar.sellVolume;
+            this.change = change;
+            this.changeRateBp = changeRateBp;
+        }
+
+        /**
+         * 체결량 가중 평균가 (체결량 정보가 없으면 종가)
+         */
+        private BigDecimal vwap() {
+            if (tradedVolume <= 0L) {
+                return BigDecimal.valueOf(close);
+            }
+            return BigDecimal.valueOf(turnover).divide(BigDecimal.valueOf(tradedVolume), 2, RoundingMode.HALF_UP);
+        }
+
+        private StockMinutePrice toMinutePrice() {
+            return StockMinutePrice.builder()
+                    .stockSymbol(symbol)
+                    .minuteInterval(interval)
+                    .timestamp(LocalDateTime.ofEpochSecond(start * 60L, 0, ZoneOffset.UTC))
+                    .openPrice(BigDecimal.valueOf(open))
+                    .highPrice(BigDecimal.valueOf(high))
+                    .lowPrice(BigDecimal.valueOf(low))
+                    .closePrice(BigDecimal.valueOf(close))
+                    .volume(volume)
+                    .priceChange(BigDecimal.valueOf(change))
+                    .priceChangePercent(CandleRollup.percent(BigDecimal.valueOf(change), BigDecimal.valueOf(open)))
+                    .vwap(vwap())
+                    .tickCount(tickCount)
+                    .buyVolume(buyVolume)
+                    .sellVolume(sellVolume)
+                    .build();
+        }
+
+        private StockDailyPrice toDailyPrice() {
+            return StockDailyPrice.builder()
+                    .stockSymbol(symbol)
+                    .tradeDate(LocalDate.ofEpochDay(start / MINUTES_PER_DAY))
+                    .openPrice(BigDecimal.valueOf(open))
+                    .highPrice(BigDecimal.valueOf(high))
+                    .lowPrice(BigDecimal.valueOf(low))
+                    .closePrice(BigDecimal.valueOf(close))
+                    .volume(volume)
+                    .priceChange(BigDecimal.valueOf(change))
+                    .priceChangePercent(BigDecimal.valueOf(changeRateBp, 2))
+                    .build();
+        }
+    }
+}
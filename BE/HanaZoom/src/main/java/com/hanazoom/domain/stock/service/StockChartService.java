@@ -2,6 +2,7 @@ package com.hanazoom.domain.stock.service;
 
 import com.hanazoom.domain.stock.dto.CandleData;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface StockChartService {
@@ -15,7 +16,23 @@ public interface StockChartService {
      * @return 캔들 데이터 리스트
      */
     List<CandleData> getChartData(String stockCode, String timeframe, int limit);
+
+    /**
+     * 특정 시각 이전 캔들 조회 (분봉 무한 스크롤용 키셋 페이지, DB 에 저장된 분봉만 조회)
+     *
+     * @param stockCode 종목코드
+     * @param timeframe 분봉 시간봉 (1M, 5M, 15M, 1H)
+     * @param limit 조회할 캔들 수
+     * @param before 이전 페이지의 가장 오래된 캔들 시각 (이 시각 미만만 조회)
+     * @return 시간순 캔들 데이터 리스트 (비어 있으면 더 이상 과거 데이터 없음)
+     */
+    List<CandleData> getChartDataBefore(String stockCode, String timeframe, int limit, LocalDateTime before);
     
+    /**
+     * 지원 시간봉 목록 (분봉은 candle.rollup.minute-intervals 설정을 따름)
+     */
+    List<String> getSupportedTimeframes();
+
     /**
      * 현재 진행 중인 캔들 조회
      * 
@@ -3,6 +3,7 @@ package com.hanazoom.domain.stock.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hanazoom.domain.stock.dto.CandleData;
+import com.hanazoom.global.redis.RedisHealthMonitor;
 import com.hanazoom.global.service.KisApiService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +22,8 @@ import com.hanazoom.domain.stock.repository.StockDailyPriceRepository;
 import com.hanazoom.domain.stock.repository.StockWeeklyPriceRepository;
 import com.hanazoom.domain.stock.repository.StockMonthlyPriceRepository;
 import com.hanazoom.domain.stock.service.StockMinutePriceService;
+import com.hanazoom.domain.stock.store.CandleColumns;
+import com.hanazoom.domain.stock.store.CandleStore;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -31,6 +34,7 @@ import java.time.format.DateTimeFormatter;
 public class StockChartServiceImpl implements StockChartService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisHealthMonitor redisHealthMonitor;
     private final KisApiService kisApiService;
     private final ObjectMapper objectMapper;
     private final Random random = new Random(); // 더미 데이터용
@@ -38,6 +42,8 @@ public class StockChartServiceImpl implements StockChartService {
     private final StockDailyPriceRepository dailyPriceRepository;
     private final StockWeeklyPriceRepository weeklyPriceRepository;
     private final StockMonthlyPriceRepository monthlyPriceRepository;
+    private final MinuteCandleAggregator candleAggregator;
+    private final CandleStore candleStore;
 
     @Override
     public List<CandleData> getChartData(String stockCode, String timeframe, int limit) {
@@ -46,7 +52,7 @@ public class StockChartServiceImpl implements StockChartService {
             
             // 분봉 데이터인 경우 DB에서 조회 시도
             if (isMinuteTimeframe(timeframe)) {
-                List<CandleData> dbData = getMinuteDataFromDB(stockCode, timeframe, limit);
+                List<CandleData> dbData = getMinuteDataFromDB(stockCode, timeframe, limit, null);
                 if (!dbData.isEmpty()) {
                     log.info("DB에서 분봉 데이터 조회 완료: 종목={}, 시간봉={}, 개수={}", stockCode, timeframe, dbData.size());
                     return dbData;
@@ -91,6 +97,24 @@ public class StockChartServiceImpl implements StockChartService {
         }
     }
 
+    @Override
+    public List<String> getSupportedTimeframes() {
+        List<String> timeframes = new ArrayList<>();
+        for (StockMinutePrice.MinuteInterval interval : candleAggregator.getMinuteIntervals()) {
+            timeframes.add(convertMinuteIntervalToTimeframe(interval));
+        }
+        timeframes.addAll(List.of("1D", "1W", "1MO"));
+        return timeframes;
+    }
+
+    @Override
+    public List<CandleData> getChartDataBefore(String stockCode, String timeframe, int limit, LocalDateTime before) {
+        if (!isMinuteTimeframe(timeframe)) {
+            throw new IllegalArgumentException("before 커서는 분봉 시간봉에서만 지원합니다: " + timeframe);
+        }
+        return getMinuteDataFromDB(stockCode, timeframe, limit, before);
+    }
+
     /**
      * KIS API에서 실제 차트 데이터 조회
      */
@@ -122,13 +146,9 @@ public class StockChartServiceImpl implements StockChartService {
      * 시간봉을 KIS API 분봉 코드로 변환
      */
     private String convertToKisMinuteCode(String timeframe) {
-        switch (timeframe) {
-            case "1M": return "01";
-            case "5M": return "05";
-            case "15M": return "15";
-            case "1H": return "60";
-            default: return "01";
-        }
+        StockMinutePrice.MinuteInterval interval = toMinuteInterval(timeframe);
+        int minutes = interval != null ? interval.getMinutes() : 1;
+        return minutes < 10 ? "0" + minutes : String.valueOf(minutes);
     }
 
     /**
@@ -226,6 +246,10 @@ public class StockChartServiceImpl implements StockChartService {
 
     @Override
     public CandleData getCurrentCandle(String stockCode, String timeframe) {
+        if (!redisHealthMonitor.isAvailable()) {
+            // Redis 서킷 오픈 상태에서는 타임아웃을 기다리지 않고 더미 데이터 반환
+            return createDummyCurrentCandle(stockCode, timeframe);
+        }
         try {
             // Redis에서 현재 캔들 조회
             String key = "candle:current:" + stockCode + ":" + timeframe;
@@ -237,6 +261,7 @@ public class StockChartServiceImpl implements StockChartService {
                 try {
                     redisTemplate.opsForValue().set(key, currentCandle);
                 } catch (Exception e) {
+                    redisHealthMonitor.recordFailure(e);
                     log.warn("Redis 캔들 저장 실패 - 종목: {}, 시간봉: {}, 에러: {}", 
                             stockCode, timeframe, e.getMessage());
                 }
@@ -244,6 +269,7 @@ public class StockChartServiceImpl implements StockChartService {
             
             return currentCandle;
         } catch (Exception e) {
+            redisHealthMonitor.recordFailure(e);
             log.error("Redis 연결 실패로 캔들 조회 중단 - 종목: {}, 시간봉: {}, 에러: {}", 
                     stockCode, timeframe, e.getMessage());
             // Redis 실패 시 더미 데이터 반환
@@ -258,6 +284,10 @@ public class StockChartServiceImpl implements StockChartService {
             String[] timeframes = {"1M", "5M", "15M", "1H", "1D", "1W", "1MO"};
             
             for (String timeframe : timeframes) {
+                if (!redisHealthMonitor.isAvailable()) {
+                    // Redis 서킷 오픈 시 나머지 시간봉은 즉시 건너뜀
+                    return;
+                }
                 String key = "candle:current:" + stockCode + ":" + timeframe;
                 try {
                     CandleData currentCandle = (CandleData) redisTemplate.opsForValue().get(key);
@@ -267,6 +297,7 @@ public class StockChartServiceImpl implements StockChartService {
                         redisTemplate.opsForValue().set(key, currentCandle);
                     }
                 } catch (Exception e) {
+                    redisHealthMonitor.recordFailure(e);
                     log.warn("Redis 캔들 업데이트 실패 - 종목: {}, 시간봉: {}, 에러: {}", 
                             stockCode, timeframe, e.getMessage());
                     // Redis 에러가 발생해도 다른 시간봉 처리는 계속 진행
@@ -395,11 +426,11 @@ public class StockChartServiceImpl implements StockChartService {
      * 시간봉별 분 간격 계산
      */
     private int getMinutesInterval(String timeframe) {
+        StockMinutePrice.MinuteInterval interval = toMinuteInterval(timeframe);
+        if (interval != null) {
+            return interval.getMinutes();
+        }
         switch (timeframe) {
-            case "1M": return 1;
-            case "5M": return 5;
-            case "15M": return 15;
-            case "1H": return 60;
             case "1D": return 60 * 24;
             case "1W": return 60 * 24 * 7;
             case "1MO": return 60 * 24 * 30;
@@ -411,26 +442,38 @@ public class StockChartServiceImpl implements StockChartService {
      * 분봉 시간봉인지 확인
      */
     private boolean isMinuteTimeframe(String timeframe) {
-        return timeframe.equals("1M") || timeframe.equals("5M") || timeframe.equals("15M") || timeframe.equals("1H");
+        return toMinuteInterval(timeframe) != null;
+    }
+
+    /**
+     * 분봉 시간봉 문자열(1M, 3M, 5M, 10M, 15M, 30M, 1H 등)을 간격으로 변환 (분봉이 아니면 null)
+     */
+    private StockMinutePrice.MinuteInterval toMinuteInterval(String timeframe) {
+        return StockMinutePrice.MinuteInterval.fromTimeframe(timeframe);
     }
 
     /**
-     * 분봉 데이터를 DB에서 조회
+     * 분봉 데이터를 DB에서 조회 (before 가 null 이면 최근 N개, 아니면 그 이전 N개 - 인덱스 범위 스캔이라 페이지당 비용 일정)
      */
-    private List<CandleData> getMinuteDataFromDB(String stockCode, String timeframe, int limit) {
+    private List<CandleData> getMinuteDataFromDB(String stockCode, String timeframe, int limit, LocalDateTime before) {
         try {
             // StockMinutePriceService를 통해 분봉 데이터 조회
             StockMinutePrice.MinuteInterval interval = convertToMinuteInterval(timeframe);
-            log.info("🔍 분봉 데이터 조회 요청: 종목={}, 시간봉={}, 간격={}, 제한={}", stockCode, timeframe, interval, limit);
-            
-            List<StockMinutePrice> minutePrices = stockMinutePriceService.getRecentMinutePrices(stockCode, interval, limit);
-            log.info("📊 분봉 데이터 조회 결과: 종목={}, 시간봉={}, 조회된 데이터={}개", stockCode, timeframe, minutePrices.size());
-            
-            if (!minutePrices.isEmpty()) {
-                log.info("📊 첫 번째 데이터: 시간={}, 간격={}", minutePrices.get(0).getTimestamp(), minutePrices.get(0).getMinuteInterval());
-                log.info("📊 마지막 데이터: 시간={}, 간격={}", minutePrices.get(minutePrices.size()-1).getTimestamp(), minutePrices.get(minutePrices.size()-1).getMinuteInterval());
+            log.info("🔍 분봉 데이터 조회 요청: 종목={}, 시간봉={}, 간격={}, 제한={}, 기준시각={}",
+                    stockCode, timeframe, interval, limit, before);
+
+            // 캔들 스토어 우선 (스토어를 쓸 수 없으면 null)
+            CandleColumns stored = candleStore.readMinutes(stockCode, interval, before,
+                    Math.max(1, Math.min(limit, StockMinutePriceService.MAX_PAGE_SIZE)));
+            if (stored != null) {
+                return CandleData.from(stockCode, timeframe, stored);
             }
             
+            List<StockMinutePrice> minutePrices = before == null
+                    ? stockMinutePriceService.getRecentMinutePrices(stockCode, interval, limit)
+                    : stockMinutePriceService.getMinutePricesBefore(stockCode, interval, before, limit);
+            log.debug("📊 분봉 데이터 조회 결과: 종목={}, 시간봉={}, 조회된 데이터={}개", stockCode, timeframe, minutePrices.size());
+            
             return minutePrices.stream()
                     .map(this::convertToCandleData)
                     .toList();
@@ -496,24 +539,16 @@ public class StockChartServiceImpl implements StockChartService {
      * 시간봉을 MinuteInterval으로 변환
      */
     private StockMinutePrice.MinuteInterval convertToMinuteInterval(String timeframe) {
-        switch (timeframe) {
-            case "1M": return StockMinutePrice.MinuteInterval.ONE_MINUTE;
-            case "5M": return StockMinutePrice.MinuteInterval.FIVE_MINUTES;
-            case "15M": return StockMinutePrice.MinuteInterval.FIFTEEN_MINUTES;
-            default: return StockMinutePrice.MinuteInterval.FIVE_MINUTES;
-        }
+        StockMinutePrice.MinuteInterval interval = toMinuteInterval(timeframe);
+        return interval != null ? interval : StockMinutePrice.MinuteInterval.FIVE_MINUTES;
     }
 
     /**
      * MinuteInterval을 시간봉으로 변환
      */
     private String convertMinuteIntervalToTimeframe(StockMinutePrice.MinuteInterval interval) {
-        switch (interval) {
-            case ONE_MINUTE: return "1M";
-            case FIVE_MINUTES: return "5M";
-            case FIFTEEN_MINUTES: return "15M";
-            default: return "5M";
-        }
+        int minutes = interval.getMinutes();
+        return minutes % 60 == 0 ? (minutes / 60) + "H" : minutes + "M";
     }
 
     /**
@@ -546,8 +581,24 @@ public class StockChartServiceImpl implements StockChartService {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(Math.min(limit, 3650)); // 최대 10년치
 
-        List<StockDailyPrice> dailyPrices = dailyPriceRepository
-                .findByStockSymbolAndTradeDateBetweenOrderByTradeDateAsc(stockCode, startDate, endDate);
+        CandleColumns stored = candleStore.readPeriod(stockCode, CandleStore.Period.DAILY, startDate, limit);
+        if (stored != null) {
+            return CandleData.from(stockCode, "1D", stored);
+        }
+
+        List<StockDailyPrice> dailyPrices = new ArrayList<>(dailyPriceRepository
+                .findByStockSymbolAndTradeDateBetweenOrderByTradeDateAsc(stockCode, startDate, endDate));
+
+        // 1분봉에서 롤업한 당일 진행 중 일봉 병합 (저장된 당일 행이 있으면 교체)
+        StockDailyPrice live = candleAggregator.getLiveDailyCandle(stockCode);
+        if (live != null && !dailyPrices.isEmpty()) {
+            StockDailyPrice last = dailyPrices.get(dailyPrices.size() - 1);
+            if (last.getTradeDate().equals(live.getTradeDate())) {
+                dailyPrices.set(dailyPrices.size() - 1, live);
+            } else if (last.getTradeDate().isBefore(live.getTradeDate())) {
+                dailyPrices.add(live);
+            }
+        }
 
         return dailyPrices.stream()
                 .limit(limit)
@@ -562,6 +613,11 @@ public class StockChartServiceImpl implements StockChartService {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusWeeks(Math.min(limit, 520)); // 최대 10년치
 
+        CandleColumns stored = candleStore.readPeriod(stockCode, CandleStore.Period.WEEKLY, startDate, limit);
+        if (stored != null) {
+            return CandleData.from(stockCode, "1W", stored);
+        }
+
         List<StockWeeklyPrice> weeklyPrices = weeklyPriceRepository
                 .findByStockSymbolAndWeekStartDateBetweenOrderByWeekStartDateAsc(stockCode, startDate, endDate);
 
@@ -578,6 +634,12 @@ public class StockChartServiceImpl implements StockChartService {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusMonths(Math.min(limit, 120)); // 최대 10년치
 
+        CandleColumns stored = candleStore.readPeriod(stockCode, CandleStore.Period.MONTHLY,
+                startDate.withDayOfMonth(1), limit);
+        if (stored != null) {
+            return CandleData.from(stockCode, "1MO", stored);
+        }
+
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM");
         String startMonth = startDate.format(formatter);
         String endMonth = endDate.format(formatter);
@@ -5,12 +5,12 @@ import com.hanazoom.domain.stock.repository.StockMinutePriceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,30 +20,43 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class StockMinutePriceService {
 
+    // 한 번에 조회하는 최대 캔들 수 (차트 한 화면 + 여유분)
+    public static final int MAX_PAGE_SIZE = 5000;
+
     private final StockMinutePriceRepository stockMinutePriceRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final MinuteCandleAggregator candleAggregator;
 
     /**
-     * 특정 종목의 특정 분봉 간격 데이터 조회 (최근 N개)
+     * 특정 종목의 특정 분봉 간격 데이터 조회 (최근 N개, 시간순)
      */
     public List<StockMinutePrice> getRecentMinutePrices(String stockSymbol, 
                                                        StockMinutePrice.MinuteInterval minuteInterval, 
                                                        int limit) {
+        if (!isStored(minuteInterval)) {
+            List<StockMinutePrice> minutes = getRecentMinutePrices(stockSymbol,
+                    StockMinutePrice.MinuteInterval.ONE_MINUTE, oneMinuteWindow(minuteInterval, limit));
+            return rollupOnRead(minutes, minuteInterval, limit, oneMinuteWindow(minuteInterval, limit));
+        }
         try {
-            log.info("🔍 DB에서 분봉 데이터 조회: 종목={}, 간격={}, 제한={}", stockSymbol, minuteInterval, limit);
-            
-            List<StockMinutePrice> prices = stockMinutePriceRepository
-                    .findByStockSymbolAndMinuteIntervalOrderByTimestampDesc(stockSymbol, minuteInterval);
-            
-            log.info("📊 DB 조회 결과: 종목={}, 간격={}, 전체 데이터={}개", stockSymbol, minuteInterval, prices.size());
-            
-            // 최근 N개만 반환하고 시간순 정렬
-            List<StockMinutePrice> result = prices.stream()
-                    .limit(limit)
-                    .sorted((a, b) -> a.getTimestamp().compareTo(b.getTimestamp())) // 시간순 정렬
-                    .toList();
+            int pageSize = pageSize(limit);
+            // (종목, 간격, 시각) 유니크 인덱스를 역순으로 N개만 읽음
+            List<StockMinutePrice> result = ascending(stockMinutePriceRepository
+                    .findRecent(stockSymbol, minuteInterval, PageRequest.of(0, pageSize)));
+
+            // 아직 저장되지 않은 진행 중 캔들 병합
+            mergeLiveCandle(result, stockSymbol, minuteInterval, null, null);
+            if (result.size() > pageSize) {
+                result.remove(0);
+            }
+
+            // 1분봉 이력만 적재된 종목은 상위 간격을 즉석 롤업
+            if (result.isEmpty() && minuteInterval != StockMinutePrice.MinuteInterval.ONE_MINUTE) {
+                List<StockMinutePrice> minutes = getRecentMinutePrices(stockSymbol,
+                        StockMinutePrice.MinuteInterval.ONE_MINUTE, oneMinuteWindow(minuteInterval, limit));
+                result = rollupOnRead(minutes, minuteInterval, limit, oneMinuteWindow(minuteInterval, limit));
+            }
             
-            log.info("📊 최종 반환 데이터: 종목={}, 간격={}, 반환 데이터={}개", stockSymbol, minuteInterval, result.size());
+            log.debug("📊 분봉 데이터 조회: 종목={}, 간격={}, 반환 데이터={}개", stockSymbol, minuteInterval, result.size());
             
             return result;
         } catch (Exception e) {
@@ -51,214 +64,145 @@ public class StockMinutePriceService {
             throw new RuntimeException("분봉 데이터 조회 실패", e);
         }
     }
+
+    /**
+     * 특정 시각 이전 분봉 N개 조회 (시간순, 무한 스크롤용 키셋 페이지)
+     * 응답의 첫 번째 캔들 시각을 다음 요청의 before 로 넘기면 이어지는 과거 페이지를 받는다. 빈 목록이면 끝.
+     */
+    public List<StockMinutePrice> getMinutePricesBefore(String stockSymbol,
+                                                       StockMinutePrice.MinuteInterval minuteInterval,
+                                                       LocalDateTime before,
+                                                       int limit) {
+        if (!isStored(minuteInterval)) {
+            List<StockMinutePrice> minutes = getMinutePricesBefore(stockSymbol,
+                    StockMinutePrice.MinuteInterval.ONE_MINUTE, before, oneMinuteWindow(minuteInterval, limit));
+            return rollupOnRead(minutes, minuteInterval, limit, oneMinuteWindow(minuteInterval, limit));
+        }
+        try {
+            return ascending(stockMinutePriceRepository
+                    .findBefore(stockSymbol, minuteInterval, before, PageRequest.of(0, pageSize(limit))));
+        } catch (Exception e) {
+            log.error("분봉 데이터 조회 실패: 종목={}, 간격={}, 기준시각={}", stockSymbol, minuteInterval, before, e);
+            throw new RuntimeException("분봉 데이터 조회 실패", e);
+        }
+    }
     
     /**
-     * 특정 종목의 특정 분봉 간격 데이터 조회 (시간 범위 지정, 개선된 버전)
+     * 특정 종목의 특정 분봉 간격 데이터 조회 (시간 범위 지정, 최대 MAX_PAGE_SIZE 개)
+     * 범위 안 캔들이 MAX_PAGE_SIZE 개를 넘으면 잘린 결과를 돌려주지 않고 IllegalArgumentException 을 던진다.
+     * 저장하지 않는 간격은 1분봉 기준으로 같은 한도를 적용한 뒤 롤업한다.
      */
     public List<StockMinutePrice> getMinutePricesByTimeRange(String stockSymbol,
                                                             StockMinutePrice.MinuteInterval minuteInterval,
                                                             LocalDateTime startTime,
                                                             LocalDateTime endTime) {
+        if (!isStored(minuteInterval)) {
+            return CandleRollup.rollup(getMinutePricesByTimeRange(stockSymbol,
+                    StockMinutePrice.MinuteInterval.ONE_MINUTE, startTime, endTime), minuteInterval);
+        }
+        List<StockMinutePrice> result;
         try {
-            List<StockMinutePrice> prices = stockMinutePriceRepository
+            // 정렬은 쿼리에서 (시각 오름차순), 한도 초과 여부를 알기 위해 한 건 더 읽음
+            result = new ArrayList<>(stockMinutePriceRepository
                     .findByStockSymbolAndMinuteIntervalAndTimestampBetween(
-                            stockSymbol, minuteInterval, startTime, endTime);
-            
-            // 시간순 정렬
-            return prices.stream()
-                    .sorted((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()))
-                    .toList();
+                            stockSymbol, minuteInterval, startTime, endTime, PageRequest.of(0, MAX_PAGE_SIZE + 1)));
         } catch (Exception e) {
             log.error("분봉 데이터 조회 실패: 종목={}, 간격={}, 시간범위={}~{}", 
                      stockSymbol, minuteInterval, startTime, endTime, e);
             throw new RuntimeException("분봉 데이터 조회 실패", e);
         }
+        if (result.size() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("조회 범위의 캔들이 " + MAX_PAGE_SIZE
+                    + "개를 넘습니다. 범위를 줄이거나 before 커서로 나눠 조회하세요.");
+        }
+        mergeLiveCandle(result, stockSymbol, minuteInterval, startTime, endTime);
+        return result;
     }
 
-
-
     /**
-     * 분봉 데이터 저장
+     * 집계기가 저장하는 간격인지 (아니면 1분봉에서 즉석 롤업)
      */
-    @Transactional
-    public StockMinutePrice saveMinutePrice(StockMinutePrice minutePrice) {
-        try {
-            // 중복 데이터 체크
-            Optional<StockMinutePrice> existing = stockMinutePriceRepository
-                    .findByStockSymbolAndMinuteIntervalOrderByTimestampDesc(
-                            minutePrice.getStockSymbol(), minutePrice.getMinuteInterval())
-                    .stream()
-                    .filter(p -> p.getTimestamp().equals(minutePrice.getTimestamp()))
-                    .findFirst();
-
-            if (existing.isPresent()) {
-                return existing.get();
-            }
+    private boolean isStored(StockMinutePrice.MinuteInterval minuteInterval) {
+        return candleAggregator.getMinuteIntervals().contains(minuteInterval);
+    }
 
-            StockMinutePrice saved = stockMinutePriceRepository.save(minutePrice);
-            return saved;
-        } catch (Exception e) {
-            log.error("분봉 데이터 저장 실패: 종목={}, 간격={}, 시간={}", 
-                     minutePrice.getStockSymbol(), minutePrice.getMinuteInterval(), 
-                     minutePrice.getTimestamp(), e);
-            throw new RuntimeException("분봉 데이터 저장 실패", e);
-        }
+    private static int oneMinuteWindow(StockMinutePrice.MinuteInterval minuteInterval, int limit) {
+        return pageSize(limit * minuteInterval.getMinutes());
     }
 
     /**
-     * 실시간 주식 데이터로 분봉 데이터 업데이트
+     * 1분봉을 상위 간격으로 롤업해 최근 limit 개만 반환
+     * 1분봉을 요청 수만큼 꽉 채워 받았다면 가장 오래된 구간은 잘렸을 수 있으므로 제외
      */
-    @Transactional
-    public void updateCurrentMinutePrice(String stockSymbol, 
-                                       StockMinutePrice.MinuteInterval minuteInterval,
-                                       BigDecimal currentPrice, 
-                                       Long cumulativeVolume) {
-        try {
-            LocalDateTime now = LocalDateTime.now();
-            LocalDateTime candleStartTime = getCandleStartTime(now, minuteInterval);
-            
-            // 현재 캔들 데이터 조회 또는 생성
-            Optional<StockMinutePrice> currentCandle = stockMinutePriceRepository
-                    .findByStockSymbolAndMinuteIntervalOrderByTimestampDesc(stockSymbol, minuteInterval)
-                    .stream()
-                    .filter(p -> p.getTimestamp().equals(candleStartTime))
-                    .findFirst();
+    private static List<StockMinutePrice> rollupOnRead(List<StockMinutePrice> minutes,
+                                                       StockMinutePrice.MinuteInterval minuteInterval,
+                                                       int limit, int requested) {
+        List<StockMinutePrice> rolled = CandleRollup.rollup(minutes, minuteInterval);
+        int from = minutes.size() >= requested && rolled.size() > 1 ? 1 : 0;
+        from = Math.max(from, rolled.size() - pageSize(limit));
+        return new ArrayList<>(rolled.subList(from, rolled.size()));
+    }
 
-            if (currentCandle.isPresent()) {
-                // 기존 캔들 업데이트
-                StockMinutePrice candle = currentCandle.get();
-                
-                // 이전 종가를 저장 (VWAP 계산용)
-                BigDecimal previousClose = candle.getClosePrice();
-                
-                // 캔들 데이터 업데이트
-                candle.setClosePrice(currentPrice);
-                candle.setHighPrice(candle.getHighPrice().max(currentPrice));
-                candle.setLowPrice(candle.getLowPrice().min(currentPrice));
-                candle.setUpdatedAt(now);
-                
-                // 거래량 계산: 누적 거래량에서 구간별 거래량 계산
-                Long intervalVolume = calculateIntervalVolume(stockSymbol, minuteInterval, cumulativeVolume, candleStartTime);
-                candle.setVolume(intervalVolume);
-                
-                // 가격 변화 계산
-                BigDecimal change = currentPrice.subtract(candle.getOpenPrice());
-                candle.setPriceChange(change);
-                if (candle.getOpenPrice().compareTo(BigDecimal.ZERO) > 0) {
-                    BigDecimal changePercent = change.divide(candle.getOpenPrice(), 4, BigDecimal.ROUND_HALF_UP)
-                            .multiply(BigDecimal.valueOf(100));
-                    candle.setPriceChangePercent(changePercent);
-                }
-                
-                // VWAP 계산 (거래량 가중 평균가)
-                candle.setVwap(calculateVWAP(candle.getOpenPrice(), previousClose, currentPrice, intervalVolume));
-                
-                // 틱 카운트 증가
-                candle.setTickCount(candle.getTickCount() + 1);
-                
-                stockMinutePriceRepository.save(candle);
-            } else {
-                // 새로운 캔들 생성
-                StockMinutePrice newCandle = StockMinutePrice.builder()
-                        .stockSymbol(stockSymbol)
-                        .minuteInterval(minuteInterval)
-                        .timestamp(candleStartTime)
-                        .openPrice(currentPrice)
-                        .highPrice(currentPrice)
-                        .lowPrice(currentPrice)
-                        .closePrice(currentPrice)
-                        .volume(0L) // 초기 거래량은 0으로 설정
-                        .priceChange(BigDecimal.ZERO)
-                        .priceChangePercent(BigDecimal.ZERO)
-                        .vwap(currentPrice)
-                        .tickCount(1)
-                        .build();
-                
-                stockMinutePriceRepository.save(newCandle);
-            }
-        } catch (Exception e) {
-            log.error("분봉 데이터 업데이트 실패: 종목={}, 간격={}", stockSymbol, minuteInterval, e);
-        }
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
     }
 
     /**
-     * 캔들 시작 시간 계산 (개선된 버전)
+     * 최신순 조회 결과를 시간순으로 뒤집기
      */
-    private LocalDateTime getCandleStartTime(LocalDateTime time, StockMinutePrice.MinuteInterval interval) {
-        int minutes = interval.getMinutes();
-        
-        // 현재 시간을 분 단위로 변환
-        long totalMinutes = time.getHour() * 60 + time.getMinute();
-        
-        // 캔들 시작 시간 계산
-        long candleStartMinutes = (totalMinutes / minutes) * minutes;
-        
-        // LocalDateTime으로 변환
-        int hour = (int) (candleStartMinutes / 60);
-        int minute = (int) (candleStartMinutes % 60);
-        
-        return time.withHour(hour).withMinute(minute).withSecond(0).withNano(0);
+    private static List<StockMinutePrice> ascending(List<StockMinutePrice> newestFirst) {
+        List<StockMinutePrice> result = new ArrayList<>(newestFirst);
+        Collections.reverse(result);
+        return result;
     }
-    
+
     /**
-     * 구간별 거래량 계산
+     * 메모리의 진행 중 캔들을 시간순 목록 끝에 병합 (같은 시각이면 교체, 범위 밖이면 무시)
      */
-    private Long calculateIntervalVolume(String stockSymbol, 
-                                       StockMinutePrice.MinuteInterval minuteInterval,
-                                       Long currentCumulativeVolume, 
-                                       LocalDateTime candleStartTime) {
-        try {
-            // 이전 캔들의 누적 거래량 조회
-            List<StockMinutePrice> previousCandles = stockMinutePriceRepository
-                    .findByStockSymbolAndMinuteIntervalOrderByTimestampDesc(stockSymbol, minuteInterval);
-            
-            // 현재 캔들 시작 시간 이전의 가장 최근 캔들 찾기
-            Optional<StockMinutePrice> previousCandle = previousCandles.stream()
-                    .filter(p -> p.getTimestamp().isBefore(candleStartTime))
-                    .findFirst();
-            
-            if (previousCandle.isPresent()) {
-                // 이전 캔들의 누적 거래량을 Redis에서 조회하거나 계산
-                String cacheKey = "cumulative_volume:" + stockSymbol + ":" + previousCandle.get().getTimestamp();
-                String cachedVolume = (String) redisTemplate.opsForValue().get(cacheKey);
-                
-                if (cachedVolume != null) {
-                    Long previousCumulativeVolume = Long.parseLong(cachedVolume);
-                    return currentCumulativeVolume - previousCumulativeVolume;
-                }
+    private void mergeLiveCandle(List<StockMinutePrice> prices, String stockSymbol,
+                                 StockMinutePrice.MinuteInterval minuteInterval,
+                                 LocalDateTime startTime, LocalDateTime endTime) {
+        StockMinutePrice live = candleAggregator.getLiveCandle(stockSymbol, minuteInterval);
+        if (live == null
+                || (startTime != null && live.getTimestamp().isBefore(startTime))
+                || (endTime != null && live.getTimestamp().isAfter(endTime))) {
+            return;
+        }
+        if (!prices.isEmpty()) {
+            StockMinutePrice last = prices.get(prices.size() - 1);
+            if (last.getTimestamp().equals(live.getTimestamp())) {
+                prices.set(prices.size() - 1, live);
+                return;
+            }
+            if (last.getTimestamp().isAfter(live.getTimestamp())) {
+                return;
             }
-            
-            // 이전 데이터가 없으면 현재 누적 거래량을 그대로 사용
-            return currentCumulativeVolume;
-            
-        } catch (Exception e) {
-            log.warn("구간별 거래량 계산 실패: 종목={}, 간격={}", stockSymbol, minuteInterval, e);
-            return currentCumulativeVolume;
         }
+        prices.add(live);
     }
-    
+
     /**
-     * VWAP (거래량 가중 평균가) 계산
+     * 분봉 데이터 저장
      */
-    private BigDecimal calculateVWAP(BigDecimal openPrice, 
-                                   BigDecimal previousClose, 
-                                   BigDecimal currentPrice, 
-                                   Long volume) {
+    @Transactional
+    public StockMinutePrice saveMinutePrice(StockMinutePrice minutePrice) {
         try {
-            if (volume == null || volume == 0) {
-                return currentPrice;
+            // 중복 데이터 체크
+            Optional<StockMinutePrice> existing = stockMinutePriceRepository
+                    .findByStockSymbolAndMinuteIntervalAndTimestamp(
+                            minutePrice.getStockSymbol(), minutePrice.getMinuteInterval(), minutePrice.getTimestamp());
+
+            if (existing.isPresent()) {
+                return existing.get();
             }
-            
-            // 간단한 VWAP 계산: (시가 + 종가) / 2
-            // 실제로는 각 거래별 가격과 수량을 고려해야 하지만, 
-            // 실시간 데이터에서는 이전 종가와 현재가를 사용
-            BigDecimal typicalPrice = openPrice.add(currentPrice).divide(BigDecimal.valueOf(2), 2, BigDecimal.ROUND_HALF_UP);
-            
-            return typicalPrice;
-            
+
+            StockMinutePrice saved = stockMinutePriceRepository.save(minutePrice);
+            return saved;
         } catch (Exception e) {
-            log.warn("VWAP 계산 실패", e);
-            return currentPrice;
+            log.error("분봉 데이터 저장 실패: 종목={}, 간격={}, 시간={}", 
+                     minutePrice.getStockSymbol(), minutePrice.getMinuteInterval(), 
+                     minutePrice.getTimestamp(), e);
+            throw new RuntimeException("분봉 데이터 저장 실패", e);
         }
     }
 
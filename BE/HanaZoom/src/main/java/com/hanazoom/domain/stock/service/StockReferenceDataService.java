@@ -0,0 +1,202 @@
+package com.hanazoom.domain.stock.service;
+
+import com.hanazoom.domain.stock.dto.StockReference;
+import com.hanazoom.domain.stock.entity.Stock;
+import com.hanazoom.domain.stock.repository.StockRepository;
+import com.hanazoom.global.service.KisApiService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 종목 기준정보 인메모리 캐시
+ *
+ * stocks 테이블 전체를 불변 맵으로 적재하고, 주기적으로 새 맵을 만들어 통째로 교체한다.
+ * 조회는 원자적 참조 + HashMap 조회뿐이므로 실시간 틱 경로에서 Redis/DB 를 거치지 않는다.
+ * 상장주식수는 DB 에 없으므로 KIS 종목정보(CTPF1002R)에서 조회가 필요한 종목만 전용 스레드에서 간격을 두고 채운다.
+ * 재적재와 상장주식수 반영은 모두 교체 시점의 최신 스냅샷에 병합(updateAndGet)하므로 서로의 결과를 덮어쓰지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReferenceDataService {
+
+    private final StockRepository stockRepository;
+    private final KisApiService kisApiService;
+
+    @Value("${stock.reference.shares-lookups-per-run:5}")
+    private int sharesLookupsPerRun;
+
+    @Value("${stock.reference.shares-lookup-interval-ms:1000}")
+    private long sharesLookupIntervalMs;
+
+    // 한 번의 실행 안에서 KIS 호출 사이 간격
+    @Value("${stock.reference.shares-lookup-pause-ms:200}")
+    private long sharesLookupPauseMs;
+
+    private final AtomicReference<Map<String, StockReference>> references =
+            new AtomicReference<>(Collections.emptyMap());
+
+    // 상장주식수 조회 대기 종목 (틱 경로에서 처음 조회된 종목)
+    private final Set<String> pendingSharesLookups = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService sharesLookupExecutor;
+
+    @PostConstruct
+    public void start() {
+        sharesLookupExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-reference-shares");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sharesLookupExecutor.scheduleWithFixedDelay(this::fillListedShares, sharesLookupIntervalMs,
+                sharesLookupIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sharesLookupExecutor != null) {
+            sharesLookupExecutor.shutdownNow();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    // 매일 장 시작 전 전체 재적재
+    @Scheduled(cron = "0 30 7 * * MON-FRI")
+    public void refresh() {
+        try {
+            List<Stock> stocks = stockRepository.findAll();
+            // 조회 중에 채워진 상장주식수도 유지되도록 교체 시점의 스냅샷에서 이어받음
+            Map<String, StockReference> loaded = references.updateAndGet(previous -> {
+                Map<String, StockReference> next = new HashMap<>(stocks.size() * 2);
+                for (Stock stock : stocks) {
+                    StockReference old = previous.get(stock.getSymbol());
+                    next.put(stock.getSymbol(), StockReference.builder()
+                            .symbol(stock.getSymbol())
+                            .name(stock.getName())
+                            .sector(stock.getSector())
+                            .market(stock.getMarket())
+                            .listedShares(old != null ? old.getListedShares() : 0L)
+                            .logoUrl(stock.getLogoUrl())
+                            .build());
+                }
+                return Collections.unmodifiableMap(next);
+            });
+            log.info("✅ 종목 기준정보 적재 완료: {}개", loaded.size());
+        } catch (Exception e) {
+            log.error("❌ 종목 기준정보 적재 실패 (기존 데이터 유지)", e);
+        }
+    }
+
+    /**
+     * 종목 기준정보 조회 (없으면 null)
+     */
+    public StockReference find(String symbol) {
+        return symbol == null ? null : references.get().get(symbol);
+    }
+
+    /**
+     * 종목명 조회 (없으면 종목코드 그대로 반환)
+     */
+    public String getName(String symbol) {
+        StockReference reference = find(symbol);
+        return reference != null && reference.getName() != null ? reference.getName() : symbol;
+    }
+
+    /**
+     * 업종 조회 (없으면 기본값)
+     */
+    public String getSector(String symbol, String defaultSector) {
+        StockReference reference = find(symbol);
+        return reference != null && reference.getSector() != null ? reference.getSector() : defaultSector;
+    }
+
+    /**
+     * 상장주식수 조회 (아직 모르면 0 을 반환하고 백그라운드 조회 예약)
+     */
+    public long getListedShares(String symbol) {
+        StockReference reference = find(symbol);
+        if (reference != null && reference.hasListedShares()) {
+            return reference.getListedShares();
+        }
+        pendingSharesLookups.add(symbol);
+        return 0L;
+    }
+
+    // KIS 호출 한도를 고려해 실행마다 일부 종목만, 호출 사이 간격을 두고 상장주식수 조회 (전용 스레드)
+    void fillListedShares() {
+        if (pendingSharesLookups.isEmpty()) {
+            return;
+        }
+        Map<String, Long> fetched = new HashMap<>();
+        Iterator<String> it = pendingSharesLookups.iterator();
+        int lookups = 0;
+        while (it.hasNext() && lookups < sharesLookupsPerRun) {
+            String symbol = it.next();
+            it.remove();
+            if (lookups++ > 0 && !pause()) {
+                pendingSharesLookups.add(symbol);
+                break;
+            }
+            try {
+                JSONObject output = new JSONObject(kisApiService.getStockBasicInfo(symbol)).optJSONObject("output");
+                long shares = output != null ? output.optLong("lstg_stqt", 0L) : 0L;
+                if (shares > 0) {
+                    fetched.put(symbol, shares);
+                }
+            } catch (Exception e) {
+                log.warn("⚠️ 상장주식수 조회 실패: {} - {}", symbol, e.getMessage());
+            }
+        }
+        if (fetched.isEmpty()) {
+            return;
+        }
+
+        references.updateAndGet(current -> {
+            Map<String, StockReference> next = new HashMap<>(current);
+            fetched.forEach((symbol, shares) -> {
+                StockReference reference = next.get(symbol);
+                next.put(symbol, reference != null
+                        ? reference.toBuilder().listedShares(shares).build()
+                        : StockReference.builder().symbol(symbol).name(symbol).listedShares(shares).build());
+            });
+            return Collections.unmodifiableMap(next);
+        });
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(sharesLookupPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public int size() {
+        return references.get().size();
+    }
+}
@@ -8,7 +8,8 @@ import com.hanazoom.domain.stock.dto.StockTickerDto;
 import com.hanazoom.domain.stock.entity.Stock;
 import com.hanazoom.domain.stock.repository.StockRepository;
 import com.hanazoom.global.service.KisApiService;
-import com.hanazoom.global.util.MarketTimeUtils;
+import com.hanazoom.global.util.MarketSession;
+import com.hanazoom.global.util.MarketSessionClock;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.json.JSONObject;
@@ -29,7 +30,7 @@ public class StockServiceImpl implements StockService {
 
         private final StockRepository stockRepository;
         private final KisApiService kisApiService;
-        private final MarketTimeUtils marketTimeUtils;
+        private final MarketSessionClock marketSessionClock;
 
         @Override
         @Transactional(readOnly = true)
@@ -221,14 +222,9 @@ public class StockServiceImpl implements StockService {
                         JSONObject output = jsonResponse.getJSONObject("output");
 
                         // 시장 운영 상태 확인
-                        MarketTimeUtils.MarketTimeInfo marketInfo = marketTimeUtils.getMarketTimeInfo();
-                        boolean isMarketOpen = marketInfo.isMarketOpen();
-                        boolean isAfterMarketClose = marketInfo.isMarketClosed() &&
-                                        !marketInfo.getMarketStatus()
-                                                        .equals(MarketTimeUtils.MarketStatus.CLOSED_WEEKEND)
-                                        &&
-                                        !marketInfo.getMarketStatus()
-                                                        .equals(MarketTimeUtils.MarketStatus.CLOSED_HOLIDAY);
+                        MarketSession marketSession = marketSessionClock.current();
+                        boolean isMarketOpen = marketSession.isMarketOpen();
+                        boolean isAfterMarketClose = marketSession.isAfterMarketClose();
 
                         // 원본 현재가와 전일종가
                         String originalCurrentPrice = output.optString("stck_prpr", "0");
@@ -260,7 +256,7 @@ public class StockServiceImpl implements StockService {
                                         // 추가된 필드들
                                         .isMarketOpen(isMarketOpen)
                                         .isAfterMarketClose(isAfterMarketClose)
-                                        .marketStatus(marketInfo.getStatusMessage())
+                                        .marketStatus(marketSession.getStatusMessage())
                                         .build();
 
                 } catch (Exception e) {
@@ -0,0 +1,512 @@
+package com.hanazoom.domain.stock.service;
+
+import com.hanazoom.domain.stock.entity.StockTickData;
+import com.hanazoom.global.realtime.KisTick;
+import com.hanazoom.global.util.MarketSessionClock;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 실시간 체결 틱 보관 (stock_tick_data, write-behind)
+ *
+ * - 틱 핸들러는 틱 복사본을 유한 큐에 넣기만 함 (블로킹 없음, 가득 차면 유실로 집계)
+ * - 보관 스레드가 batch-size 건 또는 flush-interval-ms 마다 JDBC 배치 INSERT
+ *   (IDENTITY 키라 JPA 배치가 되지 않으므로 JdbcTemplate 사용, rewriteBatchedStatements 로 다중 행 INSERT 로 전송)
+ * - MySQL 실패 시 재시도 간격 동안, 또는 큐가 절반 이상 차 있을 때(=DB 가 느림)는 배치를 로컬 파일에 기록하고,
+ *   DB 가 정상이고 큐가 한가할 때 파일을 오래된 것부터 보관 주기마다 한 배치씩 다시 적재 (읽던 위치에서 이어서)
+ * - 임시 파일 전체 크기는 spill-max-bytes 까지만 쓰고, 넘치는 배치는 유실로 집계
+ * - 재연결 등으로 같은 틱이 다시 들어와도 (종목, 체결시각, 누적거래량) 유니크 키로 INSERT IGNORE
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockTickArchiver {
+
+    private static final String INSERT_SQL = "INSERT IGNORE INTO stock_tick_data "
+            + "(stock_symbol, timestamp, sequence, price, volume, trade_type, bid_price, ask_price, "
+            + "bid_volume, ask_volume, total_trade_volume, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SPILL_PREFIX = "ticks-";
+    private static final String SPILL_SUFFIX = ".tsv";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${tick.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tick.archive.queue-capacity:100000}")
+    private int queueCapacity;
+
+    @Value("${tick.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${tick.archive.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${tick.archive.retry-interval-ms:10000}")
+    private long retryIntervalMs;
+
+    @Value("${tick.archive.spill-dir:tick-spill}")
+    private String spillDir;
+
+    @Value("${tick.archive.spill-max-bytes:1073741824}")
+    private long spillMaxBytes;
+
+    private BlockingQueue<TickRow> queue;
+    private final LongAdder archivedTicks = new LongAdder();
+    private final LongAdder droppedTicks = new LongAdder();
+    private final LongAdder spilledTicks = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder spillOverflowTicks = new LongAdder();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    // 아래 필드는 보관 스레드에서만 접근
+    private long databaseRetryAt;
+    private BufferedWriter spillWriter;
+    private long spillBytes;
+    private boolean spillFull;
+    private Path reloadFile;
+    private BufferedReader reloadReader;
+    private boolean reloadEof;
+    private long reloadedFromFile;
+    private final List<TickRow> reloadBatch = new ArrayList<>();
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        FunctionCounter.builder("tick.archive.archived", archivedTicks, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("tick.archive.dropped", droppedTicks, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("tick.archive.spilled", spilledTicks, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("tick.archive.failed.batches", failedBatches, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("tick.archive.spill.overflow", spillOverflowTicks, LongAdder::sum)
+                .register(meterRegistry);
+        Gauge.builder("tick.archive.queued", queue, BlockingQueue::size).register(meterRegistry);
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runWorker, "tick-archiver");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("✅ 체결 틱 보관 시작: 큐 {}건, 배치 {}건/{}ms, 임시 파일 경로 {} (최대 {}바이트)",
+                queueCapacity, batchSize, flushIntervalMs, spillDir, spillMaxBytes);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                // 남은 큐는 보관 스레드가 DB 또는 임시 파일로 비우고 종료
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 틱 보관 예약 (틱 핸들러 스레드에서 호출, 블로킹 없음)
+     */
+    public void append(KisTick tick) {
+        if (!running) {
+            return;
+        }
+        if (!queue.offer(TickRow.from(tick))) {
+            droppedTicks.increment();
+        }
+    }
+
+    private void runWorker() {
+        spillBytes = existingSpillBytes();
+        List<TickRow> batch = new ArrayList<>(batchSize);
+        long nextFlushAt = System.currentTimeMillis() + flushIntervalMs;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                long wait = nextFlushAt - System.currentTimeMillis();
+                TickRow tick = wait > 0L ? queue.poll(wait, TimeUnit.MILLISECONDS) : null;
+                if (tick != null) {
+                    batch.add(tick);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                if (batch.size() >= batchSize || System.currentTimeMillis() >= nextFlushAt || !running) {
+                    if (!batch.isEmpty()) {
+                        writeBatch(batch);
+                        batch.clear();
+                    }
+                    nextFlushAt = System.currentTimeMillis() + flushIntervalMs;
+                    if (running && queue.size() < batchSize) {
+                        reloadSpillBatch();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("❌ 체결 틱 보관 처리 실패", e);
+            }
+        }
+        closeSpillWriter();
+        closeReloadReader();
+    }
+
+    /**
+     * DB 로 쓰거나, DB 장애/적체 시 임시 파일에 기록
+     */
+    private void writeBatch(List<TickRow> batch) {
+        boolean backlogged = queue.size() > queueCapacity / 2;
+        if (!backlogged && System.currentTimeMillis() >= databaseRetryAt && insert(batch)) {
+            archivedTicks.add(batch.size());
+            return;
+        }
+        spill(batch);
+    }
+
+    private boolean insert(List<TickRow> batch) {
+        try {
+            LocalDateTime now = LocalDateTime.now(MarketSessionClock.KOREA_ZONE);
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, tick) -> bind(ps, tick, now));
+            return true;
+        } catch (Exception e) {
+            failedBatches.increment();
+            databaseRetryAt = System.currentTimeMillis() + retryIntervalMs;
+            log.warn("⚠️ 체결 틱 DB 저장 실패 - {}ms 동안 임시 파일에 기록: {}", retryIntervalMs, e.getMessage());
+            return false;
+        }
+    }
+
+    private void bind(PreparedStatement ps, TickRow tick, LocalDateTime now) throws SQLException {
+        ps.setString(1, tick.symbol);
+        ps.setTimestamp(2, Timestamp.valueOf(tradeDateTime(tick)));
+        // 같은 초의 여러 체결을 구분하는 순번으로 누적거래량 사용 (종목·일자 내 단조 증가)
+        ps.setLong(3, tick.cumulativeVolume);
+        ps.setBigDecimal(4, BigDecimal.valueOf(tick.price));
+        ps.setLong(5, tick.tradeVolume);
+        ps.setString(6, tradeType(tick.tradeSide).name());
+        ps.setBigDecimal(7, BigDecimal.valueOf(tick.bidPrice));
+        ps.setBigDecimal(8, BigDecimal.valueOf(tick.askPrice));
+        ps.setLong(9, tick.bidQuantity);
+        ps.setLong(10, tick.askQuantity);
+        ps.setLong(11, tick.cumulativeVolume);
+        ps.setTimestamp(12, Timestamp.valueOf(now));
+    }
+
+    private static StockTickData.TradeType tradeType(byte tradeSide) {
+        switch (tradeSide) {
+            case KisTick.SIDE_BUY:
+                return StockTickData.TradeType.BUY;
+            case KisTick.SIDE_SELL:
+                return StockTickData.TradeType.SELL;
+            default:
+                return StockTickData.TradeType.UNKNOWN;
+        }
+    }
+
+    /**
+     * 영업일자(yyyyMMdd) + 체결시간(HHmmss), 영업일자가 없으면 오늘
+     */
+    private static LocalDateTime tradeDateTime(TickRow tick) {
+        int date = tick.businessDate;
+        int time = tick.tradeTime;
+        try {
+            LocalDate day = date > 0
+                    ? LocalDate.of(date / 10000, date / 100 % 100, date % 100)
+                    : LocalDate.now(MarketSessionClock.KOREA_ZONE);
+            return day.atTime(time / 10000, time / 100 % 100, time % 100);
+        } catch (DateTimeException e) {
+            // 잘못된 시각 하나로 배치 전체가 실패하지 않도록 수신 시각으로 대체
+            return LocalDateTime.now(MarketSessionClock.KOREA_ZONE);
+        }
+    }
+
+    // ===== 임시 파일 (한 줄에 틱 하나, 탭 구분) =====
+
+    private void spill(List<TickRow> batch) {
+        long bytes = 0L;
+        for (TickRow tick : batch) {
+            bytes += tick.toLine().length() + System.lineSeparator().length();
+        }
+        if (spillBytes + bytes > spillMaxBytes) {
+            droppedTicks.add(batch.size());
+            spillOverflowTicks.add(batch.size());
+            if (!spillFull) {
+                spillFull = true;
+                log.error("❌ 체결 틱 임시 파일이 한도({}바이트)에 도달 - 적재로 공간이 생길 때까지 유실", spillMaxBytes);
+            }
+            return;
+        }
+        spillFull = false;
+        try {
+            if (spillWriter == null) {
+                Files.createDirectories(Paths.get(spillDir));
+                Path spillFile = Paths.get(spillDir, SPILL_PREFIX + System.currentTimeMillis() + SPILL_SUFFIX);
+                spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (TickRow tick : batch) {
+                spillWriter.write(tick.toLine());
+                spillWriter.newLine();
+            }
+            spillWriter.flush();
+            spillBytes += bytes;
+            spilledTicks.add(batch.size());
+        } catch (IOException e) {
+            droppedTicks.add(batch.size());
+            log.error("❌ 체결 틱 임시 파일 기록 실패 - {}건 유실", batch.size(), e);
+            closeSpillWriter();
+        }
+    }
+
+    /**
+     * DB 가 정상이면 쌓인 임시 파일을 오래된 것부터 한 배치만 적재 (보관 주기마다 호출, 실시간 큐 처리를 막지 않음)
+     * 파일은 열어 둔 채 다음 주기에 읽던 위치부터 이어 읽고, 실패한 배치는 다음 주기에 그대로 다시 시도한다.
+     */
+    private void reloadSpillBatch() {
+        if (System.currentTimeMillis() < databaseRetryAt) {
+            return;
+        }
+        if (reloadBatch.isEmpty()) {
+            if (reloadReader == null && !openOldestSpillFile()) {
+                return;
+            }
+            try {
+                String line;
+                while (reloadBatch.size() < batchSize && (line = reloadReader.readLine()) != null) {
+                    TickRow tick = TickRow.parse(line);
+                    if (tick != null) {
+                        reloadBatch.add(tick);
+                    }
+                }
+                reloadEof = reloadBatch.size() < batchSize;
+            } catch (IOException e) {
+                log.warn("⚠️ 체결 틱 임시 파일 읽기 실패: {} - {}", reloadFile, e.getMessage());
+                closeReloadReader();
+                reloadBatch.clear();
+                return;
+            }
+        }
+        if (!reloadBatch.isEmpty()) {
+            if (!insert(reloadBatch)) {
+                return;
+            }
+            archivedTicks.add(reloadBatch.size());
+            reloadedFromFile += reloadBatch.size();
+            reloadBatch.clear();
+        }
+        if (reloadEof) {
+            finishReloadFile();
+        }
+    }
+
+    private boolean openOldestSpillFile() {
+        Path dir = Paths.get(spillDir);
+        if (!Files.isDirectory(dir)) {
+            return false;
+        }
+        // 기록 중인 파일을 닫아야 적재 대상이 됨 (이후 기록은 새 파일로)
+        closeSpillWriter();
+        Path oldest;
+        try (Stream<Path> files = Files.list(dir)) {
+            oldest = files.filter(path -> path.getFileName().toString().startsWith(SPILL_PREFIX))
+                    .sorted()
+                    .findFirst()
+                    .orElse(null);
+        } catch (IOException e) {
+            log.warn("⚠️ 체결 틱 임시 파일 목록 조회 실패: {}", e.getMessage());
+            return false;
+        }
+        if (oldest == null) {
+            return false;
+        }
+        try {
+            reloadReader = Files.newBufferedReader(oldest, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("⚠️ 체결 틱 임시 파일 열기 실패: {} - {}", oldest, e.getMessage());
+            return false;
+        }
+        reloadFile = oldest;
+        reloadEof = false;
+        reloadedFromFile = 0L;
+        return true;
+    }
+
+    private void finishReloadFile() {
+        Path file = reloadFile;
+        closeReloadReader();
+        try {
+            long size = Files.size(file);
+            Files.deleteIfExists(file);
+            spillBytes = Math.max(0L, spillBytes - size);
+        } catch (IOException e) {
+            log.warn("⚠️ 적재 완료한 임시 파일 삭제 실패: {}", file);
+        }
+        log.info("🔄 체결 틱 임시 파일 적재 완료: {} ({}건)", file.getFileName(), reloadedFromFile);
+    }
+
+    private void closeReloadReader() {
+        if (reloadReader != null) {
+            try {
+                reloadReader.close();
+            } catch (IOException e) {
+                log.debug("임시 파일 닫기 실패: {}", e.getMessage());
+            }
+        }
+        reloadReader = null;
+        reloadFile = null;
+        reloadEof = false;
+    }
+
+    /**
+     * 시작 시 남아 있는 임시 파일 크기 합계 (이전 실행에서 적재하지 못한 분)
+     */
+    private long existingSpillBytes() {
+        Path dir = Paths.get(spillDir);
+        if (!Files.isDirectory(dir)) {
+            return 0L;
+        }
+        long total = 0L;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                if (path.getFileName().toString().startsWith(SPILL_PREFIX)) {
+                    total += Files.size(path);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ 체결 틱 임시 파일 크기 조회 실패: {}", e.getMessage());
+        }
+        return total;
+    }
+
+    private void closeSpillWriter() {
+        if (spillWriter == null) {
+            return;
+        }
+        try {
+            spillWriter.close();
+        } catch (IOException e) {
+            log.debug("임시 파일 닫기 실패: {}", e.getMessage());
+        }
+        spillWriter = null;
+    }
+
+    /**
+     * 보관할 틱 필드만 복사한 불변 행 (디코더의 재사용 틱과 분리)
+     */
+    private static final class TickRow {
+        private final String symbol;
+        private final int businessDate;
+        private final int tradeTime;
+        private final long price;
+        private final long tradeVolume;
+        private final long cumulativeVolume;
+        private final byte tradeSide;
+        private final long bidPrice;
+        private final long askPrice;
+        private final long bidQuantity;
+        private final long askQuantity;
+
+        private TickRow(String symbol, int businessDate, int tradeTime, long price, long tradeVolume,
+                        long cumulativeVolume, byte tradeSide, long bidPrice, long askPrice,
+                        long bidQuantity, long askQuantity) {
+            this.symbol = symbol;
+            this.businessDate = businessDate;
+            this.tradeTime = tradeTime;
+            this.price = price;
+            this.tradeVolume = tradeVolume;
+            this.cumulativeVolume = cumulativeVolume;
+            this.tradeSide = tradeSide;
+            this.bidPrice = bidPrice;
+            this.askPrice = askPrice;
+            this.bidQuantity = bidQuantity;
+            this.askQuantity = askQuantity;
+        }
+
+        static TickRow from(KisTick tick) {
+            return new TickRow(tick.getSymbol(), tick.getBusinessDate(), tick.getTradeTime(), tick.getPrice(),
+                    tick.getTradeVolume(), tick.getCumulativeVolume(), tick.getTradeSide(),
+                    tick.getBidPrice1(), tick.getAskPrice1(), tick.getBidQuantity1(), tick.getAskQuantity1());
+        }
+
+        String toLine() {
+            return symbol + '\t' + businessDate + '\t' + tradeTime + '\t' + price + '\t' + tradeVolume + '\t'
+                    + cumulativeVolume + '\t' + tradeSide + '\t' + bidPrice + '\t' + askPrice + '\t'
+                    + bidQuantity + '\t' + askQuantity;
+        }
+
+        static TickRow parse(String line) {
+            String[] fields = line.split("\t");
+            if (fields.length < 11) {
+                return null;
+            }
+            try {
+                return new TickRow(fields[0], Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+                        Long.parseLong(fields[3]), Long.parseLong(fields[4]), Long.parseLong(fields[5]),
+                        Byte.parseByte(fields[6]), Long.parseLong(fields[7]), Long.parseLong(fields[8]),
+                        Long.parseLong(fields[9]), Long.parseLong(fields[10]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void logStats() {
+        if (!running) {
+            return;
+        }
+        long dropped = droppedTicks.sum();
+        long spilled = spilledTicks.sum();
+        if (dropped > 0 || failedBatches.sum() > 0) {
+            log.warn("⚠️ 체결 틱 보관: 저장 {}건, 대기 {}건, 임시 파일 {}건, 유실 {}건, 실패 배치 {}개",
+                    archivedTicks.sum(), queue.size(), spilled, dropped, failedBatches.sum());
+        } else {
+            log.info("📊 체결 틱 보관: 저장 {}건, 대기 {}건, 임시 파일 {}건", archivedTicks.sum(), queue.size(), spilled);
+        }
+    }
+
+    public long getArchivedTickCount() {
+        return archivedTicks.sum();
+    }
+
+    public long getDroppedTickCount() {
+        return droppedTicks.sum();
+    }
+
+    public long getSpilledTickCount() {
+        return spilledTicks.sum();
+    }
+}
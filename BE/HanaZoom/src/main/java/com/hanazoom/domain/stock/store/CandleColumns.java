@@ -0,0 +1,176 @@
+package com.hanazoom.domain.stock.store;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * 열 단위 캔들 묶음 (시간순)
+ *
+ * 캔들 스토어 조회 결과를 엔티티/BigDecimal 없이 원시 배열로 담는다.
+ * 시각은 KST 벽시계 기준 epoch 분(일/주/월봉은 해당 일자 0시), 가격은 원 단위, 등락률은 x100 정수.
+ */
+public final class CandleColumns {
+
+    static final long MINUTES_PER_DAY = 1440L;
+
+    private long[] times;
+    private long[] opens;
+    private long[] highs;
+    private long[] lows;
+    private long[] closes;
+    private long[] volumes;
+    private long[] changes;
+    private int[] changeRatesBp;
+    private int size;
+
+    public CandleColumns(int capacity) {
+        int initial = Math.max(1, capacity);
+        times = new long[initial];
+        opens = new long[initial];
+        highs = new long[initial];
+        lows = new long[initial];
+        closes = new long[initial];
+        volumes = new long[initial];
+        changes = new long[initial];
+        changeRatesBp = new int[initial];
+    }
+
+    public void add(long time, long open, long high, long low, long close, long volume, long change,
+                    int changeRateBp) {
+        if (size == times.length) {
+            grow();
+        }
+        times[size] = time;
+        opens[size] = open;
+        highs[size] = high;
+        lows[size] = low;
+        closes[size] = close;
+        volumes[size] = volume;
+        changes[size] = change;
+        changeRatesBp[size] = changeRateBp;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = times.length * 2;
+        times = Arrays.copyOf(times, capacity);
+        opens = Arrays.copyOf(opens, capacity);
+        highs = Arrays.copyOf(highs, capacity);
+        lows = Arrays.copyOf(lows, capacity);
+        closes = Arrays.copyOf(closes, capacity);
+        volumes = Arrays.copyOf(volumes, capacity);
+        changes = Arrays.copyOf(changes, capacity);
+        changeRatesBp = Arrays.copyOf(changeRatesBp, capacity);
+    }
+
+    /**
+     * 마지막 limit 개만 남김
+     */
+    void keepLast(int limit) {
+        if (size <= limit) {
+            return;
+        }
+        int from = size - limit;
+        System.arraycopy(times, from, times, 0, limit);
+        System.arraycopy(opens, from, opens, 0, limit);
+        System.arraycopy(highs, from, highs, 0, limit);
+        System.arraycopy(lows, from, lows, 0, limit);
+        System.arraycopy(closes, from, closes, 0, limit);
+        System.arraycopy(volumes, from, volumes, 0, limit);
+        System.arraycopy(changes, from, changes, 0, limit);
+        System.arraycopy(changeRatesBp, from, changeRatesBp, 0, limit);
+        size = limit;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long lastTime() {
+        return size > 0 ? times[size - 1] : Long.MIN_VALUE;
+    }
+
+    public long time(int index) {
+        return times[index];
+    }
+
+    public long open(int index) {
+        return opens[index];
+    }
+
+    public long high(int index) {
+        return highs[index];
+    }
+
+    public long low(int index) {
+        return lows[index];
+    }
+
+    public long close(int index) {
+        return closes[index];
+    }
+
+    public long volume(int index) {
+        return volumes[index];
+    }
+
+    public long change(int index) {
+        return changes[index];
+    }
+
+    public int changeRateBp(int index) {
+        return changeRatesBp[index];
+    }
+
+    /**
+     * 전체 필드의 64비트 FNV-1a 해시 (ETag 용)
+     */
+    public long contentHash() {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < size; i++) {
+            hash = mix(hash, times[i]);
+            hash = mix(hash, opens[i]);
+            hash = mix(hash, highs[i]);
+            hash = mix(hash, lows[i]);
+            hash = mix(hash, closes[i]);
+            hash = mix(hash, volumes[i]);
+            hash = mix(hash, changes[i]);
+            hash = mix(hash, changeRatesBp[i]);
+        }
+        return mix(hash, size);
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash ^= (value >>> shift) & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    public LocalDateTime dateTime(int index) {
+        return toDateTime(times[index]);
+    }
+
+    public LocalDate date(int index) {
+        return LocalDate.ofEpochDay(Math.floorDiv(times[index], MINUTES_PER_DAY));
+    }
+
+    static long toEpochMinute(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60L;
+    }
+
+    static long toEpochMinute(LocalDate date) {
+        return date.toEpochDay() * MINUTES_PER_DAY;
+    }
+
+    static LocalDateTime toDateTime(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60L, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,353 @@
+package com.hanazoom.domain.stock.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 종목·시간봉 하나의 캔들 시계열 파일 (메모리 매핑, 추가 전용)
+ *
+ * 파일 구조
+ * - 파일 헤더 32바이트: 매직(int), 버전(int), 기록 끝 오프셋(long), 캔들 수(long), 예약(long)
+ * - 블록 반복: 블록 헤더 24바이트(본문 바이트 수 int, 캔들 수 int, 첫 시각 long, 마지막 시각 long) + 본문
+ * - 본문은 캔들마다 [시각 delta-of-delta, 시가-직전종가, 종가-시가, 고가-max(시가,종가), min(시가,종가)-저가,
+ *   거래량, 전일대비, 등락률] 을 zigzag varint 로 이어 붙인다. 블록마다 기준값을 0 에서 다시 시작하므로
+ *   블록 단위로 독립 디코딩할 수 있고, 규칙적인 분봉 시각은 캔들당 1바이트로 줄어든다.
+ *
+ * 새 캔들은 마지막 블록이 BLOCK_ROWS 개가 될 때까지 이어 쓰며 본문 → 블록 헤더 → 파일 헤더 순서로 기록하므로
+ * 쓰기 도중 프로세스가 죽어도 파일 헤더의 기록 끝까지는 항상 온전하다.
+ * 동기화는 호출자(CandleStore)가 담당한다.
+ */
+final class CandleSeriesFile implements Closeable {
+
+    static final int BLOCK_ROWS = 512;
+
+    private static final int MAGIC = 0x485A4331; // "HZC1"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 32;
+    private static final int BLOCK_HEADER_BYTES = 24;
+    private static final int MIN_CAPACITY = 64 * 1024;
+    private static final int MAX_ROW_BYTES = 8 * 10; // 값 8개 x varint 최대 10바이트
+
+    private final Path path;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long end; // 기록 끝 오프셋
+    private long count;
+
+    // 블록 색인 (열기 시 블록 헤더만 훑어 구성)
+    private int blocks;
+    private long[] blockOffsets = new long[16];
+    private long[] blockFirstTimes = new long[16];
+    private long[] blockLastTimes = new long[16];
+    private int[] blockCounts = new int[16];
+    private int[] blockPayloads = new int[16];
+
+    // 마지막 블록 인코더 상태
+    private long prevTime;
+    private long prevDelta;
+    private long prevClose;
+
+    private byte[] scratch = new byte[8 * 1024]; // 인코딩/디코딩 작업 버퍼
+    private int readPos;
+
+    private CandleSeriesFile(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    static CandleSeriesFile open(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            CandleSeriesFile file = new CandleSeriesFile(path, channel);
+            file.load();
+            return file;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void load() throws IOException {
+        long size = channel.size();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, MIN_CAPACITY));
+        if (size == 0) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            end = FILE_HEADER_BYTES;
+            count = 0;
+            writeFileHeader();
+            return;
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("캔들 파일 형식이 아닙니다: " + path);
+        }
+        end = buffer.getLong(8);
+        count = buffer.getLong(16);
+        if (end < FILE_HEADER_BYTES || end > size) {
+            throw new IOException("캔들 파일 기록 끝이 잘못되었습니다: " + path);
+        }
+
+        long offset = FILE_HEADER_BYTES;
+        long rows = 0;
+        while (offset < end) {
+            int payload = buffer.getInt((int) offset);
+            int blockRows = buffer.getInt((int) offset + 4);
+            if (payload < 0 || blockRows <= 0 || offset + BLOCK_HEADER_BYTES + payload > end) {
+                throw new IOException("캔들 파일 블록이 손상되었습니다: " + path + " @" + offset);
+            }
+            addBlock(offset, buffer.getLong((int) offset + 8), buffer.getLong((int) offset + 16), blockRows, payload);
+            rows += blockRows;
+            offset += BLOCK_HEADER_BYTES + payload;
+        }
+        if (offset != end || rows != count) {
+            throw new IOException("캔들 파일 색인이 맞지 않습니다: " + path);
+        }
+        if (blocks > 0) {
+            restoreEncoderState();
+        }
+    }
+
+    /**
+     * 마지막 블록을 디코딩해 이어 쓰기용 인코더 상태 복원
+     */
+    private void restoreEncoderState() {
+        CandleColumns tail = new CandleColumns(blockCounts[blocks - 1]);
+        decodeBlock(blocks - 1, tail, Long.MIN_VALUE, Long.MAX_VALUE);
+        int n = tail.size();
+        prevTime = tail.time(n - 1);
+        prevDelta = n >= 2 ? tail.time(n - 1) - tail.time(n - 2) : 0L;
+        prevClose = tail.close(n - 1);
+    }
+
+    long count() {
+        return count;
+    }
+
+    long lastTime() {
+        return blocks > 0 ? blockLastTimes[blocks - 1] : Long.MIN_VALUE;
+    }
+
+    long sizeBytes() {
+        return end;
+    }
+
+    /**
+     * 마지막 캔들 이후 시각의 캔들만 이어 씀 (rows 는 시간순)
+     *
+     * @return 기록한 캔들 수
+     */
+    int append(CandleColumns rows) throws IOException {
+        int written = 0;
+        int i = 0;
+        while (i < rows.size()) {
+            if (rows.time(i) <= lastTime()) {
+                i++;
+                continue;
+            }
+            long last = lastTime();
+            if (blocks == 0 || blockCounts[blocks - 1] >= BLOCK_ROWS) {
+                startBlock(rows.time(i));
+            }
+            int room = BLOCK_ROWS - blockCounts[blocks - 1];
+            int length = 0;
+            int encoded = 0;
+            for (; i < rows.size() && encoded < room; i++) {
+                if (rows.time(i) <= last) {
+                    continue;
+                }
+                if (length + MAX_ROW_BYTES > scratch.length) {
+                    scratch = Arrays.copyOf(scratch, scratch.length * 2);
+                }
+                length = encodeRow(rows, i, length);
+                last = rows.time(i);
+                encoded++;
+            }
+            commitTail(length, encoded, last);
+            written += encoded;
+        }
+        return written;
+    }
+
+    private void startBlock(long firstTime) throws IOException {
+        ensureCapacity(end + BLOCK_HEADER_BYTES);
+        int offset = (int) end;
+        buffer.putInt(offset, 0);
+        buffer.putInt(offset + 4, 0);
+        buffer.putLong(offset + 8, firstTime);
+        buffer.putLong(offset + 16, firstTime);
+        addBlock(end, firstTime, firstTime, 0, 0);
+        end += BLOCK_HEADER_BYTES;
+        prevTime = firstTime;
+        prevDelta = 0L;
+        prevClose = 0L;
+    }
+
+    /**
+     * 인코딩된 본문을 마지막 블록 끝에 쓰고 블록 헤더 → 파일 헤더 순서로 반영
+     */
+    private void commitTail(int length, int rows, long lastTime) throws IOException {
+        ensureCapacity(end + length);
+        buffer.put((int) end, scratch, 0, length);
+        int block = blocks - 1;
+        int offset = (int) blockOffsets[block];
+        blockPayloads[block] += length;
+        blockCounts[block] += rows;
+        blockLastTimes[block] = lastTime;
+        buffer.putInt(offset, blockPayloads[block]);
+        buffer.putInt(offset + 4, blockCounts[block]);
+        buffer.putLong(offset + 16, lastTime);
+        end += length;
+        count += rows;
+        writeFileHeader();
+    }
+
+    private void writeFileHeader() {
+        buffer.putLong(8, end);
+        buffer.putLong(16, count);
+    }
+
+    private int encodeRow(CandleColumns rows, int i, int pos) {
+        long time = rows.time(i);
+        long open = rows.open(i);
+        long close = rows.close(i);
+        long delta = time - prevTime;
+        pos = writeSigned(scratch, pos, delta - prevDelta);
+        pos = writeSigned(scratch, pos, open - prevClose);
+        pos = writeSigned(scratch, pos, close - open);
+        pos = writeSigned(scratch, pos, rows.high(i) - Math.max(open, close));
+        pos = writeSigned(scratch, pos, Math.min(open, close) - rows.low(i));
+        pos = writeSigned(scratch, pos, rows.volume(i));
+        pos = writeSigned(scratch, pos, rows.change(i));
+        pos = writeSigned(scratch, pos, rows.changeRateBp(i));
+        prevDelta = delta;
+        prevTime = time;
+        prevClose = close;
+        return pos;
+    }
+
+    /**
+     * [from, before) 구간의 마지막 limit 개 캔들 (시간순)
+     * before 이전 블록부터 거꾸로 필요한 블록 수만 고른 뒤 앞에서부터 순차 디코딩한다.
+     */
+    CandleColumns read(long from, long before, int limit) {
+        int lastBlock = blocks - 1;
+        while (lastBlock >= 0 && blockFirstTimes[lastBlock] >= before) {
+            lastBlock--;
+        }
+        if (lastBlock < 0 || limit <= 0) {
+            return new CandleColumns(0);
+        }
+        int firstBlock = lastBlock;
+        long older = 0;
+        while (firstBlock > 0 && older < limit && blockLastTimes[firstBlock - 1] >= from) {
+            firstBlock--;
+            older += blockCounts[firstBlock];
+        }
+        long rows = 0;
+        for (int b = firstBlock; b <= lastBlock; b++) {
+            rows += blockCounts[b];
+        }
+        CandleColumns out = new CandleColumns((int) Math.min(rows, Integer.MAX_VALUE - 8));
+        for (int b = firstBlock; b <= lastBlock; b++) {
+            decodeBlock(b, out, from, before);
+        }
+        out.keepLast(limit);
+        return out;
+    }
+
+    private void decodeBlock(int block, CandleColumns out, long from, long before) {
+        int payload = blockPayloads[block];
+        if (scratch.length < payload) {
+            scratch = new byte[Math.max(payload, scratch.length * 2)];
+        }
+        buffer.get((int) blockOffsets[block] + BLOCK_HEADER_BYTES, scratch, 0, payload);
+        readPos = 0;
+        long time = blockFirstTimes[block];
+        long delta = 0L;
+        long close = 0L;
+        for (int n = blockCounts[block]; n > 0; n--) {
+            delta += readSigned();
+            time += delta;
+            long open = close + readSigned();
+            close = open + readSigned();
+            long high = Math.max(open, close) + readSigned();
+            long low = Math.min(open, close) - readSigned();
+            long volume = readSigned();
+            long change = readSigned();
+            int changeRateBp = (int) readSigned();
+            if (time >= from && time < before) {
+                out.add(time, open, high, low, close, volume, change, changeRateBp);
+            }
+        }
+    }
+
+    private void ensureCapacity(long needed) throws IOException {
+        if (needed <= buffer.capacity()) {
+            return;
+        }
+        long capacity = Math.max(needed, (long) buffer.capacity() * 2);
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException("캔들 파일 최대 크기 초과: " + path);
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    private void addBlock(long offset, long firstTime, long lastTime, int rows, int payload) {
+        if (blocks == blockOffsets.length) {
+            int capacity = blocks * 2;
+            blockOffsets = Arrays.copyOf(blockOffsets, capacity);
+            blockFirstTimes = Arrays.copyOf(blockFirstTimes, capacity);
+            blockLastTimes = Arrays.copyOf(blockLastTimes, capacity);
+            blockCounts = Arrays.copyOf(blockCounts, capacity);
+            blockPayloads = Arrays.copyOf(blockPayloads, capacity);
+        }
+        blockOffsets[blocks] = offset;
+        blockFirstTimes[blocks] = firstTime;
+        blockLastTimes[blocks] = lastTime;
+        blockCounts[blocks] = rows;
+        blockPayloads[blocks] = payload;
+        blocks++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            buffer.force();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * scratch 의 readPos 위치에서 zigzag varint 하나를 읽음
+     */
+    private long readSigned() {
+        long result = 0L;
+        int shift = 0;
+        byte b;
+        do {
+            b = scratch[readPos++];
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return (result >>> 1) ^ -(result & 1L);
+    }
+
+    private static int writeSigned(byte[] bytes, int pos, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0L) {
+            bytes[pos++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        bytes[pos++] = (byte) zigzag;
+        return pos;
+    }
+}
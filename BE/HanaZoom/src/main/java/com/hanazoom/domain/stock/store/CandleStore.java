@@ -0,0 +1,731 @@
+package com.hanazoom.domain.stock.store;
+
+import com.hanazoom.domain.stock.entity.StockDailyPrice;
+import com.hanazoom.domain.stock.entity.StockMinutePrice;
+import com.hanazoom.domain.stock.entity.StockMonthlyPrice;
+import com.hanazoom.domain.stock.entity.StockWeeklyPrice;
+import com.hanazoom.domain.stock.repository.StockDailyPriceRepository;
+import com.hanazoom.domain.stock.repository.StockMonthlyPriceRepository;
+import com.hanazoom.domain.stock.repository.StockWeeklyPriceRepository;
+import com.hanazoom.domain.stock.service.MinuteCandleAggregator;
+import com.hanazoom.domain.stock.service.StockReferenceDataService;
+import com.hanazoom.domain.stock.service.StockMinutePriceService;
+import com.hanazoom.global.util.MarketSessionClock;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 차트 조회용 캔들 스토어 (종목·시간봉별 압축 열 파일)
+ *
+ * - 마감(확정)된 캔들만 CandleSeriesFile 에 추가 전용으로 기록하고, 차트 조회는 파일에서 바로 디코딩해 반환
+ *   (JPA 엔티티/BigDecimal 변환 없이 블록 순차 읽기)
+ * - 시계열이 없으면 첫 조회 때 DB 에서 채우고(분봉 minute-backfill-days, 일/주/월봉 period-backfill-years),
+ *   이후에는 조회 시 refresh-interval-ms 마다 마지막 캔들 이후 확정분만 DB 에서 이어 붙임
+ * - 분봉은 구간 종료 후 settle-seconds 가 지나야 확정으로 본다 (집계기의 진행 중 캔들 기록 주기보다 길게)
+ * - 아직 확정되지 않은 직전 구간은 DB, 진행 중 캔들은 MinuteCandleAggregator 에서 조회 결과 끝에 붙임
+ * - 과거 캔들이 다시 계산되면(롤업, 이력 적재) invalidate 로 종목 시계열을 지우고 다음 조회 때 다시 채움
+ *   (CandleStoreInvalidatedEvent 로 청크 버전 캐시에도 알림)
+ * - 종목코드는 파일 경로가 되므로 6자리 코드 형식이면서 종목 기준정보에 있는 종목만 받고,
+ *   파일이 닫힌 채 series-idle-ms 동안 조회되지 않은 시계열 상태는 메모리에서 정리
+ *
+ * 스토어는 DB 에서 파생된 읽기 캐시라 파일이 손상되면 지우고 다시 만든다.
+ * 조회가 실패하면 null 을 반환하므로 호출자는 기존 DB 조회로 대체한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandleStore {
+
+    public enum Period {
+        DAILY, WEEKLY, MONTHLY
+    }
+
+    // 분봉 백필 조회 창 (하루 단위로 맞춰 상위 간격 구간이 잘리지 않게 하고, 1분봉 기준 MAX_PAGE_SIZE 이내)
+    private static final int BACKFILL_WINDOW_DAYS = 3;
+    private static final DateTimeFormatter YEAR_MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final Pattern SYMBOL_PATTERN = Pattern.compile("^[0-9A-Z]{6}$");
+
+    private final StockMinutePriceService minutePriceService;
+    private final StockDailyPriceRepository dailyPriceRepository;
+    private final StockWeeklyPriceRepository weeklyPriceRepository;
+    private final StockMonthlyPriceRepository monthlyPriceRepository;
+    private final MinuteCandleAggregator candleAggregator;
+    private final StockReferenceDataService referenceDataService;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${candle.store.enabled:true}")
+    private boolean enabled;
+
+    @Value("${candle.store.dir:candle-store}")
+    private String storeDir;
+
+    @Value("${candle.store.max-open-series:2000}")
+    private int maxOpenSeries;
+
+    @Value("${candle.store.refresh-interval-ms:5000}")
+    private long refreshIntervalMs;
+
+    @Value("${candle.store.settle-seconds:15}")
+    private int settleSeconds;
+
+    @Value("${candle.store.minute-backfill-days:30}")
+    private int minuteBackfillDays;
+
+    @Value("${candle.store.period-backfill-years:10}")
+    private int periodBackfillYears;
+
+    @Value("${candle.store.series-idle-ms:600000}")
+    private long seriesIdleMs;
+
+    private Path root;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    // 열린 파일 LRU (access order, 이 맵으로 동기화)
+    private final LinkedHashMap<Series, Boolean> openSeries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Queue<Series> evicted = new ConcurrentLinkedQueue<>();
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder readCandles = new LongAdder();
+    private final LongAdder appendedCandles = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        root = Paths.get(storeDir).toAbsolutePath().normalize();
+        FunctionCounter.builder("candle.store.reads", reads, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("candle.store.read.candles", readCandles, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("candle.store.appended", appendedCandles, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("candle.store.failures", failures, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("candle.store.open.series", this, CandleStore::openSeriesCount).register(meterRegistry);
+        Gauge.builder("candle.store.series", series, Map::size).register(meterRegistry);
+        if (enabled) {
+            log.info("✅ 캔들 스토어 시작: 경로={}, 열린 파일 한도={}", root.toAbsolutePath(), maxOpenSeries);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (Series s : series.values()) {
+            synchronized (s) {
+                closeQuietly(s);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 스토어에 둘 수 있는 종목인지 (6자리 코드 형식 + 종목 기준정보에 있는 종목, 기준정보 적재 전에는 형식만 확인)
+     */
+    public boolean isKnownSymbol(String symbol) {
+        if (symbol == null || !SYMBOL_PATTERN.matcher(symbol).matches()) {
+            return false;
+        }
+        return referenceDataService.size() == 0 || referenceDataService.find(symbol) != null;
+    }
+
+    /**
+     * 분봉 조회 (before 가 null 이면 최근 limit 개 + 미확정/진행 중 캔들, 아니면 before 이전 limit 개)
+     *
+     * @return 시간순 캔들, 스토어를 쓸 수 없으면 null
+     */
+    public CandleColumns readMinutes(String symbol, StockMinutePrice.MinuteInterval interval,
+                                     LocalDateTime before, int limit) {
+        long beforeMinute = before != null ? CandleColumns.toEpochMinute(before) : Long.MAX_VALUE;
+        return readMinutes(symbol, interval, Long.MIN_VALUE, beforeMinute, limit);
+    }
+
+    /**
+     * 분봉 구간 조회 [from, to) - 구간이 현재에 걸치면 미확정/진행 중 캔들 포함
+     *
+     * @return 시간순 캔들, 스토어를 쓸 수 없으면 null
+     */
+    public CandleColumns readMinuteRange(String symbol, StockMinutePrice.MinuteInterval interval,
+                                         LocalDateTime from, LocalDateTime to) {
+        return readMinutes(symbol, interval, CandleColumns.toEpochMinute(from), CandleColumns.toEpochMinute(to),
+                Integer.MAX_VALUE);
+    }
+
+    private CandleColumns readMinutes(String symbol, StockMinutePrice.MinuteInterval interval,
+                                      long fromMinute, long beforeMinute, int limit) {
+        if (!enabled || !isKnownSymbol(symbol)) {
+            return null;
+        }
+        int minutes = interval.getMinutes();
+        long nowSecond = LocalDateTime.now(MarketSessionClock.KOREA_ZONE).toEpochSecond(ZoneOffset.UTC);
+        long currentBucket = bucket(nowSecond / 60L, minutes);
+        long settledEnd = bucket((nowSecond - settleSeconds) / 60L, minutes);
+        long horizon = minuteHorizon(settledEnd);
+        if (beforeMinute <= horizon) {
+            // 백필 범위보다 오래된 구간은 스토어에 없으므로 DB 에서 직접 (시작이 없는 커서 조회는 호출자 DB 경로로)
+            if (fromMinute == Long.MIN_VALUE) {
+                return null;
+            }
+            CandleColumns result = new CandleColumns(64);
+            for (StockMinutePrice row : minutePriceService.getMinutePricesByTimeRange(symbol, interval,
+                    CandleColumns.toDateTime(fromMinute), CandleColumns.toDateTime(beforeMinute).minusSeconds(1))) {
+                addMinutePrice(result, row);
+            }
+            result.keepLast(limit);
+            recordRead(result);
+            return result;
+        }
+        long[] storedLast = new long[1];
+        CandleColumns result = withSeries(symbol, interval.name(), (s, file) -> {
+            refreshMinutes(s, file, interval, settledEnd);
+            storedLast[0] = file.lastTime();
+            return file.read(fromMinute, beforeMinute, limit);
+        });
+        if (result == null) {
+            return null;
+        }
+        if (beforeMinute > settledEnd - minutes) {
+            CandleColumns tail = new CandleColumns(2);
+            appendMinuteTail(tail, symbol, interval, storedLast[0], currentBucket);
+            appendRange(result, tail, fromMinute, beforeMinute);
+            result.keepLast(limit);
+        }
+        recordRead(result);
+        return result;
+    }
+
+    /**
+     * 일/주/월봉 조회 (from 이후 최근 limit 개, 진행 중인 당일/주/월 캔들 포함)
+     *
+     * @return 시간순 캔들, 스토어를 쓸 수 없으면 null
+     */
+    public CandleColumns readPeriod(String symbol, Period period, LocalDate from, int limit) {
+        return readPeriod(symbol, period, from, null, limit);
+    }
+
+    /**
+     * 일/주/월봉 구간 조회 [from, to) - 구간이 현재에 걸치면 진행 중 캔들 포함
+     *
+     * @return 시간순 캔들, 스토어를 쓸 수 없으면 null
+     */
+    public CandleColumns readPeriodRange(String symbol, Period period, LocalDate from, LocalDate to) {
+        return readPeriod(symbol, period, from, to, Integer.MAX_VALUE);
+    }
+
+    private CandleColumns readPeriod(String symbol, Period period, LocalDate from, LocalDate to, int limit) {
+        if (!enabled || !isKnownSymbol(symbol)) {
+            return null;
+        }
+        LocalDate today = LocalDate.now(MarketSessionClock.KOREA_ZONE);
+        long fromMinute = CandleColumns.toEpochMinute(from);
+        long beforeMinute = to != null ? CandleColumns.toEpochMinute(to) : Long.MAX_VALUE;
+        if (to != null && !to.isAfter(today.minusYears(periodBackfillYears))) {
+            // 백필 범위보다 오래된 구간은 DB 에서 직접
+            CandleColumns result = new CandleColumns(64);
+            loadPeriod(symbol, period, from, to.minusDays(1), null, result);
+            result.keepLast(limit);
+            recordRead(result);
+            return result;
+        }
+        CandleColumns result = withSeries(symbol, period.name(), (s, file) -> {
+            refreshPeriod(s, file, period, today);
+            return file.read(fromMinute, beforeMinute, limit);
+        });
+        if (result == null) {
+            return null;
+        }
+        if (beforeMinute > CandleColumns.toEpochMinute(currentPeriodFrom(period, today))) {
+            CandleColumns tail = new CandleColumns(2);
+            appendPeriodTail(tail, symbol, period, today);
+            appendRange(result, tail, fromMinute, beforeMinute);
+            result.keepLast(limit);
+        }
+        recordRead(result);
+        return result;
+    }
+
+    /**
+     * 종목의 모든 시계열 파일 삭제 (과거 캔들이 다시 계산된 경우 - 다음 조회 때 DB 에서 다시 채움)
+     * 삭제 후 CandleStoreInvalidatedEvent 를 동기 발행해 청크 버전 캐시도 비운다.
+     */
+    public void invalidate(String symbol) {
+        if (!enabled || symbol == null || !SYMBOL_PATTERN.matcher(symbol).matches()) {
+            return;
+        }
+        for (Series s : series.values()) {
+            if (s.symbol.equals(symbol)) {
+                synchronized (s) {
+                    closeQuietly(s);
+                    deleteQuietly(s);
+                }
+            }
+        }
+        try {
+            Path dir = resolve(symbol);
+            if (Files.isDirectory(dir)) {
+                try (var files = Files.list(dir)) {
+                    for (Path path : (Iterable<Path>) files::iterator) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ 캔들 스토어 삭제 실패: 종목={} - {}", symbol, e.getMessage());
+        }
+        eventPublisher.publishEvent(new CandleStoreInvalidatedEvent(this, symbol));
+    }
+
+    /**
+     * 시계열을 잠그고 파일을 연 채 작업 실행 (정리된 시계열을 잡으면 새로 만들어 다시 시도)
+     *
+     * @return 작업 결과, 실패하면 파일을 지우고 null
+     */
+    private CandleColumns withSeries(String symbol, String key, SeriesRead read) {
+        try {
+            while (true) {
+                Series s = series.computeIfAbsent(symbol + '/' + key,
+                        k -> new Series(symbol, resolve(symbol, key + ".candles")));
+                synchronized (s) {
+                    if (s.retired) {
+                        continue;
+                    }
+                    s.lastUsedAt = System.currentTimeMillis();
+                    try {
+                        return read.apply(s, open(s));
+                    } catch (IOException | RuntimeException e) {
+                        fail(s, e);
+                        return null;
+                    }
+                }
+            }
+        } finally {
+            closeEvicted();
+        }
+    }
+
+    /**
+     * 스토어 루트 아래 경로 (정규화 후 루트를 벗어나면 IllegalArgumentException)
+     */
+    private Path resolve(String... names) {
+        Path path = root;
+        for (String name : names) {
+            path = path.resolve(name);
+        }
+        path = path.normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("캔들 스토어 밖의 경로: " + path);
+        }
+        return path;
+    }
+
+    /**
+     * 파일이 닫힌 채 series-idle-ms 동안 조회되지 않은 시계열 상태 정리
+     * (정리 표시 후 맵에서 빼므로, 이미 참조를 얻은 조회는 withSeries 에서 새 시계열로 다시 시도)
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void pruneIdleSeries() {
+        long idleBefore = System.currentTimeMillis() - seriesIdleMs;
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            Series s = entry.getValue();
+            synchronized (s) {
+                if (s.file == null && s.lastUsedAt < idleBefore) {
+                    s.retired = true;
+                    series.remove(entry.getKey(), s);
+                }
+            }
+        }
+    }
+
+    /**
+     * 시계열 파일을 열고 LRU 에 등록 (한도를 넘으면 가장 오래 안 쓴 파일을 닫음). 호출자가 s 를 잠근 상태.
+     */
+    private CandleSeriesFile open(Series s) throws IOException {
+        if (s.file == null) {
+            try {
+                s.file = CandleSeriesFile.open(s.path);
+            } catch (IOException e) {
+                // 손상된 파일은 지우고 빈 파일로 다시 시작
+                log.warn("⚠️ 캔들 파일 재생성: {} - {}", s.path, e.getMessage());
+                Files.deleteIfExists(s.path);
+                s.file = CandleSeriesFile.open(s.path);
+            }
+            s.lastRefreshAt = 0L;
+        }
+        synchronized (openSeries) {
+            openSeries.put(s, Boolean.TRUE);
+            Iterator<Series> it = openSeries.keySet().iterator();
+            while (openSeries.size() > Math.max(1, maxOpenSeries) && it.hasNext()) {
+                Series eldest = it.next();
+                if (eldest != s) {
+                    it.remove();
+                    evicted.offer(eldest);
+                }
+            }
+        }
+        return s.file;
+    }
+
+    /**
+     * LRU 에서 밀려난 파일 닫기 - 다른 시계열 잠금을 쥔 채 기다리지 않도록 잠금 밖에서 호출
+     */
+    private void closeEvicted() {
+        Series s;
+        while ((s = evicted.poll()) != null) {
+            synchronized (s) {
+                boolean reopened;
+                synchronized (openSeries) {
+                    reopened = openSeries.containsKey(s);
+                }
+                if (!reopened) {
+                    closeQuietly(s);
+                }
+            }
+        }
+    }
+
+    /**
+     * 마지막 캔들 이후 확정된 분봉을 BACKFILL_WINDOW_DAYS 창 단위로 DB 에서 읽어 이어 붙임
+     */
+    private void refreshMinutes(Series s, CandleSeriesFile file, StockMinutePrice.MinuteInterval interval,
+                                long settledEnd) throws IOException {
+        int minutes = interval.getMinutes();
+        if (file.count() > 0 && file.lastTime() >= settledEnd - minutes) {
+            return; // 최근 확정 구간까지 이미 있음
+        }
+        long now = System.currentTimeMillis();
+        if (now - s.lastRefreshAt < refreshIntervalMs) {
+            return;
+        }
+        s.lastRefreshAt = now;
+
+        long horizon = minuteHorizon(settledEnd);
+        long from = file.count() > 0 ? Math.max(file.lastTime() + minutes, horizon) : horizon;
+        // 거래가 없어 캔들이 비는 구간을 매번 다시 훑지 않도록 이미 조회한 지점부터 이어서
+        from = Math.max(from, s.filledThrough);
+        long window = BACKFILL_WINDOW_DAYS * CandleColumns.MINUTES_PER_DAY;
+        while (from < settledEnd) {
+            long to = Math.min(settledEnd, bucket(from, (int) CandleColumns.MINUTES_PER_DAY) + window);
+            List<StockMinutePrice> rows = minutePriceService.getMinutePricesByTimeRange(s.symbol, interval,
+                    CandleColumns.toDateTime(from), CandleColumns.toDateTime(to).minusSeconds(1));
+            CandleColumns columns = new CandleColumns(rows.size());
+            for (StockMinutePrice row : rows) {
+                long time = CandleColumns.toEpochMinute(row.getTimestamp());
+                if (time >= from && time < to) {
+                    addMinutePrice(columns, row);
+                }
+            }
+            appendedCandles.add(file.append(columns));
+            from = to;
+            s.filledThrough = to;
+        }
+    }
+
+    /**
+     * 마지막 캔들 이후 완료된 일/주/월봉을 DB 에서 읽어 이어 붙임
+     */
+    private void refreshPeriod(Series s, CandleSeriesFile file, Period period, LocalDate today) throws IOException {
+        long now = System.currentTimeMillis();
+        if (now - s.lastRefreshAt < refreshIntervalMs) {
+            return;
+        }
+        s.lastRefreshAt = now;
+
+        LocalDate horizon = today.minusYears(periodBackfillYears);
+        LocalDate from = file.count() > 0
+                ? LocalDate.ofEpochDay(Math.floorDiv(file.lastTime(), CandleColumns.MINUTES_PER_DAY)).plusDays(1)
+                : horizon;
+        if (from.isBefore(horizon)) {
+            from = horizon;
+        }
+        CandleColumns columns = new CandleColumns(file.count() > 0 ? 8 : 1024);
+        loadPeriod(s.symbol, period, from, today, today, columns);
+        appendedCandles.add(file.append(columns));
+    }
+
+    /**
+     * [from, to] 기간의 일/주/월봉을 DB 에서 읽어 columns 에 추가
+     * (completedBy 가 있으면 그 날짜까지 끝난 캔들만 - 당일/이번 주/이번 달 캔들 제외)
+     */
+    private void loadPeriod(String symbol, Period period, LocalDate from, LocalDate to, LocalDate completedBy,
+                            CandleColumns columns) {
+        switch (period) {
+            case DAILY:
+                for (StockDailyPrice row : dailyPriceRepository
+                        .findByStockSymbolAndTradeDateBetweenOrderByTradeDateAsc(symbol, from, to)) {
+                    if (completedBy == null || row.getTradeDate().isBefore(completedBy)) {
+                        addDailyPrice(columns, row);
+                    }
+                }
+                break;
+            case WEEKLY:
+                for (StockWeeklyPrice row : weeklyPriceRepository
+                        .findByStockSymbolAndWeekStartDateBetweenOrderByWeekStartDateAsc(symbol, from, to)) {
+                    if (completedBy == null || !row.getWeekStartDate().plusWeeks(1).isAfter(completedBy)) {
+                        addWeeklyPrice(columns, row);
+                    }
+                }
+                break;
+            case MONTHLY:
+                for (StockMonthlyPrice row : monthlyPriceRepository
+                        .findByStockSymbolAndYearMonthBetweenOrderByYearMonthAsc(symbol,
+                                from.format(YEAR_MONTH), to.format(YEAR_MONTH))) {
+                    LocalDate month = LocalDate.parse(row.getYearMonth() + "-01");
+                    if (completedBy == null || !month.plusMonths(1).isAfter(completedBy)) {
+                        addMonthlyPrice(columns, row);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 분봉 백필 시작 시각 (epoch 분, 하루 단위로 내림)
+     */
+    private long minuteHorizon(long settledEnd) {
+        return bucket(settledEnd, (int) CandleColumns.MINUTES_PER_DAY)
+                - minuteBackfillDays * CandleColumns.MINUTES_PER_DAY;
+    }
+
+    /**
+     * 아직 완료되지 않았을 수 있는 가장 이른 기간 시작일 (이 날짜 이후 캔들은 스토어에 없음)
+     */
+    private static LocalDate currentPeriodFrom(Period period, LocalDate today) {
+        switch (period) {
+            case WEEKLY:
+                return today.minusDays(6);
+            case MONTHLY:
+                return today.withDayOfMonth(1);
+            default:
+                return today;
+        }
+    }
+
+    /**
+     * tail 중 result 마지막 캔들 이후이면서 [from, before) 에 드는 캔들만 이어 붙임
+     */
+    private static void appendRange(CandleColumns result, CandleColumns tail, long from, long before) {
+        for (int i = 0; i < tail.size(); i++) {
+            long time = tail.time(i);
+            if (time > result.lastTime() && time >= from && time < before) {
+                result.add(time, tail.open(i), tail.high(i), tail.low(i), tail.close(i), tail.volume(i),
+                        tail.change(i), tail.changeRateBp(i));
+            }
+        }
+    }
+
+    /**
+     * 스토어에 아직 없는 직전 구간(확정 대기 중)과 진행 중 캔들을 결과 끝에 붙임
+     * 직전 구간 DB 조회는 구간이 바뀐 직후 settle-seconds 동안만 일어난다.
+     */
+    private void appendMinuteTail(CandleColumns result, String symbol, StockMinutePrice.MinuteInterval interval,
+                                  long storedLast, long currentBucket) {
+        long previousBucket = currentBucket - interval.getMinutes();
+        if (storedLast < previousBucket) {
+            long nowSecond = LocalDateTime.now(MarketSessionClock.KOREA_ZONE).toEpochSecond(ZoneOffset.UTC);
+            if (currentBucket * 60L + settleSeconds > nowSecond) {
+                for (StockMinutePrice row : minutePriceService.getMinutePricesByTimeRange(symbol, interval,
+                        CandleColumns.toDateTime(previousBucket),
+                        CandleColumns.toDateTime(currentBucket).minusSeconds(1))) {
+                    if (CandleColumns.toEpochMinute(row.getTimestamp()) > result.lastTime()) {
+                        addMinutePrice(result, row);
+                    }
+                }
+            }
+        }
+        StockMinutePrice live = candleAggregator.getLiveCandle(symbol, interval);
+        if (live != null && CandleColumns.toEpochMinute(live.getTimestamp()) > result.lastTime()) {
+            addMinutePrice(result, live);
+        }
+    }
+
+    /**
+     * 진행 중인 당일(집계기 우선, 없으면 DB)/이번 주/이번 달 캔들을 결과 끝에 붙임
+     */
+    private void appendPeriodTail(CandleColumns result, String symbol, Period period, LocalDate today) {
+        switch (period) {
+            case DAILY:
+                StockDailyPrice live = candleAggregator.getLiveDailyCandle(symbol);
+                if (live != null && CandleColumns.toEpochMinute(live.getTradeDate()) > result.lastTime()) {
+                    addDailyPrice(result, live);
+                    return;
+                }
+                for (StockDailyPrice row : dailyPriceRepository
+                        .findByStockSymbolAndTradeDateBetweenOrderByTradeDateAsc(symbol, today, today)) {
+                    if (CandleColumns.toEpochMinute(row.getTradeDate()) > result.lastTime()) {
+                        addDailyPrice(result, row);
+                    }
+                }
+                break;
+            case WEEKLY:
+                for (StockWeeklyPrice row : weeklyPriceRepository
+                        .findByStockSymbolAndWeekStartDateBetweenOrderByWeekStartDateAsc(symbol,
+                                today.minusDays(6), today)) {
+                    if (CandleColumns.toEpochMinute(row.getWeekStartDate()) > result.lastTime()) {
+                        addWeeklyPrice(result, row);
+                    }
+                }
+                break;
+            case MONTHLY:
+                String month = today.format(YEAR_MONTH);
+                for (StockMonthlyPrice row : monthlyPriceRepository
+                        .findByStockSymbolAndYearMonthBetweenOrderByYearMonthAsc(symbol, month, month)) {
+                    addMonthlyPrice(result, row);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void addMinutePrice(CandleColumns columns, StockMinutePrice row) {
+        columns.add(CandleColumns.toEpochMinute(row.getTimestamp()), won(row.getOpenPrice()),
+                won(row.getHighPrice()), won(row.getLowPrice()), won(row.getClosePrice()),
+                row.getVolume() != null ? row.getVolume() : 0L, won(row.getPriceChange()),
+                basisPoints(row.getPriceChangePercent()));
+    }
+
+    private static void addDailyPrice(CandleColumns columns, StockDailyPrice row) {
+        columns.add(CandleColumns.toEpochMinute(row.getTradeDate()), won(row.getOpenPrice()),
+                won(row.getHighPrice()), won(row.getLowPrice()), won(row.getClosePrice()),
+                row.getVolume() != null ? row.getVolume() : 0L, won(row.getPriceChange()),
+                basisPoints(row.getPriceChangePercent()));
+    }
+
+    private static void addWeeklyPrice(CandleColumns columns, StockWeeklyPrice row) {
+        columns.add(CandleColumns.toEpochMinute(row.getWeekStartDate()), won(row.getOpenPrice()),
+                won(row.getHighPrice()), won(row.getLowPrice()), won(row.getClosePrice()),
+                row.getVolume() != null ? row.getVolume() : 0L, won(row.getPriceChange()),
+                basisPoints(row.getPriceChangePercent()));
+    }
+
+    private static void addMonthlyPrice(CandleColumns columns, StockMonthlyPrice row) {
+        columns.add(CandleColumns.toEpochMinute(LocalDate.parse(row.getYearMonth() + "-01")),
+                won(row.getOpenPrice()), won(row.getHighPrice()), won(row.getLowPrice()), won(row.getClosePrice()),
+                row.getVolume() != null ? row.getVolume() : 0L, won(row.getPriceChange()),
+                basisPoints(row.getPriceChangePercent()));
+    }
+
+    /**
+     * 국내 주식 가격은 원 단위 정수 (소수부는 반올림)
+     */
+    private static long won(BigDecimal value) {
+        return value != null ? value.setScale(0, RoundingMode.HALF_UP).longValue() : 0L;
+    }
+
+    private static int basisPoints(BigDecimal percent) {
+        return percent != null ? percent.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValue() : 0;
+    }
+
+    private static long bucket(long epochMinute, int minutes) {
+        return epochMinute - Math.floorMod(epochMinute, minutes);
+    }
+
+    private void recordRead(CandleColumns result) {
+        reads.increment();
+        readCandles.add(result.size());
+    }
+
+    private void fail(Series s, Exception e) {
+        failures.increment();
+        log.warn("⚠️ 캔들 스토어 조회 실패, DB 조회로 대체: {} - {}", s.path, e.getMessage());
+        synchronized (s) {
+            closeQuietly(s);
+            deleteQuietly(s);
+        }
+    }
+
+    private void closeQuietly(Series s) {
+        if (s.file == null) {
+            return;
+        }
+        try {
+            s.file.close();
+        } catch (IOException e) {
+            log.debug("캔들 파일 닫기 실패: {} - {}", s.path, e.getMessage());
+        }
+        s.file = null;
+        synchronized (openSeries) {
+            openSeries.remove(s);
+        }
+    }
+
+    private void deleteQuietly(Series s) {
+        try {
+            Files.deleteIfExists(s.path);
+        } catch (IOException e) {
+            log.debug("캔들 파일 삭제 실패: {} - {}", s.path, e.getMessage());
+        }
+        s.lastRefreshAt = 0L;
+        s.filledThrough = Long.MIN_VALUE;
+    }
+
+    private int openSeriesCount() {
+        synchronized (openSeries) {
+            return openSeries.size();
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void logStats() {
+        if (!enabled || reads.sum() == 0) {
+            return;
+        }
+        if (failures.sum() > 0) {
+            log.warn("⚠️ 캔들 스토어: 조회 {}회({}개), 추가 {}개, 열린 파일 {}개, 실패 {}회",
+                    reads.sum(), readCandles.sum(), appendedCandles.sum(), openSeriesCount(), failures.sum());
+        } else {
+            log.info("📊 캔들 스토어: 조회 {}회({}개), 추가 {}개, 열린 파일 {}개",
+                    reads.sum(), readCandles.sum(), appendedCandles.sum(), openSeriesCount());
+        }
+    }
+
+    @FunctionalInterface
+    private interface SeriesRead {
+        CandleColumns apply(Series s, CandleSeriesFile file) throws IOException;
+    }
+
+    /**
+     * 종목·시간봉 시계열 상태 (이 객체로 동기화)
+     */
+    private static final class Series {
+        private final String symbol;
+        private final Path path;
+        private CandleSeriesFile file; // 닫혀 있으면 null
+        private long lastRefreshAt;
+        private long filledThrough = Long.MIN_VALUE; // 분봉: DB 에서 조회를 마친 구간 끝 (epoch 분)
+        private long lastUsedAt;
+        private boolean retired; // 맵에서 정리됨 (이후 사용 금지)
+
+        private Series(String symbol, Path path) {
+            this.symbol = symbol;
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.hanazoom.domain.stock.store;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 종목 캔들 시계열 무효화 이벤트 (롤업, 이력 재적재로 과거 캔들이 바뀜)
+ */
+@Getter
+public class CandleStoreInvalidatedEvent extends ApplicationEvent {
+    private final String symbol;
+
+    public CandleStoreInvalidatedEvent(Object source, String symbol) {
+        super(source);
+        this.symbol = symbol;
+    }
+}
@@ -17,8 +17,11 @@ public class KisConfig {
     private String accessToken;
     private String approvalKey;
 
-    // 모의투자 환경 URL
-    private final String tokenUrl = "https://openapivts.koreainvestment.com:29443/oauth2/tokenP";
-    private final String approvalUrl = "https://openapivts.koreainvestment.com:29443/oauth2/Approval";
-    private final String realtimeUrl = "ws://ops.koreainvestment.com:21000";
+    // 모의투자 환경 URL (kis-sim 프로필에서는 로컬 KIS 시뮬레이터로 변경)
+    private String tokenUrl = "https://openapivts.koreainvestment.com:29443/oauth2/tokenP";
+    private String approvalUrl = "https://openapivts.koreainvestment.com:29443/oauth2/Approval";
+    private String realtimeUrl = "ws://ops.koreainvestment.com:21000";
+
+    // 발급 키 저장 파일 (시뮬레이터 키가 실제 키 파일을 덮어쓰지 않도록 분리 가능)
+    private String keyFile = "kis_keys.json";
 }
\ No newline at end of file
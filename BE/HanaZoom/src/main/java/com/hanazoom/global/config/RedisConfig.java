@@ -7,12 +7,16 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import io.lettuce.core.ClientOptions;
 import io.lettuce.core.SocketOptions;
 import io.lettuce.core.TimeoutOptions;
 import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
 import java.time.Duration;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class RedisConfig {
@@ -26,6 +30,12 @@ public class RedisConfig {
     @Value("${spring.data.redis.password}")
     private String password;
 
+    // Lettuce 이벤트 버스를 RedisHealthMonitor 에서 구독하기 위해 빈으로 노출
+    @Bean(destroyMethod = "shutdown")
+    public ClientResources lettuceClientResources() {
+        return DefaultClientResources.create();
+    }
+
     @Bean
     public LettuceConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration redisConfig = new RedisStandaloneConfiguration(host, port);
@@ -47,6 +57,7 @@ public class RedisConfig {
             .build();
 
         LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
+            .clientResources(lettuceClientResources())
             .clientOptions(clientOptions)
             .commandTimeout(Duration.ofSeconds(5))
             .shutdownTimeout(Duration.ofSeconds(10))
@@ -71,4 +82,17 @@ public class RedisConfig {
         template.setEnableTransactionSupport(false);
         return template;
     }
+
+    // 시세 팬아웃 채널 구독용 (종목별 업데이트 순서 보장을 위해 메시지는 단일 스레드로 전달)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        container.setTaskExecutor(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-feed-listener");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        return container;
+    }
 }
\ No newline at end of file
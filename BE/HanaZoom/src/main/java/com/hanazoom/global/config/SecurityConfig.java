@@ -77,8 +77,12 @@ public class SecurityConfig {
                         .requestMatchers("/api/websocket/**").permitAll()
                         .requestMatchers("/api/v1/websocket/**").permitAll()
                         .requestMatchers("/api/stocks/chart/**").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/stock-minute-prices/*/rollup").hasRole("ADMIN")
                         .requestMatchers("/api/stock-minute-prices/**").permitAll()
                         .requestMatchers("/ws/**").permitAll()
+                        .requestMatchers("/kis-sim/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/community/stocks/*/posts").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/community/posts/*").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/community/posts/*/comments").authenticated()
@@ -92,6 +96,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/v1/portfolio/client/*/summary").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/v1/portfolio/client/*/stocks").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/v1/portfolio/client/*/trades").authenticated()
+                        .requestMatchers("/api/stock-history/**").hasRole("ADMIN")
                         .requestMatchers("/error").permitAll()
                         .requestMatchers("/favicon.ico").permitAll()
                         .anyRequest().authenticated())
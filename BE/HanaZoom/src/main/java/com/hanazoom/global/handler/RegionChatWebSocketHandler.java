@@ -6,6 +6,7 @@ import com.hanazoom.domain.member.repository.MemberRepository;
 import com.hanazoom.domain.region.entity.Region;
 import com.hanazoom.domain.region.repository.RegionRepository;
 import com.hanazoom.domain.chat.service.RegionChatService;
+import com.hanazoom.global.realtime.WebSocketOutbound;
 import com.hanazoom.global.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,6 +38,7 @@ public class RegionChatWebSocketHandler extends TextWebSocketHandler {
     private final MemberRepository memberRepository;
     private final RegionRepository regionRepository;
     private final RegionChatService regionChatService;
+    private final WebSocketOutbound outbound;
 
     // 지역별 채팅방 관리: regionId -> Set<WebSocketSession>
     private final Map<Long, Set<WebSocketSession>> regionChatRooms = new ConcurrentHashMap<>();
@@ -97,7 +99,8 @@ public class RegionChatWebSocketHandler extends TextWebSocketHandler {
                 return;
             }
 
-            // 세션 정보 저장
+            // 세션 정보 저장 (송신 한도 적용)
+            outbound.register(session);
             sessionMembers.put(session.getId(), member);
             sessionRegions.put(session.getId(), regionId);
 
@@ -194,6 +197,7 @@ public class RegionChatWebSocketHandler extends TextWebSocketHandler {
         }
 
         // 세션 정보 정리
+        outbound.unregister(session);
         sessionMembers.remove(session.getId());
         sessionRegions.remove(session.getId());
     }
@@ -320,12 +324,8 @@ public class RegionChatWebSocketHandler extends TextWebSocketHandler {
                             chatMessage.put("portfolioStocks", finalPortfolioList);
                         }
 
-                        synchronized (targetSession) {
-                            if (targetSession.isOpen()) {
-                                targetSession
-                                        .sendMessage(new TextMessage(objectMapper.valueToTree(chatMessage).toString()));
-                            }
-                        }
+                        outbound.send(targetSession,
+                                new TextMessage(objectMapper.valueToTree(chatMessage).toString()));
                     } else {
                         deadSessions.add(targetSession);
                     }
@@ -378,20 +378,12 @@ public class RegionChatWebSocketHandler extends TextWebSocketHandler {
         Set<WebSocketSession> sessions = regionChatRooms.get(regionId);
         if (sessions != null) {
             List<WebSocketSession> deadSessions = new ArrayList<>();
+            TextMessage frame = new TextMessage(message);
 
             for (WebSocketSession session : sessions) {
-                try {
-                    if (session.isOpen()) {
-                        synchronized (session) {
-                            if (session.isOpen()) {
-                                session.sendMessage(new TextMessage(message));
-                            }
-                        }
-                    } else {
-                        deadSessions.add(session);
-                    }
-                } catch (Exception e) {
-                    log.error("❌ 지역 채팅 메시지 전송 실패: {}", session.getId(), e);
+                if (session.isOpen()) {
+                    outbound.send(session, frame);
+                } else {
                     deadSessions.add(session);
                 }
             }
@@ -405,24 +397,16 @@ public class RegionChatWebSocketHandler extends TextWebSocketHandler {
         Set<WebSocketSession> sessions = regionChatRooms.get(regionId);
         if (sessions != null) {
             List<WebSocketSession> deadSessions = new ArrayList<>();
+            TextMessage frame = new TextMessage(message);
 
             for (WebSocketSession session : sessions) {
                 if (session.equals(excludeSession)) {
                     continue; // 자신 제외
                 }
 
-                try {
-                    if (session.isOpen()) {
-                        synchronized (session) {
-                            if (session.isOpen()) {
-                                session.sendMessage(new TextMessage(message));
-                            }
-                        }
-                    } else {
-                        deadSessions.add(session);
-                    }
-                } catch (Exception e) {
-                    log.error("❌ 지역 채팅 메시지 전송 실패: {}", session.getId(), e);
+                if (session.isOpen()) {
+                    outbound.send(session, frame);
+                } else {
                     deadSessions.add(session);
                 }
             }
@@ -433,17 +417,7 @@ public class RegionChatWebSocketHandler extends TextWebSocketHandler {
     }
 
     private void sendToSession(WebSocketSession session, String message) {
-        try {
-            if (session.isOpen()) {
-                synchronized (session) {
-                    if (session.isOpen()) {
-                        session.sendMessage(new TextMessage(message));
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.error("❌ 세션 메시지 전송 실패: {}", session.getId(), e);
-        }
+        outbound.send(session, new TextMessage(message));
     }
 
     private String createMessage(String type, String message, Object data) {
@@ -6,16 +6,33 @@ import com.hanazoom.domain.stock.dto.OrderBookItem;
 import com.hanazoom.domain.stock.dto.OrderBookResponse;
 import java.time.Duration;
 import com.hanazoom.domain.stock.service.StockChartService;
-import com.hanazoom.domain.stock.service.StockMinutePriceService;
+import com.hanazoom.domain.stock.service.MinuteCandleAggregator;
 import com.hanazoom.domain.stock.service.StockService;
-import com.hanazoom.domain.stock.entity.StockMinutePrice;
-import com.hanazoom.domain.stock.entity.Stock;
-import com.hanazoom.domain.stock.repository.StockRepository;
+import com.hanazoom.domain.stock.service.StockReferenceDataService;
+import com.hanazoom.domain.stock.service.StockTickArchiver;
 import org.springframework.context.ApplicationEventPublisher;
 import com.hanazoom.domain.order.event.OrderMatchingEvent;
-import com.hanazoom.global.config.KisConfig;
-import com.hanazoom.global.service.KisApiService;
-import com.hanazoom.global.util.MarketTimeUtils;
+import com.hanazoom.global.redis.BatchedRedisWriter;
+import com.hanazoom.global.redis.MarketDataKeys;
+import com.hanazoom.global.redis.RedisHealthMonitor;
+import com.hanazoom.global.realtime.CandleStreamPublisher;
+import com.hanazoom.global.realtime.ConflatingBroadcaster;
+import com.hanazoom.global.realtime.ConflatingStage;
+import com.hanazoom.global.realtime.KisSubscriptionManager;
+import com.hanazoom.global.realtime.KisTick;
+import com.hanazoom.global.realtime.MarketFeedCluster;
+import com.hanazoom.global.realtime.OrderBookStore;
+import com.hanazoom.global.realtime.QueueingStage;
+import com.hanazoom.global.realtime.RealtimeMetrics;
+import com.hanazoom.global.realtime.RealtimeMetrics.TickStage;
+import com.hanazoom.global.realtime.RealtimeOrderBook;
+import com.hanazoom.global.realtime.StockUpdateEncoder;
+import com.hanazoom.global.realtime.StockUpdateFrame;
+import com.hanazoom.global.realtime.TickPipeline;
+import com.hanazoom.global.realtime.WebSocketOutbound;
+import com.hanazoom.global.util.MarketSession;
+import com.hanazoom.global.util.MarketSessionChangedEvent;
+import com.hanazoom.global.util.MarketSessionClock;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.json.JSONObject;
@@ -24,21 +41,15 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.client.WebSocketClient;
-import org.springframework.web.socket.client.standard.StandardWebSocketClient;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 import org.springframework.data.redis.core.RedisTemplate;
 
 import javax.annotation.PostConstruct;
-import java.math.BigDecimal;
-import java.net.URI;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.Random;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.event.EventListener;
 
 @Slf4j
 @Component
@@ -46,119 +57,108 @@ import org.springframework.scheduling.annotation.Scheduled;
 public class StockWebSocketHandler extends TextWebSocketHandler {
 
     private final List<WebSocketSession> clientSessions = new CopyOnWriteArrayList<>();
-    private final Map<String, Set<WebSocketSession>> stockSubscriptions = new ConcurrentHashMap<>();
-    private final KisApiService kisApiService;
-    private final KisConfig kisConfig;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisHealthMonitor redisHealthMonitor;
+    private final BatchedRedisWriter redisWriter;
     private final ObjectMapper objectMapper;
     private final StockChartService stockChartService;
-    private final MarketTimeUtils marketTimeUtils;
-    private final StockMinutePriceService stockMinutePriceService;
+    private final MarketSessionClock marketSessionClock;
+    private final MinuteCandleAggregator candleAggregator;
     private final StockService stockService;
-    private final StockRepository stockRepository;
+    private final StockReferenceDataService stockReferenceDataService;
     private final ApplicationEventPublisher eventPublisher;
+    private final TickPipeline tickPipeline;
+    private final OrderBookStore orderBookStore;
+    private final ConflatingBroadcaster broadcaster;
+    private final StockUpdateEncoder stockUpdateEncoder;
+    private final KisSubscriptionManager subscriptionManager;
+    private final MarketFeedCluster marketFeedCluster;
+    private final WebSocketOutbound outbound;
+    private final RealtimeMetrics realtimeMetrics;
+    private final StockTickArchiver tickArchiver;
+    private final CandleStreamPublisher candleStream;
+
+    private static final String DELTA_SESSION_ATTRIBUTE = "stockDelta";
+
+    // 기본 구독 종목 (프론트엔드 티커와 동일) - 구독자가 없어도 슬롯이 남으면 KIS 에 유지
+    private static final List<String> DEFAULT_STOCKS = List.of("005930", "000660", "035420", "035720", "005380",
+            "051910", "207940", "068270", "323410", "373220");
+
+    // KIS 실시간 틱 처리 (샤드 스레드에서 실행)
+    private final KisTickProcessor tickProcessor = new KisTickProcessor();
+
+    // 실시간 틱 후속 처리 단계 (브로드캐스트 경로와 분리)
+    private final Map<String, OrderBookResponse> latestOrderBooks = new ConcurrentHashMap<>();
+    private QueueingStage<OrderMatchingEvent> matchingStage;
+    private ConflatingStage<StockPriceResponse> orderBookStage;
+    private ConflatingStage<StockPriceResponse> persistenceStage;
+    private ConflatingStage<StockPriceResponse> clusterFanoutStage;
 
-    // KIS 웹소켓 연결용
-    private WebSocketSession kisWebSocketSession;
-
-    // 장종료 플래그
-    private boolean marketClosedToday = false;
     
-    // Redis 연결 상태 체크
+    // Redis 연결 상태 체크 (RedisHealthMonitor 플래그만 확인, 네트워크 왕복 없음)
     private boolean isRedisConnectionAvailable() {
-        try {
-            redisTemplate.opsForValue().get("connection_test");
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return redisHealthMonitor.isAvailable();
     }
 
     @PostConstruct
-    public void connectToKis() {
-        try {
-            log.info("🔄 KIS WebSocket 연결 시도 중...");
-            WebSocketClient client = new StandardWebSocketClient();
-            URI uri = URI.create(kisConfig.getRealtimeUrl());
-            
-            // 기존 세션이 있다면 정리
-            if (kisWebSocketSession != null) {
-                try {
-                    kisWebSocketSession.close();
-                } catch (Exception e) {
-                    log.warn("⚠️ 기존 KIS WebSocket 세션 종료 중 오류: {}", e.getMessage());
-                }
-            }
-            
-            client.execute(new KisWebSocketHandler(), null, uri).get();
-            log.info("✅ KIS WebSocket 연결 성공");
+    public void initTickPipeline() {
+        // 주문 매칭: 모든 틱을 순서대로 처리, 적체 시 유실
+        matchingStage = tickPipeline.registerStage(
+                new QueueingStage<>("matching", 1, 4096, this::publishMatchingEvent));
+        // 호가 REST 갱신: 실시간 호가 수신 전(콜드 스타트)에만 사용, 종목별 최신 요청만 처리
+        orderBookStage = tickPipeline.registerStage(
+                new ConflatingStage<>("orderbook", 2, tickProcessor::refreshOrderBook));
+        // Redis/캔들/분봉 저장: 종목별 최신 틱만 처리 (순서 보장을 위해 워커 1개)
+        persistenceStage = tickPipeline.registerStage(
+                new ConflatingStage<>("persistence", 1, tickProcessor::persistStockData));
+        // 다른 노드로 종목 업데이트 발행: 종목별 최신 업데이트만 전송
+        clusterFanoutStage = tickPipeline.registerStage(
+                new ConflatingStage<>("cluster-fanout", 1, tickProcessor::publishToCluster));
+        tickPipeline.setTickHandler(tickProcessor::processTick);
+
+        // 틱 핸들러 등록 후 KIS 연결 시작 (클러스터 모드에서는 피드 리더 노드만 연결)
+        // 기본 종목은 구독자가 없어도 슬롯이 남으면 유지
+        marketFeedCluster.start(DEFAULT_STOCKS, this::onClusterUpdate, this::onRelayedTick);
+    }
 
-        } catch (Exception e) {
-            log.error("❌ Failed to connect to KIS WebSocket", e);
-            // 연결 실패 시 재시도 스케줄링
-            scheduleReconnection();
-        }
+    /**
+     * [matching 단계] 주문 매칭 이벤트 발행
+     */
+    private void publishMatchingEvent(OrderMatchingEvent event) {
+        long startNanos = System.nanoTime();
+        eventPublisher.publishEvent(event);
+        realtimeMetrics.record(TickStage.MATCHING, startNanos);
     }
 
-    // 재연결 스케줄링
-    private void scheduleReconnection() {
+    /**
+     * 피드 리더 노드가 발행한 종목 업데이트를 이 노드의 구독자에게 전달
+     */
+    private void onClusterUpdate(String stockCode, String payload) {
         try {
-            log.info("🔄 10초 후 KIS WebSocket 재연결 시도 예정...");
-            // 별도 스레드에서 재연결 시도 (메인 스레드 블로킹 방지)
-            new Thread(() -> {
-                try {
-                    Thread.sleep(10000);
-                    connectToKis();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.warn("⚠️ KIS WebSocket 재연결 스케줄링 중 인터럽트 발생");
-                } catch (Exception e) {
-                    log.error("❌ KIS WebSocket 재연결 스케줄링 실패", e);
-                }
-            }).start();
+            StockPriceResponse stockData = objectMapper.readValue(payload, StockPriceResponse.class);
+            broadcastToSubscribers(stockCode, stockData);
         } catch (Exception e) {
-            log.error("❌ KIS WebSocket 재연결 스케줄링 시작 실패", e);
+            log.warn("⚠️ 클러스터 종목 업데이트 처리 실패: {} - {}", stockCode, e.getMessage());
         }
     }
 
-    // KIS WebSocket 세션 오류 처리
-    private void handleKisSessionError() {
-        try {
-            log.info("🔄 KIS WebSocket 재연결 시도 중...");
-            
-            // Redis 연결 상태 확인
-            if (!isRedisConnectionAvailable()) {
-                log.warn("⚠️ Redis 연결이 불안정합니다. 웹소켓 재연결을 지연합니다.");
-                // Redis 연결이 불안정한 경우 재연결을 지연
-                scheduleReconnection();
-                return;
-            }
-            
-            if (kisWebSocketSession != null) {
-                try {
-                    kisWebSocketSession.close();
-                } catch (Exception e) {
-                    log.warn("⚠️ 기존 KIS WebSocket 세션 종료 중 오류: {}", e.getMessage());
-                }
-                kisWebSocketSession = null;
-            }
-            
-            // 잠시 대기 후 재연결
-            Thread.sleep(2000);
-            connectToKis();
-        } catch (Exception e) {
-            log.error("❌ KIS WebSocket 재연결 실패", e);
-            // 재연결 실패 시 스케줄링으로 재시도
-            scheduleReconnection();
-        }
+    /**
+     * 피드 리더가 중계한 체결 틱으로 이 노드의 진행 중 캔들과 캔들 스트림 갱신 (저장은 리더가 함)
+     */
+    private void onRelayedTick(KisTick tick) {
+        candleAggregator.onRelayedTick(tick);
+        candleStream.onTick(tick.getSymbol());
     }
 
     @Override
     public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
+        outbound.register(session);
         clientSessions.add(session);
 
         // 연결 성공 메시지 전송
         sendToClient(session, createMessage("CONNECTION_ESTABLISHED", "웹소켓 연결이 성공했습니다.", null));
+        // 현재 시장 상태 전송 (이후에는 상태가 바뀔 때만 MARKET_STATUS 전송)
+        sendToClient(session, createMarketStatusMessage(marketSessionClock.current()));
     }
 
     @Override
@@ -176,6 +176,15 @@ public class StockWebSocketHandler extends TextWebSocketHandler {
                 case "UNSUBSCRIBE":
                     handleUnsubscription(session, jsonMessage);
                     break;
+                case "SUBSCRIBE_CANDLES":
+                    handleCandleSubscription(session, jsonMessage);
+                    break;
+                case "UNSUBSCRIBE_CANDLES":
+                    handleCandleUnsubscription(session, jsonMessage);
+                    break;
+                case "RESYNC":
+                    handleResync(session, jsonMessage);
+                    break;
                 case "PING":
                     sendToClient(session, createMessage("PONG", "연결 상태 양호", null));
                     break;
@@ -191,38 +200,17 @@ public class StockWebSocketHandler extends TextWebSocketHandler {
     @Override
     public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status) throws Exception {
         clientSessions.remove(session);
+        broadcaster.unregister(session);
+        outbound.unregister(session);
+        candleStream.removeSession(session);
 
-        // 구독 정리
-        stockSubscriptions.values().forEach(sessions -> sessions.remove(session));
+        // 구독 정리 (세션 역색인으로 자기 구독만 해제)
+        subscriptionManager.removeSession(session);
 
         log.info("❌ 클라이언트 웹소켓 연결 종료: {} (총 {}개 연결), 상태: {}, 코드: {}, 이유: {}", session.getId(), clientSessions.size(),
                 status, status.getCode(), status.getReason());
     }
 
-    /**
-     * WebSocket 세션 오류 처리 및 정리
-     */
-    private void handleSessionError(WebSocketSession session) {
-        try {
-            if (session != null) {
-                // 클라이언트 세션 목록에서 제거
-                clientSessions.remove(session);
-                
-                // 구독 목록에서 제거
-                stockSubscriptions.values().forEach(sessions -> sessions.remove(session));
-                
-                // 세션 강제 종료
-                if (session.isOpen()) {
-                    session.close();
-                }
-                
-                log.warn("⚠️ 오류 발생한 WebSocket 세션 정리 완료: {}", session.getId());
-            }
-        } catch (Exception e) {
-            log.error("❌ 세션 오류 처리 중 추가 오류 발생: {}", session != null ? session.getId() : "null", e);
-        }
-    }
-
     @Override
     public void handleTransportError(@NonNull WebSocketSession session, @NonNull Throwable exception) throws Exception {
         log.error("🚨 웹소켓 전송 오류 발생: session={}, error={}", session.getId(), exception.getMessage(), exception);
@@ -231,27 +219,26 @@ public class StockWebSocketHandler extends TextWebSocketHandler {
 
     private void handleSubscription(WebSocketSession session, JSONObject message) {
         try {
+            // 델타 프로토콜 사용 여부 (스냅샷 1회 후 변경 필드만 STOCK_DELTA 로 수신)
+            if (message.optBoolean("delta", false)) {
+                session.getAttributes().put(DELTA_SESSION_ATTRIBUTE, Boolean.TRUE);
+            }
+
             if (message.has("stockCodes")) {
                 var stockCodes = message.getJSONArray("stockCodes");
                 List<String> codes = new ArrayList<>();
 
                 for (int i = 0; i < stockCodes.length(); i++) {
-                    String stockCode = stockCodes.getString(i);
-                    codes.add(stockCode);
-
-                    // 이미 해당 세션이 구독 중인지 확인
-                    Set<WebSocketSession> subscribers = stockSubscriptions.computeIfAbsent(stockCode,
-                            k -> ConcurrentHashMap.newKeySet());
-                    if (!subscribers.contains(session)) {
-                        subscribers.add(session);
-
-                    } else {
-
-                    }
+                    codes.add(stockCodes.getString(i));
                 }
 
-                // KIS 웹소켓에 구독 요청 (이미 구독된 종목은 제외)
-                subscribeToKisWebSocket(codes);
+                // 구독 등록 (종목의 첫 구독자일 때만 KIS 실시간 등록, 등록 한도 초과 종목은 거절)
+                List<String> rejected = subscriptionManager.subscribe(session, codes);
+                if (!rejected.isEmpty()) {
+                    codes.removeAll(rejected);
+                    sendToClient(session, createMessage("SUBSCRIPTION_LIMIT", "실시간 구독 한도를 초과했습니다.",
+                            Map.of("stockCodes", rejected, "slots", subscriptionManager.getSlotUsage())));
+                }
 
                 // 구독 성공 응답
                 sendToClient(session, createMessage("SUBSCRIBED", "구독이 완료되었습니다.", Map.of("stockCodes", codes)));
@@ -265,6 +252,89 @@ public class StockWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
+    /**
+     * 실시간 캔들 스트림 구독 ({"type":"SUBSCRIBE_CANDLES","stockCode":"005930","timeframes":["1M","5M"]})
+     * 캔들은 체결 틱으로 갱신되므로 종목의 KIS 실시간 등록을 캔들 관심으로 유지한다 (시세 STOCK_UPDATE 는 보내지 않음).
+     */
+    private void handleCandleSubscription(WebSocketSession session, JSONObject message) {
+        try {
+            String stockCode = message.getString("stockCode");
+            List<String> timeframes = readTimeframes(message);
+
+            if (!subscriptionManager.subscribeCandles(session, stockCode)) {
+                sendToClient(session, createMessage("SUBSCRIPTION_LIMIT", "실시간 구독 한도를 초과했습니다.",
+                        Map.of("stockCodes", List.of(stockCode), "slots", subscriptionManager.getSlotUsage())));
+                return;
+            }
+
+            List<String> rejected = candleStream.subscribe(session, stockCode, timeframes);
+            List<String> accepted = new ArrayList<>(timeframes);
+            accepted.removeAll(rejected);
+            if (!candleStream.hasStreams(session, stockCode)) {
+                // 구독된 스트림이 하나도 없으면 캔들 관심도 되돌림
+                subscriptionManager.unsubscribeCandles(session, stockCode);
+            }
+            if (!rejected.isEmpty()) {
+                sendToClient(session, createMessage("ERROR", "구독할 수 없는 캔들 시간봉입니다.",
+                        Map.of("stockCode", stockCode, "timeframes", rejected)));
+            }
+            sendToClient(session, createMessage("CANDLES_SUBSCRIBED", "캔들 구독이 완료되었습니다.",
+                    Map.of("stockCode", stockCode, "timeframes", accepted)));
+        } catch (Exception e) {
+            log.error("❌ 캔들 구독 처리 오류", e);
+            sendToClient(session, createMessage("ERROR", "캔들 구독 처리 중 오류가 발생했습니다.", null));
+        }
+    }
+
+    private void handleCandleUnsubscription(WebSocketSession session, JSONObject message) {
+        try {
+            String stockCode = message.getString("stockCode");
+            List<String> timeframes = readTimeframes(message);
+            if (!candleStream.unsubscribe(session, stockCode, timeframes)) {
+                // 세션의 이 종목 스트림이 모두 해제되면 캔들 관심 해제 (시세 구독과 모두 0 이면 유휴 처리)
+                subscriptionManager.unsubscribeCandles(session, stockCode);
+            }
+            sendToClient(session, createMessage("CANDLES_UNSUBSCRIBED", "캔들 구독 해제가 완료되었습니다.",
+                    Map.of("stockCode", stockCode, "timeframes", timeframes)));
+        } catch (Exception e) {
+            log.error("❌ 캔들 구독 해제 처리 오류", e);
+        }
+    }
+
+    private List<String> readTimeframes(JSONObject message) {
+        List<String> timeframes = new ArrayList<>();
+        var array = message.optJSONArray("timeframes");
+        if (array == null) {
+            timeframes.add("1M");
+            return timeframes;
+        }
+        for (int i = 0; i < array.length(); i++) {
+            timeframes.add(array.getString(i));
+        }
+        return timeframes;
+    }
+
+    /**
+     * 델타 프로토콜 클라이언트가 seq 누락을 감지했을 때 최신 스냅샷 재전송
+     */
+    private void handleResync(WebSocketSession session, JSONObject message) {
+        try {
+            if (message.has("stockCodes")) {
+                var stockCodes = message.getJSONArray("stockCodes");
+                for (int i = 0; i < stockCodes.length(); i++) {
+                    String stockCode = stockCodes.getString(i);
+                    broadcaster.resync(session, stockCode, stockUpdateEncoder.latest(stockCode));
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ 재동기화 처리 오류", e);
+        }
+    }
+
+    private boolean isDeltaSession(WebSocketSession session) {
+        return Boolean.TRUE.equals(session.getAttributes().get(DELTA_SESSION_ATTRIBUTE));
+    }
+
     private void handleUnsubscription(WebSocketSession session, JSONObject message) {
         try {
             if (message.has("stockCodes")) {
@@ -272,19 +342,12 @@ public class StockWebSocketHandler extends TextWebSocketHandler {
                 List<String> codes = new ArrayList<>();
 
                 for (int i = 0; i < stockCodes.length(); i++) {
-                    String stockCode = stockCodes.getString(i);
-                    codes.add(stockCode);
-
-                    // 구독 맵에서 세션 제거
-                    Set<WebSocketSession> sessions = stockSubscriptions.get(stockCode);
-                    if (sessions != null) {
-                        sessions.remove(session);
-                        if (sessions.isEmpty()) {
-                            stockSubscriptions.remove(stockCode);
-                        }
-                    }
+                    codes.add(stockCodes.getString(i));
                 }
 
+                // 마지막 구독자가 떠난 종목은 유휴 상태가 되며 일정 시간 후 KIS 등록 해제
+                subscriptionManager.unsubscribe(session, codes);
+
                 sendToClient(session, createMessage("UNSUBSCRIBED", "구독 해제가 완료되었습니다.", Map.of("stockCodes", codes)));
             }
         } catch (Exception e) {
@@ -300,12 +363,26 @@ public class StockWebSocketHandler extends TextWebSocketHandler {
         
         for (String stockCode : stockCodes) {
             try {
+                // 0. 메모리에 최근 인코딩된 프레임이 있으면 그대로 재사용 (델타 세션은 스냅샷부터 다시 시작)
+                StockUpdateFrame latest = stockUpdateEncoder.latest(stockCode);
+                if (isDeltaSession(session)) {
+                    broadcaster.resync(session, stockCode, latest);
+                    if (latest != null) {
+                        continue;
+                    }
+                } else if (latest != null) {
+                    broadcaster.enqueue(session, stockCode, latest.getSnapshot());
+                    continue;
+                }
+
                 // 1. 실시간 데이터 먼저 확인
-                String cachedData = (String) redisTemplate.opsForValue().get("stock:realtime:" + stockCode);
+                String cachedData = redisHealthMonitor.execute(
+                        () -> (String) redisTemplate.opsForValue().get("stock:realtime:" + stockCode), null);
                 
                 // 2. 실시간 데이터가 없으면 장종료 종가 데이터 확인
                 if (cachedData == null) {
-                    cachedData = (String) redisTemplate.opsForValue().get("stock:closing:" + stockCode);
+                    cachedData = redisHealthMonitor.execute(
+                            () -> (String) redisTemplate.opsForValue().get("stock:closing:" + stockCode), null);
                     if (cachedData != null) {
                         log.info("장종료 종가 데이터 사용: 종목={}", stockCode);
                     }
@@ -321,120 +398,35 @@ public class StockWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void subscribeToKisWebSocket(List<String> stockCodes) {
-        if (kisWebSocketSession != null && kisWebSocketSession.isOpen()) {
-            for (String stockCode : stockCodes) {
-                // 이미 구독 중인지 확인
-                if (!stockSubscriptions.containsKey(stockCode) || stockSubscriptions.get(stockCode).isEmpty()) {
-                    continue; // 다른 클라이언트가 이미 구독 중
-                }
-
-                try {
-                    JSONObject request = createKisSubscriptionRequest(stockCode);
-                    // WebSocket 세션 상태를 안전하게 확인하고 메시지 전송
-                    synchronized (kisWebSocketSession) {
-                        if (kisWebSocketSession.isOpen()) {
-                            kisWebSocketSession.sendMessage(new TextMessage(request.toString()));
-                            log.debug("✅ KIS 구독 요청 성공: {}", stockCode);
-                        } else {
-                            log.warn("⚠️ KIS WebSocket 세션이 닫혀있음: {}", stockCode);
-                            handleKisSessionError();
-                            break; // 세션이 닫혀있으면 루프 중단
-                        }
-                    }
-                } catch (IllegalStateException e) {
-                    log.warn("⚠️ KIS WebSocket 세션 상태 오류 ({}): {}", stockCode, e.getMessage());
-                    handleKisSessionError();
-                    break; // 세션 상태 오류 시 루프 중단
-                } catch (Exception e) {
-                    log.error("❌ KIS 구독 요청 실패: {}", stockCode, e);
-                    // 일반적인 예외는 계속 진행하되, 세션 오류는 재연결 시도
-                    if (e.getMessage().contains("TEXT_PARTIAL_WRITING") || 
-                        e.getMessage().contains("remote endpoint")) {
-                        handleKisSessionError();
-                        break;
-                    }
-                }
-            }
-        } else {
-            log.warn("⚠️ KIS 웹소켓이 연결되지 않음 - 재연결 시도");
-            handleKisSessionError();
-        }
-    }
-
-    private JSONObject createKisSubscriptionRequest(String stockCode) {
-        JSONObject request = new JSONObject();
-        JSONObject header = new JSONObject();
-
-        header.put("approval_key", kisApiService.getRealtimeApprovalKey());
-        header.put("custtype", "P");
-        header.put("tr_type", "1");
-        header.put("content-type", "utf-8");
-
-        JSONObject body = new JSONObject();
-        JSONObject input = new JSONObject();
-        input.put("tr_id", "H0STCNT0");
-        input.put("tr_key", stockCode);
-
-        body.put("input", input);
-        request.put("header", header);
-        request.put("body", body);
-
-        return request;
-    }
-
     private void broadcastToSubscribers(String stockCode, Object stockData) {
-        Set<WebSocketSession> subscribers = stockSubscriptions.get(stockCode);
-        if (subscribers != null && !subscribers.isEmpty()) {
-            String message = createMessage("STOCK_UPDATE", "실시간 주식 데이터", Map.of("stockData", stockData));
+        // 프레임은 업데이트당 한 번만 인코딩하고 모든 세션이 공유 (실제 전송은 브로드캐스터 송신 스레드에서)
+        // 구독자가 없어도 인코딩해 두어야 신규 구독 시 최신 스냅샷을 바로 보낼 수 있음
+        StockUpdateFrame frame;
+        try {
+            frame = stockUpdateEncoder.encode(stockCode, stockData);
+        } catch (Exception e) {
+            log.error("❌ 실시간 데이터 프레임 생성 실패: {}", stockCode, e);
+            return;
+        }
 
-            List<WebSocketSession> deadSessions = new ArrayList<>();
-            for (WebSocketSession session : subscribers) {
-                try {
-                    if (session != null && session.isOpen()) {
-                        synchronized (session) {
-                            if (session.isOpen()) {
-                                session.sendMessage(new TextMessage(message));
-                            }
-                        }
-                    } else {
-                        deadSessions.add(session);
-                    }
-                } catch (IllegalStateException e) {
-                    log.warn("⚠️ WebSocket 세션 상태 오류 ({}): {}", session.getId(), e.getMessage());
-                    deadSessions.add(session);
-                } catch (Exception e) {
-                    log.error("❌ 클라이언트에게 데이터 전송 실패: {}", session.getId(), e);
-                    deadSessions.add(session);
+        // 닫힌 세션은 afterConnectionClosed 에서 구독 정리
+        for (WebSocketSession session : subscriptionManager.getSubscribers(stockCode)) {
+            if (session.isOpen()) {
+                if (isDeltaSession(session)) {
+                    broadcaster.enqueueDelta(session, frame);
+                } else {
+                    broadcaster.enqueue(session, stockCode, frame.getSnapshot());
                 }
             }
-
-            // 죽은 세션들 정리
-            deadSessions.forEach(subscribers::remove);
-            if (subscribers.isEmpty()) {
-                stockSubscriptions.remove(stockCode);
-            }
         }
     }
 
+    /**
+     * 클라이언트 전송 (송신 스레드에서 비동기 전송, 한도를 넘은 세션은 WebSocketOutbound 가 종료)
+     */
     private void sendToClient(WebSocketSession session, String message) {
-        try {
-            if (session != null && session.isOpen()) {
-                // 세션이 쓰기 가능한 상태인지 확인
-                synchronized (session) {
-                    if (session.isOpen()) {
-                        session.sendMessage(new TextMessage(message));
-                    }
-                }
-            }
-        } catch (IllegalStateException e) {
-            log.warn("⚠️ WebSocket 세션 상태 오류 ({}): {}", session.getId(), e.getMessage());
-            // 세션 상태 오류 시 해당 세션을 정리
-            handleSessionError(session);
-        } catch (Exception e) {
-            log.error("❌ 클라이언트 메시지 전송 실패: {}", session.getId(), e);
-            // 기타 오류 시에도 세션 정리
-            handleSessionError(session);
+        if (!outbound.send(session, new TextMessage(message)) && session != null && session.isOpen()) {
+            log.debug("⚠️ 클라이언트 메시지 송신 큐 포화 - 유실: {}", session.getId());
         }
     }
 
@@ -454,338 +446,228 @@ public class StockWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    // KIS 웹소켓으로부터 데이터를 수신하는 핸들러
-    private class KisWebSocketHandler extends TextWebSocketHandler {
-        @Override
-        public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
-            kisWebSocketSession = session;
+    // KIS 실시간 체결 틱 처리 및 후속 단계 (연결 관리는 KisConnectionPool)
+    private class KisTickProcessor {
 
-            // 기본 종목들 구독 (프론트엔드 티커와 동일)
-            List<String> defaultStocks = Arrays.asList("005930", "000660", "035420", "035720", "005380", "051910",
-                    "207940", "068270", "323410", "373220");
-            subscribeToDefaultStocks(session, defaultStocks);
-        }
+        private void processTick(KisTick tick) {
+            try {
+                String stockCode = tick.getSymbol(); // 종목코드
+                realtimeMetrics.markExchangeTime(stockCode, tick.getBusinessDate(), tick.getTradeTime());
+                String currentPrice = String.valueOf(tick.getPrice()); // 현재가
+                String changePrice = String.valueOf(tick.getChange()); // 전일대비 (하락 시 음수)
+                String changeRate = tick.getChangeRateText(); // 등락률 (하락 시 음수)
+                String openPrice = String.valueOf(tick.getOpen()); // 시가
+                String highPrice = String.valueOf(tick.getHigh()); // 고가
+                String lowPrice = String.valueOf(tick.getLow()); // 저가
+                String previousClose = String.valueOf(tick.getPreviousClose()); // 전일종가
+                String volume = String.valueOf(tick.getCumulativeVolume()); // 누적거래량
+
+                // 등락구분 변환 (KIS: 5=하락, 2=상승, 3=보합 → 우리 시스템: 4=하락, 2=상승, 3=보합)
+                String normalizedChangeSign = normalizeChangeSign(tick.getChangeSign());
+
+                // 종목명은 기준정보 캐시에서 조회 (브로드캐스트 경로에서 Redis/DB 왕복 없음)
+                String stockName = stockReferenceDataService.getName(stockCode);
+
+                // 시장 운영 상태 (시장 시계가 미리 계산한 스냅샷 - volatile 읽기 한 번)
+                MarketSession marketSession = marketSessionClock.current();
+
+                // 장종료 후에는 현재가가 종가를 의미함
+                String displayCurrentPrice = currentPrice;
+
+                // 호가창 데이터 - 실시간 호가(H0STASP0) 우선, 수신 전에는 REST 스냅샷으로 대체
+                List<OrderBookItem> askOrders;
+                List<OrderBookItem> bidOrders;
+                String totalAskQuantity;
+                String totalBidQuantity;
+
+                RealtimeOrderBook realtimeBook = orderBookStore.find(stockCode);
+                OrderBookResponse orderBook = realtimeBook == null ? latestOrderBooks.get(stockCode) : null;
+                if (realtimeBook != null) {
+                    askOrders = realtimeBook.getAskOrders();
+                    bidOrders = realtimeBook.getBidOrders();
+                    totalAskQuantity = String.valueOf(realtimeBook.getTotalAskQuantity());
+                    totalBidQuantity = String.valueOf(realtimeBook.getTotalBidQuantity());
+                } else if (orderBook != null && isOrderBookInSync(orderBook, tick.getPrice())) {
+                    askOrders = orderBook.getAskOrders();
+                    bidOrders = orderBook.getBidOrders();
+                    totalAskQuantity = orderBook.getTotalAskQuantity();
+                    totalBidQuantity = orderBook.getTotalBidQuantity();
+                } else {
+                    // 스냅샷이 없거나 현재가와 맞지 않으면 현재가 기준으로 생성
+                    askOrders = generateOrderBookAroundCurrentPrice(currentPrice, true);
+                    bidOrders = generateOrderBookAroundCurrentPrice(currentPrice, false);
+                    totalAskQuantity = calculateTotalQuantity(askOrders);
+                    totalBidQuantity = calculateTotalQuantity(bidOrders);
+                }
+
+                // StockPriceResponse 객체 생성
+                StockPriceResponse stockData = StockPriceResponse.builder()
+                        .stockCode(stockCode)
+                        .stockName(stockName)
+                        .currentPrice(displayCurrentPrice)
+                        .changePrice(changePrice)
+                        .changeRate(changeRate)
+                        .changeSign(normalizedChangeSign)
+                        .volume(volume)
+                        .openPrice(openPrice)
+                        .highPrice(highPrice)
+                        .lowPrice(lowPrice)
+                        .previousClose(previousClose)
+                        .marketCap(calculateMarketCap(stockCode, currentPrice))
+                        .updatedTime(String.valueOf(System.currentTimeMillis()))
+                        // 새로 추가된 필드들
+                        .isMarketOpen(marketSession.isMarketOpen())
+                        .isAfterMarketClose(marketSession.isAfterMarketClose())
+                        .marketStatus(marketSession.getStatusMessage())
+                        // 호가창 데이터
+                        .askOrders(askOrders)
+                        .bidOrders(bidOrders)
+                        .totalAskQuantity(totalAskQuantity)
+                        .totalBidQuantity(totalBidQuantity)
+                        .build();
+
+                // 호가창 관련 계산 수행
+                stockData.calculateSpread();
+                stockData.calculateImbalanceRatio();
+
+                // 구독자들에게 브로드캐스트 (MySQL/Redis 지연과 무관하게 즉시 전송)
+                long broadcastStart = System.nanoTime();
+                broadcastToSubscribers(stockCode, stockData);
+                realtimeMetrics.record(TickStage.BROADCAST, broadcastStart);
+
+                // 후속 단계로 전달 - 각 단계는 자체 스레드/큐에서 처리되며 가득 차면 유실 또는 최신값으로 덮어씀
+                matchingStage.offer(new OrderMatchingEvent(this, stockCode, displayCurrentPrice, askOrders, bidOrders));
+                if (realtimeBook == null) {
+                    // 실시간 호가 수신 전(콜드 스타트)에만 REST 조회
+                    orderBookStage.offer(stockCode, stockData);
+                }
+                persistenceStage.offer(stockCode, stockData);
+                if (marketFeedCluster.isPublishing()) {
+                    clusterFanoutStage.offer(stockCode, stockData);
+                    // 다른 노드의 분봉 집계용 체결 틱 중계 (묶어서 주기적으로 발행)
+                    marketFeedCluster.relayTick(tick);
+                }
+                // 분봉 집계 (메모리 캔들 갱신만, DB 저장은 집계기 스레드가 배치로 처리)
+                long minutePriceStart = System.nanoTime();
+                candleAggregator.onTick(tick);
+                realtimeMetrics.record(TickStage.MINUTE_PRICE, minutePriceStart);
 
-        @Override
-        protected void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message)
-                throws Exception {
-            String receivedMessage = message.getPayload();
+                // 캔들 스트림 구독자에게 진행 중 캔들 전송 (브로드캐스터 flush 주기마다 스트림당 최신 값만)
+                candleStream.onTick(stockCode);
 
-            // 실시간 시세 데이터 처리
-            if (receivedMessage.startsWith("0|H0STCNT0|")) {
-                handleKisRealtimeData(receivedMessage);
+                // 체결 틱 원본 보관 (유한 큐에 넣기만 하고 DB 배치 저장은 보관 스레드에서 처리)
+                tickArchiver.append(tick);
+            } catch (Exception e) {
+                log.error("❌ KIS 실시간 틱 처리 실패: {}", tick, e);
             }
         }
 
-        @Override
-        public void handleTransportError(@NonNull WebSocketSession session, @NonNull Throwable exception)
-                throws Exception {
-            log.error("❌ KIS 웹소켓 전송 오류", exception);
+        /**
+         * 호가 스냅샷이 현재가를 사이에 두고 있는지 확인
+         */
+        private boolean isOrderBookInSync(OrderBookResponse orderBook, long currentPrice) {
+            List<OrderBookItem> askOrders = orderBook.getAskOrders();
+            List<OrderBookItem> bidOrders = orderBook.getBidOrders();
+            if (askOrders == null || bidOrders == null) {
+                return false;
+            }
+            boolean hasValidAskOrders = askOrders.stream()
+                .anyMatch(ask -> Long.parseLong(ask.getPrice()) > currentPrice);
+            boolean hasValidBidOrders = bidOrders.stream()
+                .anyMatch(bid -> Long.parseLong(bid.getPrice()) < currentPrice);
+            return hasValidAskOrders && hasValidBidOrders;
         }
 
-        @Override
-        public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status)
-                throws Exception {
-            log.warn("❌ KIS 웹소켓 연결 종료: {}", status);
-            kisWebSocketSession = null;
+        /**
+         * [cluster-fanout 단계] 다른 노드 구독자용으로 종목 업데이트 발행
+         */
+        private void publishToCluster(StockPriceResponse stockData) {
+            long startNanos = System.nanoTime();
+            try {
+                marketFeedCluster.publish(stockData.getStockCode(), objectMapper.writeValueAsString(stockData));
+                realtimeMetrics.record(TickStage.CLUSTER_FANOUT, startNanos);
+            } catch (Exception e) {
+                log.warn("⚠️ 클러스터 종목 업데이트 발행 실패: {} - {}", stockData.getStockCode(), e.getMessage());
+            }
+        }
 
-            // 자동 재연결 시도 (정상 종료가 아닌 경우)
-            if (status.getCode() != CloseStatus.NORMAL.getCode()) {
-                log.info("🔄 KIS WebSocket 비정상 종료로 인한 재연결 시도");
-                
-                // Redis 연결 상태 확인 후 재연결 결정
-                if (isRedisConnectionAvailable()) {
-                    scheduleReconnection();
-                } else {
-                    log.warn("⚠️ Redis 연결이 불안정하여 웹소켓 재연결을 지연합니다.");
-                    // Redis 연결이 불안정한 경우 더 긴 지연 후 재연결 시도
-                    new Thread(() -> {
-                        try {
-                            Thread.sleep(30000); // 30초 대기
-                            if (isRedisConnectionAvailable()) {
-                                connectToKis();
-                            } else {
-                                log.warn("⚠️ Redis 연결이 여전히 불안정합니다. 재연결을 포기합니다.");
-                            }
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                        } catch (Exception e) {
-                            log.error("❌ 지연된 KIS WebSocket 재연결 실패", e);
-                        }
-                    }).start();
-                }
+        /**
+         * [orderbook 단계] REST 호가 조회로 스냅샷 갱신 (실시간 호가 수신 전 콜드 스타트용)
+         */
+        private void refreshOrderBook(StockPriceResponse stockData) {
+            String stockCode = stockData.getStockCode();
+            if (orderBookStore.find(stockCode) != null) {
+                latestOrderBooks.remove(stockCode);
+                return;
+            }
+            long startNanos = System.nanoTime();
+            try {
+                latestOrderBooks.put(stockCode, stockService.getOrderBook(stockCode));
+                realtimeMetrics.record(TickStage.ORDER_BOOK_REST, startNanos);
+            } catch (Exception e) {
+                log.debug("⚠️ 실시간 호가창 데이터 조회 실패: {} - {}", stockCode, e.getMessage());
             }
         }
 
-        private void subscribeToDefaultStocks(WebSocketSession session, List<String> stockCodes) {
-            for (String stockCode : stockCodes) {
+        /**
+         * [persistence 단계] Redis 캐시, 캔들 저장 (종목별 최신 틱만 처리)
+         */
+        private void persistStockData(StockPriceResponse stockData) {
+            String stockCode = stockData.getStockCode();
+            String currentPrice = stockData.getCurrentPrice();
+            String volume = stockData.getVolume();
+
+            // Redis 캐시는 배치 쓰기로 예약 (50ms 단위로 키별 최신 값만 파이프라인 전송)
+            if (isRedisConnectionAvailable()) {
+                long redisStart = System.nanoTime();
                 try {
-                    JSONObject request = createKisSubscriptionRequest(stockCode);
-                    // WebSocket 세션 상태를 안전하게 확인하고 메시지 전송
-                    synchronized (session) {
-                        if (session.isOpen()) {
-                            session.sendMessage(new TextMessage(request.toString()));
-                            log.debug("✅ KIS 기본 구독 성공: {}", stockCode);
-                        } else {
-                            log.warn("⚠️ KIS WebSocket 세션이 닫혀있음 (기본 구독): {}", stockCode);
-                            break;
-                        }
+                    OrderBookResponse adjustedResponse = OrderBookResponse.builder()
+                        .stockCode(stockCode)
+                        .stockName(stockData.getStockName())
+                        .currentPrice(currentPrice)
+                        .askOrders(stockData.getAskOrders())
+                        .bidOrders(stockData.getBidOrders())
+                        .totalAskQuantity(stockData.getTotalAskQuantity())
+                        .totalBidQuantity(stockData.getTotalBidQuantity())
+                        .build();
+                    redisWriter.set(MarketDataKeys.orderBook(stockCode), objectMapper.writeValueAsString(adjustedResponse), Duration.ofSeconds(1));
+
+                    String stockJson = objectMapper.writeValueAsString(stockData);
+                    redisWriter.set(MarketDataKeys.realtime(stockCode), stockJson);
+
+                    // 장종료 시점에 종가 데이터를 별도로 영구 보관
+                    if (stockData.isAfterMarketClose()) {
+                        redisWriter.set(MarketDataKeys.closing(stockCode), stockJson);
+                        log.info("장종료 종가 데이터 저장: 종목={}, 종가={}", stockCode, currentPrice);
                     }
-                } catch (IllegalStateException e) {
-                    log.warn("⚠️ KIS WebSocket 세션 상태 오류 (기본 구독): {}", stockCode, e.getMessage());
-                    break;
+                    realtimeMetrics.record(TickStage.REDIS, redisStart);
                 } catch (Exception e) {
-                    log.error("❌ KIS 기본 구독 실패: {}", stockCode, e);
-                    // 세션 오류 시 루프 중단
-                    if (e.getMessage().contains("TEXT_PARTIAL_WRITING") || 
-                        e.getMessage().contains("remote endpoint")) {
-                        break;
-                    }
+                    log.debug("Redis 실시간 데이터 캐시 저장 실패 (무시): {}", stockCode);
                 }
             }
-        }
 
-        private void handleKisRealtimeData(String message) {
+            // 캔들 차트 데이터 업데이트 (Redis 에러 무시)
+            long candleStart = System.nanoTime();
             try {
-
-                // KIS 실시간 데이터 형식: 0|H0STCNT0|001|종목코드^시간^현재가^등락구분^전일대비^등락률^...
-                if (message.startsWith("0|H0STCNT0|")) {
-                    String[] mainParts = message.split("\\|");
-                    if (mainParts.length >= 4) {
-                        // 실제 데이터는 4번째 부분에 ^ 구분자로 되어있음
-                        String dataString = mainParts[3];
-                        String[] dataParts = dataString.split("\\^");
-
-                        if (dataParts.length >= 15) {
-                            String stockCode = dataParts[0].trim(); // 종목코드
-                            // String timeStamp = dataParts[1].trim(); // 시간
-                            String currentPrice = dataParts[2].trim(); // 현재가
-                            String changeSign = dataParts[3].trim(); // 등락구분 (5=하락, 2=상승, 3=보합)
-                            String changePrice = dataParts[4].trim(); // 전일대비
-                            String changeRate = dataParts[5].trim(); // 등락률
-
-                            // 전일대비가 음수인 경우 KIS에서 이미 -가 붙어있음
-                            // 전일대비율도 마찬가지로 이미 -가 붙어있음
-                            // String weightedAvgPrice = dataParts[6].trim(); // 가중평균가
-                            String openPrice = dataParts[7].trim(); // 시가
-                            String highPrice = dataParts[8].trim(); // 고가
-                            String lowPrice = dataParts[9].trim(); // 저가
-                            String previousClose = dataParts[10].trim(); // 전일종가
-                            String bidPrice = dataParts[11].trim(); // 매수호가
-                            String askPrice = dataParts[12].trim(); // 매도호가
-                            String volume = dataParts[13].trim(); // 누적거래량
-                            // String volumeAmount = dataParts[14].trim(); // 누적거래대금
-
-                            // 등락구분 변환 (KIS: 5=하락, 2=상승, 3=보합 → 우리 시스템: 4=하락, 2=상승, 3=보합)
-                            String normalizedChangeSign = normalizeChangeSign(changeSign);
-
-                            // 종목명은 별도 저장소에서 조회 (DB 또는 캐시)
-                            String stockName = getStockNameFromCache(stockCode);
-
-                            // 시장 운영 상태 확인
-                            MarketTimeUtils.MarketTimeInfo marketInfo = marketTimeUtils.getMarketTimeInfo();
-                            boolean isMarketOpen = marketInfo.isMarketOpen();
-                            boolean isAfterMarketClose = marketInfo.isMarketClosed() &&
-                                    !marketInfo.getMarketStatus().equals(MarketTimeUtils.MarketStatus.CLOSED_WEEKEND) &&
-                                    !marketInfo.getMarketStatus().equals(MarketTimeUtils.MarketStatus.CLOSED_HOLIDAY);
-
-                            // 장종료 후에는 현재가가 종가를 의미함
-                            String displayCurrentPrice = currentPrice;
-                            if (isAfterMarketClose) {
-
-                            }
-
-                            // 호가창 데이터 생성 - 현재가와 동기화된 실시간 호가창 데이터
-                            List<OrderBookItem> askOrders = new ArrayList<>();
-                            List<OrderBookItem> bidOrders = new ArrayList<>();
-                            String totalAskQuantity = "0";
-                            String totalBidQuantity = "0";
-                            
-                            try {
-                                // 현재가 기준으로 실시간 호가창 데이터 조회
-                                OrderBookResponse orderBookResponse = stockService.getOrderBook(stockCode);
-                                askOrders = orderBookResponse.getAskOrders();
-                                bidOrders = orderBookResponse.getBidOrders();
-                                totalAskQuantity = orderBookResponse.getTotalAskQuantity();
-                                totalBidQuantity = orderBookResponse.getTotalBidQuantity();
-                                
-                                // 호가창 데이터 처리
-                                
-                                // 현재가와 호가창 데이터 동기화 검증
-                                long currentPriceLong = Long.parseLong(currentPrice);
-                                boolean hasValidAskOrders = askOrders.stream()
-                                    .anyMatch(ask -> Long.parseLong(ask.getPrice()) > currentPriceLong);
-                                boolean hasValidBidOrders = bidOrders.stream()
-                                    .anyMatch(bid -> Long.parseLong(bid.getPrice()) < currentPriceLong);
-                                
-                                // 호가창 데이터가 현재가와 맞지 않으면 현재가 기준으로 조정
-                                if (!hasValidAskOrders || !hasValidBidOrders) {
-                                    // 현재가 기준으로 호가창 데이터 재생성
-                                    askOrders = generateOrderBookAroundCurrentPrice(currentPrice, true);
-                                    bidOrders = generateOrderBookAroundCurrentPrice(currentPrice, false);
-                                    
-                                    // 총 잔량 재계산
-                                    totalAskQuantity = String.valueOf(askOrders.stream()
-                                        .mapToLong(order -> Long.parseLong(order.getQuantity())).sum());
-                                    totalBidQuantity = String.valueOf(bidOrders.stream()
-                                        .mapToLong(order -> Long.parseLong(order.getQuantity())).sum());
-                                }
-                                
-                                // Redis 연결이 가능한 경우에만 호가창 데이터 캐시
-                                if (isRedisConnectionAvailable()) {
-                                    try {
-                                        String orderBookCacheKey = "orderbook:" + stockCode;
-                                        OrderBookResponse adjustedResponse = OrderBookResponse.builder()
-                                            .stockCode(stockCode)
-                                            .stockName(stockName)
-                                            .currentPrice(currentPrice)
-                                            .askOrders(askOrders)
-                                            .bidOrders(bidOrders)
-                                            .totalAskQuantity(totalAskQuantity)
-                                            .totalBidQuantity(totalBidQuantity)
-                                            .build();
-                                        redisTemplate.opsForValue().set(orderBookCacheKey, objectMapper.writeValueAsString(adjustedResponse), Duration.ofSeconds(1));
-                                    } catch (Exception e) {
-                                        log.debug("Redis 호가창 캐시 저장 실패 (무시): {}", stockCode);
-                                    }
-                                }
-                                
-                                // 로그 제거 - 너무 많이 찍힘
-                            } catch (Exception e) {
-                                log.debug("⚠️ 실시간 호가창 데이터 조회 실패: {} - {}", stockCode, e.getMessage());
-                                // 호가창 데이터 조회 실패 시 현재가 기준으로 생성
-                                askOrders = generateOrderBookAroundCurrentPrice(currentPrice, true);
-                                bidOrders = generateOrderBookAroundCurrentPrice(currentPrice, false);
-                                totalAskQuantity = String.valueOf(askOrders.stream()
-                                    .mapToLong(order -> Long.parseLong(order.getQuantity())).sum());
-                                totalBidQuantity = String.valueOf(bidOrders.stream()
-                                    .mapToLong(order -> Long.parseLong(order.getQuantity())).sum());
-                            }
-                            
-                            // 주문 매칭 이벤트 발행 (실시간 가격 변동 시)
-                            try {
-                                OrderMatchingEvent event = new OrderMatchingEvent(this, stockCode, displayCurrentPrice, askOrders, bidOrders);
-                                eventPublisher.publishEvent(event);
-                            } catch (Exception e) {
-                                log.error("❌ 주문 매칭 이벤트 발행 실패: {}", stockCode, e);
-                            }
-
-                            // StockPriceResponse 객체 생성
-                            StockPriceResponse stockData = StockPriceResponse.builder()
-                                    .stockCode(stockCode)
-                                    .stockName(stockName)
-                                    .currentPrice(displayCurrentPrice)
-                                    .changePrice(changePrice)
-                                    .changeRate(changeRate)
-                                    .changeSign(normalizedChangeSign)
-                                    .volume(volume)
-                                    .openPrice(openPrice)
-                                    .highPrice(highPrice)
-                                    .lowPrice(lowPrice)
-                                    .previousClose(previousClose)
-                                    .marketCap(calculateMarketCap(stockCode, currentPrice))
-                                    .updatedTime(String.valueOf(System.currentTimeMillis()))
-                                    // 새로 추가된 필드들
-                                    .isMarketOpen(isMarketOpen)
-                                    .isAfterMarketClose(isAfterMarketClose)
-                                    .marketStatus(marketInfo.getStatusMessage())
-                                    // 호가창 데이터
-                                    .askOrders(askOrders)
-                                    .bidOrders(bidOrders)
-                                    .totalAskQuantity(totalAskQuantity)
-                                    .totalBidQuantity(totalBidQuantity)
-                                    .build();
-                            
-                            // 호가창 관련 계산 수행
-                            stockData.calculateSpread();
-                            stockData.calculateImbalanceRatio();
-
-                            // Redis 연결이 가능한 경우에만 캐시 저장
-                            if (isRedisConnectionAvailable()) {
-                                try {
-                                    String key = "stock:realtime:" + stockCode;
-                                    redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(stockData));
-
-                                    // 장종료 시점에 종가 데이터를 별도로 영구 보관
-                                    if (isAfterMarketClose) {
-                                        String closingPriceKey = "stock:closing:" + stockCode;
-                                        redisTemplate.opsForValue().set(closingPriceKey, objectMapper.writeValueAsString(stockData));
-                                        log.info("장종료 종가 데이터 저장: 종목={}, 종가={}", stockCode, currentPrice);
-                                    }
-                                } catch (Exception e) {
-                                    log.debug("Redis 실시간 데이터 캐시 저장 실패 (무시): {}", stockCode);
-                                }
-                            }
-
-                            // 거래량 데이터 디버깅 로그 제거 (너무 많이 찍힘)
-                            
-                            // 구독자들에게 브로드캐스트
-                            broadcastToSubscribers(stockCode, stockData);
-
-                            // 캔들 차트 데이터 업데이트 (Redis 에러 무시)
-                            try {
-                                stockChartService.updateCurrentCandle(stockCode, currentPrice, volume);
-                            } catch (Exception e) {
-                                log.debug("Redis 캔들 업데이트 실패 (무시): 종목={}", stockCode);
-                            }
-
-                            // 누적 거래량 캐시 저장 (분봉 계산용) - Redis 연결 가능한 경우에만
-                            if (isRedisConnectionAvailable()) {
-                                try {
-                                    String volumeCacheKey = "cumulative_volume:" + stockCode + ":" + System.currentTimeMillis();
-                                    redisTemplate.opsForValue().set(volumeCacheKey, volume, Duration.ofMinutes(5));
-                                } catch (Exception e) {
-                                    log.debug("Redis 거래량 캐시 저장 실패 (무시): {}", stockCode);
-                                }
-                            }
-                            
-                            // 분봉 데이터 업데이트 (1분, 5분, 15분)
-                            try {
-                                stockMinutePriceService.updateCurrentMinutePrice(stockCode, 
-                                    StockMinutePrice.MinuteInterval.ONE_MINUTE, 
-                                    new BigDecimal(currentPrice), 
-                                    Long.parseLong(volume));
-                                
-                                stockMinutePriceService.updateCurrentMinutePrice(stockCode, 
-                                    StockMinutePrice.MinuteInterval.FIVE_MINUTES, 
-                                    new BigDecimal(currentPrice), 
-                                    Long.parseLong(volume));
-                                
-                                stockMinutePriceService.updateCurrentMinutePrice(stockCode, 
-                                    StockMinutePrice.MinuteInterval.FIFTEEN_MINUTES, 
-                                    new BigDecimal(currentPrice), 
-                                    Long.parseLong(volume));
-                            } catch (Exception e) {
-                                log.warn("⚠️ 분봉 데이터 업데이트 실패: 종목={}", stockCode, e);
-                            }
-
-                            // 로그 제거 - 너무 많이 찍힘
-                        } else {
-                            log.warn("⚠️ KIS 데이터 필드 부족: 예상 15개, 실제 {}개", dataParts.length);
-                        }
-                    } else {
-                        log.warn("⚠️ KIS 데이터 형식 오류: mainParts.length = {}", mainParts.length);
-                    }
-                } else {
-                    // 비실시간 메시지는 로그에서 제외
-                }
+                stockChartService.updateCurrentCandle(stockCode, currentPrice, volume);
+                realtimeMetrics.record(TickStage.CANDLE, candleStart);
             } catch (Exception e) {
-                log.error("❌ KIS 실시간 데이터 처리 실패: {}", message, e);
+                log.debug("Redis 캔들 업데이트 실패 (무시): 종목={}", stockCode);
             }
         }
 
-        private String normalizeChangeSign(String kisChangeSign) {
+        private String normalizeChangeSign(byte kisChangeSign) {
             // KIS 등락구분을 우리 시스템 형식으로 변환
             switch (kisChangeSign) {
-                case "2":
+                case 2:
                     return "2"; // 상승
-                case "5":
+                case 5:
                     return "4"; // 하락 (KIS 5 → 우리 4)
-                case "3":
+                case 3:
                     return "3"; // 보합
-                case "1":
+                case 1:
                     return "1"; // 상한가
-                case "4":
+                case 4:
                     return "5"; // 하한가 (KIS 4 → 우리 5)
                 default:
                     return "3"; // 기본값: 보합
@@ -839,79 +721,13 @@ public class StockWebSocketHandler extends TextWebSocketHandler {
             return orders;
         }
 
-        private String getStockNameFromCache(String stockCode) {
-            try {
-                // Redis 연결 상태 확인 후 조회
-                if (isRedisConnectionAvailable()) {
-                    String cachedName = (String) redisTemplate.opsForValue().get("stock:name:" + stockCode);
-                    if (cachedName != null) {
-                        return cachedName;
-                    }
-                } else {
-                    log.debug("Redis 연결 불가 - 캐시 조회 건너뛰기: {}", stockCode);
-                }
-
-                // DB에서 종목명 조회
-                try {
-                    Stock stock = stockRepository.findBySymbol(stockCode).orElse(null);
-                    if (stock != null && stock.getName() != null) {
-                        // Redis 연결이 가능한 경우에만 캐시 저장
-                        if (isRedisConnectionAvailable()) {
-                            try {
-                                redisTemplate.opsForValue().set("stock:name:" + stockCode, stock.getName(), Duration.ofHours(24));
-                            } catch (Exception e) {
-                                log.debug("Redis 캐시 저장 실패 (무시): {}", stockCode);
-                            }
-                        }
-                        return stock.getName();
-                    }
-                } catch (Exception e) {
-                    log.warn("⚠️ DB에서 종목명 조회 실패: {}", stockCode, e);
-                }
-
-                // 기본 종목명 매핑 (티커 종목들)
-                switch (stockCode) {
-                    case "005930":
-                        return "삼성전자";
-                    case "000660":
-                        return "SK하이닉스";
-                    case "035420":
-                        return "NAVER";
-                    case "035720":
-                        return "카카오";
-                    case "005380":
-                        return "현대자동차";
-                    case "051910":
-                        return "LG화학";
-                    case "207940":
-                        return "삼성바이오로직스";
-                    case "068270":
-                        return "셀트리온";
-                    case "323410":
-                        return "카카오뱅크";
-                    case "373220":
-                        return "LG에너지솔루션";
-                    case "000810":
-                        return "삼성화재";
-                    case "034020":
-                        return "쿠팡";
-                    case "042660":
-                        return "대웅제약";
-                    case "086790":
-                        return "하나금융지주";
-                    default:
-                        return stockCode; // 종목코드를 그대로 반환
-                }
-            } catch (Exception e) {
-                log.warn("⚠️ 종목명 조회 실패: {}", stockCode, e);
-                return stockCode;
-            }
-        }
-
         private String calculateMarketCap(String stockCode, String currentPrice) {
             try {
-                // 상장주식수는 별도 관리 필요 (간단한 예시)
-                long shares = getListedShares(stockCode);
+                // 상장주식수는 기준정보 캐시에서 조회 (아직 모르면 0 → 백그라운드 조회 예약)
+                long shares = stockReferenceDataService.getListedShares(stockCode);
+                if (shares <= 0) {
+                    return "0";
+                }
                 long price = Long.parseLong(currentPrice);
                 long marketCap = (shares * price) / 100000000; // 억원 단위
                 return String.valueOf(marketCap);
@@ -921,102 +737,50 @@ public class StockWebSocketHandler extends TextWebSocketHandler {
             }
         }
 
-        private long getListedShares(String stockCode) {
-            // 주요 종목의 상장주식수 (단위: 주)
-            switch (stockCode) {
-                case "005930":
-                    return 5969782550L; // 삼성전자
-                case "000660":
-                    return 731883151L; // SK하이닉스
-                case "035420":
-                    return 16570000L; // NAVER
-                case "035720":
-                    return 434265829L; // 카카오
-                case "005380":
-                    return 3284956600L; // 현대자동차
-                case "051910":
-                    return 365206200L; // LG화학
-                case "207940":
-                    return 119548400L; // 삼성바이오로직스
-                case "068270":
-                    return 865306600L; // 셀트리온
-                case "323410":
-                    return 2627039200L; // 카카오뱅크
-                case "373220":
-                    return 685074950L; // LG에너지솔루션
-                default:
-                    return 100000000L; // 기본값
-            }
-        }
-
     }
 
-    @FunctionalInterface
-    private interface RedisOperation<T> {
-        T execute();
-    }
-
-
-
     /**
-     * 안전한 Redis 작업 수행
+     * 시장 상태 전환 처리
+     * - 모든 클라이언트에 MARKET_STATUS 전송
+     * - 정규장 종료(15:30) 시점에 구독 종목의 종가 데이터 저장
      */
-    private <T> T executeRedisSafely(RedisOperation<T> operation, T defaultValue) {
-        try {
-            if (!isRedisConnectionAvailable()) {
-                // Redis 연결 실패는 일반적인 상황이므로 DEBUG 레벨로 변경
-                log.debug("Redis 연결이 사용 불가능합니다. 기본값을 사용합니다.");
-                return defaultValue;
-            }
-            return operation.execute();
-        } catch (Exception e) {
-            // Redis 작업 실패는 일반적인 상황이므로 DEBUG 레벨로 변경
-            log.debug("Redis 작업 실패: {}", e.getMessage());
-            return defaultValue;
+    @EventListener
+    public void onMarketSessionChanged(MarketSessionChangedEvent event) {
+        String message = createMarketStatusMessage(event.getCurrent());
+        for (WebSocketSession session : clientSessions) {
+            sendToClient(session, message);
+        }
+
+        if (event.getPrevious().isMarketOpen() && event.getCurrent().isAfterMarketClose()) {
+            saveClosingPrices();
         }
     }
 
-    /**
-     * 장종료 시점 감지 및 종가 데이터 저장 스케줄러
-     * 매분마다 실행하여 장종료 시점(15:30)을 감지
-     */
-    @Scheduled(cron = "0 * * * * *") // 매분마다 실행
-    public void checkMarketCloseAndSaveClosingPrices() {
-        try {
-            LocalDateTime now = LocalDateTime.now();
-            LocalTime currentTime = now.toLocalTime();
-            
-            // 장종료 시점 감지 (15:30)
-            if (currentTime.getHour() == 15 && currentTime.getMinute() == 30 && !marketClosedToday) {
-                log.info("🕐 장종료 시점 감지 - 종가 데이터 저장 시작");
-                marketClosedToday = true;
-                
-                // 모든 구독 중인 종목의 종가 데이터 저장
-                for (String stockCode : stockSubscriptions.keySet()) {
-                    try {
-                        String realtimeData = (String) redisTemplate.opsForValue().get("stock:realtime:" + stockCode);
-                        if (realtimeData != null) {
-                            String closingPriceKey = "stock:closing:" + stockCode;
-                            redisTemplate.opsForValue().set(closingPriceKey, realtimeData);
-                            log.info("장종료 종가 데이터 저장 완료: 종목={}", stockCode);
-                        }
-                    } catch (Exception e) {
-                        log.error("장종료 종가 데이터 저장 실패: 종목={}", stockCode, e);
-                    }
+    private String createMarketStatusMessage(MarketSession marketSession) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("status", marketSession.getStatus().name());
+        data.put("isMarketOpen", marketSession.isMarketOpen());
+        data.put("isAfterMarketClose", marketSession.isAfterMarketClose());
+        data.put("nextTradingDay", marketSession.getNextTradingDay().toString());
+        data.put("nextTransitionAt", marketSession.getNextTransitionAt());
+        return createMessage("MARKET_STATUS", marketSession.getStatusMessage(), data);
+    }
+
+    private void saveClosingPrices() {
+        log.info("🕐 장종료 - 종가 데이터 저장 시작");
+        for (String stockCode : subscriptionManager.getSubscribedSymbols()) {
+            try {
+                String realtimeData = (String) redisTemplate.opsForValue().get(MarketDataKeys.realtime(stockCode));
+                if (realtimeData != null) {
+                    redisTemplate.opsForValue().set(MarketDataKeys.closing(stockCode), realtimeData);
+                    log.info("장종료 종가 데이터 저장 완료: 종목={}", stockCode);
                 }
-                
-                log.info("✅ 장종료 종가 데이터 저장 완료");
-            }
-            
-            // 다음 거래일 시작 시 플래그 리셋 (09:00)
-            if (currentTime.getHour() == 9 && currentTime.getMinute() == 0) {
-                marketClosedToday = false;
-                log.info("🔄 장종료 플래그 리셋 - 새로운 거래일 시작");
+            } catch (Exception e) {
+                redisHealthMonitor.recordFailure(e);
+                log.error("장종료 종가 데이터 저장 실패: 종목={}", stockCode, e);
             }
-            
-        } catch (Exception e) {
-            log.error("❌ 장종료 감지 스케줄러 오류", e);
         }
+        log.info("✅ 장종료 종가 데이터 저장 완료");
     }
 
     /**
@@ -1043,18 +807,9 @@ public class StockWebSocketHandler extends TextWebSocketHandler {
      * 모든 클라이언트에게 브로드캐스트
      */
     private void broadcastToAllClients(String message) {
+        TextMessage frame = new TextMessage(message);
         for (WebSocketSession session : clientSessions) {
-            try {
-                if (session.isOpen()) {
-                    synchronized (session) {
-                        if (session.isOpen()) {
-                            session.sendMessage(new TextMessage(message));
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                log.warn("⚠️ 브로드캐스트 전송 실패: {}", session.getId(), e);
-            }
+            outbound.send(session, frame);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,378 @@
+package com.hanazoom.global.realtime;
+
+import com.hanazoom.domain.stock.dto.CandleData;
+import com.hanazoom.domain.stock.entity.StockDailyPrice;
+import com.hanazoom.domain.stock.entity.StockMinutePrice;
+import com.hanazoom.domain.stock.service.MinuteCandleAggregator;
+import com.hanazoom.global.util.MarketSessionClock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실시간 캔들 스트림 (SUBSCRIBE_CANDLES)
+ *
+ * - 틱은 해당 종목 스트림에 갱신 표시만 하고, publish-interval-ms 마다 표시된 스트림의 진행 중 캔들을
+ *   MinuteCandleAggregator 에서 읽어 CANDLE_UPDATE 로 전송 (틱이 몰려도 스트림당 주기마다 인코딩 한 번)
+ * - 캔들 구간이 끝나면(다음 구간 틱 또는 구간 종료 후 close-grace-ms 경과) 마지막 값을 CANDLE_CLOSE 로 한 번 전송
+ * - 프레임은 구독 세션이 공유하고 ConflatingBroadcaster 로 보내므로 세션별 flush 주기마다 스트림당
+ *   최신 캔들 하나만 전송된다 (마감 알림은 별도 키라 덮어써지지 않음)
+ * - 마감 알림과 다음 캔들 업데이트의 도착 순서는 보장되지 않으므로 클라이언트는 dateTime 으로 캔들을 구분한다
+ * - 피드 리더는 직접 받은 틱으로, 다른 노드는 리더가 중계한 틱(MarketFeedCluster)으로 스트림을 갱신한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandleStreamPublisher {
+
+    public static final String UPDATE_TYPE = "CANDLE_UPDATE";
+    public static final String CLOSE_TYPE = "CANDLE_CLOSE";
+    private static final String DAILY_TIMEFRAME = "1D";
+
+    @Value("${realtime.candles.max-streams-per-session:20}")
+    private int maxStreamsPerSession;
+
+    @Value("${realtime.candles.close-grace-ms:2000}")
+    private long closeGraceMs;
+
+    @Value("${realtime.candles.publish-interval-ms:125}")
+    private long publishIntervalMs;
+
+    private final MinuteCandleAggregator candleAggregator;
+    private final StockUpdateEncoder encoder;
+    private final ConflatingBroadcaster broadcaster;
+
+    // 종목 → 시간봉 → 스트림 (틱 경로에서 락 없이 조회)
+    private final Map<String, Map<String, Stream>> streams = new ConcurrentHashMap<>();
+    // 세션 ID → 구독 스트림 (구독 변경은 이 객체로 동기화)
+    private final Map<String, Set<Stream>> sessionStreams = new ConcurrentHashMap<>();
+    // 마지막 전송 이후 틱이 들어온 스트림
+    private final Queue<Stream> dirtyStreams = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService publisher;
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder closes = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "candle-stream-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        publisher.scheduleWithFixedDelay(this::publishDirtyStreams, publishIntervalMs, publishIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (publisher != null) {
+            publisher.shutdownNow();
+        }
+    }
+
+    /**
+     * 캔들 스트림 구독
+     *
+     * @return 구독하지 못한 시간봉 (집계하지 않는 시간봉 또는 세션당 스트림 한도 초과)
+     */
+    public List<String> subscribe(WebSocketSession session, String symbol, Collection<String> timeframes) {
+        List<String> rejected = new ArrayList<>();
+        List<Stream> added = new ArrayList<>();
+        synchronized (this) {
+            Set<Stream> owned = sessionStreams.computeIfAbsent(session.getId(), id -> ConcurrentHashMap.newKeySet());
+            for (String timeframe : timeframes) {
+                StockMinutePrice.MinuteInterval interval = StockMinutePrice.MinuteInterval.fromTimeframe(timeframe);
+                boolean supported = DAILY_TIMEFRAME.equals(timeframe)
+                        ? candleAggregator.isDailyRollupEnabled()
+                        : interval != null && candleAggregator.getMinuteIntervals().contains(interval);
+                if (!supported || owned.size() >= maxStreamsPerSession) {
+                    rejected.add(timeframe);
+                    continue;
+                }
+                Stream stream = streams.computeIfAbsent(symbol, s -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(timeframe, tf -> new Stream(symbol, tf, interval));
+                if (stream.sessions.add(session)) {
+                    owned.add(stream);
+                    added.add(stream);
+                }
+            }
+            if (owned.isEmpty()) {
+                sessionStreams.remove(session.getId());
+            }
+        }
+        // 구독 직후 진행 중 캔들을 바로 전송
+        for (Stream stream : added) {
+            CandleData bar = liveBar(stream);
+            if (bar != null && !stream.isClosed(bar)) {
+                TextMessage frame = encode(UPDATE_TYPE, bar);
+                if (frame != null) {
+                    broadcaster.enqueue(session, stream.updateKey, frame);
+                }
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * 캔들 스트림 구독 해제
+     *
+     * @return 세션에 이 종목의 스트림이 남아 있으면 true
+     */
+    public synchronized boolean unsubscribe(WebSocketSession session, String symbol, Collection<String> timeframes) {
+        Set<Stream> owned = sessionStreams.get(session.getId());
+        if (owned == null) {
+            return false;
+        }
+        Map<String, Stream> bySymbol = streams.get(symbol);
+        if (bySymbol != null) {
+            for (String timeframe : timeframes) {
+                Stream stream = bySymbol.get(timeframe);
+                if (stream != null && owned.remove(stream)) {
+                    release(session, stream);
+                }
+            }
+        }
+        if (owned.isEmpty()) {
+            sessionStreams.remove(session.getId());
+        }
+        return hasStreams(session, symbol);
+    }
+
+    /**
+     * 세션이 이 종목의 스트림을 하나라도 구독 중인지
+     */
+    public synchronized boolean hasStreams(WebSocketSession session, String symbol) {
+        Set<Stream> owned = sessionStreams.get(session.getId());
+        if (owned == null) {
+            return false;
+        }
+        for (Stream stream : owned) {
+            if (stream.symbol.equals(symbol)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 세션 종료 시 해당 세션의 스트림 구독만 정리
+     */
+    public synchronized void removeSession(WebSocketSession session) {
+        Set<Stream> owned = sessionStreams.remove(session.getId());
+        if (owned == null) {
+            return;
+        }
+        for (Stream stream : owned) {
+            release(session, stream);
+        }
+    }
+
+    private void release(WebSocketSession session, Stream stream) {
+        stream.sessions.remove(session);
+        if (!stream.sessions.isEmpty()) {
+            return;
+        }
+        Map<String, Stream> bySymbol = streams.get(stream.symbol);
+        if (bySymbol != null) {
+            bySymbol.remove(stream.timeframe, stream);
+            if (bySymbol.isEmpty()) {
+                streams.remove(stream.symbol, bySymbol);
+            }
+        }
+    }
+
+    /**
+     * 틱 반영 후 종목 스트림에 갱신 표시 (틱 핸들러 스레드에서 집계기 onTick 다음에 호출, 구독이 없으면 맵 조회 한 번)
+     */
+    public void onTick(String symbol) {
+        Map<String, Stream> bySymbol = streams.get(symbol);
+        if (bySymbol == null) {
+            return;
+        }
+        for (Stream stream : bySymbol.values()) {
+            if (stream.dirty.compareAndSet(false, true)) {
+                dirtyStreams.offer(stream);
+            }
+        }
+    }
+
+    /**
+     * 갱신 표시된 스트림마다 진행 중 캔들을 한 번 인코딩해 전송 (publisher 스레드)
+     */
+    private void publishDirtyStreams() {
+        Stream stream;
+        while ((stream = dirtyStreams.poll()) != null) {
+            // 전송 중 들어온 틱은 다음 주기에 다시 전송되도록 먼저 표시를 지움
+            stream.dirty.set(false);
+            if (stream.sessions.isEmpty()) {
+                continue;
+            }
+            try {
+                publish(stream);
+            } catch (Exception e) {
+                log.warn("⚠️ 캔들 스트림 전송 실패: {} {} - {}", stream.symbol, stream.timeframe, e.getMessage());
+            }
+        }
+    }
+
+    private void publish(Stream stream) {
+        CandleData bar = liveBar(stream);
+        if (bar == null) {
+            return;
+        }
+        TextMessage closeFrame = null;
+        TextMessage updateFrame;
+        synchronized (stream) {
+            if (stream.isClosed(bar)) {
+                return; // 마감 알림을 이미 보낸 캔들의 지연 틱
+            }
+            if (stream.last != null && bar.getDateTime().isAfter(stream.last.getDateTime())) {
+                closeFrame = close(stream);
+            }
+            updateFrame = encode(UPDATE_TYPE, bar);
+            stream.last = bar;
+        }
+        fanOut(stream, stream.closeKey, closeFrame);
+        fanOut(stream, stream.updateKey, updateFrame);
+        if (updateFrame != null) {
+            updates.increment();
+        }
+    }
+
+    /**
+     * 다음 틱이 오지 않아도 구간이 끝난 캔들은 마감 알림 전송 (장 마감, 거래가 뜸한 종목)
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void closeElapsedBars() {
+        LocalDateTime deadline = LocalDateTime.now(MarketSessionClock.KOREA_ZONE)
+                .minusNanos(closeGraceMs * 1_000_000L);
+        for (Map<String, Stream> bySymbol : streams.values()) {
+            for (Stream stream : bySymbol.values()) {
+                TextMessage closeFrame = null;
+                synchronized (stream) {
+                    if (stream.last != null && !stream.barEnd(stream.last).isAfter(deadline)) {
+                        closeFrame = close(stream);
+                    }
+                }
+                fanOut(stream, stream.closeKey, closeFrame);
+            }
+        }
+    }
+
+    /**
+     * 마지막 캔들을 마감 처리하고 CANDLE_CLOSE 프레임 생성 (stream 잠금 상태에서 호출)
+     */
+    private TextMessage close(Stream stream) {
+        CandleData closed = stream.last;
+        closed.complete();
+        stream.closedThrough = closed.getDateTime();
+        stream.last = null;
+        closes.increment();
+        return encode(CLOSE_TYPE, closed);
+    }
+
+    private CandleData liveBar(Stream stream) {
+        if (stream.interval == null) {
+            StockDailyPrice daily = candleAggregator.getLiveDailyCandle(stream.symbol);
+            return daily != null ? CandleData.live(daily) : null;
+        }
+        StockMinutePrice minute = candleAggregator.getLiveCandle(stream.symbol, stream.interval);
+        return minute != null ? CandleData.live(minute, stream.timeframe) : null;
+    }
+
+    private TextMessage encode(String type, CandleData bar) {
+        try {
+            return encoder.encodeEvent(type, bar);
+        } catch (Exception e) {
+            log.error("❌ 캔들 프레임 생성 실패: {} {}", bar.getStockCode(), bar.getTimeframe(), e);
+            return null;
+        }
+    }
+
+    private void fanOut(Stream stream, String key, TextMessage frame) {
+        if (frame == null) {
+            return;
+        }
+        for (WebSocketSession session : stream.sessions) {
+            if (session.isOpen()) {
+                broadcaster.enqueue(session, key, frame);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void logStats() {
+        if (sessionStreams.isEmpty()) {
+            return;
+        }
+        log.info("📊 캔들 스트림: 스트림 {}개, 구독 세션 {}개, 업데이트 {}건, 마감 {}건",
+                getStreamCount(), sessionStreams.size(), updates.sum(), closes.sum());
+    }
+
+    public int getStreamCount() {
+        int count = 0;
+        for (Map<String, Stream> bySymbol : streams.values()) {
+            count += bySymbol.size();
+        }
+        return count;
+    }
+
+    public long getUpdateCount() {
+        return updates.sum();
+    }
+
+    public long getCloseCount() {
+        return closes.sum();
+    }
+
+    private static final class Stream {
+        private final String symbol;
+        private final String timeframe;
+        private final StockMinutePrice.MinuteInterval interval; // 일봉이면 null
+        private final String updateKey;
+        private final String closeKey;
+        private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private CandleData last; // 마지막으로 보낸 진행 중 캔들
+        private LocalDateTime closedThrough; // 마감 알림을 보낸 마지막 캔들 시각
+
+        private Stream(String symbol, String timeframe, StockMinutePrice.MinuteInterval interval) {
+            this.symbol = symbol;
+            this.timeframe = timeframe;
+            this.interval = interval;
+            this.updateKey = "candle:" + symbol + ":" + timeframe;
+            this.closeKey = "candle-close:" + symbol + ":" + timeframe;
+        }
+
+        private synchronized boolean isClosed(CandleData bar) {
+            return closedThrough != null && !bar.getDateTime().isAfter(closedThrough);
+        }
+
+        private LocalDateTime barEnd(CandleData bar) {
+            return interval != null
+                    ? bar.getDateTime().plusMinutes(interval.getMinutes())
+                    : bar.getDateTime().plusDays(1);
+        }
+    }
+}
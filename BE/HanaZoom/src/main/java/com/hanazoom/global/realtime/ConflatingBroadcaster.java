@@ -0,0 +1,252 @@
+package com.hanazoom.global.realtime;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 클라이언트별 STOCK_UPDATE 송신 버퍼
+ *
+ * - (세션, 종목)마다 아직 보내지 않은 최신 프레임 하나만 보관 → 느린 클라이언트도 항상 최신 가격을 받음
+ * - 세션별 최대 전송 빈도(Hz)로 모아서 별도 송신 스레드 풀에서 전송 → 틱 처리 스레드는 블로킹되지 않음
+ * - 대기 바이트가 한도를 넘는 세션은 연결 종료 (전송이 끝나지 않는 세션은 WebSocketOutbound 가 한 곳에서 정리)
+ * - 실제 전송은 WebSocketOutbound 의 세션 데코레이터를 거치므로 다른 송신 경로(제어/채팅 메시지)와 동시에 보내도 안전
+ * - 델타 구독 세션은 스냅샷 이후 STOCK_DELTA 를 받으며, 델타가 덮어써질 상황이면 스냅샷으로 대체
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConflatingBroadcaster {
+
+    private static final CloseStatus SLOW_CONSUMER = CloseStatus.POLICY_VIOLATION.withReason("slow consumer");
+
+    @Value("${realtime.broadcast.max-rate-hz:8}")
+    private int maxRateHz;
+
+    @Value("${realtime.broadcast.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${realtime.broadcast.max-buffer-bytes:262144}")
+    private long maxBufferBytes;
+
+    private final WebSocketOutbound outbound;
+    private final RealtimeMetrics metrics;
+
+    private final Map<String, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final LongAdder conflatedFrames = new LongAdder();
+    private final LongAdder sentFrames = new LongAdder();
+    private final LongAdder evictedSessions = new LongAdder();
+
+    private ScheduledExecutorService senders;
+    private long minIntervalNanos;
+
+    @PostConstruct
+    public void start() {
+        minIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, maxRateHz);
+        AtomicInteger sequence = new AtomicInteger();
+        senders = Executors.newScheduledThreadPool(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "rt-broadcast-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("✅ 실시간 브로드캐스터 시작: 최대 {}Hz/세션, 송신 스레드 {}개, 세션 버퍼 한도 {}B",
+                maxRateHz, senderThreads, maxBufferBytes);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (senders != null) {
+            senders.shutdownNow();
+        }
+    }
+
+    /**
+     * 세션에 종목 프레임 예약 (같은 종목의 미전송 프레임은 덮어씀)
+     */
+    public void enqueue(WebSocketSession session, String key, TextMessage frame) {
+        Outbox outbox = outboxFor(session);
+        if (outbox == null) {
+            return;
+        }
+        TextMessage previous = outbox.pending.put(key, frame);
+        if (previous != null) {
+            conflatedFrames.increment();
+        }
+        afterEnqueue(outbox, frame, previous);
+    }
+
+    /**
+     * 델타 구독 세션에 종목 업데이트 예약
+     * 미전송 프레임이 남아 있는 상태에서 새 업데이트가 오면(=중간 델타 유실) 최신 스냅샷으로 교체하고,
+     * 세션이 해당 종목의 스냅샷을 아직 받지 않았으면 스냅샷부터 보낸다.
+     */
+    public void enqueueDelta(WebSocketSession session, StockUpdateFrame frame) {
+        Outbox outbox = outboxFor(session);
+        if (outbox == null) {
+            return;
+        }
+        String key = frame.getStockCode();
+        if (frame.getDelta() == null || outbox.primedKeys.add(key)) {
+            enqueue(session, key, frame.getSnapshot());
+            return;
+        }
+        TextMessage previous = outbox.pending.putIfAbsent(key, frame.getDelta());
+        if (previous == null) {
+            afterEnqueue(outbox, frame.getDelta(), null);
+            return;
+        }
+        conflatedFrames.increment();
+        TextMessage replaced = outbox.pending.put(key, frame.getSnapshot());
+        afterEnqueue(outbox, frame.getSnapshot(), replaced);
+    }
+
+    /**
+     * 클라이언트 RESYNC 요청 또는 신규 구독 시 다음 업데이트를 스냅샷부터 다시 시작
+     */
+    public void resync(WebSocketSession session, String key, StockUpdateFrame latest) {
+        Outbox outbox = outboxFor(session);
+        if (outbox == null) {
+            return;
+        }
+        outbox.primedKeys.remove(key);
+        if (latest != null) {
+            outbox.primedKeys.add(key);
+            enqueue(session, key, latest.getSnapshot());
+        }
+    }
+
+    private Outbox outboxFor(WebSocketSession session) {
+        if (session == null || !session.isOpen()) {
+            return null;
+        }
+        return outboxes.computeIfAbsent(session.getId(), id -> new Outbox(session));
+    }
+
+    private void afterEnqueue(Outbox outbox, TextMessage added, TextMessage replaced) {
+        long bytes = outbox.pendingBytes.addAndGet(added.getPayloadLength()
+                - (replaced != null ? replaced.getPayloadLength() : 0));
+        if (bytes > maxBufferBytes) {
+            evict(outbox, "송신 버퍼 한도 초과 (" + bytes + "B)");
+            return;
+        }
+        scheduleFlush(outbox);
+    }
+
+    /**
+     * 세션 종료 시 버퍼 정리
+     */
+    public void unregister(WebSocketSession session) {
+        if (session != null) {
+            outboxes.remove(session.getId());
+        }
+    }
+
+    private void scheduleFlush(Outbox outbox) {
+        if (!outbox.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        long wait = outbox.lastFlushNanos + minIntervalNanos - System.nanoTime();
+        try {
+            senders.schedule(() -> flush(outbox), Math.max(0L, wait), TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            outbox.scheduled.set(false);
+            log.debug("브로드캐스트 예약 실패 (종료 중): {}", outbox.session.getId());
+        }
+    }
+
+    private void flush(Outbox outbox) {
+        WebSocketSession session = outbox.session;
+        outbox.lastFlushNanos = System.nanoTime();
+        try {
+            Iterator<Map.Entry<String, TextMessage>> it = outbox.pending.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, TextMessage> entry = it.next();
+                TextMessage frame = entry.getValue();
+                if (!outbox.pending.remove(entry.getKey(), frame)) {
+                    continue; // 그 사이 더 최신 프레임으로 교체됨 → 다음 flush 에서 전송
+                }
+                outbox.pendingBytes.addAndGet(-frame.getPayloadLength());
+                if (!session.isOpen()) {
+                    outboxes.remove(session.getId());
+                    return;
+                }
+                if (!outbound.sendNow(session, frame)) {
+                    // 송신 한도 초과로 WebSocketOutbound 가 세션을 종료함
+                    outboxes.remove(session.getId(), outbox);
+                    return;
+                }
+                sentFrames.increment();
+                metrics.recordTickAge(entry.getKey());
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ 실시간 데이터 전송 실패 ({}): {}", session.getId(), e.getMessage());
+            evict(outbox, "전송 실패");
+            return;
+        }
+
+        outbox.scheduled.set(false);
+        if (!outbox.pending.isEmpty()) {
+            scheduleFlush(outbox);
+        }
+    }
+
+    private void evict(Outbox outbox, String reason) {
+        if (outboxes.remove(outbox.session.getId(), outbox)) {
+            evictedSessions.increment();
+            outbox.pending.clear();
+            log.warn("⚠️ 느린 클라이언트 연결 종료: {} - {}", outbox.session.getId(), reason);
+            try {
+                outbox.session.close(SLOW_CONSUMER);
+            } catch (Exception e) {
+                log.debug("느린 클라이언트 세션 종료 중 오류: {}", e.getMessage());
+            }
+        }
+    }
+
+    public long getConflatedFrameCount() {
+        return conflatedFrames.sum();
+    }
+
+    public long getSentFrameCount() {
+        return sentFrames.sum();
+    }
+
+    public long getEvictedSessionCount() {
+        return evictedSessions.sum();
+    }
+
+    public int getActiveOutboxCount() {
+        return outboxes.size();
+    }
+
+    private static final class Outbox {
+        private final WebSocketSession session;
+        private final Map<String, TextMessage> pending = new ConcurrentHashMap<>();
+        private final Set<String> primedKeys = ConcurrentHashMap.newKeySet();
+        private final AtomicLong pendingBytes = new AtomicLong();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long lastFlushNanos = System.nanoTime() - TimeUnit.SECONDS.toNanos(1);
+
+        private Outbox(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.hanazoom.global.realtime;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 키(종목코드)별 최신 값만 처리하는 단계 (예: Redis 캐시, 분봉 저장)
+ * 처리 중에 같은 키로 새 값이 들어오면 이전 값은 덮어써지므로, 대기열 크기는 종목 수를 넘지 않는다.
+ * 워커가 2개 이상이면 같은 키의 처리 순서가 보장되지 않으므로 순서가 중요한 단계는 워커 1개로 사용한다.
+ */
+public class ConflatingStage<T> extends PipelineStage {
+
+    private final Map<String, T> latest = new ConcurrentHashMap<>();
+    private final BlockingQueue<String> dirtyKeys = new LinkedBlockingQueue<>();
+    private final Consumer<T> handler;
+    private final LongAdder conflated = new LongAdder();
+
+    public ConflatingStage(String name, int workerCount, Consumer<T> handler) {
+        super(name, workerCount);
+        this.handler = handler;
+    }
+
+    public void offer(String key, T value) {
+        if (latest.put(key, value) == null) {
+            dirtyKeys.offer(key);
+        } else {
+            conflated.increment();
+        }
+    }
+
+    @Override
+    protected void drainOnce() throws InterruptedException {
+        String key = dirtyKeys.take();
+        T value = latest.remove(key);
+        if (value != null) {
+            handler.accept(value);
+            processed.increment();
+        }
+    }
+
+    @Override
+    public int backlog() {
+        return dirtyKeys.size();
+    }
+
+    public long getConflatedCount() {
+        return conflated.sum();
+    }
+}
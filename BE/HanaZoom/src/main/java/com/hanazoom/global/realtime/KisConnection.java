@@ -0,0 +1,80 @@
+package com.hanazoom.global.realtime;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+
+/**
+ * KIS 실시간 웹소켓 연결 하나의 상태
+ * 등록 종목 수는 KisSubscriptionManager 가 자신의 락 안에서만 갱신한다.
+ */
+public final class KisConnection {
+
+    private final int index;
+    private volatile WebSocketSession session;
+
+    // 재연결 시도 횟수 (연결 성공 시 0)
+    int reconnectAttempts;
+    // 이 연결에 등록된 종목 수
+    int registeredSymbols;
+
+    KisConnection(int index) {
+        this.index = index;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getRegisteredSymbols() {
+        return registeredSymbols;
+    }
+
+    public boolean isOpen() {
+        WebSocketSession current = session;
+        return current != null && current.isOpen();
+    }
+
+    void attach(WebSocketSession session) {
+        this.session = session;
+    }
+
+    void detach() {
+        this.session = null;
+    }
+
+    /**
+     * 등록/해제 요청 전송 (같은 연결의 동시 전송은 직렬화)
+     */
+    void send(String payload) throws IOException {
+        WebSocketSession current = session;
+        if (current == null || !current.isOpen()) {
+            throw new IOException("KIS 연결 #" + index + " 이 닫혀 있습니다");
+        }
+        synchronized (current) {
+            current.sendMessage(new TextMessage(payload));
+        }
+    }
+
+    /**
+     * 전송 오류 등으로 연결을 강제로 닫음 (종료 콜백에서 재연결 예약)
+     */
+    void closeQuietly() {
+        WebSocketSession current = session;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception ignored) {
+            // 이미 닫힌 세션
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "KIS#" + index;
+    }
+}
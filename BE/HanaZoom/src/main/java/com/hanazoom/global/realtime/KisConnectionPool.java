@@ -0,0 +1,215 @@
+package com.hanazoom.global.realtime;
+
+import com.hanazoom.global.config.KisConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KIS 실시간 웹소켓 연결 풀
+ *
+ * - 연결 N개를 유지하고 종목 등록은 KisSubscriptionManager 가 연결별 한도 안에서 분산
+ * - 연결마다 독립적으로 지수 백오프(+지터) 재연결, 연결 성공 시 백오프 초기화
+ * - 연결이 끊기면 그 연결의 종목을 살아 있는 연결로 옮기고, 복구되면 미등록 종목을 다시 등록
+ * - 수신한 체결/호가 프레임은 TickPipeline 샤드 큐로 바로 전달
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KisConnectionPool {
+
+    private final KisConfig kisConfig;
+    private final TickPipeline tickPipeline;
+    private final KisSubscriptionManager subscriptionManager;
+    private final KisFrameRecorder frameRecorder;
+
+    @Value("${kis.realtime.connections:1}")
+    private int connectionCount;
+
+    @Value("${kis.realtime.reconnect.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${kis.realtime.reconnect.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    private final List<KisConnection> connections = new ArrayList<>();
+    private final WebSocketClient client = new StandardWebSocketClient();
+    private ScheduledExecutorService reconnector;
+    private volatile boolean running;
+
+    /**
+     * 풀 시작 (틱 핸들러 등록 이후 호출, 클러스터 모드에서는 피드 리더가 된 노드만 호출)
+     * 연결 종료 콜백이 KisSubscriptionManager 락을 잡으므로 풀 락 안에서는 구독 관리자/세션을 호출하지 않는다.
+     */
+    public void start(Collection<String> defaultSymbols) {
+        subscriptionManager.pin(defaultSymbols);
+        List<KisConnection> started = new ArrayList<>();
+        synchronized (this) {
+            if (running) {
+                return;
+            }
+            running = true;
+            connections.clear();
+            reconnector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "kis-reconnect");
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (int i = 0; i < Math.max(1, connectionCount); i++) {
+                KisConnection connection = new KisConnection(i);
+                connections.add(connection);
+                started.add(connection);
+            }
+        }
+        started.forEach(this::connect);
+        log.info("✅ KIS 실시간 연결 풀 시작: 연결 {}개", started.size());
+    }
+
+    /**
+     * 모든 연결 종료 (재연결하지 않음) - 리더에서 물러날 때 다시 start 가능
+     */
+    @PreDestroy
+    public void stop() {
+        List<KisConnection> stopped;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            if (reconnector != null) {
+                reconnector.shutdownNow();
+            }
+            stopped = new ArrayList<>(connections);
+        }
+        stopped.forEach(KisConnection::closeQuietly);
+        log.info("🔄 KIS 실시간 연결 풀 종료");
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public synchronized List<KisConnection> getConnections() {
+        return List.copyOf(connections);
+    }
+
+    public synchronized int getOpenConnectionCount() {
+        int open = 0;
+        for (KisConnection connection : connections) {
+            if (connection.isOpen()) {
+                open++;
+            }
+        }
+        return open;
+    }
+
+    private synchronized boolean isActive(KisConnection connection) {
+        return running && connections.contains(connection);
+    }
+
+    private void connect(KisConnection connection) {
+        if (!isActive(connection)) {
+            return;
+        }
+        log.info("🔄 KIS WebSocket 연결 시도 중... ({})", connection);
+        try {
+            client.execute(new ConnectionHandler(connection), null, URI.create(kisConfig.getRealtimeUrl()))
+                    .whenComplete((session, ex) -> {
+                        if (ex != null) {
+                            log.error("❌ KIS WebSocket 연결 실패 ({}): {}", connection, ex.getMessage());
+                            scheduleReconnect(connection);
+                        }
+                    });
+        } catch (Exception e) {
+            log.error("❌ KIS WebSocket 연결 실패 ({})", connection, e);
+            scheduleReconnect(connection);
+        }
+    }
+
+    private void scheduleReconnect(KisConnection connection) {
+        if (!isActive(connection)) {
+            return;
+        }
+        int attempt;
+        synchronized (connection) {
+            attempt = connection.reconnectAttempts++;
+        }
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt, 16));
+        long delay = backoff + ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+        log.info("🔄 {}ms 후 KIS WebSocket 재연결 시도 예정 ({}, {}회차)", delay, connection, attempt + 1);
+        try {
+            reconnector.schedule(() -> connect(connection), delay, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.debug("KIS 재연결 예약 실패 (종료 중): {}", e.getMessage());
+        }
+    }
+
+    private class ConnectionHandler extends TextWebSocketHandler {
+
+        private final KisConnection connection;
+
+        private ConnectionHandler(KisConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
+            if (!isActive(connection)) {
+                // 풀 종료 이후 늦게 성립된 연결
+                session.close();
+                return;
+            }
+            log.info("✅ KIS WebSocket 연결 성공 ({})", connection);
+            connection.attach(session);
+            synchronized (connection) {
+                connection.reconnectAttempts = 0;
+            }
+            subscriptionManager.onConnected(connection);
+        }
+
+        @Override
+        protected void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) {
+            String frame = message.getPayload();
+
+            // 실시간 체결/호가 데이터는 파이프라인 샤드 큐에 넣고 즉시 반환 (디코딩/처리는 샤드 스레드에서)
+            if (KisTickDecoder.isTradeFrame(frame) || KisOrderBookDecoder.isQuoteFrame(frame)) {
+                frameRecorder.record(frame);
+                if (!tickPipeline.publish(frame)) {
+                    log.debug("⚠️ 실시간 틱 파이프라인 큐 포화 - 프레임 유실");
+                }
+            }
+        }
+
+        @Override
+        public void handleTransportError(@NonNull WebSocketSession session, @NonNull Throwable exception) {
+            log.error("❌ KIS 웹소켓 전송 오류 ({})", connection, exception);
+        }
+
+        @Override
+        public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status) {
+            log.warn("❌ KIS 웹소켓 연결 종료 ({}): {}", connection, status);
+            connection.detach();
+            // 이 연결의 종목을 다른 연결로 재배치 (클라이언트 구독 상태는 유지)
+            subscriptionManager.onDisconnected(connection);
+            scheduleReconnect(connection);
+        }
+    }
+}
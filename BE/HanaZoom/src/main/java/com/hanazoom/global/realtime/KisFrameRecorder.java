@@ -0,0 +1,102 @@
+package com.hanazoom.global.realtime;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * KIS 실시간 프레임 녹화 (kis.realtime.record-file 지정 시에만 동작)
+ *
+ * 수신 프레임을 "수신시각(ms)\t프레임" 한 줄씩 파일에 덧붙이며, KIS 시뮬레이터(kis-sim)의 replay-file 로 그대로 재생할 수 있다.
+ * 수신 스레드는 유한 큐에 넣기만 하고 파일 쓰기는 별도 스레드가 묶어서 처리 (큐가 가득 차면 유실로 집계).
+ */
+@Slf4j
+@Component
+public class KisFrameRecorder {
+
+    private static final int QUEUE_CAPACITY = 65536;
+    private static final int DRAIN_BATCH = 1024;
+
+    @Value("${kis.realtime.record-file:}")
+    private String recordFile;
+
+    private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final LongAdder droppedFrames = new LongAdder();
+    private volatile boolean enabled;
+
+    @PostConstruct
+    public void start() {
+        if (recordFile == null || recordFile.isBlank()) {
+            return;
+        }
+        enabled = true;
+        Thread writer = new Thread(this::writeLoop, "kis-frame-recorder");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("✅ KIS 실시간 프레임 녹화 시작: {}", recordFile);
+    }
+
+    @PreDestroy
+    public void stop() {
+        // 쓰기 스레드는 남은 큐를 비운 뒤 종료 (poll 대기 최대 1초)
+        enabled = false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 프레임 녹화 예약 (수신 스레드에서 호출, 블로킹 없음)
+     */
+    public void record(String frame) {
+        if (enabled && !queue.offer(System.currentTimeMillis() + "\t" + frame)) {
+            droppedFrames.increment();
+        }
+    }
+
+    public long getDroppedFrameCount() {
+        return droppedFrames.sum();
+    }
+
+    private void writeLoop() {
+        List<String> batch = new ArrayList<>(DRAIN_BATCH);
+        try (BufferedWriter out = Files.newBufferedWriter(Paths.get(recordFile), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (enabled || !queue.isEmpty()) {
+                String first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, DRAIN_BATCH - 1);
+                for (String line : batch) {
+                    out.write(line);
+                    out.newLine();
+                }
+                out.flush();
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            enabled = false;
+            log.error("❌ KIS 실시간 프레임 녹화 실패: {}", recordFile, e);
+        }
+        log.info("🔄 KIS 실시간 프레임 녹화 종료 (유실 {}건)", droppedFrames.sum());
+    }
+}
@@ -0,0 +1,115 @@
+package com.hanazoom.global.realtime;
+
+/**
+ * KIS 실시간 호가(H0STASP0) 프레임 디코더
+ *
+ * 필드 순서: 0 종목코드, 1 영업시간, 2 시간구분코드, 3~12 매도호가1~10, 13~22 매수호가1~10,
+ * 23~32 매도잔량1~10, 33~42 매수잔량1~10, 43 총매도잔량, 44 총매수잔량 ...
+ * 종목별 RealtimeOrderBook 배열에 제자리로 기록하며, 디코더 인스턴스는 샤드 스레드마다 하나씩 사용한다.
+ * 잘린 레코드가 기존 호가를 절반만 덮어쓰지 않도록, 필드 수를 먼저 세어 유효한 레코드만 기록한다.
+ */
+public final class KisOrderBookDecoder {
+
+    public static final String TR_ID = "H0STASP0";
+    public static final String FRAME_PREFIX = "0|" + TR_ID + "|";
+
+    static final int FIELDS_PER_RECORD = 59;
+    // 총매수잔량(44번)까지는 있어야 유효한 호가로 본다
+    static final int MIN_FIELDS = 45;
+
+    private static final int ASK_PRICE = 3;
+    private static final int BID_PRICE = ASK_PRICE + RealtimeOrderBook.DEPTH;
+    private static final int ASK_QUANTITY = BID_PRICE + RealtimeOrderBook.DEPTH;
+    private static final int BID_QUANTITY = ASK_QUANTITY + RealtimeOrderBook.DEPTH;
+    private static final int TOTAL_ASK_QUANTITY = BID_QUANTITY + RealtimeOrderBook.DEPTH;
+    private static final int TOTAL_BID_QUANTITY = TOTAL_ASK_QUANTITY + 1;
+
+    private final SymbolTable symbols = new SymbolTable();
+
+    public static boolean isQuoteFrame(String frame) {
+        return frame.startsWith(FRAME_PREFIX);
+    }
+
+    /**
+     * 프레임을 디코딩하여 저장소의 호가창을 갱신
+     *
+     * @return 갱신된 레코드 수 (형식 오류 시 0)
+     */
+    public int decode(String frame, OrderBookStore store) {
+        if (!isQuoteFrame(frame)) {
+            return 0;
+        }
+        int countEnd = frame.indexOf('|', FRAME_PREFIX.length());
+        if (countEnd < 0) {
+            return 0;
+        }
+        int recordCount = (int) KisTickDecoder.parseLong(frame, FRAME_PREFIX.length(), countEnd);
+        if (recordCount <= 0) {
+            recordCount = 1;
+        }
+
+        int length = frame.length();
+        int pos = countEnd + 1;
+        int decoded = 0;
+        for (int record = 0; record < recordCount && pos < length; record++) {
+            int end = KisTickDecoder.indexOfCaret(frame, pos, length);
+            long symbolKey = SymbolTable.pack(frame, pos, end);
+            if (symbolKey == 0L) {
+                break;
+            }
+            pos = end + 1;
+            if (countFields(frame, pos, length) < MIN_FIELDS) {
+                break;
+            }
+            RealtimeOrderBook book = store.getOrCreate(symbols.resolve(symbolKey));
+
+            int field = 1;
+            while (field < FIELDS_PER_RECORD && pos <= length) {
+                end = KisTickDecoder.indexOfCaret(frame, pos, length);
+                applyField(book, field, frame, pos, end);
+                field++;
+                pos = end + 1;
+                if (end >= length) {
+                    break;
+                }
+            }
+            book.commit();
+            decoded++;
+        }
+        return decoded;
+    }
+
+    /**
+     * 종목코드 다음 위치부터 레코드의 필드 수 (종목코드 포함, 최대 FIELDS_PER_RECORD) 를 기록 없이 셈
+     */
+    private static int countFields(String frame, int pos, int length) {
+        int field = 1;
+        while (field < FIELDS_PER_RECORD && pos <= length) {
+            int end = KisTickDecoder.indexOfCaret(frame, pos, length);
+            field++;
+            pos = end + 1;
+            if (end >= length) {
+                break;
+            }
+        }
+        return field;
+    }
+
+    private static void applyField(RealtimeOrderBook book, int field, String s, int start, int end) {
+        if (field == 1) {
+            book.quoteTime = (int) KisTickDecoder.parseLong(s, start, end);
+        } else if (field >= ASK_PRICE && field < BID_PRICE) {
+            book.askPrices[field - ASK_PRICE] = KisTickDecoder.parseLong(s, start, end);
+        } else if (field >= BID_PRICE && field < ASK_QUANTITY) {
+            book.bidPrices[field - BID_PRICE] = KisTickDecoder.parseLong(s, start, end);
+        } else if (field >= ASK_QUANTITY && field < BID_QUANTITY) {
+            book.askQuantities[field - ASK_QUANTITY] = KisTickDecoder.parseLong(s, start, end);
+        } else if (field >= BID_QUANTITY && field < TOTAL_ASK_QUANTITY) {
+            book.bidQuantities[field - BID_QUANTITY] = KisTickDecoder.parseLong(s, start, end);
+        } else if (field == TOTAL_ASK_QUANTITY) {
+            book.totalAskQuantity = KisTickDecoder.parseLong(s, start, end);
+        } else if (field == TOTAL_BID_QUANTITY) {
+            book.totalBidQuantity = KisTickDecoder.parseLong(s, start, end);
+        }
+    }
+}
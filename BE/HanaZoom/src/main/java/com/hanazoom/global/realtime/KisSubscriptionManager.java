@@ -0,0 +1,524 @@
+package com.hanazoom.global.realtime;
+
+import com.hanazoom.global.service.KisApiService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 클라이언트 구독 ↔ KIS 실시간 등록 관리
+ *
+ * - 종목별 구독 세션 집합(브로드캐스트용)과 세션별 구독 종목 역색인(연결 종료 시 자기 구독만 정리)
+ * - 종목별 참조 카운트가 0→1 일 때만 KIS 등록(tr_type 1), 마지막 구독자가 떠나면 유휴 상태로 두었다가
+ *   유휴 유지 시간이 지나면 해제(tr_type 2) → 페이지 이동 등으로 인한 등록/해제 반복 방지
+ * - 종목은 여유 슬롯이 가장 많은 KIS 연결(KisConnectionPool)에 배치하고, 모든 연결이 한도에 도달하면
+ *   가장 오래 유휴 상태였던 종목부터 해제하며, 유휴 종목이 없으면 구독 거절
+ * - 연결이 끊기면 그 연결의 종목을 다른 연결로 옮기고, 자리가 없으면 연결 복구 시 다시 등록
+ * - 캔들 스트림 구독(관심 종목)은 시세 구독과 별도로 세는 참조 카운트 - 시세 브로드캐스트 대상은 아니지만,
+ *   시세·캔들 관심이 모두 0 이 되어야 유휴 상태가 됨
+ * - 클러스터 모드에서는 다른 노드 클라이언트가 구독한 종목(원격 관심 종목)도 구독 중인 종목으로 취급
+ *
+ * 구독 변경은 드물기 때문에 모든 변경은 이 객체의 모니터로 직렬화하고, 틱 경로의 구독자 조회만 락 없이 수행한다.
+ * 등록/해제 여부는 락 안에서 결정하고, KIS 요청 전송(승인키 조회 포함)은 결정 순서대로 전용 송신 스레드에서 수행한다.
+ * 전송에 실패하면 연결을 닫고, 종료 콜백(onDisconnected)에서 그 연결의 종목을 다시 배치한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KisSubscriptionManager {
+
+    private static final String TR_TYPE_REGISTER = "1";
+    private static final String TR_TYPE_RELEASE = "2";
+
+    // 종목당 등록하는 실시간 TR (체결가, 호가)
+    private static final List<String> REALTIME_TR_IDS = List.of(KisTickDecoder.TR_ID, KisOrderBookDecoder.TR_ID);
+
+    private final KisApiService kisApiService;
+    private final OrderBookStore orderBookStore;
+
+    // KIS 실시간 등록 한도 (연결당 TR 등록 건수 합계)
+    @Value("${kis.realtime.max-registrations:41}")
+    private int maxRegistrations;
+
+    // 구독자가 없어진 종목을 KIS 에 유지하는 시간
+    @Value("${kis.realtime.idle-release-ms:60000}")
+    private long idleReleaseMs;
+
+    private final Map<String, Set<WebSocketSession>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> sessionSymbols = new HashMap<>();
+    // 캔들 스트림 구독: 종목 → 세션 ID, 세션 ID → 종목
+    private final Map<String, Set<String>> candleSessions = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> sessionCandleSymbols = new HashMap<>();
+    // KIS 에 등록된 종목 (삽입 순서 유지 - 유휴 종목 선택 시 동률이면 먼저 등록된 종목 우선)
+    private final Map<String, Registration> registrations = new LinkedHashMap<>();
+    // 구독자 없이 상시 유지하려는 종목 (티커 기본 종목) - 슬롯이 부족하면 유휴 종목으로 취급
+    private final Set<String> pinnedSymbols = new HashSet<>();
+    // 다른 노드의 클라이언트가 구독 중인 종목 (피드 리더 노드에서만 사용)
+    private final Set<String> remoteInterest = new HashSet<>();
+    // 열려 있는 KIS 연결
+    private final List<KisConnection> connections = new ArrayList<>();
+
+    // KIS 등록/해제 요청 송신 (락 안에서 결정된 순서 유지)
+    private final ExecutorService requestSender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kis-subscription-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void stop() {
+        requestSender.shutdownNow();
+    }
+
+    /**
+     * 구독자가 없어도 슬롯이 남으면 KIS 에 유지할 종목 등록
+     */
+    public synchronized void pin(Collection<String> symbols) {
+        pinnedSymbols.addAll(symbols);
+    }
+
+    /**
+     * 다른 노드의 구독 종목 갱신 - 새로 필요한 종목은 등록, 빠진 종목은 유휴 처리
+     *
+     * @return 등록 한도 초과로 등록하지 못한 종목
+     */
+    public synchronized List<String> setRemoteInterest(Set<String> symbols) {
+        Set<String> dropped = new HashSet<>(remoteInterest);
+        dropped.removeAll(symbols);
+        remoteInterest.clear();
+        remoteInterest.addAll(symbols);
+        dropped.forEach(this::markIdleIfUnwanted);
+
+        List<String> rejected = new ArrayList<>();
+        for (String symbol : symbols) {
+            if (!ensureRegistered(symbol)) {
+                rejected.add(symbol);
+                continue;
+            }
+            Registration registration = registrations.get(symbol);
+            if (registration != null) {
+                registration.idleSinceMillis = 0L;
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * KIS 연결 수립 시 호출 - 어느 연결에도 등록되지 않은 구독 종목과 고정 종목을 등록
+     */
+    public synchronized void onConnected(KisConnection connection) {
+        connection.registeredSymbols = 0;
+        if (!connections.contains(connection)) {
+            connections.add(connection);
+        }
+        placeUnregisteredSymbols();
+        log.info("✅ KIS 실시간 등록 요청 ({}): {}개 종목, 전체 {}", connection, connection.registeredSymbols, getSlotUsage());
+    }
+
+    /**
+     * KIS 연결 종료 시 호출 - 해당 연결의 종목을 남은 연결로 재배치 (클라이언트 구독 정보는 유지)
+     */
+    public synchronized void onDisconnected(KisConnection connection) {
+        if (!connections.remove(connection)) {
+            return;
+        }
+        registrations.values().removeIf(registration -> registration.connection == connection);
+        connection.registeredSymbols = 0;
+        placeUnregisteredSymbols();
+    }
+
+    /**
+     * 구독 종목 → 고정 종목 순으로, 등록되지 않은 종목을 여유 있는 연결에 등록
+     */
+    private void placeUnregisteredSymbols() {
+        Set<String> desired = new LinkedHashSet<>(subscribers.keySet());
+        desired.addAll(candleSessions.keySet());
+        desired.addAll(remoteInterest);
+        desired.addAll(pinnedSymbols);
+        desired.removeAll(registrations.keySet());
+        for (String symbol : desired) {
+            boolean subscribed = isWanted(symbol);
+            KisConnection target = subscribed ? acquireSlot() : leastLoadedConnection();
+            if (target == null) {
+                if (subscribed) {
+                    log.warn("⚠️ KIS 실시간 등록 한도 도달 - 연결 복구 시 재등록: {}", symbol);
+                }
+                continue;
+            }
+            register(symbol, target);
+        }
+    }
+
+    /**
+     * 클라이언트 구독 추가
+     *
+     * @return 등록 한도 초과로 구독하지 못한 종목
+     */
+    public synchronized List<String> subscribe(WebSocketSession session, Collection<String> symbols) {
+        List<String> rejected = new ArrayList<>();
+        for (String symbol : symbols) {
+            Set<WebSocketSession> sessions = subscribers.get(symbol);
+            if (sessions != null && sessions.contains(session)) {
+                continue;
+            }
+            if (sessions == null && !ensureRegistered(symbol)) {
+                rejected.add(symbol);
+                continue;
+            }
+            if (sessions == null) {
+                sessions = ConcurrentHashMap.newKeySet();
+                subscribers.put(symbol, sessions);
+            }
+            sessions.add(session);
+            sessionSymbols.computeIfAbsent(session.getId(), id -> new HashSet<>()).add(symbol);
+            Registration registration = registrations.get(symbol);
+            if (registration != null) {
+                registration.idleSinceMillis = 0L;
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * 클라이언트 구독 해제
+     */
+    public synchronized void unsubscribe(WebSocketSession session, Collection<String> symbols) {
+        Set<String> owned = sessionSymbols.get(session.getId());
+        if (owned == null) {
+            return;
+        }
+        for (String symbol : symbols) {
+            if (owned.remove(symbol)) {
+                release(session, symbol);
+            }
+        }
+        if (owned.isEmpty()) {
+            sessionSymbols.remove(session.getId());
+        }
+    }
+
+    /**
+     * 캔들 스트림 관심 종목 추가 (시세 구독과 별도 카운트, 시세 브로드캐스트 대상은 아님)
+     *
+     * @return 등록 한도 초과로 등록하지 못하면 false
+     */
+    public synchronized boolean subscribeCandles(WebSocketSession session, String symbol) {
+        Set<String> sessions = candleSessions.get(symbol);
+        if (sessions != null && sessions.contains(session.getId())) {
+            return true;
+        }
+        if (sessions == null && !subscribers.containsKey(symbol) && !ensureRegistered(symbol)) {
+            return false;
+        }
+        candleSessions.computeIfAbsent(symbol, s -> ConcurrentHashMap.newKeySet()).add(session.getId());
+        sessionCandleSymbols.computeIfAbsent(session.getId(), id -> new HashSet<>()).add(symbol);
+        Registration registration = registrations.get(symbol);
+        if (registration != null) {
+            registration.idleSinceMillis = 0L;
+        }
+        return true;
+    }
+
+    /**
+     * 캔들 스트림 관심 종목 해제 (세션의 해당 종목 스트림이 모두 해제된 뒤 호출)
+     */
+    public synchronized void unsubscribeCandles(WebSocketSession session, String symbol) {
+        Set<String> owned = sessionCandleSymbols.get(session.getId());
+        if (owned == null || !owned.remove(symbol)) {
+            return;
+        }
+        if (owned.isEmpty()) {
+            sessionCandleSymbols.remove(session.getId());
+        }
+        releaseCandles(session.getId(), symbol);
+    }
+
+    /**
+     * 세션 종료 시 해당 세션의 구독만 정리
+     */
+    public synchronized void removeSession(WebSocketSession session) {
+        Set<String> owned = sessionSymbols.remove(session.getId());
+        if (owned != null) {
+            for (String symbol : owned) {
+                release(session, symbol);
+            }
+        }
+        Set<String> candleSymbols = sessionCandleSymbols.remove(session.getId());
+        if (candleSymbols != null) {
+            for (String symbol : candleSymbols) {
+                releaseCandles(session.getId(), symbol);
+            }
+        }
+    }
+
+    /**
+     * 종목 구독 세션 (틱 경로, 락 없음)
+     */
+    public Set<WebSocketSession> getSubscribers(String symbol) {
+        Set<WebSocketSession> sessions = subscribers.get(symbol);
+        return sessions != null ? sessions : Collections.emptySet();
+    }
+
+    /**
+     * 클라이언트가 구독 중인 종목
+     */
+    public Set<String> getSubscribedSymbols() {
+        return Collections.unmodifiableSet(subscribers.keySet());
+    }
+
+    /**
+     * 이 노드 클라이언트가 시세 또는 캔들 스트림으로 관심을 둔 종목 (클러스터 공유용)
+     */
+    public Set<String> getInterestedSymbols() {
+        Set<String> symbols = new HashSet<>(subscribers.keySet());
+        symbols.addAll(candleSessions.keySet());
+        return symbols;
+    }
+
+    public synchronized int getUsedSlots() {
+        return registrations.size() * REALTIME_TR_IDS.size();
+    }
+
+    /**
+     * 열려 있는 연결 전체의 등록 한도
+     */
+    public synchronized int getMaxSlots() {
+        return maxRegistrations * connections.size();
+    }
+
+    public synchronized Map<String, Object> getSlotUsage() {
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("usedSlots", getUsedSlots());
+        usage.put("maxSlots", getMaxSlots());
+        usage.put("connections", connections.size());
+        usage.put("registeredSymbols", registrations.size());
+        usage.put("subscribedSymbols", subscribers.size());
+        usage.put("candleSymbols", candleSessions.size());
+        return usage;
+    }
+
+    /**
+     * 유휴 유지 시간이 지난 종목 KIS 등록 해제 (고정 종목 제외)
+     */
+    @Scheduled(fixedDelay = 10000)
+    public synchronized void releaseIdleSymbols() {
+        long now = System.currentTimeMillis();
+        List<String> expired = new ArrayList<>();
+        for (Map.Entry<String, Registration> entry : registrations.entrySet()) {
+            long idleSince = entry.getValue().idleSinceMillis;
+            if (idleSince > 0L && now - idleSince >= idleReleaseMs && !pinnedSymbols.contains(entry.getKey())) {
+                expired.add(entry.getKey());
+            }
+        }
+        for (String symbol : expired) {
+            unregister(symbol);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void logSlotUsage() {
+        int used = getUsedSlots();
+        if (used * 10 >= getMaxSlots() * 8) {
+            log.warn("⚠️ KIS 실시간 등록 슬롯 사용량 높음: {}", getSlotUsage());
+        } else {
+            log.info("📊 KIS 실시간 등록 슬롯: {}", getSlotUsage());
+        }
+    }
+
+    private void release(WebSocketSession session, String symbol) {
+        Set<WebSocketSession> sessions = subscribers.get(symbol);
+        if (sessions == null) {
+            return;
+        }
+        sessions.remove(session);
+        if (sessions.isEmpty()) {
+            subscribers.remove(symbol);
+            markIdleIfUnwanted(symbol);
+        }
+    }
+
+    private void releaseCandles(String sessionId, String symbol) {
+        Set<String> sessions = candleSessions.get(symbol);
+        if (sessions == null) {
+            return;
+        }
+        sessions.remove(sessionId);
+        if (sessions.isEmpty()) {
+            candleSessions.remove(symbol);
+            markIdleIfUnwanted(symbol);
+        }
+    }
+
+    /**
+     * 시세·캔들·원격 관심이 모두 없어진 종목을 유휴 상태로 전환 (유휴 유지 시간이 지나면 해제)
+     */
+    private void markIdleIfUnwanted(String symbol) {
+        Registration registration = registrations.get(symbol);
+        if (registration != null && registration.idleSinceMillis == 0L && !isWanted(symbol)) {
+            registration.idleSinceMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * 이 노드 또는 다른 노드의 클라이언트가 시세나 캔들을 구독 중인 종목인지
+     */
+    private boolean isWanted(String symbol) {
+        return subscribers.containsKey(symbol) || candleSessions.containsKey(symbol) || remoteInterest.contains(symbol);
+    }
+
+    private boolean ensureRegistered(String symbol) {
+        if (registrations.containsKey(symbol)) {
+            return true;
+        }
+        if (connections.isEmpty()) {
+            // 연결 전에는 구독만 기록해 두고 연결 시 onConnected 에서 등록
+            return true;
+        }
+        KisConnection target = acquireSlot();
+        if (target == null) {
+            log.warn("⚠️ KIS 실시간 등록 한도 초과 - 구독 거절: {} ({}/{} 슬롯)", symbol, getUsedSlots(), getMaxSlots());
+            return false;
+        }
+        register(symbol, target);
+        return true;
+    }
+
+    /**
+     * 여유 슬롯이 있는 연결 선택, 없으면 유휴 종목을 해제해 슬롯 확보
+     */
+    private KisConnection acquireSlot() {
+        KisConnection target = leastLoadedConnection();
+        if (target == null && evictIdleSymbol()) {
+            target = leastLoadedConnection();
+        }
+        return target;
+    }
+
+    /**
+     * 종목 하나를 더 등록할 수 있는 연결 중 등록 수가 가장 적은 연결 (없으면 null)
+     */
+    private KisConnection leastLoadedConnection() {
+        KisConnection best = null;
+        for (KisConnection connection : connections) {
+            if (!connection.isOpen()
+                    || (connection.registeredSymbols + 1) * REALTIME_TR_IDS.size() > maxRegistrations) {
+                continue;
+            }
+            if (best == null || connection.registeredSymbols < best.registeredSymbols) {
+                best = connection;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 구독자가 없는 종목 중 가장 오래 유휴 상태였던 종목 해제 (고정 종목도 대상)
+     */
+    private boolean evictIdleSymbol() {
+        String victim = null;
+        long oldest = Long.MAX_VALUE;
+        for (Map.Entry<String, Registration> entry : registrations.entrySet()) {
+            if (isWanted(entry.getKey()) || !entry.getValue().connection.isOpen()) {
+                continue;
+            }
+            long idleSince = entry.getValue().idleSinceMillis;
+            if (idleSince < oldest) {
+                oldest = idleSince;
+                victim = entry.getKey();
+            }
+        }
+        if (victim == null) {
+            return false;
+        }
+        log.info("🔄 KIS 실시간 등록 슬롯 확보 - 유휴 종목 해제: {}", victim);
+        unregister(victim);
+        return true;
+    }
+
+    private void register(String symbol, KisConnection connection) {
+        Registration registration = new Registration(connection);
+        registration.idleSinceMillis = isWanted(symbol) ? 0L : System.currentTimeMillis();
+        registrations.put(symbol, registration);
+        connection.registeredSymbols++;
+        requestSender.execute(() -> send(connection, symbol, TR_TYPE_REGISTER));
+    }
+
+    private void unregister(String symbol) {
+        Registration registration = registrations.remove(symbol);
+        if (registration == null) {
+            return;
+        }
+        registration.connection.registeredSymbols--;
+        requestSender.execute(() -> {
+            send(registration.connection, symbol, TR_TYPE_RELEASE);
+            // 더 이상 호가가 갱신되지 않으므로 REST 조회로 대체되도록 호가창 제거
+            orderBookStore.remove(symbol);
+        });
+    }
+
+    /**
+     * 송신 스레드에서 실행 (락 없음) - 실패하면 연결을 닫아 종료 콜백에서 종목 재배치 및 재연결 예약
+     */
+    private void send(KisConnection connection, String symbol, String trType) {
+        String action = TR_TYPE_REGISTER.equals(trType) ? "등록" : "해제";
+        try {
+            for (String trId : REALTIME_TR_IDS) {
+                connection.send(createRequest(symbol, trId, trType).toString());
+            }
+            log.debug("✅ KIS 실시간 {} 요청 성공 ({}): {}", action, connection, symbol);
+        } catch (Exception e) {
+            log.warn("⚠️ KIS 실시간 {} 요청 전송 실패 ({}): {} - {}", action, connection, symbol, e.getMessage());
+            connection.closeQuietly();
+        }
+    }
+
+    private JSONObject createRequest(String stockCode, String trId, String trType) {
+        JSONObject request = new JSONObject();
+        JSONObject header = new JSONObject();
+
+        header.put("approval_key", kisApiService.getRealtimeApprovalKey());
+        header.put("custtype", "P");
+        header.put("tr_type", trType);
+        header.put("content-type", "utf-8");
+
+        JSONObject body = new JSONObject();
+        JSONObject input = new JSONObject();
+        input.put("tr_id", trId);
+        input.put("tr_key", stockCode);
+
+        body.put("input", input);
+        request.put("header", header);
+        request.put("body", body);
+
+        return request;
+    }
+
+    private static final class Registration {
+        private final KisConnection connection;
+        // 구독자가 없어진 시각 (구독자가 있으면 0)
+        private long idleSinceMillis;
+
+        private Registration(KisConnection connection) {
+            this.connection = connection;
+        }
+    }
+}
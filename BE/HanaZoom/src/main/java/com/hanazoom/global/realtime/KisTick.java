@@ -0,0 +1,166 @@
+package com.hanazoom.global.realtime;
+
+import lombok.Getter;
+
+/**
+ * KIS 실시간 체결가(H0STCNT0) 한 건을 담는 재사용 가능한 틱 레코드
+ * 디코더가 필드를 제자리에서 덮어쓰므로 콜백 밖으로 참조를 넘길 때는 copyFrom 으로 복사해야 한다.
+ * 가격/수량은 원 단위 long, 소수 필드는 100배 스케일 정수로 보관한다.
+ */
+@Getter
+public final class KisTick {
+
+    public static final byte SIDE_BUY = 1; // 체결구분: 매수
+    public static final byte SIDE_SELL = 5; // 체결구분: 매도
+
+    long symbolKey; // 종목코드를 long 으로 패킹한 값 (SymbolTable 키)
+    String symbol; // 종목코드 (SymbolTable 에서 재사용되는 정규 문자열)
+    int tradeTime; // 체결시간 (HHmmss)
+    long price; // 현재가
+    byte changeSign; // 전일대비부호 (KIS 원본: 1 상한, 2 상승, 3 보합, 4 하한, 5 하락)
+    long change; // 전일대비
+    int changeRateBp; // 전일대비율 (x100)
+    long weightedAvgPriceX100; // 가중평균가 (x100)
+    long open; // 시가
+    long high; // 고가
+    long low; // 저가
+    long askPrice1; // 매도호가1
+    long bidPrice1; // 매수호가1
+    long tradeVolume; // 체결거래량
+    long cumulativeVolume; // 누적거래량
+    long cumulativeAmount; // 누적거래대금
+    byte tradeSide; // 체결구분 (1 매수, 5 매도)
+    int businessDate; // 영업일자 (yyyyMMdd)
+    long askQuantity1; // 매도호가잔량1
+    long bidQuantity1; // 매수호가잔량1
+    long totalAskQuantity; // 총매도호가잔량
+    long totalBidQuantity; // 총매수호가잔량
+
+    void reset() {
+        symbolKey = 0L;
+        symbol = null;
+        tradeTime = 0;
+        price = 0L;
+        changeSign = 3;
+        change = 0L;
+        changeRateBp = 0;
+        weightedAvgPriceX100 = 0L;
+        open = 0L;
+        high = 0L;
+        low = 0L;
+        askPrice1 = 0L;
+        bidPrice1 = 0L;
+        tradeVolume = 0L;
+        cumulativeVolume = 0L;
+        cumulativeAmount = 0L;
+        tradeSide = 0;
+        businessDate = 0;
+        askQuantity1 = 0L;
+        bidQuantity1 = 0L;
+        totalAskQuantity = 0L;
+        totalBidQuantity = 0L;
+    }
+
+    /**
+     * 다른 틱의 내용을 복사 (다른 스레드로 넘길 때 사용)
+     */
+    public KisTick copyFrom(KisTick other) {
+        symbolKey = other.symbolKey;
+        symbol = other.symbol;
+        tradeTime = other.tradeTime;
+        price = other.price;
+        changeSign = other.changeSign;
+        change = other.change;
+        changeRateBp = other.changeRateBp;
+        weightedAvgPriceX100 = other.weightedAvgPriceX100;
+        open = other.open;
+        high = other.high;
+        low = other.low;
+        askPrice1 = other.askPrice1;
+        bidPrice1 = other.bidPrice1;
+        tradeVolume = other.tradeVolume;
+        cumulativeVolume = other.cumulativeVolume;
+        cumulativeAmount = other.cumulativeAmount;
+        tradeSide = other.tradeSide;
+        businessDate = other.businessDate;
+        askQuantity1 = other.askQuantity1;
+        bidQuantity1 = other.bidQuantity1;
+        totalAskQuantity = other.totalAskQuantity;
+        totalBidQuantity = other.totalBidQuantity;
+        return this;
+    }
+
+    /**
+     * 다른 노드로 중계할 때 쓰는 한 줄 표현 (분봉 집계에 필요한 필드만, '|' 구분)
+     */
+    public String toRelayLine() {
+        return symbol + '|' + businessDate + '|' + tradeTime + '|' + price + '|' + tradeVolume + '|'
+                + cumulativeVolume + '|' + tradeSide + '|' + change + '|' + changeRateBp;
+    }
+
+    /**
+     * toRelayLine 형식을 틱으로 변환 (형식이 다르면 null)
+     */
+    public static KisTick fromRelayLine(String line) {
+        String[] fields = line.split("\\|");
+        if (fields.length != 9 || fields[0].isEmpty()) {
+            return null;
+        }
+        try {
+            KisTick tick = new KisTick();
+            tick.reset();
+            tick.symbol = fields[0];
+            tick.businessDate = Integer.parseInt(fields[1]);
+            tick.tradeTime = Integer.parseInt(fields[2]);
+            tick.price = Long.parseLong(fields[3]);
+            tick.tradeVolume = Long.parseLong(fields[4]);
+            tick.cumulativeVolume = Long.parseLong(fields[5]);
+            tick.tradeSide = Byte.parseByte(fields[6]);
+            tick.change = Long.parseLong(fields[7]);
+            tick.changeRateBp = Integer.parseInt(fields[8]);
+            return tick;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 전일종가 (현재가 - 전일대비)
+     */
+    public long getPreviousClose() {
+        return price - change;
+    }
+
+    /**
+     * 전일대비율 문자열 (예: -0.14)
+     */
+    public String getChangeRateText() {
+        return formatScaled(changeRateBp, 2);
+    }
+
+    /**
+     * 100배 스케일 정수를 소수 문자열로 변환
+     */
+    public static String formatScaled(long value, int scale) {
+        long factor = 1;
+        for (int i = 0; i < scale; i++) {
+            factor *= 10;
+        }
+        long abs = Math.abs(value);
+        StringBuilder sb = new StringBuilder(12);
+        if (value < 0) {
+            sb.append('-');
+        }
+        sb.append(abs / factor).append('.');
+        String fraction = Long.toString(abs % factor);
+        for (int i = fraction.length(); i < scale; i++) {
+            sb.append('0');
+        }
+        return sb.append(fraction).toString();
+    }
+
+    @Override
+    public String toString() {
+        return "KisTick{" + symbol + " " + tradeTime + " price=" + price + " vol=" + cumulativeVolume + "}";
+    }
+}
@@ -0,0 +1,189 @@
+package com.hanazoom.global.realtime;
+
+import java.util.function.Consumer;
+
+/**
+ * KIS 실시간 체결가(H0STCNT0) 프레임 디코더
+ *
+ * 프레임 형식: 0|H0STCNT0|003|rec1^...^rec2^...^rec3^...
+ * - 레코드 하나는 46개 필드이며, 데이터건수 필드(001/00N)만큼 레코드가 이어서 붙는다.
+ * - String.split / trim 없이 프레임을 한 번만 스캔하면서 재사용 KisTick 에 값을 채운다.
+ *
+ * 디코더 인스턴스는 스레드 안전하지 않으므로 소비 스레드마다 하나씩 사용한다.
+ */
+public final class KisTickDecoder {
+
+    public static final String TR_ID = "H0STCNT0";
+    public static final String FRAME_PREFIX = "0|" + TR_ID + "|";
+
+    // 레코드당 필드 수 (KIS 국내주식 실시간체결가 명세)
+    static final int FIELDS_PER_RECORD = 46;
+    // 누적거래량(13번)까지는 있어야 유효한 틱으로 본다
+    static final int MIN_FIELDS = 14;
+
+    private final SymbolTable symbols = new SymbolTable();
+
+    public static boolean isTradeFrame(String frame) {
+        return frame.startsWith(FRAME_PREFIX);
+    }
+
+    /**
+     * 프레임을 디코딩하여 레코드마다 sink 를 호출
+     *
+     * @param frame KIS 원본 프레임
+     * @param tick  재사용할 틱 객체 (sink 호출마다 덮어씀)
+     * @param sink  레코드별 콜백
+     * @return 디코딩된 레코드 수 (형식 오류 시 0)
+     */
+    public int decode(String frame, KisTick tick, Consumer<KisTick> sink) {
+        if (!isTradeFrame(frame)) {
+            return 0;
+        }
+        int countStart = FRAME_PREFIX.length();
+        int countEnd = frame.indexOf('|', countStart);
+        if (countEnd < 0) {
+            return 0;
+        }
+        int recordCount = (int) parseLong(frame, countStart, countEnd);
+        if (recordCount <= 0) {
+            recordCount = 1;
+        }
+
+        int length = frame.length();
+        int pos = countEnd + 1;
+        int decoded = 0;
+        for (int record = 0; record < recordCount && pos < length; record++) {
+            tick.reset();
+            int field = 0;
+            while (field < FIELDS_PER_RECORD && pos <= length) {
+                int end = indexOfCaret(frame, pos, length);
+                applyField(tick, field, frame, pos, end);
+                field++;
+                pos = end + 1;
+                if (end >= length) {
+                    break;
+                }
+            }
+            if (field < MIN_FIELDS || tick.symbolKey == 0L) {
+                break;
+            }
+            tick.symbol = symbols.resolve(tick.symbolKey);
+            sink.accept(tick);
+            decoded++;
+        }
+        return decoded;
+    }
+
+    /**
+     * 프레임 첫 레코드의 종목코드 키만 추출 (샤딩용, 할당 없음)
+     * 체결가/호가 등 "0|TR_ID|건수|데이터" 형식의 실시간 프레임이면 TR 종류와 관계없이 동작한다.
+     */
+    public static long peekSymbolKey(String frame) {
+        if (!frame.startsWith("0|")) {
+            return 0L;
+        }
+        int trEnd = frame.indexOf('|', 2);
+        int countEnd = trEnd < 0 ? -1 : frame.indexOf('|', trEnd + 1);
+        if (countEnd < 0) {
+            return 0L;
+        }
+        int start = countEnd + 1;
+        int end = indexOfCaret(frame, start, frame.length());
+        return SymbolTable.pack(frame, start, end);
+    }
+
+    private static void applyField(KisTick tick, int field, String s, int start, int end) {
+        switch (field) {
+            case 0 -> tick.symbolKey = SymbolTable.pack(s, start, end);
+            case 1 -> tick.tradeTime = (int) parseLong(s, start, end);
+            case 2 -> tick.price = parseLong(s, start, end);
+            case 3 -> tick.changeSign = (byte) parseLong(s, start, end);
+            case 4 -> tick.change = parseLong(s, start, end);
+            case 5 -> tick.changeRateBp = (int) parseScaled(s, start, end, 2);
+            case 6 -> tick.weightedAvgPriceX100 = parseScaled(s, start, end, 2);
+            case 7 -> tick.open = parseLong(s, start, end);
+            case 8 -> tick.high = parseLong(s, start, end);
+            case 9 -> tick.low = parseLong(s, start, end);
+            case 10 -> tick.askPrice1 = parseLong(s, start, end);
+            case 11 -> tick.bidPrice1 = parseLong(s, start, end);
+            case 12 -> tick.tradeVolume = parseLong(s, start, end);
+            case 13 -> tick.cumulativeVolume = parseLong(s, start, end);
+            case 14 -> tick.cumulativeAmount = parseLong(s, start, end);
+            case 21 -> tick.tradeSide = (byte) parseLong(s, start, end);
+            case 33 -> tick.businessDate = (int) parseLong(s, start, end);
+            case 36 -> tick.askQuantity1 = parseLong(s, start, end);
+            case 37 -> tick.bidQuantity1 = parseLong(s, start, end);
+            case 38 -> tick.totalAskQuantity = parseLong(s, start, end);
+            case 39 -> tick.totalBidQuantity = parseLong(s, start, end);
+            default -> {
+                // 사용하지 않는 필드는 건너뜀
+            }
+        }
+    }
+
+    static int indexOfCaret(String s, int from, int length) {
+        for (int i = from; i < length; i++) {
+            if (s.charAt(i) == '^') {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * [start, end) 구간의 정수 파싱 (공백 무시, 부호 허용, 소수점 이하는 버림)
+     * 숫자가 아닌 값은 0 으로 처리
+     */
+    static long parseLong(CharSequence s, int start, int end) {
+        long value = 0L;
+        boolean negative = false;
+        boolean digits = false;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits = true;
+            } else if (c == '-' && !digits) {
+                negative = true;
+            } else if (c == '.') {
+                break;
+            } else if (c != ' ' && c != '+') {
+                return 0L;
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * [start, end) 구간의 소수를 10^scale 배 정수로 파싱 (예: "-0.14", scale 2 → -14)
+     */
+    static long parseScaled(CharSequence s, int start, int end, int scale) {
+        long value = 0L;
+        boolean negative = false;
+        boolean digits = false;
+        int fractionDigits = -1;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (fractionDigits >= scale) {
+                    continue;
+                }
+                value = value * 10 + (c - '0');
+                digits = true;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (c == '-' && !digits) {
+                negative = true;
+            } else if (c != ' ' && c != '+') {
+                return 0L;
+            }
+        }
+        for (int i = Math.max(fractionDigits, 0); i < scale; i++) {
+            value *= 10;
+        }
+        return negative ? -value : value;
+    }
+}
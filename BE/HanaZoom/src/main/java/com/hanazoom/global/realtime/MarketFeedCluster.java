@@ -0,0 +1,372 @@
+package com.hanazoom.global.realtime;
+
+import com.hanazoom.global.redis.MarketDataKeys;
+import com.hanazoom.global.redis.RedisHealthMonitor;
+import com.hanazoom.global.redis.RedisLeaderLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 다중 노드 시세 팬아웃
+ *
+ * - Redis 리더 잠금을 가진 노드만 KIS 연결 풀을 운영하고, 처리한 종목 업데이트를 종목별 채널로 발행
+ * - 모든 노드는 채널을 구독해 자기 노드의 웹소켓 구독자에게 전달 (리더는 로컬에서 직접 전달)
+ * - 리더는 체결 틱(분봉 집계 필드만)도 tick-relay-ms 마다 묶어 중계하고, 다른 노드는 이를 자기 분봉 집계기에
+ *   읽기 전용으로 반영해 차트 진행 중 캔들과 캔들 스트림을 갱신 (DB 저장은 리더만)
+ * - 각 노드는 자기 클라이언트의 구독 종목을 주기적으로 공유하고, 리더는 전체 합집합을 KIS 에 등록
+ * - 리더가 죽어 임대가 만료되면 다른 노드가 잠금을 얻어 KIS 연결을 이어받음
+ * - 과거 캔들을 다시 계산한 노드는 종목 목록을 알리고, 다른 노드는 자기 차트 캔들 스토어를 비움
+ *
+ * realtime.cluster.enabled=false 이면 단일 노드로 동작 (항상 리더, 발행/구독 없음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarketFeedCluster {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisHealthMonitor redisHealthMonitor;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final KisConnectionPool kisConnectionPool;
+    private final KisSubscriptionManager subscriptionManager;
+
+    @Value("${realtime.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${realtime.cluster.lease-ms:15000}")
+    private long leaseMs;
+
+    @Value("${realtime.cluster.heartbeat-ms:5000}")
+    private long heartbeatMs;
+
+    @Value("${realtime.cluster.tick-relay-ms:100}")
+    private long tickRelayMs;
+
+    @Value("${realtime.cluster.tick-relay-capacity:20000}")
+    private int tickRelayCapacity;
+
+    private final String nodeId = createNodeId();
+    private volatile boolean leader;
+    private volatile Set<String> advertisedSymbols = Collections.emptySet();
+    private volatile long lastAdvertisedAt;
+
+    private RedisLeaderLock leaderLock;
+    private ScheduledExecutorService coordinator;
+    private Collection<String> defaultSymbols = Collections.emptyList();
+    private BiConsumer<String, String> remoteUpdateHandler = (stockCode, payload) -> { };
+    private Consumer<KisTick> relayedTickHandler = tick -> { };
+    private volatile Consumer<String> candleInvalidationHandler = symbol -> { };
+    private BlockingQueue<String> relayQueue;
+    private final LongAdder droppedRelayTicks = new LongAdder();
+
+    /**
+     * 시작 (틱 핸들러 등록 이후 호출)
+     *
+     * @param defaultSymbols      구독자가 없어도 유지할 종목
+     * @param remoteUpdateHandler 다른 노드(리더)가 발행한 종목 업데이트 처리 (종목코드, StockPriceResponse JSON)
+     * @param relayedTickHandler  리더가 중계한 체결 틱 처리 (리스너 스레드에서 순서대로 호출)
+     */
+    public void start(Collection<String> defaultSymbols, BiConsumer<String, String> remoteUpdateHandler,
+                      Consumer<KisTick> relayedTickHandler) {
+        this.defaultSymbols = defaultSymbols;
+        this.remoteUpdateHandler = remoteUpdateHandler;
+        this.relayedTickHandler = relayedTickHandler;
+
+        if (!enabled) {
+            leader = true;
+            kisConnectionPool.start(defaultSymbols);
+            return;
+        }
+
+        leaderLock = new RedisLeaderLock(redisTemplate, redisHealthMonitor, MarketDataKeys.FEED_LEADER, nodeId,
+                Duration.ofMillis(leaseMs));
+        coordinator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "market-feed-cluster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        relayQueue = new ArrayBlockingQueue<>(Math.max(1, tickRelayCapacity));
+        listenerContainer.addMessageListener(this::onFeedMessage, new PatternTopic(MarketDataKeys.FEED_CHANNEL_PATTERN));
+        listenerContainer.addMessageListener(this::onRelayedTicks, new ChannelTopic(MarketDataKeys.FEED_TICK_RELAY_CHANNEL));
+        listenerContainer.addMessageListener((message, pattern) -> {
+            if (leader) {
+                coordinator.execute(this::refreshRemoteInterest);
+            }
+        }, new ChannelTopic(MarketDataKeys.FEED_INTEREST_CHANNEL));
+        listenerContainer.addMessageListener(this::onCandleInvalidation,
+                new ChannelTopic(MarketDataKeys.CANDLE_INVALIDATE_CHANNEL));
+        coordinator.scheduleWithFixedDelay(this::electLeader, 0, heartbeatMs, TimeUnit.MILLISECONDS);
+        coordinator.scheduleWithFixedDelay(this::advertiseInterest, 1, 1, TimeUnit.SECONDS);
+        coordinator.scheduleWithFixedDelay(this::flushRelayedTicks, tickRelayMs, tickRelayMs, TimeUnit.MILLISECONDS);
+        log.info("✅ 시세 클러스터 시작: 노드 {}", nodeId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (coordinator != null) {
+            coordinator.shutdownNow();
+        }
+        if (leaderLock != null) {
+            leaderLock.release();
+            redisHealthMonitor.run(() -> redisTemplate.opsForHash().delete(MarketDataKeys.FEED_NODES, nodeId));
+        }
+    }
+
+    /**
+     * 이 노드가 KIS 피드를 운영 중인지 (단일 노드 모드에서는 항상 true)
+     */
+    public boolean isLeader() {
+        return leader;
+    }
+
+    /**
+     * 처리된 종목 업데이트를 다른 노드로 발행해야 하는지
+     */
+    public boolean isPublishing() {
+        return enabled && leader;
+    }
+
+    /**
+     * 종목 업데이트 발행 (리더 노드, 하위 단계 스레드에서 호출)
+     */
+    public void publish(String stockCode, String payload) {
+        if (!isPublishing() || !redisHealthMonitor.isAvailable()) {
+            return;
+        }
+        redisHealthMonitor.run(() -> redisTemplate.convertAndSend(MarketDataKeys.feedChannel(stockCode), payload));
+    }
+
+    /**
+     * 체결 틱 중계 대기열에 추가 (리더 노드, 틱 핸들러 스레드에서 호출 - 가득 차면 유실)
+     */
+    public void relayTick(KisTick tick) {
+        if (!isPublishing()) {
+            return;
+        }
+        if (!relayQueue.offer(tick.toRelayLine())) {
+            droppedRelayTicks.increment();
+        }
+    }
+
+    /**
+     * 다른 노드가 알린 캔들 무효화 처리 등록 (종목코드마다 리스너 스레드에서 호출)
+     */
+    public void setCandleInvalidationHandler(Consumer<String> handler) {
+        this.candleInvalidationHandler = handler;
+    }
+
+    /**
+     * 과거 캔들이 바뀐 종목을 다른 노드에 알림 (단일 노드 모드에서는 무시)
+     */
+    public void publishCandleInvalidation(Collection<String> symbols) {
+        if (!enabled || symbols.isEmpty() || !redisHealthMonitor.isAvailable()) {
+            return;
+        }
+        // 첫 줄은 보낸 노드 (자기 메시지는 무시), 이후 한 줄에 종목 하나
+        String payload = nodeId + "\n" + String.join("\n", symbols);
+        redisHealthMonitor.run(() -> redisTemplate.convertAndSend(MarketDataKeys.CANDLE_INVALIDATE_CHANNEL, payload));
+    }
+
+    public long getDroppedRelayTickCount() {
+        return droppedRelayTicks.sum();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void onFeedMessage(Message message, byte[] pattern) {
+        if (leader) {
+            // 리더는 이미 로컬 구독자에게 직접 전달함
+            return;
+        }
+        String stockCode = MarketDataKeys.stockCodeFromFeedChannel(new String(message.getChannel(), StandardCharsets.UTF_8));
+        if (stockCode == null) {
+            return;
+        }
+        try {
+            remoteUpdateHandler.accept(stockCode, new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            log.warn("⚠️ 클러스터 시세 업데이트 처리 실패: {} - {}", stockCode, e.getMessage());
+        }
+    }
+
+    /**
+     * 대기 중인 체결 틱을 한 메시지(줄 구분)로 묶어 발행
+     */
+    private void flushRelayedTicks() {
+        if (relayQueue.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>(relayQueue.size());
+        relayQueue.drainTo(lines);
+        if (!leader || !redisHealthMonitor.isAvailable()) {
+            droppedRelayTicks.add(lines.size());
+            return;
+        }
+        String payload = String.join("\n", lines);
+        redisHealthMonitor.run(() -> redisTemplate.convertAndSend(MarketDataKeys.FEED_TICK_RELAY_CHANNEL, payload));
+    }
+
+    private void onRelayedTicks(Message message, byte[] pattern) {
+        if (leader) {
+            return; // 리더는 틱을 직접 집계함
+        }
+        for (String line : new String(message.getBody(), StandardCharsets.UTF_8).split("\n")) {
+            KisTick tick = KisTick.fromRelayLine(line);
+            if (tick == null) {
+                continue;
+            }
+            try {
+                relayedTickHandler.accept(tick);
+            } catch (Exception e) {
+                log.warn("⚠️ 중계 체결 틱 처리 실패: {} - {}", tick, e.getMessage());
+            }
+        }
+    }
+
+    private void onCandleInvalidation(Message message, byte[] pattern) {
+        String[] lines = new String(message.getBody(), StandardCharsets.UTF_8).split("\n");
+        if (lines.length < 2 || nodeId.equals(lines[0])) {
+            return;
+        }
+        for (int i = 1; i < lines.length; i++) {
+            try {
+                candleInvalidationHandler.accept(lines[i]);
+            } catch (Exception e) {
+                log.warn("⚠️ 캔들 무효화 처리 실패: {} - {}", lines[i], e.getMessage());
+            }
+        }
+    }
+
+    private void electLeader() {
+        try {
+            boolean held = leaderLock.tryAcquireOrRenew();
+            if (held && !leader) {
+                log.info("✅ 시세 피드 리더 획득: {}", nodeId);
+                leader = true;
+                kisConnectionPool.start(defaultSymbols);
+                refreshRemoteInterest();
+            } else if (!held && leader) {
+                log.warn("⚠️ 시세 피드 리더 상실 - KIS 연결 종료: {}", nodeId);
+                leader = false;
+                kisConnectionPool.stop();
+                subscriptionManager.setRemoteInterest(Collections.emptySet());
+            } else if (held) {
+                refreshRemoteInterest();
+            }
+        } catch (Exception e) {
+            log.error("❌ 시세 피드 리더 선출 처리 실패", e);
+        }
+    }
+
+    /**
+     * 이 노드 클라이언트의 구독 종목(시세 + 캔들 스트림) 공유 (변경 시 즉시, 아니면 heartbeat 주기로 갱신)
+     */
+    private void advertiseInterest() {
+        try {
+            Set<String> symbols = new TreeSet<>(subscriptionManager.getInterestedSymbols());
+            long now = System.currentTimeMillis();
+            boolean changed = !symbols.equals(advertisedSymbols);
+            if (!changed && now - lastAdvertisedAt < heartbeatMs) {
+                return;
+            }
+            String value = now + "|" + String.join(",", symbols);
+            redisHealthMonitor.run(() -> {
+                redisTemplate.opsForHash().put(MarketDataKeys.FEED_NODES, nodeId, value);
+                if (changed) {
+                    redisTemplate.convertAndSend(MarketDataKeys.FEED_INTEREST_CHANNEL, nodeId);
+                }
+            });
+            advertisedSymbols = symbols;
+            lastAdvertisedAt = now;
+        } catch (Exception e) {
+            log.debug("구독 종목 공유 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * [리더] 다른 노드들의 구독 종목 합집합을 KIS 등록에 반영하고 오래된 노드 정보 정리
+     */
+    private void refreshRemoteInterest() {
+        if (!leader) {
+            return;
+        }
+        Map<Object, Object> nodes = redisHealthMonitor.execute(
+                () -> redisTemplate.opsForHash().entries(MarketDataKeys.FEED_NODES), null);
+        if (nodes == null) {
+            return;
+        }
+        long staleBefore = System.currentTimeMillis() - leaseMs;
+        Set<String> interest = new HashSet<>();
+        for (Map.Entry<Object, Object> entry : nodes.entrySet()) {
+            String node = String.valueOf(entry.getKey());
+            String value = String.valueOf(entry.getValue());
+            int separator = value.indexOf('|');
+            long updatedAt = separator > 0 ? parseLongOrZero(value.substring(0, separator)) : 0L;
+            if (updatedAt < staleBefore) {
+                redisHealthMonitor.run(() -> redisTemplate.opsForHash().delete(MarketDataKeys.FEED_NODES, node));
+                continue;
+            }
+            if (node.equals(nodeId)) {
+                continue; // 자기 노드 구독은 KisSubscriptionManager 가 직접 관리
+            }
+            for (String symbol : value.substring(separator + 1).split(",")) {
+                if (!symbol.isEmpty()) {
+                    interest.add(symbol);
+                }
+            }
+        }
+        List<String> rejected = subscriptionManager.setRemoteInterest(interest);
+        if (!rejected.isEmpty()) {
+            log.warn("⚠️ KIS 등록 한도로 다른 노드 구독 종목 일부 미등록: {}", rejected);
+        }
+    }
+
+    private static long parseLongOrZero(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static String createNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
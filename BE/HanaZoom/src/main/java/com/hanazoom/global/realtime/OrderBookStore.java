@@ -0,0 +1,37 @@
+package com.hanazoom.global.realtime;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 실시간 호가창 저장소
+ * 호가 프레임이 한 번이라도 들어온 종목만 보관하며, 없으면 호출 측이 REST 조회로 대체한다.
+ * KIS 실시간 등록이 해제되면 KisSubscriptionManager 가 제거한다 (갱신이 멈춘 호가창을 내보내지 않도록).
+ */
+@Component
+public class OrderBookStore {
+
+    private final Map<String, RealtimeOrderBook> books = new ConcurrentHashMap<>();
+
+    RealtimeOrderBook getOrCreate(String stockCode) {
+        return books.computeIfAbsent(stockCode, RealtimeOrderBook::new);
+    }
+
+    /**
+     * 실시간 호가가 수신된 종목의 호가창 (없으면 null)
+     */
+    public RealtimeOrderBook find(String stockCode) {
+        RealtimeOrderBook book = books.get(stockCode);
+        return book == null || book.isEmpty() ? null : book;
+    }
+
+    public void remove(String stockCode) {
+        books.remove(stockCode);
+    }
+
+    public int size() {
+        return books.size();
+    }
+}
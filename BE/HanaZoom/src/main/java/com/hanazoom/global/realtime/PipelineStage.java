@@ -0,0 +1,89 @@
+package com.hanazoom.global.realtime;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실시간 파이프라인 단계 공통 베이스
+ * 각 단계는 자체 워커 스레드와 큐를 가지며, 느린 단계가 다른 단계(특히 브로드캐스트)를 막지 않는다.
+ */
+@Slf4j
+public abstract class PipelineStage {
+
+    private final String name;
+    private final int workerCount;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    protected final LongAdder processed = new LongAdder();
+    protected final LongAdder dropped = new LongAdder();
+    protected final LongAdder failed = new LongAdder();
+
+    protected PipelineStage(String name, int workerCount) {
+        this.name = name;
+        this.workerCount = Math.max(1, workerCount);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "rt-" + name + "-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("✅ 실시간 파이프라인 단계 시작: {} (워커 {}개)", name, workerCount);
+    }
+
+    public synchronized void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        workers.clear();
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                drainOnce();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                failed.increment();
+                log.warn("⚠️ 실시간 파이프라인 단계 처리 실패: {} - {}", name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 큐에서 하나 이상의 항목을 꺼내 처리 (항목이 없으면 블로킹)
+     */
+    protected abstract void drainOnce() throws InterruptedException;
+
+    /**
+     * 현재 대기 중인 항목 수
+     */
+    public abstract int backlog();
+
+    public String getName() {
+        return name;
+    }
+
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+}
@@ -0,0 +1,41 @@
+package com.hanazoom.global.realtime;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * 모든 항목을 순서대로 처리하는 단계 (예: 주문 매칭)
+ * 큐가 가득 차면 새 항목을 버리고 dropped 카운터를 올린다. 생산자(샤드 스레드)는 절대 블로킹되지 않는다.
+ */
+public class QueueingStage<T> extends PipelineStage {
+
+    private final BlockingQueue<T> queue;
+    private final Consumer<T> handler;
+
+    public QueueingStage(String name, int workerCount, int capacity, Consumer<T> handler) {
+        super(name, workerCount);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.handler = handler;
+    }
+
+    public boolean offer(T item) {
+        if (queue.offer(item)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    @Override
+    protected void drainOnce() throws InterruptedException {
+        T item = queue.take();
+        handler.accept(item);
+        processed.increment();
+    }
+
+    @Override
+    public int backlog() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,118 @@
+package com.hanazoom.global.realtime;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실시간 파이프라인 상태 게이지/카운터 등록
+ *
+ * - realtime.pipeline.queued / dropped: 샤드 큐 대기·유실 프레임
+ * - realtime.stage.backlog / dropped / failed{stage=...}: 하위 단계별 대기·유실·실패
+ * - realtime.subscribers{symbol=...}: 종목별 구독 세션 수 (5초마다 갱신, 구독 종목 수만큼만 생성)
+ * - realtime.kis.slots.used / max: KIS 실시간 등록 슬롯
+ * - realtime.broadcast.*, websocket.outbound.*: 클라이언트 송신 현황
+ * - realtime.candles.*: 캔들 스트림 수, CANDLE_UPDATE/CANDLE_CLOSE 생성 수
+ */
+@Component
+@RequiredArgsConstructor
+public class RealtimeMeterBinder implements MeterBinder {
+
+    private final TickPipeline tickPipeline;
+    private final KisSubscriptionManager subscriptionManager;
+    private final ConflatingBroadcaster broadcaster;
+    private final WebSocketOutbound outbound;
+    private final CandleStreamPublisher candleStream;
+
+    private final Set<String> boundStages = ConcurrentHashMap.newKeySet();
+    private volatile MeterRegistry registry;
+    private volatile MultiGauge subscribersPerSymbol;
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("realtime.pipeline.queued", tickPipeline, TickPipeline::getQueuedFrameCount)
+                .description("틱 파이프라인 샤드 큐 대기 프레임 수")
+                .register(registry);
+        FunctionCounter.builder("realtime.pipeline.dropped", tickPipeline, TickPipeline::getDroppedFrameCount)
+                .description("샤드 큐 포화로 유실된 프레임 수")
+                .register(registry);
+        subscribersPerSymbol = MultiGauge.builder("realtime.subscribers")
+                .description("종목별 구독 세션 수")
+                .register(registry);
+        Gauge.builder("realtime.kis.slots.used", subscriptionManager, KisSubscriptionManager::getUsedSlots)
+                .register(registry);
+        Gauge.builder("realtime.kis.slots.max", subscriptionManager, KisSubscriptionManager::getMaxSlots)
+                .register(registry);
+
+        Gauge.builder("realtime.candles.streams", candleStream, CandleStreamPublisher::getStreamCount)
+                .register(registry);
+        FunctionCounter.builder("realtime.candles.updates", candleStream, CandleStreamPublisher::getUpdateCount)
+                .register(registry);
+        FunctionCounter.builder("realtime.candles.closes", candleStream, CandleStreamPublisher::getCloseCount)
+                .register(registry);
+
+        Gauge.builder("realtime.broadcast.outboxes", broadcaster, ConflatingBroadcaster::getActiveOutboxCount)
+                .register(registry);
+        FunctionCounter.builder("realtime.broadcast.conflated", broadcaster,
+                ConflatingBroadcaster::getConflatedFrameCount).register(registry);
+        FunctionCounter.builder("realtime.broadcast.evicted", broadcaster,
+                ConflatingBroadcaster::getEvictedSessionCount).register(registry);
+
+        Gauge.builder("websocket.outbound.sessions", outbound, WebSocketOutbound::getSessionCount)
+                .register(registry);
+        Gauge.builder("websocket.outbound.queued", outbound, WebSocketOutbound::getQueuedMessageCount)
+                .register(registry);
+        FunctionCounter.builder("websocket.outbound.dropped", outbound, WebSocketOutbound::getDroppedMessageCount)
+                .register(registry);
+        FunctionCounter.builder("websocket.outbound.evicted", outbound, WebSocketOutbound::getEvictedSessionCount)
+                .register(registry);
+
+        this.registry = registry;
+        bindNewStages();
+    }
+
+    /**
+     * 아직 미터가 없는 파이프라인 단계 등록 (단계는 핸들러 초기화 시점에 추가되므로 주기적으로 확인)
+     */
+    private void bindNewStages() {
+        for (PipelineStage stage : tickPipeline.getStages()) {
+            if (boundStages.add(stage.getName())) {
+                bindStage(registry, stage);
+            }
+        }
+    }
+
+    private void bindStage(MeterRegistry registry, PipelineStage stage) {
+        Tags tags = Tags.of("stage", stage.getName());
+        Gauge.builder("realtime.stage.backlog", stage, PipelineStage::backlog).tags(tags).register(registry);
+        FunctionCounter.builder("realtime.stage.dropped", stage, PipelineStage::getDroppedCount).tags(tags)
+                .register(registry);
+        FunctionCounter.builder("realtime.stage.failed", stage, PipelineStage::getFailedCount).tags(tags)
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelay = 5000)
+    public void refreshGauges() {
+        if (registry == null) {
+            return;
+        }
+        bindNewStages();
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        for (String symbol : subscriptionManager.getSubscribedSymbols()) {
+            rows.add(MultiGauge.Row.of(Tags.of("symbol", symbol), subscriptionManager.getSubscribers(symbol).size()));
+        }
+        subscribersPerSymbol.register(rows, true);
+    }
+}
@@ -0,0 +1,137 @@
+package com.hanazoom.global.realtime;
+
+import com.hanazoom.global.util.MarketSessionClock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실시간 틱 경로 단계별 지연 측정 (Micrometer)
+ *
+ * - realtime.tick.stage{stage=...}: 단계별 처리 시간 (퍼센타일 히스토그램, /actuator/prometheus 로 노출 - 관리자 인증 필요)
+ * - realtime.tick.age: 거래소 체결시각 → 클라이언트 전송까지 걸린 시간
+ *   체결시각은 KIS 가 초 단위(HHmmss)로 주므로 1초 미만 오차가 있고, 서버 시계 오차만큼 치우칠 수 있다.
+ *
+ * 타이머는 단계마다 미리 만들어 두고 틱 경로에서는 nanoTime 두 번과 record 한 번만 수행한다.
+ */
+@Component
+public class RealtimeMetrics {
+
+    /**
+     * 틱 처리 단계 (Prometheus 태그 값)
+     */
+    public enum TickStage {
+        PARSE("parse"),
+        ORDER_BOOK("orderbook"),
+        ORDER_BOOK_REST("orderbook-rest"),
+        BROADCAST("broadcast"),
+        MATCHING("matching"),
+        REDIS("redis"),
+        CANDLE("candle"),
+        MINUTE_PRICE("minute-price"),
+        CLUSTER_FANOUT("cluster-fanout"),
+        TICK("tick");
+
+        private final String tag;
+
+        TickStage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    // 1시간 이상 지난 체결(장외 재생, 시계 오류 등)은 전송 지연으로 보지 않음
+    private static final long MAX_TICK_AGE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final Map<TickStage, Timer> stageTimers = new EnumMap<>(TickStage.class);
+    private final Timer tickAge;
+    private final Map<String, AtomicLong> exchangeTimes = new ConcurrentHashMap<>();
+
+    // 영업일자 → 자정 epoch ms 캐시 (날짜가 바뀔 때만 다시 계산)
+    private volatile long cachedBusinessDate;
+    private volatile long cachedMidnightMillis;
+
+    public RealtimeMetrics(MeterRegistry meterRegistry) {
+        for (TickStage stage : TickStage.values()) {
+            stageTimers.put(stage, Timer.builder("realtime.tick.stage")
+                    .description("실시간 틱 경로 단계별 처리 시간")
+                    .tag("stage", stage.tag)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.99)
+                    .minimumExpectedValue(Duration.ofNanos(500))
+                    .maximumExpectedValue(Duration.ofSeconds(5))
+                    .register(meterRegistry));
+        }
+        tickAge = Timer.builder("realtime.tick.age")
+                .description("거래소 체결시각부터 클라이언트 전송까지 걸린 시간")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.99)
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(1))
+                .register(meterRegistry);
+    }
+
+    /**
+     * 단계 처리 시간 기록
+     *
+     * @param startNanos 단계 시작 시 System.nanoTime()
+     */
+    public void record(TickStage stage, long startNanos) {
+        stageTimers.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordNanos(TickStage stage, long nanos) {
+        stageTimers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 종목의 최신 체결시각 기록 (틱 핸들러에서 호출)
+     */
+    public void markExchangeTime(String stockCode, int businessDate, int tradeTime) {
+        if (businessDate <= 0 || tradeTime < 0) {
+            return;
+        }
+        long midnight = midnightMillis(businessDate);
+        if (midnight < 0L) {
+            return;
+        }
+        long millis = midnight + TimeUnit.SECONDS.toMillis(
+                (tradeTime / 10000) * 3600L + (tradeTime / 100 % 100) * 60L + tradeTime % 100);
+        exchangeTimes.computeIfAbsent(stockCode, code -> new AtomicLong()).set(millis);
+    }
+
+    /**
+     * 전송 시점의 틱 나이 기록 (브로드캐스터 송신 스레드에서 호출, 키가 종목코드가 아니면 무시)
+     */
+    public void recordTickAge(String stockCode) {
+        AtomicLong exchangeTime = exchangeTimes.get(stockCode);
+        if (exchangeTime == null) {
+            return;
+        }
+        long age = System.currentTimeMillis() - exchangeTime.get();
+        if (age >= 0L && age < MAX_TICK_AGE_MILLIS) {
+            tickAge.record(age, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private long midnightMillis(int businessDate) {
+        if (businessDate != cachedBusinessDate) {
+            try {
+                LocalDate date = LocalDate.of(businessDate / 10000, businessDate / 100 % 100, businessDate % 100);
+                cachedMidnightMillis = date.atStartOfDay(MarketSessionClock.KOREA_ZONE).toInstant().toEpochMilli();
+                cachedBusinessDate = businessDate;
+            } catch (DateTimeException e) {
+                return -1L;
+            }
+        }
+        return cachedMidnightMillis;
+    }
+}
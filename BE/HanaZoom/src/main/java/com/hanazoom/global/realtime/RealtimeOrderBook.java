@@ -0,0 +1,120 @@
+package com.hanazoom.global.realtime;
+
+import com.hanazoom.domain.stock.dto.OrderBookItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 종목별 10단계 실시간 호가창 (H0STASP0 수신 시 제자리 갱신)
+ *
+ * 호가 프레임과 체결 프레임은 같은 종목이면 같은 샤드 스레드에서 처리되므로 배열 갱신은 단일 스레드에서만 일어난다.
+ * 다른 스레드(매칭, 저장 단계)에는 버전별로 한 번만 만들어지는 불변 리스트를 넘긴다.
+ */
+public final class RealtimeOrderBook {
+
+    public static final int DEPTH = 10;
+
+    private final String stockCode;
+
+    final long[] askPrices = new long[DEPTH];
+    final long[] askQuantities = new long[DEPTH];
+    final long[] bidPrices = new long[DEPTH];
+    final long[] bidQuantities = new long[DEPTH];
+    long totalAskQuantity;
+    long totalBidQuantity;
+    int quoteTime; // 호가 시각 (HHmmss)
+
+    private volatile long version;
+    private volatile long updatedAtMillis;
+
+    // 버전별 스냅샷 캐시 (샤드 스레드에서만 갱신)
+    private long snapshotVersion = -1;
+    private List<OrderBookItem> askSnapshot = Collections.emptyList();
+    private List<OrderBookItem> bidSnapshot = Collections.emptyList();
+
+    RealtimeOrderBook(String stockCode) {
+        this.stockCode = stockCode;
+    }
+
+    /**
+     * 디코더가 레벨 값을 모두 채운 뒤 호출
+     */
+    void commit() {
+        updatedAtMillis = System.currentTimeMillis();
+        version++;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getUpdatedAtMillis() {
+        return updatedAtMillis;
+    }
+
+    public boolean isEmpty() {
+        return version == 0;
+    }
+
+    public long getBestAskPrice() {
+        return askPrices[0];
+    }
+
+    public long getBestBidPrice() {
+        return bidPrices[0];
+    }
+
+    public long getTotalAskQuantity() {
+        return totalAskQuantity;
+    }
+
+    public long getTotalBidQuantity() {
+        return totalBidQuantity;
+    }
+
+    /**
+     * 매도 호가 목록 (1~10호가, 불변)
+     */
+    public List<OrderBookItem> getAskOrders() {
+        refreshSnapshot();
+        return askSnapshot;
+    }
+
+    /**
+     * 매수 호가 목록 (1~10호가, 불변)
+     */
+    public List<OrderBookItem> getBidOrders() {
+        refreshSnapshot();
+        return bidSnapshot;
+    }
+
+    private void refreshSnapshot() {
+        long current = version;
+        if (snapshotVersion == current) {
+            return;
+        }
+        askSnapshot = toItems(askPrices, askQuantities, "매도");
+        bidSnapshot = toItems(bidPrices, bidQuantities, "매수");
+        snapshotVersion = current;
+    }
+
+    private static List<OrderBookItem> toItems(long[] prices, long[] quantities, String orderType) {
+        List<OrderBookItem> items = new ArrayList<>(DEPTH);
+        for (int i = 0; i < DEPTH; i++) {
+            items.add(OrderBookItem.builder()
+                    .price(String.valueOf(prices[i]))
+                    .quantity(String.valueOf(quantities[i]))
+                    .orderCount(String.valueOf(i + 1))
+                    .orderType(orderType)
+                    .rank(i + 1)
+                    .build());
+        }
+        return Collections.unmodifiableList(items);
+    }
+}
@@ -0,0 +1,115 @@
+package com.hanazoom.global.realtime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOCK_UPDATE / STOCK_DELTA 프레임 인코더
+ *
+ * 종목 업데이트마다 한 번만 직렬화하여 모든 구독자에게 같은 프레임을 공유한다.
+ * 캔들 스트림(CANDLE_UPDATE / CANDLE_CLOSE) 등 다른 실시간 메시지도 같은 봉투 형식으로 encodeEvent 에서 인코딩한다.
+ * 종목별 seq 는 1씩 증가하며, 델타 프레임은 prevSeq 를 함께 보내 클라이언트가 누락을 감지하고 RESYNC 를 요청할 수 있게 한다.
+ * 같은 종목이 샤드 스레드와 클러스터 수신 스레드(리더 전환 중)에서 동시에 인코딩될 수 있으므로
+ * seq 증가와 직전 스냅샷 갱신은 종목별 상태 객체를 잠그고 한 번에 수행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockUpdateEncoder {
+
+    public static final String SNAPSHOT_TYPE = "STOCK_UPDATE";
+    public static final String DELTA_TYPE = "STOCK_DELTA";
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, StockState> states = new ConcurrentHashMap<>();
+
+    /**
+     * 업데이트를 스냅샷/델타 프레임으로 인코딩
+     */
+    public StockUpdateFrame encode(String stockCode, Object stockData) throws Exception {
+        ObjectNode current = objectMapper.valueToTree(stockData);
+        StockState state = states.computeIfAbsent(stockCode, code -> new StockState());
+
+        synchronized (state) {
+            long seq = state.seq + 1;
+            long timestamp = System.currentTimeMillis();
+
+            ObjectNode snapshotData = objectMapper.createObjectNode();
+            snapshotData.set("stockData", current);
+            snapshotData.put("seq", seq);
+            TextMessage snapshot = new TextMessage(writeEnvelope(SNAPSHOT_TYPE, "실시간 주식 데이터", timestamp, snapshotData));
+
+            TextMessage delta = null;
+            if (state.last != null) {
+                ObjectNode deltaData = objectMapper.createObjectNode();
+                deltaData.put("stockCode", stockCode);
+                deltaData.put("seq", seq);
+                deltaData.put("prevSeq", state.seq);
+                deltaData.set("changes", diff(state.last, current));
+                delta = new TextMessage(writeEnvelope(DELTA_TYPE, null, timestamp, deltaData));
+            }
+
+            StockUpdateFrame frame = new StockUpdateFrame(stockCode, seq, snapshot, delta);
+            state.seq = seq;
+            state.last = current;
+            state.frame = frame;
+            return frame;
+        }
+    }
+
+    /**
+     * 시퀀스 없는 실시간 메시지 인코딩 ({type, timestamp, data} 봉투)
+     */
+    public TextMessage encodeEvent(String type, Object data) throws Exception {
+        ObjectNode node = objectMapper.valueToTree(data);
+        return new TextMessage(writeEnvelope(type, null, System.currentTimeMillis(), node));
+    }
+
+    /**
+     * 가장 최근 프레임 (구독 직후 / RESYNC 시 스냅샷 전송용, 없으면 null)
+     */
+    public StockUpdateFrame latest(String stockCode) {
+        StockState state = states.get(stockCode);
+        return state != null ? state.frame : null;
+    }
+
+    private ObjectNode diff(ObjectNode previous, ObjectNode current) {
+        ObjectNode changes = objectMapper.createObjectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = current.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!field.getValue().equals(previous.get(field.getKey()))) {
+                changes.set(field.getKey(), field.getValue());
+            }
+        }
+        return changes;
+    }
+
+    private String writeEnvelope(String type, String message, long timestamp, ObjectNode data) throws Exception {
+        ObjectNode envelope = objectMapper.createObjectNode();
+        envelope.put("type", type);
+        if (message != null) {
+            envelope.put("message", message);
+        }
+        envelope.put("timestamp", timestamp);
+        envelope.set("data", data);
+        return objectMapper.writeValueAsString(envelope);
+    }
+
+    private static final class StockState {
+        // 아래 두 필드는 상태 객체 잠금 안에서만 읽고 쓴다
+        private long seq;
+        private ObjectNode last;
+        private volatile StockUpdateFrame frame;
+    }
+}
@@ -0,0 +1,20 @@
+package com.hanazoom.global.realtime;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.socket.TextMessage;
+
+/**
+ * 한 번의 종목 업데이트를 인코딩한 불변 프레임 묶음 (모든 구독자가 같은 인스턴스를 공유)
+ * - snapshot: 전체 필드 STOCK_UPDATE (기존 클라이언트 호환)
+ * - delta: 직전 seq 대비 변경 필드만 담은 STOCK_DELTA (첫 업데이트면 null)
+ */
+@Getter
+@RequiredArgsConstructor
+public final class StockUpdateFrame {
+
+    private final String stockCode;
+    private final long seq;
+    private final TextMessage snapshot;
+    private final TextMessage delta;
+}
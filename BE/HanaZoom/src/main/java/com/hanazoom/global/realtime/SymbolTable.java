@@ -0,0 +1,101 @@
+package com.hanazoom.global.realtime;
+
+/**
+ * 종목코드 문자열을 재사용하기 위한 long → String 오픈 어드레싱 테이블
+ * 프레임 안의 종목코드(최대 8자 ASCII)를 long 으로 패킹해 조회하므로 이미 본 종목은 문자열을 새로 만들지 않는다.
+ * 단일 스레드(디코더 소유 스레드)에서만 사용한다.
+ */
+final class SymbolTable {
+
+    private static final int MAX_SYMBOL_LENGTH = 8;
+
+    private long[] keys = new long[256];
+    private String[] values = new String[256];
+    private int size;
+
+    /**
+     * frame[start, end) 구간의 종목코드를 long 키로 패킹 (앞뒤 공백 무시)
+     * 8자를 넘거나 비ASCII 문자가 있으면 0 을 반환
+     */
+    static long pack(CharSequence frame, int start, int end) {
+        while (start < end && frame.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && frame.charAt(end - 1) == ' ') {
+            end--;
+        }
+        int length = end - start;
+        if (length == 0 || length > MAX_SYMBOL_LENGTH) {
+            return 0L;
+        }
+        long key = 0L;
+        for (int i = start; i < end; i++) {
+            char c = frame.charAt(i);
+            if (c > 0x7F) {
+                return 0L;
+            }
+            key = (key << 8) | c;
+        }
+        return key;
+    }
+
+    /**
+     * 패킹된 키를 다시 문자열로 복원
+     */
+    static String unpack(long key) {
+        char[] chars = new char[MAX_SYMBOL_LENGTH];
+        int pos = MAX_SYMBOL_LENGTH;
+        while (key != 0L) {
+            chars[--pos] = (char) (key & 0xFF);
+            key >>>= 8;
+        }
+        return new String(chars, pos, MAX_SYMBOL_LENGTH - pos);
+    }
+
+    /**
+     * 키에 해당하는 정규 문자열 반환 (처음 보는 종목만 문자열을 생성)
+     */
+    String resolve(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (true) {
+            long existing = keys[slot];
+            if (existing == key) {
+                return values[slot];
+            }
+            if (existing == 0L) {
+                String symbol = unpack(key);
+                keys[slot] = key;
+                values[slot] = symbol;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+                return symbol;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        String[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new String[oldValues.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0L) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (keys[slot] != 0L) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,211 @@
+package com.hanazoom.global.realtime;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * KIS 실시간 체결/호가 프레임 수집 파이프라인
+ *
+ * KIS 소켓 스레드는 원본 프레임을 샤드 큐에 넣기만 하고 즉시 반환한다.
+ * - 샤드: 종목코드 해시로 선택 → 같은 종목의 체결/호가는 항상 같은 소비 스레드에서 순서대로 처리
+ * - 소비 스레드: 호가(H0STASP0)는 OrderBookStore 에 제자리 반영,
+ *   체결(H0STCNT0)은 디코딩 후 등록된 틱 핸들러 호출 (핸들러는 블로킹 작업을 하위 단계로 넘겨야 함)
+ * - 큐가 가득 차면 프레임을 버리고 카운트 (소켓 스레드 블로킹 방지)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TickPipeline {
+
+    private final OrderBookStore orderBookStore;
+    private final RealtimeMetrics metrics;
+
+    @Value("${realtime.pipeline.shards:0}")
+    private int configuredShards;
+
+    @Value("${realtime.pipeline.queue-capacity:8192}")
+    private int queueCapacity;
+
+    private final List<PipelineStage> stages = new CopyOnWriteArrayList<>();
+    private final LongAdder droppedFrames = new LongAdder();
+    private final LongAdder publishedFrames = new LongAdder();
+
+    private volatile Consumer<KisTick> tickHandler;
+    private Shard[] shards;
+
+    @PostConstruct
+    public void start() {
+        int shardCount = configuredShards > 0 ? configuredShards : Runtime.getRuntime().availableProcessors();
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, queueCapacity);
+            shards[i].start();
+        }
+        log.info("✅ 실시간 틱 파이프라인 시작: 샤드 {}개, 샤드당 큐 {}", shardCount, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (shards != null) {
+            for (Shard shard : shards) {
+                shard.interrupt();
+            }
+        }
+        stages.forEach(PipelineStage::stop);
+    }
+
+    /**
+     * 디코딩된 틱을 받을 핸들러 등록 (샤드 스레드에서 호출되며, 전달된 KisTick 은 재사용됨)
+     */
+    public void setTickHandler(Consumer<KisTick> tickHandler) {
+        this.tickHandler = tickHandler;
+    }
+
+    /**
+     * 하위 단계 등록 및 시작 (모니터링/종료 관리용)
+     */
+    public <S extends PipelineStage> S registerStage(S stage) {
+        stages.add(stage);
+        stage.start();
+        return stage;
+    }
+
+    /**
+     * KIS 원본 프레임 투입 (KIS 소켓 스레드에서 호출, 블로킹 없음)
+     *
+     * @return 큐에 들어갔으면 true, 가득 차서 버렸으면 false
+     */
+    public boolean publish(String frame) {
+        Shard shard = shards[shardIndex(KisTickDecoder.peekSymbolKey(frame), shards.length)];
+        if (shard.frames.offer(frame)) {
+            publishedFrames.increment();
+            return true;
+        }
+        droppedFrames.increment();
+        return false;
+    }
+
+    static int shardIndex(long symbolKey, int shardCount) {
+        long h = symbolKey * 0x9E3779B97F4A7C15L;
+        return (int) ((h ^ (h >>> 32)) & 0x7FFFFFFF) % shardCount;
+    }
+
+    // 1분마다 적체/유실 현황 로그 (문제가 있을 때만)
+    @Scheduled(fixedDelay = 60000)
+    public void logPipelineStats() {
+        if (shards == null) {
+            return;
+        }
+        int frameBacklog = getQueuedFrameCount();
+        long dropped = droppedFrames.sum();
+        if (dropped > 0 || frameBacklog > queueCapacity / 2) {
+            log.warn("⚠️ 실시간 틱 파이프라인 적체: 대기 프레임={}, 누적 유실 프레임={}", frameBacklog, dropped);
+        }
+        for (PipelineStage stage : stages) {
+            if (stage.getDroppedCount() > 0 || stage.getFailedCount() > 0) {
+                log.warn("⚠️ 파이프라인 단계 {}: 처리={}, 대기={}, 유실={}, 실패={}", stage.getName(),
+                        stage.getProcessedCount(), stage.backlog(), stage.getDroppedCount(), stage.getFailedCount());
+            }
+        }
+    }
+
+    public long getPublishedFrameCount() {
+        return publishedFrames.sum();
+    }
+
+    /**
+     * 샤드 큐에 대기 중인 프레임 수
+     */
+    public int getQueuedFrameCount() {
+        if (shards == null) {
+            return 0;
+        }
+        int queued = 0;
+        for (Shard shard : shards) {
+            queued += shard.frames.size();
+        }
+        return queued;
+    }
+
+    public long getDroppedFrameCount() {
+        return droppedFrames.sum();
+    }
+
+    public List<PipelineStage> getStages() {
+        return stages;
+    }
+
+    /**
+     * 샤드별 소비 스레드 (디코더와 틱 버퍼를 스레드 전용으로 보유)
+     */
+    private final class Shard extends Thread {
+
+        private final BlockingQueue<String> frames;
+        private final KisTickDecoder decoder = new KisTickDecoder();
+        private final KisOrderBookDecoder orderBookDecoder = new KisOrderBookDecoder();
+        private final KisTick tick = new KisTick();
+        private final Consumer<KisTick> timedHandler = this::handleTimed;
+        private Consumer<KisTick> handler;
+        private long handlerNanos;
+
+        Shard(int index, int capacity) {
+            super("rt-tick-shard-" + index);
+            setDaemon(true);
+            this.frames = new ArrayBlockingQueue<>(capacity);
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                String frame;
+                try {
+                    frame = frames.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    long startNanos = System.nanoTime();
+                    if (KisOrderBookDecoder.isQuoteFrame(frame)) {
+                        if (orderBookDecoder.decode(frame, orderBookStore) == 0) {
+                            log.warn("⚠️ KIS 호가 데이터 형식 오류: {}", frame);
+                        }
+                        metrics.record(RealtimeMetrics.TickStage.ORDER_BOOK, startNanos);
+                        continue;
+                    }
+                    handler = tickHandler;
+                    if (handler == null) {
+                        continue;
+                    }
+                    handlerNanos = 0L;
+                    if (decoder.decode(frame, tick, timedHandler) == 0) {
+                        log.warn("⚠️ KIS 데이터 형식 오류: {}", frame);
+                    }
+                    // 디코딩 시간 = 전체 - 틱 핸들러 시간
+                    metrics.recordNanos(RealtimeMetrics.TickStage.PARSE, System.nanoTime() - startNanos - handlerNanos);
+                } catch (Exception e) {
+                    log.error("❌ KIS 실시간 데이터 처리 실패: {}", frame, e);
+                }
+            }
+        }
+
+        private void handleTimed(KisTick decoded) {
+            long startNanos = System.nanoTime();
+            handler.accept(decoded);
+            long elapsed = System.nanoTime() - startNanos;
+            handlerNanos += elapsed;
+            metrics.recordNanos(RealtimeMetrics.TickStage.TICK, elapsed);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.hanazoom.global.realtime;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 클라이언트 웹소켓 송신 경로 (주식 시세/지역 채팅 공용)
+ *
+ * - 세션마다 ConcurrentWebSocketSessionDecorator 로 감싸 전송 시간/버퍼 크기 한도 적용 → 한도를 넘은 세션은 종료
+ * - 핸들러/이벤트 스레드는 전송을 송신 스레드의 유한 큐에 넣고 즉시 반환, 큐가 가득 차면 메시지 유실로 집계
+ * - 세션은 ID 해시로 송신 스레드 하나에 고정 → 세션 내 메시지 순서 유지
+ * - 세션 수와 무관하게 송신 스레드 수와 최대 대기 메모리(세션 버퍼 한도 × 세션 수 + 큐 용량)가 정해짐
+ * - 전송이 한도 시간 넘게 끝나지 않는 세션은 전용 스레드에서 주기적으로 정리 (ConflatingBroadcaster 전송 포함 유일한 경로)
+ */
+@Slf4j
+@Component
+public class WebSocketOutbound {
+
+    @Value("${websocket.outbound.threads:4}")
+    private int threads;
+
+    @Value("${websocket.outbound.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${websocket.outbound.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.outbound.buffer-size-limit:524288}")
+    private int bufferSizeLimit;
+
+    private final Map<String, ConcurrentWebSocketSessionDecorator> sessions = new ConcurrentHashMap<>();
+    private final LongAdder sentMessages = new LongAdder();
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LongAdder evictedSessions = new LongAdder();
+
+    private ThreadPoolExecutor[] senders = new ThreadPoolExecutor[0];
+    private ScheduledExecutorService evictor;
+
+    @PostConstruct
+    public void start() {
+        int count = Math.max(1, threads);
+        int capacity = Math.max(1, queueCapacity / count);
+        AtomicInteger sequence = new AtomicInteger();
+        senders = new ThreadPoolExecutor[count];
+        for (int i = 0; i < count; i++) {
+            senders[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(capacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "ws-outbound-" + sequence.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.AbortPolicy());
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ws-outbound-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(this::evictStuckSessions, 1, 1, TimeUnit.SECONDS);
+        log.info("✅ 웹소켓 송신 경로 시작: 송신 스레드 {}개, 큐 {}건, 세션 버퍼 한도 {}B, 전송 시간 한도 {}ms",
+                threads, queueCapacity, bufferSizeLimit, sendTimeLimitMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        for (ThreadPoolExecutor sender : senders) {
+            sender.shutdownNow();
+        }
+    }
+
+    /**
+     * 세션 등록 (연결 수립 시 호출)
+     *
+     * @return 한도가 적용된 세션 - 이 세션에 직접 보내는 경우에도 동시 전송이 안전함
+     */
+    public WebSocketSession register(WebSocketSession session) {
+        return decorate(session);
+    }
+
+    private ConcurrentWebSocketSessionDecorator decorate(WebSocketSession session) {
+        return sessions.computeIfAbsent(session.getId(), id -> new ConcurrentWebSocketSessionDecorator(
+                session, sendTimeLimitMs, bufferSizeLimit, ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE));
+    }
+
+    /**
+     * 세션 해제 (연결 종료 시 호출)
+     */
+    public void unregister(WebSocketSession session) {
+        if (session != null) {
+            sessions.remove(session.getId());
+        }
+    }
+
+    /**
+     * 비동기 전송 (송신 스레드 풀에서 전송, 호출 스레드는 블로킹되지 않음)
+     *
+     * @return 송신 큐에 들어갔는지 (세션이 닫혔거나 큐가 가득 차면 false)
+     */
+    public boolean send(WebSocketSession session, WebSocketMessage<?> message) {
+        if (session == null || !session.isOpen()) {
+            return false;
+        }
+        ConcurrentWebSocketSessionDecorator decorated = decorate(session);
+        try {
+            senders[Math.floorMod(session.getId().hashCode(), senders.length)]
+                    .execute(() -> deliver(decorated, message));
+            return true;
+        } catch (RejectedExecutionException e) {
+            droppedMessages.increment();
+            log.debug("웹소켓 송신 큐 포화 - 메시지 유실: {}", session.getId());
+            return false;
+        }
+    }
+
+    /**
+     * 호출 스레드에서 바로 전송 (자체 송신 스레드를 가진 ConflatingBroadcaster 용)
+     * 다른 스레드가 전송 중이면 세션 버퍼에 넣고 즉시 반환된다.
+     *
+     * @return 전송(또는 버퍼링) 여부 - 한도 초과로 세션을 종료했으면 false
+     */
+    public boolean sendNow(WebSocketSession session, WebSocketMessage<?> message) {
+        if (session == null || !session.isOpen()) {
+            return false;
+        }
+        return deliver(decorate(session), message);
+    }
+
+    private boolean deliver(ConcurrentWebSocketSessionDecorator session, WebSocketMessage<?> message) {
+        if (!session.isOpen()) {
+            return false;
+        }
+        try {
+            session.sendMessage(message);
+            sentMessages.increment();
+            return true;
+        } catch (SessionLimitExceededException e) {
+            evict(session, e.getMessage(), e.getStatus());
+        } catch (Exception e) {
+            log.warn("⚠️ 웹소켓 메시지 전송 실패 ({}): {}", session.getId(), e.getMessage());
+            evict(session, "전송 실패", CloseStatus.SESSION_NOT_RELIABLE);
+        }
+        return false;
+    }
+
+    /**
+     * 전송 시간 한도를 넘긴 세션 정리
+     * 데코레이터는 다음 전송 시점에만 한도를 검사하므로, 더 보낼 메시지가 없는 채로 막힌 세션은 여기서 종료한다.
+     */
+    void evictStuckSessions() {
+        for (ConcurrentWebSocketSessionDecorator session : sessions.values()) {
+            if (!session.isOpen()) {
+                sessions.remove(session.getId(), session);
+                continue;
+            }
+            long elapsed = session.getTimeSinceSendStarted();
+            if (elapsed > sendTimeLimitMs) {
+                evict(session, "전송 지연 " + elapsed + "ms", CloseStatus.SESSION_NOT_RELIABLE);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void logStats() {
+        if (sessions.isEmpty() && droppedMessages.sum() == 0L && evictedSessions.sum() == 0L) {
+            return;
+        }
+        log.info("📊 웹소켓 송신: 세션 {}개, 큐 대기 {}건, 전송 {}건, 유실 {}건, 강제 종료 세션 {}개",
+                sessions.size(), getQueuedMessageCount(), sentMessages.sum(), droppedMessages.sum(),
+                evictedSessions.sum());
+    }
+
+    private void evict(ConcurrentWebSocketSessionDecorator session, String reason, CloseStatus status) {
+        if (!sessions.remove(session.getId(), session)) {
+            return;
+        }
+        evictedSessions.increment();
+        log.warn("⚠️ 느린 웹소켓 클라이언트 연결 종료: {} - {}", session.getId(), reason);
+        try {
+            // 송신 락을 쥔 채 막혀 있을 수 있으므로 원본 세션을 직접 닫음
+            session.getDelegate().close(status);
+        } catch (Exception e) {
+            log.debug("느린 클라이언트 세션 종료 중 오류: {}", e.getMessage());
+        }
+    }
+
+    public long getSentMessageCount() {
+        return sentMessages.sum();
+    }
+
+    public long getDroppedMessageCount() {
+        return droppedMessages.sum();
+    }
+
+    public long getEvictedSessionCount() {
+        return evictedSessions.sum();
+    }
+
+    public int getQueuedMessageCount() {
+        int queued = 0;
+        for (ThreadPoolExecutor sender : senders) {
+            queued += sender.getQueue().size();
+        }
+        return queued;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+}
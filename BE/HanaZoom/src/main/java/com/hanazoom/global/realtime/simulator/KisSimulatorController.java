@@ -0,0 +1,55 @@
+package com.hanazoom.global.realtime.simulator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 로컬 KIS 인증 엔드포인트 (kis-sim 프로필)
+ * KisApiService 가 실제 KIS 와 같은 방식으로 접근토큰/웹소켓 접속키를 발급받을 수 있도록 응답 형식을 맞춘다.
+ */
+@Slf4j
+@RestController
+@Profile("kis-sim")
+@RequestMapping("/kis-sim/oauth2")
+@RequiredArgsConstructor
+public class KisSimulatorController {
+
+    private static final DateTimeFormatter EXPIRES_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final KisSimulatorServer kisSimulatorServer;
+
+    /**
+     * 접근토큰 발급
+     * POST /kis-sim/oauth2/tokenP
+     */
+    @PostMapping("/tokenP")
+    public ResponseEntity<Map<String, Object>> issueAccessToken(@RequestBody(required = false) String body) {
+        log.info("[KIS 시뮬레이터] 접근토큰 발급");
+        return ResponseEntity.ok(Map.of(
+                "access_token", "kis-sim-" + UUID.randomUUID(),
+                "token_type", "Bearer",
+                "expires_in", 86400,
+                "access_token_token_expired", LocalDateTime.now().plusDays(1).format(EXPIRES_FORMAT)));
+    }
+
+    /**
+     * 웹소켓 접속키 발급
+     * POST /kis-sim/oauth2/Approval
+     */
+    @PostMapping("/Approval")
+    public ResponseEntity<Map<String, Object>> issueApprovalKey(@RequestBody(required = false) String body) {
+        log.info("[KIS 시뮬레이터] 웹소켓 접속키 발급");
+        return ResponseEntity.ok(Map.of("approval_key", kisSimulatorServer.issueApprovalKey()));
+    }
+}
@@ -0,0 +1,345 @@
+package com.hanazoom.global.realtime.simulator;
+
+import com.hanazoom.global.realtime.KisOrderBookDecoder;
+import com.hanazoom.global.realtime.KisTickDecoder;
+import com.hanazoom.global.util.MarketSessionClock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * KIS 시뮬레이터 시세 발생기 (kis-sim 프로필)
+ *
+ * - replay-file 이 있으면 녹화된 프레임 파일을 재생: 한 줄에 프레임 하나, "수신시각(ms)\t프레임" 형식이면
+ *   녹화 당시 간격을 speed 배속으로 재현하고, 시각이 없으면 ticks-per-second × speed 간격으로 재생
+ * - 없으면 종목별 랜덤워크 체결가(H0STCNT0)와 호가(H0STASP0)를 생성
+ *   대상 종목: kis.simulator.symbols + 현재 시뮬레이터에 등록된 종목
+ * - seed 를 지정하면 같은 가격 경로가 재현되어 처리량/지연 측정을 반복할 수 있음
+ */
+@Slf4j
+@Component
+@Profile("kis-sim")
+@RequiredArgsConstructor
+public class KisSimulatorFeed {
+
+    private static final DateTimeFormatter TRADE_TIME = DateTimeFormatter.ofPattern("HHmmss");
+    private static final DateTimeFormatter BUSINESS_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final KisSimulatorServer kisSimulatorServer;
+
+    @Value("${kis.simulator.replay-file:}")
+    private String replayFile;
+
+    @Value("${kis.simulator.replay-loop:true}")
+    private boolean replayLoop;
+
+    @Value("${kis.simulator.speed:1.0}")
+    private double speed;
+
+    @Value("${kis.simulator.symbols:}")
+    private String symbols;
+
+    @Value("${kis.simulator.ticks-per-second:5}")
+    private double ticksPerSecond;
+
+    @Value("${kis.simulator.quote-every:5}")
+    private int quoteEvery;
+
+    @Value("${kis.simulator.seed:0}")
+    private long seed;
+
+    private final Map<String, RandomWalk> walks = new HashMap<>();
+    private final LongAdder generatedFrames = new LongAdder();
+    private ScheduledExecutorService feeder;
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        // 재생 루프가 스레드 하나를 계속 점유하므로 통계 로그용으로 하나 더 둠
+        feeder = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "kis-sim-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(0.001, ticksPerSecond * speed));
+        if (replayFile != null && !replayFile.isBlank()) {
+            feeder.execute(() -> replay(Paths.get(replayFile), intervalNanos));
+            log.info("✅ [KIS 시뮬레이터] 녹화 프레임 재생 시작: {} ({}배속)", replayFile, speed);
+        } else {
+            feeder.scheduleAtFixedRate(this::generate, 0, Math.max(1L, intervalNanos), TimeUnit.NANOSECONDS);
+            log.info("✅ [KIS 시뮬레이터] 랜덤워크 시세 생성 시작: 고정 종목 {}개, 종목당 {}건/초 ({}배속)",
+                    configuredSymbols().size(), ticksPerSecond, speed);
+        }
+        feeder.scheduleWithFixedDelay(() -> log.info("📊 [KIS 시뮬레이터] 연결 {}개, 생성 프레임 {}건, 전달 {}건",
+                kisSimulatorServer.getSessionCount(), generatedFrames.sum(), kisSimulatorServer.getSentFrameCount()),
+                60, 60, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (feeder != null) {
+            feeder.shutdownNow();
+        }
+    }
+
+    private void generate() {
+        try {
+            Set<String> targets = new LinkedHashSet<>(configuredSymbols());
+            targets.addAll(kisSimulatorServer.getRegisteredSymbols(KisTickDecoder.TR_ID));
+            targets.addAll(kisSimulatorServer.getRegisteredSymbols(KisOrderBookDecoder.TR_ID));
+            if (targets.isEmpty()) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now(MarketSessionClock.KOREA_ZONE);
+            String tradeTime = now.format(TRADE_TIME);
+            String businessDate = now.format(BUSINESS_DATE);
+            for (String symbol : targets) {
+                RandomWalk walk = walks.computeIfAbsent(symbol, this::newWalk);
+                walk.step();
+                publish(KisTickDecoder.TR_ID, symbol, walk.tradeFrame(tradeTime, businessDate));
+                if (quoteEvery > 0 && walk.trades % quoteEvery == 0) {
+                    publish(KisOrderBookDecoder.TR_ID, symbol, walk.quoteFrame(tradeTime));
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ [KIS 시뮬레이터] 시세 생성 실패", e);
+        }
+    }
+
+    private void replay(Path path, long intervalNanos) {
+        do {
+            long startNanos = System.nanoTime();
+            long firstRecordedAt = -1L;
+            long due = startNanos;
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while (running && (line = reader.readLine()) != null) {
+                    if (line.isBlank() || line.startsWith("#")) {
+                        continue;
+                    }
+                    String frame = line;
+                    int tab = line.indexOf('\t');
+                    if (tab > 0) {
+                        long recordedAt = Long.parseLong(line.substring(0, tab));
+                        frame = line.substring(tab + 1);
+                        if (firstRecordedAt < 0L) {
+                            firstRecordedAt = recordedAt;
+                        }
+                        due = startNanos + (long) (TimeUnit.MILLISECONDS.toNanos(recordedAt - firstRecordedAt) / speed);
+                    } else {
+                        due += intervalNanos;
+                    }
+                    waitUntil(due);
+                    dispatchRecorded(frame);
+                }
+            } catch (Exception e) {
+                log.error("❌ [KIS 시뮬레이터] 녹화 파일 재생 실패: {}", path, e);
+                return;
+            }
+            log.info("🔄 [KIS 시뮬레이터] 녹화 파일 재생 완료: {}", path);
+        } while (running && replayLoop);
+    }
+
+    /**
+     * "0|TR_ID|건수|종목코드^..." 프레임을 첫 레코드의 종목 기준으로 전달
+     */
+    private void dispatchRecorded(String frame) {
+        if (!frame.startsWith("0|")) {
+            return;
+        }
+        int trEnd = frame.indexOf('|', 2);
+        int countEnd = trEnd < 0 ? -1 : frame.indexOf('|', trEnd + 1);
+        if (countEnd < 0) {
+            return;
+        }
+        int symbolEnd = frame.indexOf('^', countEnd + 1);
+        String symbol = frame.substring(countEnd + 1, symbolEnd < 0 ? frame.length() : symbolEnd);
+        publish(frame.substring(2, trEnd), symbol, frame);
+    }
+
+    private void publish(String trId, String symbol, String frame) {
+        generatedFrames.increment();
+        kisSimulatorServer.dispatch(trId, symbol, frame);
+    }
+
+    private void waitUntil(long dueNanos) {
+        long wait;
+        while (running && (wait = dueNanos - System.nanoTime()) > 0L) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    private List<String> configuredSymbols() {
+        return Arrays.stream(symbols.split(",")).map(String::trim).filter(symbol -> !symbol.isEmpty()).toList();
+    }
+
+    private RandomWalk newWalk(String symbol) {
+        Random random = seed != 0L ? new Random(seed ^ symbol.hashCode()) : new Random();
+        // 기준가(전일 종가) 5,000 ~ 200,000원
+        return new RandomWalk(symbol, roundToTick(5_000L + random.nextInt(195_000)), random);
+    }
+
+    /**
+     * KRX 호가가격단위
+     */
+    static long tickSize(long price) {
+        if (price < 2_000L) {
+            return 1L;
+        } else if (price < 5_000L) {
+            return 5L;
+        } else if (price < 20_000L) {
+            return 10L;
+        } else if (price < 50_000L) {
+            return 50L;
+        } else if (price < 200_000L) {
+            return 100L;
+        } else if (price < 500_000L) {
+            return 500L;
+        }
+        return 1_000L;
+    }
+
+    static long roundToTick(long price) {
+        long tick = tickSize(price);
+        return price / tick * tick;
+    }
+
+    /**
+     * 100배 정수를 소수 둘째 자리 문자열로 (예: -14 → "-0.14")
+     */
+    static String formatHundredths(long valueX100) {
+        long abs = Math.abs(valueX100);
+        long fraction = abs % 100;
+        return (valueX100 < 0 ? "-" : "") + abs / 100 + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    /**
+     * 종목 하나의 랜덤워크 가격/거래량 상태 (발생기 스레드에서만 접근)
+     */
+    private static final class RandomWalk {
+        private final String symbol;
+        private final Random random;
+        private final long previousClose;
+        private long price;
+        private long open;
+        private long high;
+        private long low;
+        private long tradeVolume;
+        private long cumulativeVolume;
+        private long cumulativeAmount;
+        private int side;
+        private long trades;
+
+        private RandomWalk(String symbol, long previousClose, Random random) {
+            this.symbol = symbol;
+            this.random = random;
+            this.previousClose = previousClose;
+            this.price = previousClose;
+            this.open = previousClose;
+            this.high = previousClose;
+            this.low = previousClose;
+        }
+
+        private void step() {
+            long steps = Math.round(random.nextGaussian());
+            // 상하한가(±30%) 안에서만 움직임
+            long next = roundToTick(price + steps * tickSize(price));
+            long upper = previousClose * 13 / 10;
+            long lower = previousClose * 7 / 10;
+            price = Math.max(lower, Math.min(upper, Math.max(1L, next)));
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+            tradeVolume = 1 + random.nextInt(500);
+            cumulativeVolume += tradeVolume;
+            cumulativeAmount += tradeVolume * price;
+            side = steps >= 0 ? 1 : 5;
+            trades++;
+        }
+
+        /**
+         * H0STCNT0 레코드 46개 필드 (KisTickDecoder 필드 순서)
+         */
+        private String tradeFrame(String tradeTime, String businessDate) {
+            long change = price - previousClose;
+            long tick = tickSize(price);
+            String[] fields = new String[46];
+            Arrays.fill(fields, "0");
+            fields[0] = symbol;
+            fields[1] = tradeTime;
+            fields[2] = Long.toString(price);
+            fields[3] = change > 0 ? "2" : change < 0 ? "5" : "3";
+            fields[4] = Long.toString(change);
+            fields[5] = formatHundredths(change * 10_000L / previousClose);
+            fields[6] = formatHundredths(cumulativeAmount * 100L / cumulativeVolume);
+            fields[7] = Long.toString(open);
+            fields[8] = Long.toString(high);
+            fields[9] = Long.toString(low);
+            fields[10] = Long.toString(price + tick);
+            fields[11] = Long.toString(price);
+            fields[12] = Long.toString(tradeVolume);
+            fields[13] = Long.toString(cumulativeVolume);
+            fields[14] = Long.toString(cumulativeAmount);
+            fields[21] = Integer.toString(side);
+            fields[33] = businessDate;
+            fields[35] = "N";
+            fields[36] = Integer.toString(100 + random.nextInt(5_000));
+            fields[37] = Integer.toString(100 + random.nextInt(5_000));
+            fields[38] = Integer.toString(50_000 + random.nextInt(200_000));
+            fields[39] = Integer.toString(50_000 + random.nextInt(200_000));
+            return KisTickDecoder.FRAME_PREFIX + "001|" + String.join("^", fields);
+        }
+
+        /**
+         * H0STASP0 레코드 59개 필드 (KisOrderBookDecoder 필드 순서, 매도1 = 현재가 + 1틱, 매수1 = 현재가)
+         */
+        private String quoteFrame(String tradeTime) {
+            long tick = tickSize(price);
+            String[] fields = new String[59];
+            Arrays.fill(fields, "0");
+            fields[0] = symbol;
+            fields[1] = tradeTime;
+            long totalAsk = 0L;
+            long totalBid = 0L;
+            for (int level = 0; level < 10; level++) {
+                long askQuantity = 100 + random.nextInt(10_000);
+                long bidQuantity = 100 + random.nextInt(10_000);
+                fields[3 + level] = Long.toString(price + tick * (level + 1));
+                fields[13 + level] = Long.toString(Math.max(0L, price - tick * level));
+                fields[23 + level] = Long.toString(askQuantity);
+                fields[33 + level] = Long.toString(bidQuantity);
+                totalAsk += askQuantity;
+                totalBid += bidQuantity;
+            }
+            fields[43] = Long.toString(totalAsk);
+            fields[44] = Long.toString(totalBid);
+            return KisOrderBookDecoder.FRAME_PREFIX + "001|" + String.join("^", fields);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.hanazoom.global.realtime.simulator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로컬 KIS 실시간 시세 서버 (kis-sim 프로필)
+ *
+ * - 실제 KIS 와 같은 등록/해제 요청 JSON(header.approval_key/tr_type, body.input.tr_id/tr_key)을 받아 응답
+ * - 시뮬레이터가 발급한 접속키로만 등록을 허용하고, 세션별로 (tr_id, 종목) 등록 상태를 관리
+ * - KisSimulatorFeed 가 만든 "0|H0STCNT0|001|..." / H0STASP0 프레임을 등록한 세션에만 전달
+ * - 주기적으로 PINGPONG 을 보내 실제 서버의 연결 유지 메시지를 흉내냄
+ */
+@Slf4j
+@Component
+@Profile("kis-sim")
+public class KisSimulatorServer extends TextWebSocketHandler {
+
+    private static final DateTimeFormatter PING_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int BUFFER_SIZE_LIMIT = 64 * 1024 * 1024;
+
+    // 시뮬레이터 재시작 후에도 앱이 파일에 저장해 둔 접속키를 계속 쓸 수 있도록 형식(접두어)으로 검증
+    private static final String APPROVAL_KEY_PREFIX = "kis-sim-";
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    // "tr_id|종목코드" -> 등록한 세션
+    private final Map<String, Set<WebSocketSession>> registrations = new ConcurrentHashMap<>();
+    private final LongAdder sentFrames = new LongAdder();
+
+    /**
+     * 접속키 발급 (/oauth2/Approval)
+     */
+    public String issueApprovalKey() {
+        return APPROVAL_KEY_PREFIX + UUID.randomUUID();
+    }
+
+    @Override
+    public void afterConnectionEstablished(@NonNull WebSocketSession session) {
+        sessions.put(session.getId(), new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS,
+                BUFFER_SIZE_LIMIT, ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE));
+        log.info("✅ [KIS 시뮬레이터] 연결: {}", session.getId());
+    }
+
+    @Override
+    protected void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) {
+        WebSocketSession target = sessions.getOrDefault(session.getId(), session);
+        String trId = "";
+        String trKey = "";
+        try {
+            JSONObject request = new JSONObject(message.getPayload());
+            JSONObject header = request.getJSONObject("header");
+            JSONObject input = request.getJSONObject("body").getJSONObject("input");
+            trId = input.getString("tr_id");
+            trKey = input.getString("tr_key");
+
+            if (!header.optString("approval_key").startsWith(APPROVAL_KEY_PREFIX)) {
+                reply(target, trId, trKey, "1", "OPSP0011", "invalid approval : NOT FOUND");
+                return;
+            }
+            Set<WebSocketSession> registered = registrations.computeIfAbsent(registrationKey(trId, trKey),
+                    key -> ConcurrentHashMap.newKeySet());
+            if ("1".equals(header.optString("tr_type"))) {
+                if (registered.add(target)) {
+                    reply(target, trId, trKey, "0", "OPSP0000", "SUBSCRIBE SUCCESS");
+                } else {
+                    reply(target, trId, trKey, "1", "OPSP0002", "ALREADY IN SUBSCRIBE");
+                }
+            } else if (registered.remove(target)) {
+                reply(target, trId, trKey, "0", "OPSP0001", "UNSUBSCRIBE SUCCESS");
+            } else {
+                reply(target, trId, trKey, "1", "OPSP0003", "UNSUBSCRIBE ERROR(not found!)");
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ [KIS 시뮬레이터] 잘못된 요청: {}", e.getMessage());
+            reply(target, trId, trKey, "9", "OPSP9999", "JSON PARSING ERROR");
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status) {
+        WebSocketSession target = sessions.remove(session.getId());
+        if (target != null) {
+            registrations.values().forEach(registered -> registered.remove(target));
+        }
+        log.info("❌ [KIS 시뮬레이터] 연결 종료: {} ({})", session.getId(), status);
+    }
+
+    /**
+     * 실시간 프레임 전달 (해당 tr_id/종목을 등록한 세션에만)
+     *
+     * @return 전달한 세션 수
+     */
+    public int dispatch(String trId, String symbol, String frame) {
+        Set<WebSocketSession> registered = registrations.get(registrationKey(trId, symbol));
+        if (registered == null || registered.isEmpty()) {
+            return 0;
+        }
+        TextMessage message = new TextMessage(frame);
+        int delivered = 0;
+        for (WebSocketSession session : registered) {
+            if (send(session, message)) {
+                delivered++;
+            }
+        }
+        sentFrames.add(delivered);
+        return delivered;
+    }
+
+    /**
+     * 현재 한 세션이라도 등록한 (tr_id, 종목) 의 종목코드 목록
+     */
+    public Set<String> getRegisteredSymbols(String trId) {
+        Set<String> symbols = new TreeSet<>();
+        String prefix = trId + "|";
+        registrations.forEach((key, registered) -> {
+            if (key.startsWith(prefix) && !registered.isEmpty()) {
+                symbols.add(key.substring(prefix.length()));
+            }
+        });
+        return symbols;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public long getSentFrameCount() {
+        return sentFrames.sum();
+    }
+
+    @Scheduled(fixedDelay = 10000)
+    public void sendPing() {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        JSONObject header = new JSONObject();
+        header.put("tr_id", "PINGPONG");
+        header.put("datetime", LocalDateTime.now().format(PING_TIME));
+        TextMessage ping = new TextMessage(new JSONObject().put("header", header).toString());
+        sessions.values().forEach(session -> send(session, ping));
+    }
+
+    private void reply(WebSocketSession session, String trId, String trKey, String rtCd, String msgCd, String msg) {
+        JSONObject header = new JSONObject();
+        header.put("tr_id", trId);
+        header.put("tr_key", trKey);
+        header.put("encrypt", "N");
+        JSONObject body = new JSONObject();
+        body.put("rt_cd", rtCd);
+        body.put("msg_cd", msgCd);
+        body.put("msg1", msg);
+        send(session, new TextMessage(new JSONObject().put("header", header).put("body", body).toString()));
+    }
+
+    private boolean send(WebSocketSession session, TextMessage message) {
+        if (!session.isOpen()) {
+            return false;
+        }
+        try {
+            session.sendMessage(message);
+            return true;
+        } catch (Exception e) {
+            log.warn("⚠️ [KIS 시뮬레이터] 전송 실패 - 연결 종료 ({}): {}", session.getId(), e.getMessage());
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (Exception ignored) {
+                // 이미 닫힌 세션
+            }
+            return false;
+        }
+    }
+
+    private static String registrationKey(String trId, String symbol) {
+        return trId + "|" + symbol;
+    }
+}
@@ -0,0 +1,24 @@
+package com.hanazoom.global.realtime.simulator;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@Profile("kis-sim")
+@RequiredArgsConstructor
+public class KisSimulatorWebSocketConfig implements WebSocketConfigurer {
+
+    private final KisSimulatorServer kisSimulatorServer;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // 로컬 KIS 실시간 시세 서버 (kis.realtime-url 을 이 주소로 지정)
+        registry.addHandler(kisSimulatorServer, "/kis-sim/realtime")
+                .setAllowedOriginPatterns("*");
+    }
+}
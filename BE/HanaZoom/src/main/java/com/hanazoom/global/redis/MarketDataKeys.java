@@ -0,0 +1,43 @@
+package com.hanazoom.global.redis;
+
+/**
+ * 시세 데이터 Redis 키 규칙
+ */
+public final class MarketDataKeys {
+
+    // 클러스터 시세 팬아웃 (피드 리더 잠금, 노드별 구독 종목, 체결 틱 중계 채널, 종목별 업데이트 채널)
+    public static final String FEED_LEADER = "market:feed:leader";
+    public static final String FEED_NODES = "market:feed:nodes";
+    public static final String FEED_INTEREST_CHANNEL = "market:feed:interest";
+    public static final String FEED_TICK_RELAY_CHANNEL = "market:feed:relay";
+    public static final String FEED_CHANNEL_PATTERN = "market:feed:tick:*";
+    // 과거 캔들이 다시 계산된 종목 알림 (각 노드가 차트 캔들 스토어를 비움)
+    public static final String CANDLE_INVALIDATE_CHANNEL = "market:candle:invalidate";
+    private static final String FEED_CHANNEL_PREFIX = "market:feed:tick:";
+
+    private MarketDataKeys() {
+    }
+
+    public static String realtime(String stockCode) {
+        return "stock:realtime:" + stockCode;
+    }
+
+    public static String closing(String stockCode) {
+        return "stock:closing:" + stockCode;
+    }
+
+    public static String orderBook(String stockCode) {
+        return "orderbook:" + stockCode;
+    }
+
+    public static String feedChannel(String stockCode) {
+        return FEED_CHANNEL_PREFIX + stockCode;
+    }
+
+    /**
+     * 팬아웃 채널명에서 종목코드 추출 (형식이 다르면 null)
+     */
+    public static String stockCodeFromFeedChannel(String channel) {
+        return channel.startsWith(FEED_CHANNEL_PREFIX) ? channel.substring(FEED_CHANNEL_PREFIX.length()) : null;
+    }
+}
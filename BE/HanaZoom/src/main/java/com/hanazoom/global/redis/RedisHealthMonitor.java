@@ -0,0 +1,172 @@
+package com.hanazoom.global.redis;
+
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.event.connection.ConnectionActivatedEvent;
+import io.lettuce.core.event.connection.ConnectionDeactivatedEvent;
+import io.lettuce.core.resource.ClientResources;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Redis 연결 상태 모니터 + 서킷 브레이커
+ *
+ * - Lettuce 연결 이벤트(활성/비활성)와 명령 실패를 기반으로 상태를 추적하며, 호출 측은 volatile 플래그만 읽는다.
+ * - 연결/타임아웃 오류가 연속으로 발생하면 서킷을 열어 일정 시간 Redis 호출을 즉시 건너뛴다.
+ * - 서킷이 열린 동안에는 스케줄러가 PING 으로 복구를 확인한다.
+ * - isAvailable 은 상태만 읽고, 실제 Redis 를 호출하는 경로만 tryAcquireProbe 로 열린 서킷의 시험 호출 기회를 얻는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisHealthMonitor {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ClientResources clientResources;
+
+    @Value("${redis.circuit.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${redis.circuit.open-duration-ms:10000}")
+    private long openDurationMs;
+
+    private volatile boolean available = true;
+    private volatile long openUntilMillis;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean halfOpenTrial = new AtomicBoolean();
+
+    @PostConstruct
+    public void subscribeConnectionEvents() {
+        clientResources.eventBus().get().subscribe(event -> {
+            if (event instanceof ConnectionDeactivatedEvent) {
+                openCircuit("Lettuce 연결 비활성화");
+            } else if (event instanceof ConnectionActivatedEvent) {
+                closeCircuit("Lettuce 연결 활성화");
+            }
+        });
+    }
+
+    /**
+     * Redis 사용 가능 여부 - 서킷이 닫혀 있는지만 확인 (네트워크 왕복, 상태 변경 없음)
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * 열린 서킷의 시험 호출 기회 획득
+     * 대기 시간이 지난 뒤 한 호출자만 true 를 받으며, 그 호출 결과를 recordSuccess/recordFailure 로 알려야 한다.
+     */
+    public boolean tryAcquireProbe() {
+        return !available && System.currentTimeMillis() >= openUntilMillis && halfOpenTrial.compareAndSet(false, true);
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        if (!available) {
+            closeCircuit("시험 호출 성공");
+        }
+    }
+
+    /**
+     * 명령 실패 기록 (연결/타임아웃 계열 오류만 서킷 판단에 반영)
+     */
+    public void recordFailure(Throwable e) {
+        if (!isConnectionFailure(e)) {
+            // Redis 가 응답은 했으므로 시험 호출 기회만 반환
+            halfOpenTrial.set(false);
+            return;
+        }
+        if (!available) {
+            // 시험 호출 실패 → 다시 대기
+            openUntilMillis = System.currentTimeMillis() + openDurationMs;
+            halfOpenTrial.set(false);
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openCircuit("연속 " + consecutiveFailures.get() + "회 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 서킷 상태를 반영하여 Redis 작업 실행 (불가 시 기본값)
+     */
+    public <T> T execute(Supplier<T> operation, T defaultValue) {
+        if (!isAvailable() && !tryAcquireProbe()) {
+            return defaultValue;
+        }
+        try {
+            T result = operation.get();
+            recordSuccess();
+            return result;
+        } catch (Exception e) {
+            recordFailure(e);
+            log.debug("Redis 작업 실패: {}", e.getMessage());
+            return defaultValue;
+        }
+    }
+
+    public void run(Runnable operation) {
+        execute(() -> {
+            operation.run();
+            return null;
+        }, null);
+    }
+
+    // 서킷이 열려 있을 때만 PING 으로 복구 확인
+    @Scheduled(fixedDelay = 5000)
+    public void probeWhileOpen() {
+        if (available) {
+            return;
+        }
+        try {
+            redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+            recordSuccess();
+        } catch (Exception e) {
+            log.debug("Redis 복구 확인 실패: {}", e.getMessage());
+        }
+    }
+
+    private void openCircuit(String reason) {
+        openUntilMillis = System.currentTimeMillis() + openDurationMs;
+        halfOpenTrial.set(false);
+        if (available) {
+            available = false;
+            log.warn("⚠️ Redis 서킷 오픈 - {}ms 동안 Redis 호출을 건너뜁니다: {}", openDurationMs, reason);
+        }
+    }
+
+    private void closeCircuit(String reason) {
+        consecutiveFailures.set(0);
+        halfOpenTrial.set(false);
+        if (!available) {
+            available = true;
+            log.info("✅ Redis 서킷 복구: {}", reason);
+        }
+    }
+
+    private static boolean isConnectionFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof RedisConnectionFailureException
+                    || t instanceof QueryTimeoutException
+                    || t instanceof RedisConnectionException
+                    || t instanceof RedisCommandTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
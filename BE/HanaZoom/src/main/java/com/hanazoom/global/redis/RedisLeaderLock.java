@@ -0,0 +1,103 @@
+package com.hanazoom.global.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis 기반 리더 잠금 (임대 방식)
+ *
+ * SET NX PX 로 잠금을 얻고, 보유자만 Lua 비교 후 만료를 연장/해제한다.
+ * Redis 에 접근할 수 없으면 마지막으로 확인된 임대 만료 시각까지만 리더로 간주한다.
+ */
+@Slf4j
+public class RedisLeaderLock {
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisHealthMonitor redisHealthMonitor;
+    private final String key;
+    private final String owner;
+    private final Duration lease;
+
+    private volatile long leaseExpiresAt;
+
+    public RedisLeaderLock(RedisTemplate<String, Object> redisTemplate, RedisHealthMonitor redisHealthMonitor,
+            String key, String owner, Duration lease) {
+        this.redisTemplate = redisTemplate;
+        this.redisHealthMonitor = redisHealthMonitor;
+        this.key = key;
+        this.owner = owner;
+        this.lease = lease;
+    }
+
+    /**
+     * 보유 중이면 연장, 아니면 획득 시도
+     *
+     * @return 현재 리더 여부
+     */
+    public boolean tryAcquireOrRenew() {
+        long now = System.currentTimeMillis();
+        try {
+            boolean held;
+            if (isHeld()) {
+                Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(key), owner,
+                        String.valueOf(lease.toMillis()));
+                held = renewed != null && renewed > 0;
+                if (!held) {
+                    // 만료 후 다른 노드가 가져간 경우 → 재획득 시도하지 않고 물러남
+                    log.warn("⚠️ 리더 잠금 연장 실패 (다른 노드가 보유): {}", key);
+                }
+            } else {
+                held = Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, owner, lease));
+            }
+            redisHealthMonitor.recordSuccess();
+            leaseExpiresAt = held ? now + lease.toMillis() : 0L;
+            return held;
+        } catch (Exception e) {
+            redisHealthMonitor.recordFailure(e);
+            log.debug("리더 잠금 확인 실패: {} - {}", key, e.getMessage());
+            return isHeld();
+        }
+    }
+
+    /**
+     * 잠금 해제 (보유 중일 때만)
+     */
+    public void release() {
+        if (leaseExpiresAt == 0L) {
+            return;
+        }
+        leaseExpiresAt = 0L;
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key), owner);
+        } catch (Exception e) {
+            redisHealthMonitor.recordFailure(e);
+            log.debug("리더 잠금 해제 실패: {} - {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 마지막으로 확인된 임대가 아직 유효한지
+     */
+    public boolean isHeld() {
+        return System.currentTimeMillis() < leaseExpiresAt;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+}
@@ -25,7 +25,6 @@ public class KisApiService {
 
     private final KisConfig kisConfig;
     private final WebClient webClient;
-    private static final Path KEY_PATH = Paths.get("kis_keys.json");
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
     @PostConstruct
@@ -38,10 +37,14 @@ public class KisApiService {
         }
     }
 
+    private Path keyPath() {
+        return Paths.get(kisConfig.getKeyFile());
+    }
+
     private void loadKeysFromFile() {
-        if (Files.exists(KEY_PATH)) {
+        if (Files.exists(keyPath())) {
             try {
-                String content = new String(Files.readAllBytes(KEY_PATH));
+                String content = new String(Files.readAllBytes(keyPath()));
                 JSONObject keys = new JSONObject(content);
                 if (keys.has("accessToken") && keys.has("approvalKey") && keys.has("issuedAt")) {
                     kisConfig.setAccessToken(keys.getString("accessToken"));
@@ -60,7 +63,7 @@ public class KisApiService {
             keys.put("accessToken", kisConfig.getAccessToken());
             keys.put("approvalKey", kisConfig.getApprovalKey());
             keys.put("issuedAt", LocalDateTime.now().format(FORMATTER));
-            Files.write(KEY_PATH, keys.toString(4).getBytes());
+            Files.write(keyPath(), keys.toString(4).getBytes());
             log.info("API keys saved to file.");
         } catch (IOException e) {
             log.error("Failed to save API keys to file.", e);
@@ -68,11 +71,11 @@ public class KisApiService {
     }
 
     private boolean isAccessTokenValid() {
-        if (kisConfig.getAccessToken() == null || !Files.exists(KEY_PATH)) {
+        if (kisConfig.getAccessToken() == null || !Files.exists(keyPath())) {
             return false;
         }
         try {
-            String content = new String(Files.readAllBytes(KEY_PATH));
+            String content = new String(Files.readAllBytes(keyPath()));
             JSONObject keys = new JSONObject(content);
             if (keys.has("issuedAt")) {
                 LocalDateTime issuedAt = LocalDateTime.parse(keys.getString("issuedAt"), FORMATTER);
@@ -0,0 +1,42 @@
+package com.hanazoom.global.util;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 특정 시점의 시장 운영 상태 스냅샷 (불변)
+ * MarketSessionClock 이 상태 경계마다 새로 만들어 교체하므로 조회 측은 필드만 읽으면 된다.
+ */
+@Getter
+public final class MarketSession {
+
+    private final MarketTimeUtils.MarketStatus status;
+    private final LocalDate date; // 기준 일자 (한국시간)
+    private final LocalDate nextTradingDay;
+    private final LocalDate lastTradingDay;
+    private final long since; // 현재 상태 시작 시각 (epoch ms)
+    private final long nextTransitionAt; // 다음 상태 전환 예정 시각 (epoch ms)
+    private final boolean marketOpen;
+    private final boolean marketClosed;
+    private final boolean afterMarketClose; // 거래일 장종료 이후 (주말/공휴일 제외)
+
+    MarketSession(MarketTimeUtils.MarketStatus status, LocalDate date, LocalDate nextTradingDay,
+            LocalDate lastTradingDay, long since, long nextTransitionAt) {
+        this.status = status;
+        this.date = date;
+        this.nextTradingDay = nextTradingDay;
+        this.lastTradingDay = lastTradingDay;
+        this.since = since;
+        this.nextTransitionAt = nextTransitionAt;
+        this.marketOpen = status == MarketTimeUtils.MarketStatus.OPEN;
+        this.marketClosed = status == MarketTimeUtils.MarketStatus.CLOSED
+                || status == MarketTimeUtils.MarketStatus.CLOSED_WEEKEND
+                || status == MarketTimeUtils.MarketStatus.CLOSED_HOLIDAY;
+        this.afterMarketClose = status == MarketTimeUtils.MarketStatus.CLOSED;
+    }
+
+    public String getStatusMessage() {
+        return status.getDescription();
+    }
+}
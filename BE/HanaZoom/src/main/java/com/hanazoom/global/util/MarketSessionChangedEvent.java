@@ -0,0 +1,19 @@
+package com.hanazoom.global.util;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 시장 운영 상태 전환 이벤트 (장전 → 정규장 → 장종료 등)
+ */
+@Getter
+public class MarketSessionChangedEvent extends ApplicationEvent {
+    private final MarketSession previous;
+    private final MarketSession current;
+
+    public MarketSessionChangedEvent(Object source, MarketSession previous, MarketSession current) {
+        super(source);
+        this.previous = previous;
+        this.current = current;
+    }
+}
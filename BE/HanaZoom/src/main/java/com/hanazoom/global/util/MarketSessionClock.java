@@ -0,0 +1,278 @@
+package com.hanazoom.global.util;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시장 운영 상태 시계
+ *
+ * - 연도별 거래일/개장지연일을 BitSet 으로 미리 계산 (주말, 고정 공휴일, 설정된 임시 휴장일 반영)
+ * - 장전/정규장/장후/장종료 경계 시각에 맞춰 다음 전환을 예약하고, 전환 시 상태 스냅샷을 교체
+ * - 현재 상태 조회는 volatile 필드 하나만 읽음 (틱마다 날짜 계산/문자열 비교 없음)
+ * - 상태가 바뀌면 MarketSessionChangedEvent 발행 → 웹소켓 구독자에게 MARKET_STATUS 전송
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarketSessionClock {
+
+    public static final ZoneId KOREA_ZONE = ZoneId.of("Asia/Seoul");
+
+    // 장전 08:30, 정규장 09:00 ~ 15:30, 장후 15:40 ~ 16:00
+    private static final LocalTime PRE_MARKET_OPEN = LocalTime.of(8, 30);
+    private static final LocalTime MARKET_OPEN = LocalTime.of(9, 0);
+    private static final LocalTime MARKET_CLOSE = LocalTime.of(15, 30);
+    private static final LocalTime POST_MARKET_OPEN = LocalTime.of(15, 40);
+    private static final LocalTime POST_MARKET_CLOSE = LocalTime.of(16, 0);
+
+    // 개장 지연일(연초 첫 거래일, 수능일)은 장전/정규장 시작이 1시간 늦음
+    private static final long LATE_OPEN_HOURS = 1;
+
+    // 고정 휴일 (양력)
+    private static final Set<MonthDay> FIXED_HOLIDAYS = Set.of(
+            MonthDay.of(1, 1), // 신정
+            MonthDay.of(3, 1), // 삼일절
+            MonthDay.of(5, 5), // 어린이날
+            MonthDay.of(6, 6), // 현충일
+            MonthDay.of(8, 15), // 광복절
+            MonthDay.of(10, 3), // 개천절
+            MonthDay.of(10, 9), // 한글날
+            MonthDay.of(12, 25), // 크리스마스
+            MonthDay.of(12, 31) // 연말 휴장일
+    );
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 음력 공휴일, 대체공휴일, 선거일 등 (yyyy-MM-dd, 콤마 구분)
+    @Value("${market.calendar.holidays:}")
+    private String configuredHolidays;
+
+    // 개장 지연일 (yyyy-MM-dd, 콤마 구분) - 연초 첫 거래일은 자동 적용
+    @Value("${market.calendar.late-open-days:}")
+    private String configuredLateOpenDays;
+
+    private final Set<LocalDate> extraHolidays = new HashSet<>();
+    private final Set<LocalDate> lateOpenDays = new HashSet<>();
+    private final Map<Integer, YearCalendar> calendars = new ConcurrentHashMap<>();
+
+    private volatile MarketSession current;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        extraHolidays.addAll(parseDates(configuredHolidays));
+        lateOpenDays.addAll(parseDates(configuredLateOpenDays));
+
+        current = compute(ZonedDateTime.now(KOREA_ZONE), System.currentTimeMillis());
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "market-session-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleNext(current);
+        log.info("✅ 시장 시계 시작: {} (다음 전환 {})", current.getStatusMessage(),
+                Instant.ofEpochMilli(current.getNextTransitionAt()).atZone(KOREA_ZONE).toLocalDateTime());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 현재 시장 운영 상태 (volatile 읽기 한 번)
+     */
+    public MarketSession current() {
+        MarketSession session = current;
+        return session != null ? session : compute(ZonedDateTime.now(KOREA_ZONE), System.currentTimeMillis());
+    }
+
+    public boolean isTradingDay(LocalDate date) {
+        return calendar(date.getYear()).tradingDays.get(date.getDayOfYear());
+    }
+
+    public LocalDate nextTradingDay(LocalDate date) {
+        LocalDate next = date.plusDays(1);
+        while (!isTradingDay(next)) {
+            next = next.plusDays(1);
+        }
+        return next;
+    }
+
+    public LocalDate previousTradingDay(LocalDate date) {
+        LocalDate previous = date.minusDays(1);
+        while (!isTradingDay(previous)) {
+            previous = previous.minusDays(1);
+        }
+        return previous;
+    }
+
+    private void scheduleNext(MarketSession session) {
+        long boundary = session.getNextTransitionAt();
+        long delay = Math.max(0L, boundary - System.currentTimeMillis());
+        try {
+            scheduler.schedule(() -> transition(boundary), delay, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.debug("시장 상태 전환 예약 실패 (종료 중): {}", e.getMessage());
+        }
+    }
+
+    private void transition(long boundary) {
+        try {
+            // 타이머가 경계보다 조금 일찍 깨어나도 경계 시각 기준으로 계산
+            long nowMillis = Math.max(System.currentTimeMillis(), boundary);
+            ZonedDateTime now = Instant.ofEpochMilli(nowMillis).atZone(KOREA_ZONE);
+            if (now.getYear() != current.getDate().getYear()) {
+                calendars.keySet().removeIf(year -> year < now.getYear() - 1);
+            }
+
+            MarketSession previous = current;
+            MarketSession next = compute(now, nowMillis);
+            current = next;
+            if (previous.getStatus() != next.getStatus()) {
+                log.info("🔄 시장 상태 전환: {} → {}", previous.getStatusMessage(), next.getStatusMessage());
+                eventPublisher.publishEvent(new MarketSessionChangedEvent(this, previous, next));
+            }
+        } catch (Exception e) {
+            log.error("❌ 시장 상태 전환 처리 실패", e);
+        } finally {
+            scheduleNext(current);
+        }
+    }
+
+    /**
+     * 주어진 시각의 상태와 다음 전환 시각 계산
+     */
+    private MarketSession compute(ZonedDateTime now, long nowMillis) {
+        LocalDate date = now.toLocalDate();
+        LocalTime time = now.toLocalTime();
+        LocalDate nextTradingDay = nextTradingDay(date);
+        LocalDate lastTradingDay;
+        MarketTimeUtils.MarketStatus status;
+        LocalTime nextBoundary = null;
+
+        YearCalendar calendar = calendar(date.getYear());
+        int dayOfYear = date.getDayOfYear();
+        if (!calendar.tradingDays.get(dayOfYear)) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            status = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY
+                    ? MarketTimeUtils.MarketStatus.CLOSED_WEEKEND
+                    : MarketTimeUtils.MarketStatus.CLOSED_HOLIDAY;
+            lastTradingDay = previousTradingDay(date);
+        } else {
+            boolean lateOpen = calendar.lateOpenDays.get(dayOfYear);
+            LocalTime preOpen = lateOpen ? PRE_MARKET_OPEN.plusHours(LATE_OPEN_HOURS) : PRE_MARKET_OPEN;
+            LocalTime open = lateOpen ? MARKET_OPEN.plusHours(LATE_OPEN_HOURS) : MARKET_OPEN;
+
+            if (time.isBefore(preOpen)) {
+                status = MarketTimeUtils.MarketStatus.CLOSED;
+                nextBoundary = preOpen;
+            } else if (time.isBefore(open)) {
+                status = MarketTimeUtils.MarketStatus.PRE_MARKET;
+                nextBoundary = open;
+            } else if (time.isBefore(MARKET_CLOSE)) {
+                status = MarketTimeUtils.MarketStatus.OPEN;
+                nextBoundary = MARKET_CLOSE;
+            } else if (time.isBefore(POST_MARKET_OPEN)) {
+                status = MarketTimeUtils.MarketStatus.CLOSED;
+                nextBoundary = POST_MARKET_OPEN;
+            } else if (time.isBefore(POST_MARKET_CLOSE)) {
+                status = MarketTimeUtils.MarketStatus.POST_MARKET;
+                nextBoundary = POST_MARKET_CLOSE;
+            } else {
+                status = MarketTimeUtils.MarketStatus.CLOSED;
+            }
+            lastTradingDay = status == MarketTimeUtils.MarketStatus.OPEN ? date : previousTradingDay(date);
+        }
+
+        // 당일 남은 경계가 없으면 다음날 00:00 (주말/공휴일 상태 전환 기준)
+        LocalDateTime transitionAt = nextBoundary != null
+                ? date.atTime(nextBoundary)
+                : date.plusDays(1).atStartOfDay();
+        long nextTransitionAt = transitionAt.atZone(KOREA_ZONE).toInstant().toEpochMilli();
+
+        return new MarketSession(status, date, nextTradingDay, lastTradingDay, nowMillis, nextTransitionAt);
+    }
+
+    private YearCalendar calendar(int year) {
+        return calendars.computeIfAbsent(year, this::buildCalendar);
+    }
+
+    /**
+     * 연도별 거래일/개장지연일 비트맵 생성 (비트 인덱스 = dayOfYear)
+     */
+    private YearCalendar buildCalendar(int year) {
+        LocalDate date = LocalDate.of(year, 1, 1);
+        int days = date.lengthOfYear();
+        BitSet tradingDays = new BitSet(days + 1);
+        BitSet lateOpen = new BitSet(days + 1);
+        boolean firstTradingDay = true;
+        for (int i = 0; i < days; i++, date = date.plusDays(1)) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY
+                    || FIXED_HOLIDAYS.contains(MonthDay.from(date)) || extraHolidays.contains(date)) {
+                continue;
+            }
+            tradingDays.set(date.getDayOfYear());
+            if (firstTradingDay || lateOpenDays.contains(date)) {
+                lateOpen.set(date.getDayOfYear());
+            }
+            firstTradingDay = false;
+        }
+        log.info("✅ {}년 거래일 캘린더 생성: 거래일 {}일", year, tradingDays.cardinality());
+        return new YearCalendar(tradingDays, lateOpen);
+    }
+
+    private static Set<LocalDate> parseDates(String value) {
+        Set<LocalDate> dates = new HashSet<>();
+        if (value == null || value.isBlank()) {
+            return dates;
+        }
+        for (String token : value.split(",")) {
+            String trimmed = token.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                dates.add(LocalDate.parse(trimmed));
+            } catch (Exception e) {
+                log.warn("⚠️ 시장 캘린더 날짜 형식 오류 (무시): {}", trimmed);
+            }
+        }
+        return dates;
+    }
+
+    private static final class YearCalendar {
+        private final BitSet tradingDays;
+        private final BitSet lateOpenDays;
+
+        private YearCalendar(BitSet tradingDays, BitSet lateOpenDays) {
+            this.tradingDays = tradingDays;
+            this.lateOpenDays = lateOpenDays;
+        }
+    }
+}
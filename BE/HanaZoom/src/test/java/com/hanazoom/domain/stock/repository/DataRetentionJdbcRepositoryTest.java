@@ -0,0 +1,131 @@
+package com.hanazoom.domain.stock.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataRetentionJdbcRepositoryTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2024, 1, 2, 0, 0);
+
+    private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+    private final DataRetentionJdbcRepository repository = new DataRetentionJdbcRepository(jdbcTemplate);
+
+    @Test
+    void rangeColumnsPartitionsEndingByCutoffAreExpired() {
+        jdbcTemplate.partition("p20240101", "RANGE COLUMNS", "`timestamp`", "'2024-01-01'");
+        jdbcTemplate.partition("p20240102", "RANGE COLUMNS", "`timestamp`", "'2024-01-02 00:00:00'");
+        jdbcTemplate.partition("p20240103", "RANGE COLUMNS", "`timestamp`", "'2024-01-03'");
+        jdbcTemplate.partition("pmax", "RANGE COLUMNS", "`timestamp`", "MAXVALUE");
+
+        assertEquals(List.of("p20240101", "p20240102"),
+                repository.findExpiredPartitions("stock_tick_data", "timestamp", CUTOFF));
+    }
+
+    @Test
+    void toDaysPartitionBoundsAreReadAsDayNumbers() {
+        jdbcTemplate.partition("p0", "RANGE", "to_days(`created_at`)", toDays(LocalDate.of(2024, 1, 1)));
+        jdbcTemplate.partition("p1", "RANGE", "to_days(`created_at`)", toDays(LocalDate.of(2024, 1, 3)));
+        jdbcTemplate.partition("pmax", "RANGE", "to_days(`created_at`)", "MAXVALUE");
+
+        assertEquals(List.of("p0"), repository.findExpiredPartitions("notifications", "created_at", CUTOFF));
+    }
+
+    @Test
+    void lastPartitionIsNeverDropped() {
+        jdbcTemplate.partition("p20231230", "RANGE COLUMNS", "`timestamp`", "'2023-12-30'");
+        jdbcTemplate.partition("p20231231", "RANGE COLUMNS", "`timestamp`", "'2023-12-31'");
+
+        assertEquals(List.of("p20231230"),
+                repository.findExpiredPartitions("stock_tick_data", "timestamp", CUTOFF));
+    }
+
+    @Test
+    void tablesNotRangePartitionedByTheTimeColumnAreLeftToChunkedDeletes() {
+        assertTrue(repository.findExpiredPartitions("notifications", "created_at", CUTOFF).isEmpty());
+
+        jdbcTemplate.partition("p0", "HASH", "`id`", null);
+        assertTrue(repository.findExpiredPartitions("notifications", "created_at", CUTOFF).isEmpty());
+
+        jdbcTemplate.partitions.clear();
+        jdbcTemplate.partition("p0", "RANGE", "`id`", "1000");
+        jdbcTemplate.partition("p1", "RANGE", "`id`", "MAXVALUE");
+        assertTrue(repository.findExpiredPartitions("notifications", "created_at", CUTOFF).isEmpty());
+    }
+
+    @Test
+    void deleteChunkOrdersByTimeColumnAndBindsLimitLast() {
+        jdbcTemplate.updateResult = 42;
+
+        int deleted = repository.deleteChunk("stock_minute_prices", "timestamp", "minute_interval = ?",
+                new Object[] { "ONE_MINUTE" }, CUTOFF, 500);
+
+        assertEquals(42, deleted);
+        assertEquals("DELETE FROM stock_minute_prices WHERE timestamp < ? AND minute_interval = ? "
+                + "ORDER BY timestamp LIMIT ?", jdbcTemplate.updates.get(0));
+        assertEquals(Arrays.asList(Timestamp.valueOf(CUTOFF), "ONE_MINUTE", 500), jdbcTemplate.updateArgs.get(0));
+    }
+
+    @Test
+    void enumDataTypeColumnFailsStartup() {
+        jdbcTemplate.columnType = "enum";
+        assertThrows(IllegalStateException.class, repository::verifyDataTypeColumn);
+
+        jdbcTemplate.columnType = "varchar";
+        repository.verifyDataTypeColumn();
+    }
+
+    private static String toDays(LocalDate date) {
+        return Long.toString(date.toEpochDay() + 719528L);
+    }
+
+    /**
+     * information_schema 조회는 정해 둔 값으로 답하고 DELETE 는 기록만 함
+     */
+    static final class RecordingJdbcTemplate extends JdbcTemplate {
+        final List<Map<String, Object>> partitions = new ArrayList<>();
+        final List<String> updates = new ArrayList<>();
+        final List<List<Object>> updateArgs = new ArrayList<>();
+        String columnType;
+        int updateResult;
+
+        void partition(String name, String method, String expression, String description) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("PARTITION_NAME", name);
+            row.put("PARTITION_METHOD", method);
+            row.put("PARTITION_EXPRESSION", expression);
+            row.put("PARTITION_DESCRIPTION", description);
+            partitions.add(row);
+        }
+
+        @Override
+        public List<Map<String, Object>> queryForList(String sql, Object... args) {
+            return partitions;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            return columnType != null ? List.of((T) columnType) : List.of();
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            updates.add(sql);
+            updateArgs.add(Arrays.asList(args));
+            return updateResult;
+        }
+    }
+}
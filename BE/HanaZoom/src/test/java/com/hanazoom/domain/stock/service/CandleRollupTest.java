@@ -0,0 +1,129 @@
+package com.hanazoom.domain.stock.service;
+
+import com.hanazoom.domain.stock.entity.StockDailyPrice;
+import com.hanazoom.domain.stock.entity.StockMinutePrice;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CandleRollupTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 12);
+
+    // 09:00 ~ 09:05 1분봉 (09:03 은 거래 없는 봉, VWAP 없음)
+    private static final List<StockMinutePrice> BARS = List.of(
+            bar(0, 100, 105, 99, 104, 10, "102", 3, 6, 4),
+            bar(1, 104, 108, 103, 107, 20, "106", 5, 15, 5),
+            bar(2, 107, 107, 101, 102, 30, "104", 4, 10, 20),
+            bar(3, 102, 103, 100, 101, 0, null, 0, 0, 0),
+            bar(4, 101, 106, 101, 105, 40, "105", 6, 30, 10),
+            bar(5, 105, 110, 104, 109, 5, "108", 1, 5, 0));
+
+    @Test
+    void rollsUpFiveMinuteBars() {
+        List<StockMinutePrice> rolled = CandleRollup.rollup(BARS, StockMinutePrice.MinuteInterval.FIVE_MINUTES);
+
+        assertEquals(2, rolled.size());
+
+        // 09:00 구간: VWAP = (102x10 + 106x20 + 104x30 + 105x40) / 100 = 104.60
+        StockMinutePrice first = rolled.get(0);
+        assertEquals(DAY.atTime(9, 0), first.getTimestamp());
+        assertEquals(StockMinutePrice.MinuteInterval.FIVE_MINUTES, first.getMinuteInterval());
+        assertEquals("005930", first.getStockSymbol());
+        assertAmount("100", first.getOpenPrice());
+        assertAmount("108", first.getHighPrice());
+        assertAmount("99", first.getLowPrice());
+        assertAmount("105", first.getClosePrice());
+        assertEquals(100L, first.getVolume());
+        assertEquals(18, first.getTickCount());
+        assertEquals(61L, first.getBuyVolume());
+        assertEquals(39L, first.getSellVolume());
+        assertAmount("104.60", first.getVwap());
+        assertAmount("5", first.getPriceChange());
+        assertAmount("5.00", first.getPriceChangePercent());
+
+        // 09:05 구간: 등락률 = 4 / 105 = 3.81%
+        StockMinutePrice second = rolled.get(1);
+        assertEquals(DAY.atTime(9, 5), second.getTimestamp());
+        assertAmount("105", second.getOpenPrice());
+        assertAmount("110", second.getHighPrice());
+        assertAmount("104", second.getLowPrice());
+        assertAmount("109", second.getClosePrice());
+        assertEquals(5L, second.getVolume());
+        assertAmount("108.00", second.getVwap());
+        assertAmount("3.81", second.getPriceChangePercent());
+    }
+
+    @Test
+    void usesMidpointVwapWhenBucketHasNoVolume() {
+        List<StockMinutePrice> rolled = CandleRollup.rollup(List.of(BARS.get(3)),
+                StockMinutePrice.MinuteInterval.THREE_MINUTES);
+
+        assertEquals(1, rolled.size());
+        assertEquals(DAY.atTime(9, 3), rolled.get(0).getTimestamp());
+        assertEquals(0L, rolled.get(0).getVolume());
+        assertAmount("101.50", rolled.get(0).getVwap());
+    }
+
+    @Test
+    void rollsUpDailyBarAgainstPreviousClose() {
+        StockDailyPrice daily = CandleRollup.rollupDaily(DAY, BARS, new BigDecimal("98"));
+
+        assertEquals(DAY, daily.getTradeDate());
+        assertEquals("005930", daily.getStockSymbol());
+        assertAmount("100", daily.getOpenPrice());
+        assertAmount("110", daily.getHighPrice());
+        assertAmount("99", daily.getLowPrice());
+        assertAmount("109", daily.getClosePrice());
+        assertEquals(105L, daily.getVolume());
+        assertAmount("11", daily.getPriceChange());
+        // 11 / 98 = 11.224%
+        assertAmount("11.22", daily.getPriceChangePercent());
+    }
+
+    @Test
+    void dailyChangeFallsBackToOpenWithoutPreviousClose() {
+        StockDailyPrice daily = CandleRollup.rollupDaily(DAY, BARS, null);
+
+        assertAmount("9", daily.getPriceChange());
+        assertAmount("9.00", daily.getPriceChangePercent());
+        assertNull(CandleRollup.rollupDaily(DAY, List.of(), null));
+    }
+
+    @Test
+    void alignsBucketsToMinuteOfDay() {
+        assertEquals(DAY.atTime(9, 5), CandleRollup.bucketStart(DAY.atTime(9, 7, 42), 5));
+        assertEquals(DAY.atTime(9, 0), CandleRollup.bucketStart(DAY.atTime(9, 59), 60));
+        assertEquals(DAY.atTime(15, 0), CandleRollup.bucketStart(DAY.atTime(15, 29), 30));
+        assertEquals(DAY.atTime(0, 0), CandleRollup.bucketStart(DAY.atTime(0, 2), 3));
+    }
+
+    private static StockMinutePrice bar(int minute, long open, long high, long low, long close, long volume,
+                                        String vwap, int tickCount, long buyVolume, long sellVolume) {
+        LocalDateTime timestamp = DAY.atTime(9, minute);
+        return StockMinutePrice.builder()
+                .stockSymbol("005930")
+                .minuteInterval(StockMinutePrice.MinuteInterval.ONE_MINUTE)
+                .timestamp(timestamp)
+                .openPrice(BigDecimal.valueOf(open))
+                .highPrice(BigDecimal.valueOf(high))
+                .lowPrice(BigDecimal.valueOf(low))
+                .closePrice(BigDecimal.valueOf(close))
+                .volume(volume)
+                .vwap(vwap != null ? new BigDecimal(vwap) : null)
+                .tickCount(tickCount)
+                .buyVolume(buyVolume)
+                .sellVolume(sellVolume)
+                .build();
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,156 @@
+package com.hanazoom.domain.stock.service;
+
+import com.hanazoom.domain.stock.dto.ChartChunkInfo;
+import com.hanazoom.domain.stock.store.CandleColumns;
+import com.hanazoom.domain.stock.store.CandleStore;
+import com.hanazoom.domain.stock.store.CandleStoreInvalidatedEvent;
+import com.hanazoom.global.util.MarketSessionClock;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChartChunkServiceTest {
+
+    private static final String SYMBOL = "005930";
+    private static final String IMMUTABLE = "max-age=31536000, public, immutable";
+    private static final String NO_CACHE = "no-cache";
+    private static final LocalDate COMPLETED = LocalDate.of(2020, 1, 1);
+
+    private final RecordingCandleStore candleStore = new RecordingCandleStore();
+    private final ChartChunkService service = service(candleStore);
+
+    @Test
+    void completedChunkIsImmutableOnlyAtItsCurrentVersion() {
+        ChartChunkService.Chunk chunk = service.getChunk(SYMBOL, "1D", COMPLETED);
+        assertTrue(chunk.isImmutable());
+
+        ResponseEntity<Integer> versioned = service.chunkResponse(SYMBOL, "1D", COMPLETED, chunk.getVersion(), null,
+                CandleColumns::size);
+        assertEquals(HttpStatus.OK, versioned.getStatusCode());
+        assertEquals(chunk.getEtag(), versioned.getHeaders().getETag());
+        assertEquals(IMMUTABLE, versioned.getHeaders().getCacheControl());
+        assertEquals(2, versioned.getBody());
+
+        // 버전 없는 URL, 지난 버전 URL 은 보정이 전달되도록 매번 재검증
+        assertEquals(NO_CACHE, service.chunkResponse(SYMBOL, "1D", COMPLETED, null, null, CandleColumns::size)
+                .getHeaders().getCacheControl());
+        assertEquals(NO_CACHE, service.chunkResponse(SYMBOL, "1D", COMPLETED, "stale", null, CandleColumns::size)
+                .getHeaders().getCacheControl());
+    }
+
+    @Test
+    void inProgressChunkIsNeverImmutable() {
+        LocalDate current = LocalDate.of(LocalDate.now(MarketSessionClock.KOREA_ZONE).getYear(), 1, 1);
+        ChartChunkService.Chunk chunk = service.getChunk(SYMBOL, "1D", current);
+        assertFalse(chunk.isImmutable());
+
+        ResponseEntity<Integer> response = service.chunkResponse(SYMBOL, "1D", current, chunk.getVersion(), null,
+                CandleColumns::size);
+
+        assertEquals(NO_CACHE, response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void matchingEtagOnCompletedChunkIsAnsweredWithoutReadingCandles() {
+        ChartChunkService.Chunk chunk = service.getChunk(SYMBOL, "1D", COMPLETED);
+        assertEquals(1, candleStore.reads.get());
+
+        ResponseEntity<Integer> response = service.chunkResponse(SYMBOL, "1D", COMPLETED, chunk.getVersion(),
+                "W/" + chunk.getEtag(), CandleColumns::size);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(chunk.getEtag(), response.getHeaders().getETag());
+        assertEquals(IMMUTABLE, response.getHeaders().getCacheControl());
+        assertNull(response.getBody());
+        assertEquals(1, candleStore.reads.get());
+    }
+
+    @Test
+    void indexRecomputesOnlyTheInProgressChunk() {
+        List<ChartChunkInfo> first = service.getChunkIndex(SYMBOL, "1D", 3);
+        assertEquals(3, candleStore.reads.get());
+
+        List<ChartChunkInfo> second = service.getChunkIndex(SYMBOL, "1D", 3);
+
+        assertEquals(4, candleStore.reads.get());
+        assertFalse(second.get(0).isImmutable());
+        assertTrue(second.get(1).isImmutable());
+        assertEquals(first.get(1).getVersion(), second.get(1).getVersion());
+
+        ResponseEntity<List<ChartChunkInfo>> index = service.chunkIndexResponse(SYMBOL, "1D", 3, null, chunks -> chunks);
+        ResponseEntity<List<ChartChunkInfo>> revalidated = service.chunkIndexResponse(SYMBOL, "1D", 3,
+                index.getHeaders().getETag(), chunks -> chunks);
+        assertEquals(NO_CACHE, index.getHeaders().getCacheControl());
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+    }
+
+    @Test
+    void invalidationForgetsCompletedChunksOfThatSymbol() {
+        ChartChunkService.Chunk before = service.getChunk(SYMBOL, "1D", COMPLETED);
+
+        // 롤업/이력 재적재로 과거 캔들이 바뀜
+        candleStore.revision++;
+        service.onCandleStoreInvalidated(new CandleStoreInvalidatedEvent(this, SYMBOL));
+
+        ResponseEntity<Integer> response = service.chunkResponse(SYMBOL, "1D", COMPLETED, before.getVersion(),
+                before.getEtag(), CandleColumns::size);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(before.getEtag(), response.getHeaders().getETag());
+        assertEquals(NO_CACHE, response.getHeaders().getCacheControl());
+        assertEquals(2, candleStore.reads.get());
+    }
+
+    @Test
+    void rejectsUnknownSymbolAndUnalignedChunkStart() {
+        assertEquals(HttpStatus.NOT_FOUND, service.chunkResponse("999999", "1D", COMPLETED, null, null,
+                CandleColumns::size).getStatusCode());
+        assertThrows(IllegalArgumentException.class, () -> service.getChunk(SYMBOL, "1D", LocalDate.of(2020, 3, 1)));
+    }
+
+    private static ChartChunkService service(CandleStore candleStore) {
+        ChartChunkService service = new ChartChunkService(candleStore);
+        ReflectionTestUtils.setField(service, "chunkMaxAgeSeconds", 31536000L);
+        ReflectionTestUtils.setField(service, "tailMaxAgeSeconds", 1L);
+        ReflectionTestUtils.setField(service, "completedChunkEntries", 1000);
+        return service;
+    }
+
+    /**
+     * 청크마다 캔들 두 개를 돌려주고 읽은 횟수를 세는 스토어 (revision 을 바꾸면 내용이 바뀜)
+     */
+    static final class RecordingCandleStore extends CandleStore {
+        final AtomicInteger reads = new AtomicInteger();
+        volatile long revision;
+
+        RecordingCandleStore() {
+            super(null, null, null, null, null, null, null, null);
+        }
+
+        @Override
+        public boolean isKnownSymbol(String symbol) {
+            return SYMBOL.equals(symbol);
+        }
+
+        @Override
+        public CandleColumns readPeriodRange(String symbol, Period period, LocalDate from, LocalDate to) {
+            reads.incrementAndGet();
+            CandleColumns candles = new CandleColumns(2);
+            candles.add(from.toEpochDay(), 100L, 110L, 90L, 105L + revision, 1000L, 5L, 50);
+            candles.add(from.toEpochDay() + 1, 105L, 115L, 95L, 110L + revision, 2000L, 5L, 48);
+            return candles;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.hanazoom.domain.stock.service;
+
+import com.hanazoom.domain.stock.entity.DataRetentionPolicy;
+import com.hanazoom.domain.stock.entity.DataRetentionPolicy.DataType;
+import com.hanazoom.domain.stock.entity.DataRetentionRun;
+import com.hanazoom.domain.stock.entity.DataRetentionRun.RunStatus;
+import com.hanazoom.domain.stock.entity.StockMinutePrice;
+import com.hanazoom.domain.stock.repository.DataRetentionJdbcRepository;
+import com.hanazoom.domain.stock.repository.DataRetentionPolicyRepository;
+import com.hanazoom.domain.stock.repository.DataRetentionRunRepository;
+import com.hanazoom.global.realtime.MarketFeedCluster;
+import com.hanazoom.global.util.FixedMarketSessionClock;
+import com.hanazoom.global.util.MarketTimeUtils.MarketStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataRetentionServiceTest {
+
+    private static final String TICK_TABLE = "stock_tick_data";
+    private static final String MINUTE_TABLE = "stock_minute_prices";
+    private static final String NOTIFICATION_TABLE = "notifications";
+
+    private final List<DataRetentionPolicy> policies = new ArrayList<>();
+    private final List<DataRetentionPolicy> savedPolicies = new ArrayList<>();
+    private final List<DataRetentionRun> savedRuns = new ArrayList<>();
+    private final RecordingRetentionRepository retentionRepository = new RecordingRetentionRepository();
+    private final FixedMarketSessionClock clock = new FixedMarketSessionClock(MarketStatus.CLOSED);
+    private final LeaderCluster cluster = new LeaderCluster();
+    private final DataRetentionService service = service();
+
+    @Test
+    void createsMissingDefaultPoliciesAndRecordsOneRunPerType() {
+        List<DataRetentionRun> runs = service.runCleanup();
+
+        // 일/주/월봉은 삭제 대상이 없으므로 정책도 만들지 않음
+        List<DataType> expected = List.of(DataType.TICK_DATA, DataType.ONE_MINUTE, DataType.FIVE_MINUTES,
+                DataType.FIFTEEN_MINUTES, DataType.PROCESSING_LOG, DataType.NOTIFICATION);
+        assertEquals(expected, types(runs));
+        assertEquals(runs, savedRuns);
+        for (DataRetentionRun run : runs) {
+            assertEquals(RunStatus.COMPLETED, run.getStatus());
+            assertEquals(cutoff(run.getDataType().getDefaultRetentionDays()), run.getCutoffTime());
+        }
+        // 기본 정책으로 생성해 저장한 뒤, 끝까지 정리했으므로 lastCleanupDate 를 기록해 다시 저장
+        assertEquals(expected.size() * 2, savedPolicies.size());
+        List<DataRetentionPolicy> created = savedPolicies.subList(0, expected.size());
+        assertEquals(expected, created.stream().map(DataRetentionPolicy::getDataType).collect(Collectors.toList()));
+        assertTrue(created.stream().allMatch(policy -> policy.getLastCleanupDate() != null
+                && policy.getRetentionDays() == policy.getDataType().getDefaultRetentionDays()));
+    }
+
+    @Test
+    void deletesInChunksOfPolicyBatchSizeUntilAShortChunk() {
+        policies.add(policy(DataType.NOTIFICATION, 30, 100, true));
+        retentionRepository.chunks(NOTIFICATION_TABLE, 100, 100, 30);
+
+        DataRetentionRun run = run(service.runCleanup(), DataType.NOTIFICATION);
+
+        assertEquals(cutoff(30), run.getCutoffTime());
+        assertEquals(230L, run.getRowsDeleted());
+        assertEquals(3, run.getChunks());
+        assertEquals(RunStatus.COMPLETED, run.getStatus());
+        assertEquals(List.of("notifications<100", "notifications<100", "notifications<100"),
+                retentionRepository.deletes(NOTIFICATION_TABLE));
+    }
+
+    @Test
+    void inactivePolicyIsLeftAlone() {
+        DataRetentionPolicy tick = policy(DataType.TICK_DATA, 30, 100, false);
+        policies.add(tick);
+
+        List<DataRetentionRun> runs = service.runCleanup();
+
+        assertFalse(types(runs).contains(DataType.TICK_DATA));
+        assertTrue(retentionRepository.deletes(TICK_TABLE).isEmpty());
+        assertFalse(retentionRepository.lookups.containsKey(TICK_TABLE));
+        assertNull(tick.getLastCleanupDate());
+    }
+
+    @Test
+    void tradingTablesAreNotTouchedWhileMarketIsOpen() {
+        clock.setStatus(MarketStatus.OPEN);
+        DataRetentionPolicy tick = policy(DataType.TICK_DATA, 30, 100, true);
+        policies.add(tick);
+        retentionRepository.partitions.put(TICK_TABLE, List.of("p20240101"));
+        retentionRepository.chunks(NOTIFICATION_TABLE, 5);
+
+        List<DataRetentionRun> runs = service.runCleanup();
+
+        assertEquals(RunStatus.STOPPED, run(runs, DataType.TICK_DATA).getStatus());
+        assertEquals(RunStatus.SKIPPED, run(runs, DataType.ONE_MINUTE).getStatus());
+        assertEquals(RunStatus.SKIPPED, run(runs, DataType.FIFTEEN_MINUTES).getStatus());
+        assertTrue(retentionRepository.dropped.isEmpty());
+        assertTrue(retentionRepository.deletes(TICK_TABLE).isEmpty());
+        assertTrue(retentionRepository.deletes(MINUTE_TABLE).isEmpty());
+        assertNull(tick.getLastCleanupDate());
+
+        // 장중 쓰기가 없는 테이블은 그대로 정리
+        assertEquals(RunStatus.COMPLETED, run(runs, DataType.NOTIFICATION).getStatus());
+        assertEquals(5L, run(runs, DataType.NOTIFICATION).getRowsDeleted());
+    }
+
+    @Test
+    void sharedMinuteTableDropsPartitionsByTheLongestRetention() {
+        retentionRepository.partitions.put(TICK_TABLE, List.of("t1"));
+        retentionRepository.partitions.put(MINUTE_TABLE, List.of("m1", "m2"));
+
+        List<DataRetentionRun> runs = service.runCleanup();
+
+        assertEquals(cutoff(DataType.FIFTEEN_MINUTES.getDefaultRetentionDays()),
+                retentionRepository.lookups.get(MINUTE_TABLE));
+        assertEquals(List.of("stock_tick_data.t1", "stock_minute_prices.m1", "stock_minute_prices.m2"),
+                retentionRepository.dropped);
+        assertEquals(1, run(runs, DataType.TICK_DATA).getPartitionsDropped());
+        assertEquals(2, run(runs, DataType.FIFTEEN_MINUTES).getPartitionsDropped());
+        assertEquals(0, run(runs, DataType.ONE_MINUTE).getPartitionsDropped());
+        // 남은 행은 간격별 기준 시각으로 청크 삭제
+        assertEquals(StockMinutePrice.MinuteInterval.values().length,
+                retentionRepository.deletes(MINUTE_TABLE).size());
+    }
+
+    @Test
+    void minutePartitionsAreKeptWhenAnyIntervalPolicyIsInactive() {
+        policies.add(policy(DataType.ONE_MINUTE, 90, 100, false));
+        retentionRepository.partitions.put(MINUTE_TABLE, List.of("m1"));
+
+        service.runCleanup();
+
+        assertFalse(retentionRepository.lookups.containsKey(MINUTE_TABLE));
+        assertTrue(retentionRepository.dropped.isEmpty());
+    }
+
+    @Test
+    void partitionFailureFailsTheRunWithoutDeletingRows() {
+        DataRetentionPolicy notification = policy(DataType.NOTIFICATION, 30, 100, true);
+        policies.add(notification);
+        retentionRepository.partitions.put(NOTIFICATION_TABLE, List.of("n1"));
+        retentionRepository.dropFailure = new IllegalStateException("lock wait timeout");
+
+        List<DataRetentionRun> runs = service.runCleanup();
+
+        DataRetentionRun run = run(runs, DataType.NOTIFICATION);
+        assertEquals(RunStatus.FAILED, run.getStatus());
+        assertTrue(run.getMessage().contains("lock wait timeout"));
+        assertTrue(retentionRepository.deletes(NOTIFICATION_TABLE).isEmpty());
+        assertNull(notification.getLastCleanupDate());
+        assertEquals(RunStatus.COMPLETED, run(runs, DataType.PROCESSING_LOG).getStatus());
+    }
+
+    @Test
+    void followerNodeDoesNotTouchData() {
+        cluster.leader = false;
+
+        service.scheduledCleanup();
+
+        assertTrue(service.runCleanup().isEmpty());
+        assertTrue(savedPolicies.isEmpty());
+        assertTrue(savedRuns.isEmpty());
+        assertTrue(retentionRepository.lookups.isEmpty());
+        assertTrue(retentionRepository.deleted.isEmpty());
+    }
+
+    @Test
+    void stopsWhenLeadershipIsLostBetweenChunks() {
+        DataRetentionPolicy notification = policy(DataType.NOTIFICATION, 30, 100, true);
+        policies.add(notification);
+        retentionRepository.chunks(NOTIFICATION_TABLE, 100, 100, 100);
+        retentionRepository.afterChunk = table -> cluster.leader = !NOTIFICATION_TABLE.equals(table);
+
+        DataRetentionRun run = run(service.runCleanup(), DataType.NOTIFICATION);
+
+        assertEquals(RunStatus.STOPPED, run.getStatus());
+        assertEquals(1, run.getChunks());
+        assertEquals(100L, run.getRowsDeleted());
+        assertNull(notification.getLastCleanupDate());
+    }
+
+    private DataRetentionService service() {
+        DataRetentionPolicyRepository policyRepository = repository(DataRetentionPolicyRepository.class, Map.of(
+                "findAll", args -> new ArrayList<>(policies),
+                "save", args -> {
+                    savedPolicies.add((DataRetentionPolicy) args[0]);
+                    return args[0];
+                }));
+        DataRetentionRunRepository runRepository = repository(DataRetentionRunRepository.class, Map.of(
+                "save", args -> {
+                    savedRuns.add((DataRetentionRun) args[0]);
+                    return args[0];
+                }));
+        DataRetentionService service = new DataRetentionService(policyRepository, runRepository,
+                retentionRepository, clock, cluster);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "chunkPauseMs", 0L);
+        ReflectionTestUtils.setField(service, "maxRunMinutes", 10L);
+        return service;
+    }
+
+    private static DataRetentionPolicy policy(DataType type, int retentionDays, int batchSize, boolean active) {
+        DataRetentionPolicy policy = new DataRetentionPolicy();
+        policy.setDataType(type);
+        policy.setRetentionDays(retentionDays);
+        policy.setCleanupBatchSize(batchSize);
+        policy.setIsActive(active);
+        return policy;
+    }
+
+    private static LocalDateTime cutoff(int retentionDays) {
+        return LocalDate.now().minusDays(retentionDays).atStartOfDay();
+    }
+
+    private static List<DataType> types(List<DataRetentionRun> runs) {
+        return runs.stream().map(DataRetentionRun::getDataType).collect(Collectors.toList());
+    }
+
+    private static DataRetentionRun run(List<DataRetentionRun> runs, DataType type) {
+        DataRetentionRun found = runs.stream().filter(run -> run.getDataType() == type).findFirst().orElse(null);
+        assertNotNull(found, type.name());
+        return found;
+    }
+
+    /**
+     * 지정한 메서드만 구현한 저장소 (그 외 호출은 실패)
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> handler = methods.get(method.getName());
+            if (handler == null) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return handler.apply(args);
+        });
+    }
+
+    static final class LeaderCluster extends MarketFeedCluster {
+        volatile boolean leader = true;
+
+        LeaderCluster() {
+            super(null, null, null, null, null);
+        }
+
+        @Override
+        public boolean isLeader() {
+            return leader;
+        }
+    }
+
+    /**
+     * 테이블별 파티션 목록과 청크 삭제 결과를 정해 두고 호출을 기록 (정해 두지 않은 청크는 0행)
+     */
+    static final class RecordingRetentionRepository extends DataRetentionJdbcRepository {
+        final Map<String, List<String>> partitions = new HashMap<>();
+        final Map<String, LocalDateTime> lookups = new HashMap<>();
+        final List<String> dropped = new ArrayList<>();
+        final List<String> deleted = new ArrayList<>();
+        private final Map<String, Queue<Integer>> chunkResults = new HashMap<>();
+        RuntimeException dropFailure;
+        Consumer<String> afterChunk = table -> { };
+
+        RecordingRetentionRepository() {
+            super(null);
+        }
+
+        void chunks(String table, Integer... results) {
+            chunkResults.put(table, new LinkedList<>(List.of(results)));
+        }
+
+        List<String> deletes(String table) {
+            return deleted.stream().filter(entry -> entry.startsWith(table + "<")).collect(Collectors.toList());
+        }
+
+        @Override
+        public List<String> findExpiredPartitions(String table, String timeColumn, LocalDateTime cutoff) {
+            lookups.put(table, cutoff);
+            return partitions.getOrDefault(table, Collections.emptyList());
+        }
+
+        @Override
+        public void dropPartition(String table, String partition) {
+            if (dropFailure != null) {
+                throw dropFailure;
+            }
+            dropped.add(table + "." + partition);
+        }
+
+        @Override
+        public int deleteChunk(String table, String timeColumn, String condition, Object[] args,
+                               LocalDateTime cutoff, int limit) {
+            deleted.add(table + "<" + limit);
+            Integer result = chunkResults.getOrDefault(table, new LinkedList<>()).poll();
+            afterChunk.accept(table);
+            return result != null ? result : 0;
+        }
+    }
+}
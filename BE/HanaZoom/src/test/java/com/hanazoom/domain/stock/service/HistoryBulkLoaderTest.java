@@ -0,0 +1,333 @@
+package com.hanazoom.domain.stock.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hanazoom.domain.stock.entity.DataProcessingLog;
+import com.hanazoom.domain.stock.entity.Stock;
+import com.hanazoom.domain.stock.entity.StockDailyPrice;
+import com.hanazoom.domain.stock.entity.StockMonthlyPrice;
+import com.hanazoom.domain.stock.entity.StockWeeklyPrice;
+import com.hanazoom.domain.stock.repository.DataProcessingLogRepository;
+import com.hanazoom.domain.stock.repository.StockCandleJdbcRepository;
+import com.hanazoom.domain.stock.repository.StockRepository;
+import com.hanazoom.domain.stock.store.CandleStore;
+import com.hanazoom.global.service.KisApiService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HistoryBulkLoaderTest {
+
+    private static final String SYMBOL = "005930";
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 1, 31);
+
+    @TempDir
+    Path csvDir;
+
+    // 유형별 직전 처리 기록 (findFirstByProcessTypeAndStockSymbolOrderByIdDesc 결과)
+    private final Map<DataProcessingLog.ProcessType, DataProcessingLog> previous =
+            new EnumMap<>(DataProcessingLog.ProcessType.class);
+    // save 시점의 기록 복사본 (같은 엔티티를 페이지/배치마다 다시 저장하므로)
+    private final List<DataProcessingLog> saved = new CopyOnWriteArrayList<>();
+    private final RecordingCandleRepository candleRepository = new RecordingCandleRepository();
+    private final RecordingCandleStore candleStore = new RecordingCandleStore();
+    private final RecordingKisApi kisApi = new RecordingKisApi();
+    private final HistoryBulkLoader loader = new HistoryBulkLoader(kisApi, stockRepository(), candleRepository,
+            processingLogRepository(), candleStore, new ObjectMapper());
+
+    @AfterEach
+    void tearDown() {
+        loader.stop();
+    }
+
+    @Test
+    void checkpointsEachBatchAndRecordsLoadedRange() throws Exception {
+        run(false);
+
+        assertEquals(dates("2024-01-02", "2024-01-03", "2024-01-04", "2024-01-05"), candleRepository.daily);
+        // 배치(2행)마다 체크포인트, 끝나면 요청 종료일까지 완료로 기록
+        assertEquals(dates("2024-01-03", "2024-01-05", "2024-01-31"), checkpoints(DataProcessingLog.ProcessType.DAILY));
+        DataProcessingLog last = last(DataProcessingLog.ProcessType.DAILY);
+        assertEquals(FROM, last.getLoadedFrom());
+        assertEquals(DataProcessingLog.ProcessStatus.SUCCESS, last.getStatus());
+        assertEquals(List.of(SYMBOL), candleStore.invalidated);
+    }
+
+    @Test
+    void resumesAfterCheckpointInsideLoadedRange() throws Exception {
+        previous.put(DataProcessingLog.ProcessType.DAILY, entry(FROM, LocalDate.of(2024, 1, 3)));
+
+        run(false);
+
+        assertEquals(dates("2024-01-04", "2024-01-05"), candleRepository.daily);
+        DataProcessingLog last = last(DataProcessingLog.ProcessType.DAILY);
+        assertEquals(FROM, last.getLoadedFrom());
+        assertEquals(TO, last.getCheckpointDate());
+    }
+
+    @Test
+    void skipsSeriesWhoseRequestedRangeIsAlreadyLoaded() throws Exception {
+        previous.put(DataProcessingLog.ProcessType.DAILY, entry(FROM, TO));
+
+        run(false);
+
+        assertTrue(candleRepository.daily.isEmpty());
+        assertTrue(checkpoints(DataProcessingLog.ProcessType.DAILY).isEmpty());
+        assertTrue(candleStore.invalidated.isEmpty());
+    }
+
+    @Test
+    void fillsMissingPrefixThenContinuesAfterPreviousCheckpoint() throws Exception {
+        LocalDate loaded = LocalDate.of(2024, 1, 4);
+        previous.put(DataProcessingLog.ProcessType.DAILY, entry(loaded, loaded));
+
+        run(false);
+
+        // 이미 적재된 1/4 는 건너뜀
+        assertEquals(dates("2024-01-02", "2024-01-03", "2024-01-05"), candleRepository.daily);
+        DataProcessingLog last = last(DataProcessingLog.ProcessType.DAILY);
+        assertEquals(FROM, last.getLoadedFrom());
+        assertEquals(TO, last.getCheckpointDate());
+    }
+
+    @Test
+    void restartIgnoresPreviousCheckpoint() throws Exception {
+        previous.put(DataProcessingLog.ProcessType.DAILY, entry(FROM, TO));
+
+        run(true);
+
+        assertEquals(4, candleRepository.daily.size());
+    }
+
+    @Test
+    void retriesKisRateLimitReturnedAsServerError() throws Exception {
+        kisApi.failures.add(serverError("EGW00201"));
+
+        Map<String, Object> status = load(HistoryBulkLoader.Source.KIS, false);
+
+        assertEquals(0, status.get("failedSymbols"));
+        assertEquals(dates("2024-01-02", "2024-01-03"), candleRepository.daily);
+        // 일봉 한 페이지 재시도 + 주봉/월봉 한 페이지씩
+        assertEquals(4, kisApi.calls.get());
+    }
+
+    @Test
+    void otherKisServerErrorFailsTheSeriesWithoutRetry() throws Exception {
+        kisApi.failures.add(serverError("EGW00123"));
+
+        Map<String, Object> status = load(HistoryBulkLoader.Source.KIS, false);
+
+        assertEquals(1, status.get("failedSymbols"));
+        assertTrue(candleRepository.daily.isEmpty());
+        assertEquals(3, kisApi.calls.get());
+        assertEquals(DataProcessingLog.ProcessStatus.FAILED, last(DataProcessingLog.ProcessType.DAILY).getStatus());
+    }
+
+    @Test
+    void rejectsSymbolsOutsideStockMaster() {
+        assertThrows(IllegalArgumentException.class, () -> loader.start(HistoryBulkLoader.Source.CSV,
+                List.of("999999"), FROM, TO, false));
+        assertThrows(IllegalArgumentException.class, () -> loader.start(HistoryBulkLoader.Source.CSV,
+                List.of("../etc"), FROM, TO, false));
+        assertThrows(IllegalArgumentException.class, () -> loader.start(HistoryBulkLoader.Source.CSV,
+                List.of(SYMBOL), TO, FROM, false));
+    }
+
+    private void run(boolean restart) throws IOException, InterruptedException {
+        assertEquals(0, load(HistoryBulkLoader.Source.CSV, restart).get("failedSymbols"));
+    }
+
+    private Map<String, Object> load(HistoryBulkLoader.Source source, boolean restart)
+            throws IOException, InterruptedException {
+        Files.write(csvDir.resolve(SYMBOL + "_D.csv"), List.of("date,open,high,low,close,volume",
+                "2023-12-28,100,110,90,100,1000",
+                "2024-01-02,100,110,90,105,1000",
+                "2024-01-03,105,115,95,110,1000",
+                "2024-01-04,110,120,100,108,1000",
+                "2024-01-05,108,112,104,111,1000",
+                "2024-02-01,111,115,109,112,1000"));
+        Files.write(csvDir.resolve(SYMBOL + "_W.csv"), List.of("date,open,high,low,close,volume"));
+        Files.write(csvDir.resolve(SYMBOL + "_M.csv"), List.of("date,open,high,low,close,volume"));
+        ReflectionTestUtils.setField(loader, "workers", 1);
+        ReflectionTestUtils.setField(loader, "kisRequestsPerSecond", 20.0);
+        ReflectionTestUtils.setField(loader, "batchSize", 2);
+        ReflectionTestUtils.setField(loader, "csvDir", csvDir.toString());
+
+        loader.start(source, List.of(SYMBOL), FROM, TO, restart);
+
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (Boolean.TRUE.equals(loader.getStatus().get("running"))) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("적재가 5초 안에 끝나지 않음");
+            }
+            Thread.sleep(10L);
+        }
+        return loader.getStatus();
+    }
+
+    private List<LocalDate> checkpoints(DataProcessingLog.ProcessType type) {
+        return saved.stream()
+                .filter(entry -> entry.getProcessType() == type)
+                .map(DataProcessingLog::getCheckpointDate)
+                .collect(Collectors.toList());
+    }
+
+    private DataProcessingLog last(DataProcessingLog.ProcessType type) {
+        List<DataProcessingLog> entries = saved.stream()
+                .filter(entry -> entry.getProcessType() == type)
+                .collect(Collectors.toList());
+        return entries.get(entries.size() - 1);
+    }
+
+    /**
+     * KisApiService 가 감싸서 던지는 HTTP 500 응답 (본문의 msg_cd 로 원인 구분)
+     */
+    private static RuntimeException serverError(String code) {
+        byte[] body = ("{\"rt_cd\":\"1\",\"msg_cd\":\"" + code + "\",\"msg1\":\"error\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        return new RuntimeException("일봉 차트 조회 실패: " + SYMBOL, new WebClientResponseException(500,
+                "Internal Server Error", new HttpHeaders(), body, StandardCharsets.UTF_8));
+    }
+
+    private static DataProcessingLog entry(LocalDate loadedFrom, LocalDate checkpoint) {
+        DataProcessingLog entry = new DataProcessingLog();
+        entry.setLoadedFrom(loadedFrom);
+        entry.setCheckpointDate(checkpoint);
+        entry.setStatus(DataProcessingLog.ProcessStatus.SUCCESS);
+        return entry;
+    }
+
+    private static List<LocalDate> dates(String... values) {
+        return Arrays.stream(values).map(LocalDate::parse).collect(Collectors.toList());
+    }
+
+    private StockRepository stockRepository() {
+        Stock stock = new Stock();
+        stock.setSymbol(SYMBOL);
+        return repository(StockRepository.class, Map.of("findAll", args -> List.of(stock)));
+    }
+
+    private DataProcessingLogRepository processingLogRepository() {
+        AtomicLong ids = new AtomicLong();
+        return repository(DataProcessingLogRepository.class, Map.of(
+                "findFirstByProcessTypeAndStockSymbolOrderByIdDesc",
+                args -> Optional.ofNullable(previous.get((DataProcessingLog.ProcessType) args[0])),
+                "save", args -> {
+                    DataProcessingLog entry = (DataProcessingLog) args[0];
+                    DataProcessingLog copy = new DataProcessingLog();
+                    copy.setId(entry.getId() != null ? entry.getId() : ids.incrementAndGet());
+                    copy.setProcessType(entry.getProcessType());
+                    copy.setStockSymbol(entry.getStockSymbol());
+                    copy.setLoadedFrom(entry.getLoadedFrom());
+                    copy.setCheckpointDate(entry.getCheckpointDate());
+                    copy.setStatus(entry.getStatus());
+                    saved.add(copy);
+                    return copy;
+                }));
+    }
+
+    /**
+     * 지정한 메서드만 구현한 저장소 (그 외 호출은 실패)
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> handler = methods.get(method.getName());
+            if (handler == null) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return handler.apply(args);
+        });
+    }
+
+    /**
+     * 일봉은 두 행, 주봉/월봉은 빈 페이지를 돌려주는 KIS 기간별 시세 (failures 가 남아 있으면 먼저 던짐)
+     */
+    static final class RecordingKisApi extends KisApiService {
+        final Queue<RuntimeException> failures = new ConcurrentLinkedQueue<>();
+        final AtomicInteger calls = new AtomicInteger();
+
+        RecordingKisApi() {
+            super(null, null);
+        }
+
+        @Override
+        public String getDailyChartDataWithDateRange(String stockCode, String period, String adjustPrice,
+                                                     String startDate, String endDate) {
+            calls.incrementAndGet();
+            RuntimeException failure = failures.poll();
+            if (failure != null) {
+                throw failure;
+            }
+            if (!"D".equals(period)) {
+                return "{\"rt_cd\":\"0\",\"output2\":[]}";
+            }
+            return "{\"rt_cd\":\"0\",\"output2\":[" + kisRow("20240103", "110") + ","
+                    + kisRow("20240102", "105") + "]}";
+        }
+
+        private static String kisRow(String date, String close) {
+            return "{\"stck_bsop_date\":\"" + date + "\",\"stck_clpr\":\"" + close + "\",\"acml_vol\":\"1000\"}";
+        }
+    }
+
+    static final class RecordingCandleRepository extends StockCandleJdbcRepository {
+        final List<LocalDate> daily = new CopyOnWriteArrayList<>();
+
+        RecordingCandleRepository() {
+            super(null);
+        }
+
+        @Override
+        public void upsertDailyHistory(List<StockDailyPrice> candles) {
+            candles.forEach(candle -> daily.add(candle.getTradeDate()));
+        }
+
+        @Override
+        public void upsertWeeklyHistory(List<StockWeeklyPrice> candles) {
+        }
+
+        @Override
+        public void upsertMonthlyHistory(List<StockMonthlyPrice> candles) {
+        }
+    }
+
+    static final class RecordingCandleStore extends CandleStore {
+        final List<String> invalidated = new CopyOnWriteArrayList<>();
+
+        RecordingCandleStore() {
+            super(null, null, null, null, null, null, null, null);
+        }
+
+        @Override
+        public void invalidate(String symbol) {
+            invalidated.add(symbol);
+        }
+    }
+}
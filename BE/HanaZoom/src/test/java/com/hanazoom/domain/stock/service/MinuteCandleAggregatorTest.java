@@ -0,0 +1,252 @@
+package com.hanazoom.domain.stock.service;
+
+import com.hanazoom.domain.stock.entity.StockDailyPrice;
+import com.hanazoom.domain.stock.entity.StockMinutePrice;
+import com.hanazoom.domain.stock.repository.StockCandleJdbcRepository;
+import com.hanazoom.global.realtime.KisTick;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinuteCandleAggregatorTest {
+
+    private static final String SYMBOL = "005930";
+
+    private final RecordingRepository repository = new RecordingRepository();
+    private final MinuteCandleAggregator aggregator = new MinuteCandleAggregator(repository, new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        // 주기 flush 는 테스트 중에 돌지 않도록 길게 두고 flush 를 직접 호출
+        ReflectionTestUtils.setField(aggregator, "flushIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(aggregator, "inProgressFlushMs", 60_000L);
+        ReflectionTestUtils.setField(aggregator, "maxPending", 1000);
+        ReflectionTestUtils.setField(aggregator, "minuteIntervalsConfig", "1,5");
+        ReflectionTestUtils.setField(aggregator, "dailyRollup", true);
+        aggregator.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        aggregator.stop();
+    }
+
+    @Test
+    void closedMinuteIsQueuedAndFoldedIntoHigherInterval() {
+        aggregator.onTick(tick(20250102, 90010, 71000L, 10L, 1010L));
+        aggregator.onTick(tick(20250102, 90040, 71500L, 5L, 1015L));
+        aggregator.onTick(tick(20250102, 90105, 70800L, 20L, 1035L));
+
+        StockMinutePrice minute = aggregator.getLiveCandle(SYMBOL, StockMinutePrice.MinuteInterval.ONE_MINUTE);
+        assertEquals(LocalDateTime.of(2025, 1, 2, 9, 1), minute.getTimestamp());
+        assertEquals(BigDecimal.valueOf(70800L), minute.getOpenPrice());
+        assertEquals(20L, minute.getVolume());
+
+        // 5분봉 = 마감된 09:00 1분봉 + 진행 중 09:01 1분봉
+        StockMinutePrice fiveMinutes = aggregator.getLiveCandle(SYMBOL, StockMinutePrice.MinuteInterval.FIVE_MINUTES);
+        assertEquals(LocalDateTime.of(2025, 1, 2, 9, 0), fiveMinutes.getTimestamp());
+        assertEquals(BigDecimal.valueOf(71000L), fiveMinutes.getOpenPrice());
+        assertEquals(BigDecimal.valueOf(71500L), fiveMinutes.getHighPrice());
+        assertEquals(BigDecimal.valueOf(70800L), fiveMinutes.getLowPrice());
+        assertEquals(BigDecimal.valueOf(70800L), fiveMinutes.getClosePrice());
+        assertEquals(35L, fiveMinutes.getVolume());
+
+        // 집계하지 않는 간격은 진행 중 캔들이 없음
+        assertNull(aggregator.getLiveCandle(SYMBOL, StockMinutePrice.MinuteInterval.THREE_MINUTES));
+
+        aggregator.flush(true);
+
+        assertEquals(3, repository.minutes.size());
+        StockMinutePrice closed = repository.minute(StockMinutePrice.MinuteInterval.ONE_MINUTE, 9, 0);
+        assertEquals(BigDecimal.valueOf(71000L), closed.getOpenPrice());
+        assertEquals(BigDecimal.valueOf(71500L), closed.getClosePrice());
+        assertEquals(15L, closed.getVolume());
+        assertEquals(20L, repository.minute(StockMinutePrice.MinuteInterval.ONE_MINUTE, 9, 1).getVolume());
+        assertEquals(35L, repository.minute(StockMinutePrice.MinuteInterval.FIVE_MINUTES, 9, 0).getVolume());
+        assertEquals(1, repository.days.size());
+    }
+
+    @Test
+    void higherIntervalClosesWhenNextMinuteLeavesItsBucket() {
+        aggregator.onTick(tick(20250102, 90010, 71000L, 10L, 1010L));
+        aggregator.onTick(tick(20250102, 90430, 71200L, 30L, 1040L));
+        aggregator.onTick(tick(20250102, 90500, 70900L, 10L, 1050L));
+
+        StockMinutePrice live = aggregator.getLiveCandle(SYMBOL, StockMinutePrice.MinuteInterval.FIVE_MINUTES);
+        assertEquals(LocalDateTime.of(2025, 1, 2, 9, 5), live.getTimestamp());
+        assertEquals(BigDecimal.valueOf(70900L), live.getOpenPrice());
+        assertEquals(10L, live.getVolume());
+
+        aggregator.flush(true);
+
+        StockMinutePrice closed = repository.minute(StockMinutePrice.MinuteInterval.FIVE_MINUTES, 9, 0);
+        assertEquals(BigDecimal.valueOf(71000L), closed.getOpenPrice());
+        assertEquals(BigDecimal.valueOf(71200L), closed.getHighPrice());
+        assertEquals(BigDecimal.valueOf(71200L), closed.getClosePrice());
+        assertEquals(40L, closed.getVolume());
+        assertEquals(30L, repository.minute(StockMinutePrice.MinuteInterval.ONE_MINUTE, 9, 4).getVolume());
+        assertEquals(10L, repository.minute(StockMinutePrice.MinuteInterval.FIVE_MINUTES, 9, 5).getVolume());
+    }
+
+    @Test
+    void lateTickForClosedMinuteIsIgnored() {
+        aggregator.onTick(tick(20250102, 90010, 71000L, 10L, 1010L));
+        aggregator.onTick(tick(20250102, 90105, 70800L, 20L, 1030L));
+        aggregator.onTick(tick(20250102, 90050, 99000L, 100L, 1130L));
+
+        StockMinutePrice fiveMinutes = aggregator.getLiveCandle(SYMBOL, StockMinutePrice.MinuteInterval.FIVE_MINUTES);
+        assertEquals(BigDecimal.valueOf(71000L), fiveMinutes.getHighPrice());
+        assertEquals(30L, fiveMinutes.getVolume());
+    }
+
+    @Test
+    void dailyCandleClosesOnNextBusinessDate() {
+        aggregator.onTick(tick(20250102, 152900, 71000L, 10L, 500000L, -100L, -14));
+        aggregator.onTick(tick(20250103, 90000, 72000L, 5L, 5L, 1000L, 141));
+
+        StockDailyPrice live = aggregator.getLiveDailyCandle(SYMBOL);
+        assertEquals(LocalDate.of(2025, 1, 3), live.getTradeDate());
+        assertEquals(5L, live.getVolume());
+
+        aggregator.flush(true);
+
+        assertEquals(2, repository.days.size());
+        StockDailyPrice closed = repository.days.get(0);
+        assertEquals(LocalDate.of(2025, 1, 2), closed.getTradeDate());
+        // 일봉 거래량은 당일 누적거래량, 전일대비는 그날 마지막 틱 값
+        assertEquals(500000L, closed.getVolume());
+        assertEquals(BigDecimal.valueOf(71000L), closed.getClosePrice());
+        assertEquals(BigDecimal.valueOf(-100L), closed.getPriceChange());
+        assertEquals(new BigDecimal("-0.14"), closed.getPriceChangePercent());
+    }
+
+    @Test
+    void failedFlushIsRetriedOnNextCycle() {
+        aggregator.onTick(tick(20250102, 90010, 71000L, 10L, 1010L));
+        aggregator.onTick(tick(20250102, 90105, 70800L, 20L, 1030L));
+
+        repository.failNext = true;
+        aggregator.flush(true);
+        assertTrue(repository.minutes.isEmpty());
+        assertEquals(0L, aggregator.getFlushedCandleCount());
+
+        aggregator.flush(false);
+
+        assertEquals(3, repository.minutes.size());
+        assertEquals(1, repository.days.size());
+        assertEquals(4L, aggregator.getFlushedCandleCount());
+    }
+
+    @Test
+    void vwapAndSideVolumesFollowEachTrade() {
+        aggregator.onTick(trade(90010, 71000L, 10L, 1010L, KisTick.SIDE_BUY));
+        aggregator.onTick(trade(90020, 71500L, 5L, 1015L, KisTick.SIDE_SELL));
+        aggregator.onTick(trade(90030, 71200L, 0L, 1015L, 0));
+
+        StockMinutePrice minute = aggregator.getLiveCandle(SYMBOL, StockMinutePrice.MinuteInterval.ONE_MINUTE);
+
+        // (71000 x 10 + 71500 x 5) / 15, 체결량 없는 틱은 VWAP 에 들어가지 않음
+        assertEquals(new BigDecimal("71166.67"), minute.getVwap());
+        assertEquals(3, minute.getTickCount());
+        assertEquals(10L, minute.getBuyVolume());
+        assertEquals(5L, minute.getSellVolume());
+    }
+
+    @Test
+    void higherIntervalVwapWeighsEveryMinute() {
+        aggregator.onTick(trade(90010, 71000L, 10L, 1010L, KisTick.SIDE_BUY));
+        aggregator.onTick(trade(90110, 72000L, 30L, 1040L, KisTick.SIDE_SELL));
+
+        StockMinutePrice live = aggregator.getLiveCandle(SYMBOL, StockMinutePrice.MinuteInterval.FIVE_MINUTES);
+        assertEquals(new BigDecimal("71750.00"), live.getVwap());
+        assertEquals(2, live.getTickCount());
+        assertEquals(10L, live.getBuyVolume());
+        assertEquals(30L, live.getSellVolume());
+
+        aggregator.onTick(trade(90500, 70000L, 1L, 1041L, KisTick.SIDE_BUY));
+        aggregator.flush(true);
+
+        // 마감된 5분봉도 분별 평균이 아닌 체결 단위 가중 평균
+        StockMinutePrice closed = repository.minute(StockMinutePrice.MinuteInterval.FIVE_MINUTES, 9, 0);
+        assertEquals(new BigDecimal("71750.00"), closed.getVwap());
+        assertEquals(10L, closed.getBuyVolume());
+        assertEquals(30L, closed.getSellVolume());
+    }
+
+    @Test
+    void vwapFallsBackToCloseWithoutTradeVolume() {
+        aggregator.onTick(trade(90010, 71000L, 0L, 1000L, 0));
+
+        StockMinutePrice minute = aggregator.getLiveCandle(SYMBOL, StockMinutePrice.MinuteInterval.ONE_MINUTE);
+
+        assertEquals(BigDecimal.valueOf(71000L), minute.getVwap());
+        assertEquals(0L, minute.getBuyVolume());
+        assertEquals(0L, minute.getSellVolume());
+    }
+
+    static KisTick trade(int tradeTime, long price, long volume, long cumulativeVolume, int side) {
+        return tick(20250102, tradeTime, price, volume, cumulativeVolume, side, 0L, 0);
+    }
+
+    static KisTick tick(int businessDate, int tradeTime, long price, long volume, long cumulativeVolume) {
+        return tick(businessDate, tradeTime, price, volume, cumulativeVolume, 0L, 0);
+    }
+
+    static KisTick tick(int businessDate, int tradeTime, long price, long volume, long cumulativeVolume,
+                        long change, int changeRateBp) {
+        return tick(businessDate, tradeTime, price, volume, cumulativeVolume, KisTick.SIDE_BUY, change, changeRateBp);
+    }
+
+    static KisTick tick(int businessDate, int tradeTime, long price, long volume, long cumulativeVolume, int side,
+                        long change, int changeRateBp) {
+        return KisTick.fromRelayLine(SYMBOL + '|' + businessDate + '|' + tradeTime + '|' + price + '|' + volume + '|'
+                + cumulativeVolume + '|' + side + '|' + change + '|' + changeRateBp);
+    }
+
+    /**
+     * upsert 로 넘어온 캔들을 모으는 저장소 (failNext 이면 다음 한 번은 실패)
+     */
+    static final class RecordingRepository extends StockCandleJdbcRepository {
+        final List<StockMinutePrice> minutes = new ArrayList<>();
+        final List<StockDailyPrice> days = new ArrayList<>();
+        boolean failNext;
+
+        RecordingRepository() {
+            super(null);
+        }
+
+        @Override
+        public void upsertMinutePrices(List<StockMinutePrice> candles) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("db down");
+            }
+            minutes.addAll(candles);
+        }
+
+        @Override
+        public void upsertDailyPrices(List<StockDailyPrice> candles) {
+            days.addAll(candles);
+        }
+
+        StockMinutePrice minute(StockMinutePrice.MinuteInterval interval, int hour, int minute) {
+            LocalDateTime timestamp = LocalDateTime.of(2025, 1, 2, hour, minute);
+            return minutes.stream()
+                    .filter(candle -> candle.getMinuteInterval() == interval && candle.getTimestamp().equals(timestamp))
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+}
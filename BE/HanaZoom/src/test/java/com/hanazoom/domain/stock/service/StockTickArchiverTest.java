@@ -0,0 +1,149 @@
+package com.hanazoom.domain.stock.service;
+
+import com.hanazoom.global.realtime.KisTick;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockTickArchiverTest {
+
+    // "005930\t20250102\t90000\t71000\t1\t{한 자리}\t1\t0\t0\t0\t0" + 줄바꿈
+    private static final long LINE_BYTES = 41 + System.lineSeparator().length();
+
+    @TempDir
+    Path spillDir;
+
+    private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+    private final StockTickArchiver archiver = new StockTickArchiver(jdbcTemplate, new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        archiver.stop();
+    }
+
+    @Test
+    void spillsWhileDatabaseIsDownAndReloadsOneBatchPerCycle() throws Exception {
+        jdbcTemplate.available = false;
+        start(2, 50L, Long.MAX_VALUE);
+
+        for (int i = 1; i <= 5; i++) {
+            archiver.append(tick(i));
+        }
+        await(() -> archiver.getSpilledTickCount() == 5L);
+        assertEquals(0L, archiver.getArchivedTickCount());
+        assertTrue(spillFiles().size() >= 1);
+
+        jdbcTemplate.available = true;
+        await(() -> archiver.getArchivedTickCount() == 5L && spillFiles().isEmpty());
+
+        // 적재는 주기마다 batch-size 이하씩 나눠서
+        assertTrue(jdbcTemplate.insertedBatches.stream().allMatch(size -> size <= 2));
+        assertEquals(5, jdbcTemplate.insertedBatches.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(0L, archiver.getDroppedTickCount());
+    }
+
+    @Test
+    void spillStopsAtMaxBytesAndCountsOverflowAsDropped() throws Exception {
+        jdbcTemplate.available = false;
+        start(1, 60_000L, LINE_BYTES * 2);
+
+        for (int i = 1; i <= 4; i++) {
+            archiver.append(tick(i));
+        }
+        await(() -> archiver.getSpilledTickCount() + archiver.getDroppedTickCount() == 4L);
+
+        assertEquals(2L, archiver.getSpilledTickCount());
+        assertEquals(2L, archiver.getDroppedTickCount());
+        long spilledBytes = 0L;
+        for (Path file : spillFiles()) {
+            spilledBytes += Files.size(file);
+        }
+        assertEquals(LINE_BYTES * 2, spilledBytes);
+    }
+
+    @Test
+    void leftoverSpillFileIsReloadedAndFailedBatchRetriedInPlace() throws Exception {
+        Files.write(spillDir.resolve("ticks-1.tsv"), List.of(line(1), line(2), line(3)));
+        jdbcTemplate.failures.set(1);
+        start(2, 20L, Long.MAX_VALUE);
+
+        await(() -> archiver.getArchivedTickCount() == 3L && spillFiles().isEmpty());
+
+        // 실패한 첫 배치를 다시 시도한 뒤 읽던 위치부터 이어서 적재 (중복/누락 없음)
+        assertEquals(List.of(2, 1), jdbcTemplate.insertedBatches);
+    }
+
+    private void start(int batchSize, long retryIntervalMs, long spillMaxBytes) {
+        ReflectionTestUtils.setField(archiver, "enabled", true);
+        ReflectionTestUtils.setField(archiver, "queueCapacity", 100);
+        ReflectionTestUtils.setField(archiver, "batchSize", batchSize);
+        ReflectionTestUtils.setField(archiver, "flushIntervalMs", 10L);
+        ReflectionTestUtils.setField(archiver, "retryIntervalMs", retryIntervalMs);
+        ReflectionTestUtils.setField(archiver, "spillDir", spillDir.toString());
+        ReflectionTestUtils.setField(archiver, "spillMaxBytes", spillMaxBytes);
+        archiver.start();
+    }
+
+    private List<Path> spillFiles() {
+        try (Stream<Path> files = Files.list(spillDir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("ticks-")).collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static KisTick tick(int cumulativeVolume) {
+        return KisTick.fromRelayLine("005930|20250102|90000|71000|1|" + cumulativeVolume + "|1|0|0");
+    }
+
+    private static String line(int cumulativeVolume) {
+        return "005930\t20250102\t90000\t71000\t1\t" + cumulativeVolume + "\t1\t0\t0\t0\t0";
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("조건이 5초 안에 충족되지 않음");
+            }
+            Thread.sleep(10L);
+        }
+    }
+
+    /**
+     * 성공한 배치 크기만 기록 (available 이 false 이거나 failures 가 남아 있으면 실패)
+     */
+    static final class RecordingJdbcTemplate extends JdbcTemplate {
+        final List<Integer> insertedBatches = new CopyOnWriteArrayList<>();
+        final AtomicInteger failures = new AtomicInteger();
+        volatile boolean available = true;
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            if (!available || failures.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                throw new IllegalStateException("db down");
+            }
+            insertedBatches.add(batchArgs.size());
+            return new int[0][];
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.hanazoom.domain.stock.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CandleSeriesFileTest {
+
+    // 블록 두 개를 넘기고 세 번째 블록 중간에서 끝나는 캔들 수
+    private static final int ROWS = CandleSeriesFile.BLOCK_ROWS * 2 + 177;
+    private static final long FIRST_MINUTE = 29_000_000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsAcrossBlockBoundaries() throws IOException {
+        CandleColumns rows = series(ROWS, 7L);
+        Path path = dir.resolve("005930/1m.hzc");
+
+        try (CandleSeriesFile file = CandleSeriesFile.open(path)) {
+            assertEquals(ROWS, file.append(rows));
+            assertEquals(ROWS, file.count());
+            assertEquals(rows.lastTime(), file.lastTime());
+            assertReadsAll(rows, file);
+        }
+    }
+
+    @Test
+    void appendsInPiecesAndAfterReopen() throws IOException {
+        CandleColumns rows = series(ROWS, 11L);
+        Path path = dir.resolve("000660/5m.hzc");
+
+        // 블록 중간에서 끊어 쓰고, 다시 열어 마지막 블록 상태를 복원한 뒤 이어 쓰기
+        try (CandleSeriesFile file = CandleSeriesFile.open(path)) {
+            assertEquals(300, file.append(slice(rows, 0, 300)));
+            assertEquals(400, file.append(slice(rows, 300, 700)));
+        }
+        try (CandleSeriesFile file = CandleSeriesFile.open(path)) {
+            assertEquals(700, file.count());
+            assertEquals(ROWS - 700, file.append(slice(rows, 700, ROWS)));
+        }
+        try (CandleSeriesFile file = CandleSeriesFile.open(path)) {
+            assertEquals(ROWS, file.count());
+            assertReadsAll(rows, file);
+        }
+    }
+
+    @Test
+    void skipsRowsNotAfterLastTime() throws IOException {
+        CandleColumns rows = series(100, 3L);
+
+        try (CandleSeriesFile file = CandleSeriesFile.open(dir.resolve("035720/1m.hzc"))) {
+            file.append(slice(rows, 0, 60));
+            // 이미 기록된 구간과 겹치는 묶음은 마지막 시각 이후만 기록
+            assertEquals(40, file.append(slice(rows, 40, 100)));
+            assertEquals(0, file.append(slice(rows, 0, 100)));
+            assertReadsAll(rows, file);
+        }
+    }
+
+    @Test
+    void readsWindowsSpanningBlocks() throws IOException {
+        CandleColumns rows = series(ROWS, 5L);
+
+        try (CandleSeriesFile file = CandleSeriesFile.open(dir.resolve("005930/1m.hzc"))) {
+            file.append(rows);
+            int boundary = CandleSeriesFile.BLOCK_ROWS;
+
+            // [from, before) 가 첫 블록 끝과 둘째 블록 시작에 걸침
+            CandleColumns window = file.read(rows.time(boundary - 20), rows.time(boundary + 30), Integer.MAX_VALUE);
+            assertEquals(50, window.size());
+            assertSameRows(rows, boundary - 20, window);
+
+            // before 이전 마지막 limit 개
+            CandleColumns latest = file.read(Long.MIN_VALUE, rows.time(boundary * 2 + 5), 10);
+            assertEquals(10, latest.size());
+            assertSameRows(rows, boundary * 2 - 5, latest);
+
+            assertTrue(file.read(Long.MIN_VALUE, rows.time(0), 10).isEmpty());
+            assertTrue(file.read(Long.MIN_VALUE, Long.MAX_VALUE, 0).isEmpty());
+        }
+    }
+
+    @Test
+    void rejectsForeignFile() throws IOException {
+        Path path = dir.resolve("broken.hzc");
+        Files.write(path, new byte[64]);
+
+        assertThrows(IOException.class, () -> CandleSeriesFile.open(path));
+    }
+
+    /**
+     * 하락 구간(음수 시가 갭, 음봉, 음수 전일대비/등락률)과 불규칙한 시각 간격(긴 공백, 역방향 delta-of-delta)을 섞은 시계열
+     */
+    private static CandleColumns series(int size, long seed) {
+        Random random = new Random(seed);
+        CandleColumns rows = new CandleColumns(size);
+        long time = FIRST_MINUTE;
+        long close = 71_900L;
+        long previousClose = 72_000L;
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                time += i % 97 == 0 ? 60 + random.nextInt(300) : 1 + random.nextInt(i % 5 == 0 ? 3 : 1);
+            }
+            long open = Math.max(1L, close + random.nextInt(401) - 250);
+            close = Math.max(1L, open + random.nextInt(601) - 350);
+            long high = Math.max(open, close) + random.nextInt(100);
+            long low = Math.max(0L, Math.min(open, close) - random.nextInt(100));
+            long volume = random.nextInt(10) == 0 ? 0L : random.nextInt(1_000_000);
+            long change = close - previousClose;
+            int changeRateBp = (int) (change * 10_000L / previousClose);
+            rows.add(time, open, high, low, close, volume, change, changeRateBp);
+        }
+        return rows;
+    }
+
+    private static CandleColumns slice(CandleColumns rows, int from, int to) {
+        CandleColumns slice = new CandleColumns(to - from);
+        for (int i = from; i < to; i++) {
+            slice.add(rows.time(i), rows.open(i), rows.high(i), rows.low(i), rows.close(i), rows.volume(i),
+                    rows.change(i), rows.changeRateBp(i));
+        }
+        return slice;
+    }
+
+    private static void assertSameRows(CandleColumns expected, int offset, CandleColumns actual) {
+        for (int i = 0; i < actual.size(); i++) {
+            int row = offset + i;
+            String at = "row " + row;
+            assertEquals(expected.time(row), actual.time(i), at);
+            assertEquals(expected.open(row), actual.open(i), at);
+            assertEquals(expected.high(row), actual.high(i), at);
+            assertEquals(expected.low(row), actual.low(i), at);
+            assertEquals(expected.close(row), actual.close(i), at);
+            assertEquals(expected.volume(row), actual.volume(i), at);
+            assertEquals(expected.change(row), actual.change(i), at);
+            assertEquals(expected.changeRateBp(row), actual.changeRateBp(i), at);
+        }
+    }
+
+    private static void assertReadsAll(CandleColumns expected, CandleSeriesFile file) {
+        CandleColumns actual = file.read(Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+        assertEquals(expected.size(), actual.size());
+        assertSameRows(expected, 0, actual);
+    }
+}
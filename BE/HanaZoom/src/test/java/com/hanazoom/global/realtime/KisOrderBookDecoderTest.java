@@ -0,0 +1,143 @@
+package com.hanazoom.global.realtime;
+
+import com.hanazoom.domain.stock.dto.OrderBookItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KisOrderBookDecoderTest {
+
+    private final KisOrderBookDecoder decoder = new KisOrderBookDecoder();
+    private final OrderBookStore store = new OrderBookStore();
+
+    @Test
+    void decodesTenLevelsIntoStore() {
+        int decoded = decoder.decode("0|H0STASP0|001|" + record("005930", 71900L, 100L), store);
+
+        assertEquals(1, decoded);
+        RealtimeOrderBook book = store.find("005930");
+        assertEquals("005930", book.getStockCode());
+        assertEquals(1L, book.getVersion());
+        assertEquals(72000L, book.getBestAskPrice());
+        assertEquals(71900L, book.getBestBidPrice());
+        assertEquals(5500L, book.getTotalAskQuantity());
+        assertEquals(7500L, book.getTotalBidQuantity());
+
+        List<OrderBookItem> asks = book.getAskOrders();
+        List<OrderBookItem> bids = book.getBidOrders();
+        assertEquals(RealtimeOrderBook.DEPTH, asks.size());
+        assertEquals(RealtimeOrderBook.DEPTH, bids.size());
+        assertEquals("72900", asks.get(9).getPrice());
+        assertEquals("1000", asks.get(9).getQuantity());
+        assertEquals("매도", asks.get(0).getOrderType());
+        assertEquals(10, asks.get(9).getRank());
+        assertEquals("71000", bids.get(9).getPrice());
+        assertEquals("1200", bids.get(9).getQuantity());
+        assertEquals("매수", bids.get(0).getOrderType());
+    }
+
+    @Test
+    void updatesBookInPlaceAndRefreshesSnapshotPerVersion() {
+        decoder.decode("0|H0STASP0|001|" + record("005930", 71900L, 100L), store);
+        RealtimeOrderBook book = store.find("005930");
+        List<OrderBookItem> first = book.getAskOrders();
+        assertSame(first, book.getAskOrders());
+
+        decoder.decode("0|H0STASP0|001|" + record("005930", 71800L, 100L), store);
+
+        assertSame(book, store.find("005930"));
+        assertEquals(2L, book.getVersion());
+        assertEquals(71900L, book.getBestAskPrice());
+        List<OrderBookItem> second = book.getAskOrders();
+        assertNotSame(first, second);
+        assertEquals("71900", second.get(0).getPrice());
+        assertThrows(UnsupportedOperationException.class, () -> second.add(first.get(0)));
+    }
+
+    @Test
+    void decodesMultiRecordFrame() {
+        String frame = "0|H0STASP0|002|" + record("005930", 71900L, 100L) + "^" + record("000660", 112800L, 100L);
+
+        assertEquals(2, decoder.decode(frame, store));
+        assertEquals(71900L, store.find("005930").getBestBidPrice());
+        assertEquals(112900L, store.find("000660").getBestAskPrice());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void ignoresTruncatedAndForeignFrames() {
+        assertEquals(0, decoder.decode("0|H0STCNT0|001|" + record("005930", 71900L, 100L), store));
+        assertEquals(0, decoder.decode("0|H0STASP0|001|005930^093354^0^72000^72100", store));
+
+        // 형식 오류 레코드는 커밋하지 않으므로 조회되지 않음
+        assertNull(store.find("005930"));
+        assertTrue(KisOrderBookDecoder.isQuoteFrame("0|H0STASP0|001|005930"));
+    }
+
+    @Test
+    void truncatedRecordLeavesCommittedBookUntouched() {
+        decoder.decode("0|H0STASP0|001|" + record("005930", 71900L, 100L), store);
+        RealtimeOrderBook book = store.find("005930");
+        List<OrderBookItem> asks = book.getAskOrders();
+
+        // 매도호가 일부만 있고 잔량이 없는 잘린 레코드
+        assertEquals(0, decoder.decode("0|H0STASP0|001|005930^093400^0^80000^80100^80200", store));
+
+        assertEquals(1L, book.getVersion());
+        assertEquals(72000L, book.getBestAskPrice());
+        assertEquals(71900L, book.getBestBidPrice());
+        assertEquals(5500L, book.getTotalAskQuantity());
+        assertSame(asks, book.getAskOrders());
+        assertEquals("72100", asks.get(1).getPrice());
+    }
+
+    @Test
+    void removedBookIsNoLongerServed() {
+        decoder.decode("0|H0STASP0|001|" + record("005930", 71900L, 100L), store);
+
+        store.remove("005930");
+
+        assertNull(store.find("005930"));
+    }
+
+    /**
+     * H0STASP0 레코드 (59개 필드)
+     * 매도호가 bestBid+tick ~ +10tick, 매수호가 bestBid ~ -9tick,
+     * 매도잔량 100 ~ 1000, 매수잔량 300 ~ 1200
+     */
+    static String record(String symbol, long bestBid, long tick) {
+        StringJoiner fields = new StringJoiner("^");
+        fields.add(symbol).add("093354").add("0");
+        for (int i = 0; i < RealtimeOrderBook.DEPTH; i++) {
+            fields.add(Long.toString(bestBid + tick * (i + 1)));
+        }
+        for (int i = 0; i < RealtimeOrderBook.DEPTH; i++) {
+            fields.add(Long.toString(bestBid - tick * i));
+        }
+        long totalAsk = 0L;
+        for (int i = 0; i < RealtimeOrderBook.DEPTH; i++) {
+            long quantity = 100L * (i + 1);
+            totalAsk += quantity;
+            fields.add(Long.toString(quantity));
+        }
+        long totalBid = 0L;
+        for (int i = 0; i < RealtimeOrderBook.DEPTH; i++) {
+            long quantity = 300L + 100L * i;
+            totalBid += quantity;
+            fields.add(Long.toString(quantity));
+        }
+        fields.add(Long.toString(totalAsk)).add(Long.toString(totalBid));
+        for (int i = 45; i < KisOrderBookDecoder.FIELDS_PER_RECORD; i++) {
+            fields.add("0");
+        }
+        return fields.toString();
+    }
+}
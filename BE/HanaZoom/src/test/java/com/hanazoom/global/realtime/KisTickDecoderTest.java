@@ -0,0 +1,111 @@
+package com.hanazoom.global.realtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KisTickDecoderTest {
+
+    // KIS 국내주식 실시간체결가 명세 예시 레코드 (46개 필드)
+    static final String RECORD_005930 = "005930^093354^71900^5^-100^-0.14^72023.83^72100^72400^71600^71900^71800^1^3052507^219853354100"
+            + "^5105^6937^1832^84.90^1366851^1518108^5^0.39^20.28^090020^5^-200^090820^5^-500^092619^2^100^20230612^20^N^65945^216924"
+            + "^1118750^2053842^0.05^2739357^111.43^0^^72100";
+    static final String RECORD_000660 = "000660^093355^112800^2^1300^1.17^112467.50^111500^113000^111200^112900^112800^5^1201234^135100000000"
+            + "^4012^5521^1509^95.10^987654^1123456^1^0.42^18.77^090010^2^1300^090511^5^-200^091233^2^1800^20230612^20^N^12000^15000"
+            + "^654321^765432^0.08^1500000^98.76^0^^111500";
+
+    private final KisTickDecoder decoder = new KisTickDecoder();
+
+    @Test
+    void decodesSingleRecordFrame() {
+        List<KisTick> ticks = decode("0|H0STCNT0|001|" + RECORD_005930);
+
+        assertEquals(1, ticks.size());
+        KisTick tick = ticks.get(0);
+        assertEquals("005930", tick.getSymbol());
+        assertEquals(93354, tick.getTradeTime());
+        assertEquals(71900L, tick.getPrice());
+        assertEquals(5, tick.getChangeSign());
+        assertEquals(-100L, tick.getChange());
+        assertEquals(-14, tick.getChangeRateBp());
+        assertEquals(7202383L, tick.getWeightedAvgPriceX100());
+        assertEquals(72100L, tick.getOpen());
+        assertEquals(72400L, tick.getHigh());
+        assertEquals(71600L, tick.getLow());
+        assertEquals(71900L, tick.getAskPrice1());
+        assertEquals(71800L, tick.getBidPrice1());
+        assertEquals(1L, tick.getTradeVolume());
+        assertEquals(3052507L, tick.getCumulativeVolume());
+        assertEquals(219853354100L, tick.getCumulativeAmount());
+        assertEquals(KisTick.SIDE_SELL, tick.getTradeSide());
+        assertEquals(20230612, tick.getBusinessDate());
+        assertEquals(65945L, tick.getAskQuantity1());
+        assertEquals(216924L, tick.getBidQuantity1());
+        assertEquals(1118750L, tick.getTotalAskQuantity());
+        assertEquals(2053842L, tick.getTotalBidQuantity());
+        assertEquals(72000L, tick.getPreviousClose());
+        assertEquals("-0.14", tick.getChangeRateText());
+    }
+
+    @Test
+    void decodesEveryRecordOfMultiRecordFrame() {
+        List<KisTick> ticks = decode("0|H0STCNT0|002|" + RECORD_005930 + "^" + RECORD_000660);
+
+        assertEquals(2, ticks.size());
+        assertEquals("005930", ticks.get(0).getSymbol());
+        assertEquals(71900L, ticks.get(0).getPrice());
+        assertEquals("000660", ticks.get(1).getSymbol());
+        assertEquals(112800L, ticks.get(1).getPrice());
+        assertEquals(2, ticks.get(1).getChangeSign());
+        assertEquals(117, ticks.get(1).getChangeRateBp());
+        assertEquals(1201234L, ticks.get(1).getCumulativeVolume());
+        assertEquals(KisTick.SIDE_BUY, ticks.get(1).getTradeSide());
+    }
+
+    @Test
+    void reusesCanonicalSymbolStrings() {
+        List<KisTick> first = decode("0|H0STCNT0|001|" + RECORD_005930);
+        List<KisTick> second = decode("0|H0STCNT0|001|" + RECORD_005930);
+
+        assertSame(first.get(0).getSymbol(), second.get(0).getSymbol());
+    }
+
+    @Test
+    void rejectsOtherOrTruncatedFrames() {
+        assertEquals(0, decoder.decode("0|H0STASP0|001|" + RECORD_005930, new KisTick(), t -> { }));
+        assertEquals(0, decoder.decode("0|H0STCNT0", new KisTick(), t -> { }));
+        assertEquals(0, decoder.decode("0|H0STCNT0|001|005930^093354^71900", new KisTick(), t -> { }));
+        assertTrue(decode("{\"header\":{\"tr_id\":\"PINGPONG\"}}").isEmpty());
+    }
+
+    @Test
+    void peeksFirstSymbolKeyWithoutDecoding() {
+        String frame = "0|H0STCNT0|002|" + RECORD_005930 + "^" + RECORD_000660;
+
+        assertEquals(SymbolTable.pack("005930", 0, 6), KisTickDecoder.peekSymbolKey(frame));
+        assertEquals(0L, KisTickDecoder.peekSymbolKey("1|encrypted"));
+    }
+
+    @Test
+    void parsesNumbersWithoutAllocating() {
+        assertEquals(123L, KisTickDecoder.parseLong(" 123 ", 0, 5));
+        assertEquals(-100L, KisTickDecoder.parseLong("-100", 0, 4));
+        assertEquals(72023L, KisTickDecoder.parseLong("72023.83", 0, 8));
+        assertEquals(0L, KisTickDecoder.parseLong("N", 0, 1));
+        assertEquals(-14L, KisTickDecoder.parseScaled("-0.14", 0, 5, 2));
+        assertEquals(150L, KisTickDecoder.parseScaled("1.5", 0, 3, 2));
+        assertEquals(300L, KisTickDecoder.parseScaled("3", 0, 1, 2));
+        assertEquals(1234L, KisTickDecoder.parseScaled("12.345", 0, 6, 2));
+    }
+
+    private List<KisTick> decode(String frame) {
+        List<KisTick> ticks = new ArrayList<>();
+        decoder.decode(frame, new KisTick(), tick -> ticks.add(new KisTick().copyFrom(tick)));
+        return ticks;
+    }
+}
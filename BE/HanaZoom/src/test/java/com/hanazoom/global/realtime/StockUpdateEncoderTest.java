@@ -0,0 +1,126 @@
+package com.hanazoom.global.realtime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockUpdateEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StockUpdateEncoder encoder = new StockUpdateEncoder(objectMapper);
+
+    @Test
+    void firstUpdateHasSnapshotOnly() throws Exception {
+        StockUpdateFrame frame = encoder.encode("005930", stock("005930", "71900", "-100", "3052507"));
+
+        assertEquals(1L, frame.getSeq());
+        assertNull(frame.getDelta());
+        JsonNode snapshot = objectMapper.readTree(frame.getSnapshot().getPayload());
+        assertEquals(StockUpdateEncoder.SNAPSHOT_TYPE, snapshot.get("type").asText());
+        assertEquals(1L, snapshot.at("/data/seq").asLong());
+        assertEquals("71900", snapshot.at("/data/stockData/currentPrice").asText());
+        assertSame(frame, encoder.latest("005930"));
+    }
+
+    @Test
+    void deltaCarriesOnlyChangedFields() throws Exception {
+        encoder.encode("005930", stock("005930", "71900", "-100", "3052507"));
+        StockUpdateFrame frame = encoder.encode("005930", stock("005930", "72000", "0", "3052507"));
+
+        assertEquals(2L, frame.getSeq());
+        JsonNode delta = objectMapper.readTree(frame.getDelta().getPayload());
+        assertEquals(StockUpdateEncoder.DELTA_TYPE, delta.get("type").asText());
+        assertEquals("005930", delta.at("/data/stockCode").asText());
+        assertEquals(2L, delta.at("/data/seq").asLong());
+        assertEquals(1L, delta.at("/data/prevSeq").asLong());
+
+        JsonNode changes = delta.at("/data/changes");
+        assertEquals(2, changes.size());
+        assertEquals("72000", changes.get("currentPrice").asText());
+        assertEquals("0", changes.get("changePrice").asText());
+        assertFalse(changes.has("volume"));
+        assertFalse(changes.has("stockCode"));
+
+        JsonNode snapshot = objectMapper.readTree(frame.getSnapshot().getPayload());
+        assertEquals("3052507", snapshot.at("/data/stockData/volume").asText());
+    }
+
+    @Test
+    void unchangedUpdateProducesEmptyDelta() throws Exception {
+        encoder.encode("005930", stock("005930", "71900", "-100", "3052507"));
+        StockUpdateFrame frame = encoder.encode("005930", stock("005930", "71900", "-100", "3052507"));
+
+        JsonNode delta = objectMapper.readTree(frame.getDelta().getPayload());
+        assertEquals(0, delta.at("/data/changes").size());
+        assertEquals(2L, delta.at("/data/seq").asLong());
+    }
+
+    @Test
+    void sequencesAreTrackedPerSymbol() throws Exception {
+        encoder.encode("005930", stock("005930", "71900", "-100", "3052507"));
+        encoder.encode("005930", stock("005930", "72000", "0", "3052600"));
+        StockUpdateFrame other = encoder.encode("000660", stock("000660", "112800", "1300", "1201234"));
+
+        assertEquals(1L, other.getSeq());
+        assertNull(other.getDelta());
+        assertEquals(2L, encoder.latest("005930").getSeq());
+        assertNull(encoder.latest("035720"));
+    }
+
+    @Test
+    void concurrentEncodersKeepSequenceContiguous() throws Exception {
+        int perThread = 2_000;
+        Set<Long> seqs = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // 리더 전환 중 샤드 스레드와 클러스터 수신 스레드가 같은 종목을 동시에 인코딩하는 상황
+        Runnable writer = () -> {
+            try {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    StockUpdateFrame frame = encoder.encode("005930",
+                            stock("005930", Integer.toString(71_900 + i), "0", "3052507"));
+                    assertTrue(seqs.add(frame.getSeq()));
+                    if (frame.getDelta() != null) {
+                        JsonNode delta = objectMapper.readTree(frame.getDelta().getPayload());
+                        assertEquals(frame.getSeq() - 1, delta.at("/data/prevSeq").asLong());
+                    }
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        Thread shard = new Thread(writer);
+        Thread listener = new Thread(writer);
+        shard.start();
+        listener.start();
+        start.countDown();
+        shard.join();
+        listener.join();
+
+        assertEquals(perThread * 2, seqs.size());
+        assertEquals(perThread * 2L, encoder.latest("005930").getSeq());
+    }
+
+    private static Map<String, Object> stock(String stockCode, String currentPrice, String changePrice,
+                                             String volume) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("stockCode", stockCode);
+        data.put("currentPrice", currentPrice);
+        data.put("changePrice", changePrice);
+        data.put("volume", volume);
+        return data;
+    }
+}
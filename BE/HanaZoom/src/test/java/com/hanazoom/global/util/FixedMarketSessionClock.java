@@ -0,0 +1,26 @@
+package com.hanazoom.global.util;
+
+import java.time.LocalDate;
+
+/**
+ * 지정한 시장 상태를 그대로 돌려주는 시계 (status 를 바꾸면 다음 조회부터 반영)
+ */
+public class FixedMarketSessionClock extends MarketSessionClock {
+
+    private volatile MarketTimeUtils.MarketStatus status;
+
+    public FixedMarketSessionClock(MarketTimeUtils.MarketStatus status) {
+        super(null);
+        this.status = status;
+    }
+
+    public void setStatus(MarketTimeUtils.MarketStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public MarketSession current() {
+        LocalDate today = LocalDate.now(KOREA_ZONE);
+        return new MarketSession(status, today, today.plusDays(1), today, 0L, Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,16 @@
+-- stock_minute_prices.minute_interval: ENUM -> VARCHAR(20)
+--
+-- 예전 스키마(ddl-auto 로 ENUM 컬럼이 만들어진 DB)에서는 롤업 간격(3/10/30/60분 등)을 저장할 수 없다.
+-- 엔티티는 varchar(20) 으로 매핑되어 있어 새로 만든 DB 에는 필요 없다.
+--
+-- ENUM -> VARCHAR 변경은 테이블을 다시 만들고(ALGORITHM=COPY) 그동안 쓰기를 막는다.
+-- 장 종료 후 분봉 집계가 멈춘 시간에 실행하고, 행이 많으면 pt-online-schema-change / gh-ost 로 적용한다.
+-- 애플리케이션은 시작할 때 컬럼 타입을 확인하고 ENUM 이면 이 스크립트를 안내하며 기동을 멈춘다.
+
+SELECT DATA_TYPE
+FROM information_schema.COLUMNS
+WHERE TABLE_SCHEMA = DATABASE()
+  AND TABLE_NAME = 'stock_minute_prices'
+  AND COLUMN_NAME = 'minute_interval';
+
+ALTER TABLE stock_minute_prices MODIFY minute_interval VARCHAR(20) NOT NULL;
@@ -0,0 +1,14 @@
+-- data_retention_policies.data_type: ENUM -> VARCHAR(30)
+--
+-- 예전 스키마(ddl-auto 로 ENUM 컬럼이 만들어진 DB)에서는 새 보관 정책 유형을 저장할 수 없다.
+-- 엔티티는 varchar(30) 으로 매핑되어 있어 새로 만든 DB 에는 필요 없다.
+-- 정책 테이블은 몇 행뿐이라 바로 적용해도 되지만, 기동 중 자동 변경은 하지 않는다.
+-- 애플리케이션은 시작할 때 컬럼 타입을 확인하고 ENUM 이면 이 스크립트를 안내하며 기동을 멈춘다.
+
+SELECT DATA_TYPE
+FROM information_schema.COLUMNS
+WHERE TABLE_SCHEMA = DATABASE()
+  AND TABLE_NAME = 'data_retention_policies'
+  AND COLUMN_NAME = 'data_type';
+
+ALTER TABLE data_retention_policies MODIFY data_type VARCHAR(30) NOT NULL;